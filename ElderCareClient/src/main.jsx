@@ -3,6 +3,16 @@ import { createRoot } from 'react-dom/client'
 import './index.css'
 import App from "./App.jsx"
 import { BrowserRouter } from "react-router-dom";
+import axios from 'axios';
+
+// Every API call except login and registration needs the token from the login response
+axios.interceptors.request.use((config) => {
+  const token = localStorage.getItem('mockToken');
+  if (token && !config.headers.Authorization) {
+    config.headers.Authorization = `Bearer ${token}`;
+  }
+  return config;
+});
 
 createRoot(document.getElementById('root')).render(
   <StrictMode>
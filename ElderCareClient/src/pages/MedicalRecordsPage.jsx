@@ -16,6 +16,7 @@ import {
   Paper,
 } from "@mui/material";
 import apiUrl from "../config";
+import { fetchPage } from "../services/paging";
 
 const MedicalRecordsPage = () => {
   const [records, setRecords] = useState([]);
@@ -32,6 +33,8 @@ const MedicalRecordsPage = () => {
   const [errors, setErrors] = useState({});
   const [isEditing, setIsEditing] = useState(false);
   const [editingId, setEditingId] = useState(null);
+  const [listUrl, setListUrl] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
   const username = localStorage.getItem('username');
   const loggedInUserRole = localStorage.getItem('mockRole');
 
@@ -68,8 +71,11 @@ const MedicalRecordsPage = () => {
             return;
         }
 
-        const response = await axios.get(appointmentsUrl);
-        setRecords(response.data);
+        // The unfiltered listing is paginated; the per-doctor/patient ones are plain arrays
+        const page = await fetchPage(appointmentsUrl);
+        setRecords(page.items);
+        setListUrl(appointmentsUrl);
+        setNextCursor(page.nextCursor);
       } catch (error) {
         console.error("Error fetching medical records:", error);
       }
@@ -78,6 +84,16 @@ const MedicalRecordsPage = () => {
     fetchMedicalRecords();
   }, [loggedInUserRole, username]);
 
+  const loadMoreRecords = async () => {
+    try {
+      const page = await fetchPage(listUrl, nextCursor);
+      setRecords((prev) => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error("Error fetching medical records:", error);
+    }
+  };
+
   const validateForm = () => {
     const newErrors = {};
     if (!newRecord.patientId) newErrors.patientId = "Patient ID is required";
@@ -216,6 +232,11 @@ const MedicalRecordsPage = () => {
           </TableBody>
         </Table>
       </TableContainer>
+      {nextCursor != null && (
+        <Button onClick={loadMoreRecords} style={{ marginTop: "10px" }}>
+          Load more
+        </Button>
+      )}
   
       <Dialog open={open} onClose={() => setOpen(false)}>
         <DialogTitle>{isEditing ? "Edit Record" : "Add New Record"}</DialogTitle>
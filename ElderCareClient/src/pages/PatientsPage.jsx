@@ -19,6 +19,7 @@ import {
 import { showSuccess, showError } from '../ToastConfig';
 import FormInput from '../components/FormInput';
 import apiUrl from '../config';
+import { fetchPage } from '../services/paging';
 
 const PatientsPage = () => {
   const [patients, setPatients] = useState([]);
@@ -35,6 +36,7 @@ const PatientsPage = () => {
   });
   const [errors, setErrors] = useState({});
   const [isEditing, setIsEditing] = useState(false);
+  const [nextCursor, setNextCursor] = useState(null);
   const loggedInUserRole = localStorage.getItem('mockRole');
   const loggedInUser = localStorage.getItem('username');
   const apiURL = `${apiUrl}/api/patients`;
@@ -42,10 +44,9 @@ const PatientsPage = () => {
   useEffect(() => {
     const fetchPatients = async () => {
       try {
-        const response = await axios.get(apiURL, {
-          params: { username: loggedInUser },
-        });
-        setPatients(response.data);   
+        const page = await fetchPage(apiURL);
+        setPatients(page.items);
+        setNextCursor(page.nextCursor);
       } catch (error) {
         showError('Failed to fetch patients');
         console.error(error);
@@ -55,6 +56,17 @@ const PatientsPage = () => {
     fetchPatients();
   }, [loggedInUser]);
 
+  const loadMorePatients = async () => {
+    try {
+      const page = await fetchPage(apiURL, nextCursor);
+      setPatients((prev) => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      showError('Failed to fetch patients');
+      console.error(error);
+    }
+  };
+
   const validateForm = () => {
     const { firstName, lastName, dob, gender, address, phoneNumber, emergencyContact, emergencyContactPhone } = newPatient;
     const formErrors = {};
@@ -77,10 +89,7 @@ const PatientsPage = () => {
       if (isEditing) {
         showError('Editing patients is not yet implemented with the API');
       } else {
-        const response = await axios.post(
-          `${apiURL}?username=${loggedInUser}`,
-          newPatient
-        );
+        const response = await axios.post(apiURL, newPatient);
         setPatients((prev) => [...prev, response.data]); 
         showSuccess('Patient added successfully');
       }
@@ -204,6 +213,11 @@ const PatientsPage = () => {
           </TableBody>
         </Table>
       </Paper>
+      {nextCursor != null && (
+        <Button onClick={loadMorePatients} sx={{ marginTop: '10px' }}>
+          Load more
+        </Button>
+      )}
 
       <Dialog open={open} onClose={() => setOpen(false)} maxWidth="sm" fullWidth>
         <DialogTitle>{isEditing ? 'Edit Patient' : 'Add Patient'}</DialogTitle>
@@ -18,6 +18,7 @@ import {
 import { showSuccess, showError } from '../ToastConfig';
 import FormInput from '../components/FormInput';
 import apiUrl from '../config';
+import { fetchPage } from '../services/paging';
 
 const ProgressReportPage = () => {
   const [reports, setReports] = useState([]);
@@ -33,6 +34,8 @@ const ProgressReportPage = () => {
   const [isEditing, setIsEditing] = useState(false);
   const [editingId, setEditingId] = useState(null);
   const [userId, setUserId] = useState(null); 
+  const [listUrl, setListUrl] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
 
   const loggedInUserRole = localStorage.getItem('mockRole');
   const username = localStorage.getItem('username');
@@ -63,8 +66,11 @@ const ProgressReportPage = () => {
           url = `${apiUrl}/api/progress-reports/patient/${fetchedUserId}`;
         }
 
-        const response = await axios.get(url);
-        setReports(response.data); 
+        // The unfiltered listing is paginated; the per-caregiver/patient ones are plain arrays
+        const page = await fetchPage(url);
+        setReports(page.items);
+        setListUrl(url);
+        setNextCursor(page.nextCursor);
       } catch (error) {
         console.error('Error fetching progress reports:', error);
         showError('Error fetching progress reports');
@@ -74,6 +80,17 @@ const ProgressReportPage = () => {
     fetchUserAndReports();
   }, [loggedInUserRole, username]); 
 
+  const loadMoreReports = async () => {
+    try {
+      const page = await fetchPage(listUrl, nextCursor);
+      setReports((prev) => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error('Error fetching progress reports:', error);
+      showError('Error fetching progress reports');
+    }
+  };
+
   const validateForm = () => {
     const { patientId, caregiverId, date, summary, recommendations } = newReport;
     const formErrors = {};
@@ -230,6 +247,11 @@ const ProgressReportPage = () => {
           </TableBody>
         </Table>
       </Paper>
+      {nextCursor != null && (
+        <Button onClick={loadMoreReports} sx={{ marginTop: '10px' }}>
+          Load more
+        </Button>
+      )}
 
       <Dialog open={open} onClose={() => setOpen(false)} maxWidth="sm" fullWidth>
         <DialogTitle>{isEditing ? 'Edit Progress Report' : 'Add Progress Report'}</DialogTitle>
@@ -0,0 +1,11 @@
+import axios from 'axios';
+
+// Cursor-paginated listings answer { items, nextCursor }; the filtered ones answer a plain array.
+// Resolves to one page of rows and the cursor for the next one, or null when there is no more.
+export const fetchPage = async (url, cursor) => {
+  const response = await axios.get(url, cursor != null ? { params: { cursor } } : undefined);
+  if (Array.isArray(response.data)) {
+    return { items: response.data, nextCursor: null };
+  }
+  return { items: response.data.items, nextCursor: response.data.nextCursor ?? null };
+};
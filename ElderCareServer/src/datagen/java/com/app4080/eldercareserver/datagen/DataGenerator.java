@@ -0,0 +1,649 @@
+package com.app4080.eldercareserver.datagen;
+
+import com.app4080.eldercareserver.datagen.Distributions.Zipf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+// Writes a synthetic ElderCare database straight to a SQLite file with batched inserts.
+// The same settings and seed always produce the same rows (relative to --as-of), so benchmark
+// and load test runs can be compared. The file gets the baseline schema; the server applies
+// the remaining migrations (indexes, full-text tables) the first time it opens it.
+//
+// Shape of the data:
+//   - one site per patients-per-location patients, each with two to five doctors and a few caregivers
+//   - patients spread unevenly across sites, surnames and diagnoses Zipf-distributed so a few
+//     search terms match a large share of rows
+//   - a long-tailed number of medical records per patient, each prescribing zero to three
+//     medications whose periods overlap, some of them open-ended
+//   - appointments laid out per doctor in half-hour weekday slots, so no doctor is double-booked
+//
+// Run with `gradle generateData --args="--patients 1000000"`; see Settings for every option.
+public final class DataGenerator {
+
+    public static final String DEFAULT_PASSWORD = "datagen";
+    public static final String ADMIN_USERNAME = "datagen-admin";
+
+    private static final LocalTime DAY_START = LocalTime.of(8, 0);
+    private static final int SLOT_MINUTES = 30;
+    private static final int SLOTS_PER_DAY = 18;
+    private static final double PAST_SLOT_UTILISATION = 0.35;
+    private static final double FUTURE_SLOT_UTILISATION = 0.2;
+    private static final int COMMIT_EVERY_ROWS = 200_000;
+
+    private static final int SURNAME_TAIL = (int) Math.pow(Vocabulary.SURNAME_SYLLABLES.length, 3);
+    private static final int NO_MIDDLE_NAME = 127;
+    private static final double[] MEDICATIONS_PER_RECORD = {35, 40, 18, 7};
+
+    private final Settings settings;
+    private final Random random;
+
+    private final Zipf femaleNames = new Zipf(Vocabulary.FEMALE_FIRST_NAMES.length, 0.8);
+    private final Zipf maleNames = new Zipf(Vocabulary.MALE_FIRST_NAMES.length, 0.8);
+    private final Zipf surnames = new Zipf(Vocabulary.COMMON_SURNAMES.length + SURNAME_TAIL, 1.0);
+    private final Zipf diagnoses = new Zipf(Vocabulary.DIAGNOSES.length, 1.0);
+    private final Zipf medications = new Zipf(Vocabulary.MEDICATIONS.length, 0.9);
+    private final Zipf frequencies = new Zipf(Vocabulary.FREQUENCIES.length, 1.1);
+
+    private Connection connection;
+    private long rowsSinceCommit;
+
+    private String[] locations;
+    private long[][] doctors;
+    private long[][] caregivers;
+    private int[][] patientsByLocation;
+
+    public DataGenerator(Settings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings;
+        try {
+            settings = Settings.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(Settings.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        Path file = Path.of(settings.getOut());
+        if (Files.exists(file) && !settings.isForce()) {
+            System.err.println(file + " already exists; pass --force to replace it");
+            System.exit(1);
+        }
+
+        long started = System.nanoTime();
+        Map<String, Long> counts = new DataGenerator(settings).generate(file);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        counts.forEach((table, rows) -> System.out.printf("%-18s %,12d%n", table, rows));
+        System.out.printf("Wrote %,d rows to %s in %.1f s (%,.0f rows/s)%n", total, file, seconds, total / seconds);
+        System.out.printf("Start the server with --spring.datasource.url=jdbc:sqlite:%s%n", file.toAbsolutePath());
+        System.out.printf("Every generated user (%s, %s, %s, ...) has the password '%s'%n",
+                ADMIN_USERNAME, doctorUsername(0, 0), caregiverUsername(0, 0), settings.getPassword());
+    }
+
+    public static String doctorUsername(int location, int index) {
+        return "doctor-" + location + "-" + index;
+    }
+
+    public static String caregiverUsername(int location, int index) {
+        return "caregiver-" + location + "-" + index;
+    }
+
+    // Replaces the file if it exists; returns the rows written per table
+    public Map<String, Long> generate(Path file) throws IOException, SQLException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(Path.of(file + "-wal"));
+        Files.deleteIfExists(Path.of(file + "-shm"));
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + file)) {
+            connection = c;
+            try (Statement statement = c.createStatement()) {
+                // A half-written file is simply regenerated, so skip the journal and fsyncs
+                statement.execute("PRAGMA journal_mode = OFF");
+                statement.execute("PRAGMA synchronous = OFF");
+                statement.execute("PRAGMA cache_size = -262144");
+                statement.execute("PRAGMA temp_store = MEMORY");
+            }
+            createBaselineSchema();
+            c.setAutoCommit(false);
+
+            counts.put("users", generateUsers());
+            counts.putAll(generatePatients());
+            counts.put("appointments", generateAppointments());
+            c.commit();
+        } finally {
+            connection = null;
+        }
+        return counts;
+    }
+
+    // The schema the server baselines at version 1; later migrations run when it starts
+    private void createBaselineSchema() throws IOException, SQLException {
+        String script;
+        try (InputStream in = DataGenerator.class.getResourceAsStream("/db/migration/V1__baseline.sql")) {
+            if (in == null) {
+                throw new IOException("db/migration/V1__baseline.sql is not on the classpath");
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : script.split(";")) {
+                String body = sql.lines().filter(line -> !line.trim().startsWith("--"))
+                        .reduce("", (a, b) -> a + "\n" + b).trim();
+                if (!body.isEmpty()) {
+                    statement.execute(body);
+                }
+            }
+        }
+    }
+
+    private long generateUsers() throws SQLException {
+        int siteCount = Math.max(1, (settings.getPatients() + settings.getPatientsPerLocation() - 1) / settings.getPatientsPerLocation());
+        locations = new String[siteCount];
+        for (int i = 0; i < siteCount; i++) {
+            locations[i] = locationName(i);
+        }
+        doctors = new long[siteCount][];
+        caregivers = new long[siteCount][];
+
+        try (Batch users = new Batch("INSERT INTO users (id, created_at, email, password, phone_number, role, username, "
+                + "primary_location, privileges, secondary_location, first_name, second_name) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            long id = 1;
+            addUser(users, id++, ADMIN_USERNAME, "doctor", "overseer", 0, null);
+            for (int site = 0; site < siteCount; site++) {
+                doctors[site] = new long[2 + random.nextInt(4)];
+                for (int i = 0; i < doctors[site].length; i++) {
+                    // A minority of doctors also hold sessions at a second site
+                    Integer secondary = siteCount > 1 && random.nextInt(5) == 0 ? random.nextInt(siteCount) : null;
+                    String privileges = random.nextInt(10) == 0 ? "supervisor" : "editor";
+                    doctors[site][i] = id;
+                    addUser(users, id++, doctorUsername(site, i), "doctor", privileges, site, secondary);
+                }
+                caregivers[site] = new long[3 + random.nextInt(6)];
+                for (int i = 0; i < caregivers[site].length; i++) {
+                    caregivers[site][i] = id;
+                    addUser(users, id++, caregiverUsername(site, i), "caregiver", "viewer", site, null);
+                }
+            }
+            return users.finish();
+        }
+    }
+
+    private void addUser(Batch users, long id, String username, String role, String privileges,
+                         int site, Integer secondarySite) throws SQLException {
+        boolean female = random.nextBoolean();
+        PreparedStatement ps = users.row();
+        ps.setLong(1, id);
+        ps.setLong(2, millis(settings.getAsOf().minusDays(random.nextInt(settings.getHistoryDays())).atTime(9, 0)));
+        ps.setString(3, username + "@eldercare.example");
+        ps.setString(4, settings.getPassword());
+        ps.setString(5, phoneNumber());
+        ps.setString(6, role);
+        ps.setString(7, username);
+        ps.setString(8, locations[site]);
+        ps.setString(9, privileges);
+        ps.setString(10, secondarySite == null ? null : locations[secondarySite]);
+        ps.setString(11, firstName(female));
+        ps.setString(12, Vocabulary.COMMON_SURNAMES[random.nextInt(Vocabulary.COMMON_SURNAMES.length)]);
+        users.add();
+    }
+
+    // Patients with their records, medications, prescriptions and progress reports, one patient at a time
+    private Map<String, Long> generatePatients() throws SQLException {
+        int patientCount = settings.getPatients();
+        int[] patientSite = new int[patientCount];
+        int[] patientsPerSite = new int[locations.length];
+        Zipf siteSizes = new Zipf(locations.length, 0.5);
+        Set<Long> names = new HashSet<>(patientCount * 2);
+        long asOfDay = settings.getAsOf().toEpochDay();
+
+        Batch patients = new Batch("INSERT INTO patients (id, address, created_at, dob, emergency_contact, "
+                + "emergency_contact_phone, first_name, gender, last_name, phone_number) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        Batch records = new Batch("INSERT INTO medical_records (id, created_at, date_of_visit, diagnosis, notes, "
+                + "treatment_plan, doctor_id, patient_id, location) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        Batch meds = new Batch("INSERT INTO medications (id, created_at, dosage, end_date, frequency, medication_name, "
+                + "start_date, record_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        Batch prescriptions = new Batch("INSERT INTO prescriptions (created_at, instructions, issued_date, doctor_id, "
+                + "record_id, medication_id) VALUES (?, ?, ?, ?, ?, ?)");
+        Batch reports = new Batch("INSERT INTO progress_reports (created_at, date, recommendations, summary, "
+                + "caregiver_id, patient_id) VALUES (?, ?, ?, ?, ?, ?)");
+        try (patients; records; meds; prescriptions; reports) {
+            long recordId = 1;
+            long medicationId = 1;
+            for (int i = 0; i < patientCount; i++) {
+                long patientId = i + 1;
+                int site = siteSizes.sample(random);
+                patientSite[i] = site;
+                patientsPerSite[site]++;
+
+                boolean female = random.nextInt(100) < 58;
+                String[] name = uniqueName(names, female, i);
+                String firstName = name[0];
+                String lastName = name[1];
+                long since = asOfDay - 30 - random.nextInt(Math.max(1, settings.getHistoryDays() - 30));
+
+                PreparedStatement ps = patients.row();
+                ps.setLong(1, patientId);
+                ps.setString(2, (1 + random.nextInt(250)) + " " + Distributions.pick(random, Vocabulary.STREETS)
+                        + ", " + Vocabulary.TOWNS[site % Vocabulary.TOWNS.length]);
+                ps.setLong(3, millis(LocalDate.ofEpochDay(since)));
+                ps.setLong(4, millis(settings.getAsOf().minusYears(Distributions.clippedGaussian(random, 81, 7, 65, 104))
+                        .minusDays(random.nextInt(365))));
+                ps.setString(5, firstName(random.nextBoolean()) + " " + lastName + " ("
+                        + Distributions.pick(random, Vocabulary.RELATIONSHIPS) + ")");
+                ps.setString(6, phoneNumber());
+                ps.setString(7, firstName);
+                ps.setString(8, female ? "F" : "M");
+                ps.setString(9, lastName);
+                ps.setString(10, random.nextInt(5) == 0 ? null : phoneNumber());
+                patients.add();
+
+                int visits = Distributions.logNormalCount(random, 1, 1.3, 0.9, 200);
+                for (int v = 0; v < visits; v++) {
+                    LocalDate visit = LocalDate.ofEpochDay(since + random.nextInt((int) (asOfDay - since + 1)));
+                    // Mostly seen at the home site, occasionally elsewhere
+                    int visitSite = random.nextInt(100) < 85 ? site : random.nextInt(locations.length);
+                    long doctorId = doctors[visitSite][random.nextInt(doctors[visitSite].length)];
+                    long visitMillis = millis(visit);
+
+                    ps = records.row();
+                    ps.setLong(1, recordId);
+                    ps.setLong(2, visitMillis);
+                    ps.setLong(3, visitMillis);
+                    ps.setString(4, Vocabulary.DIAGNOSES[diagnoses.sample(random)]);
+                    ps.setString(5, random.nextInt(100) < 40 ? clinicalNote() : null);
+                    ps.setString(6, Distributions.pick(random, Vocabulary.TREATMENT_PLANS));
+                    ps.setLong(7, doctorId);
+                    ps.setLong(8, patientId);
+                    ps.setString(9, locations[visitSite]);
+                    records.add();
+
+                    int prescribed = Distributions.weighted(random, MEDICATIONS_PER_RECORD);
+                    for (int m = 0; m < prescribed; m++) {
+                        String[] drug = Vocabulary.MEDICATIONS[medications.sample(random)];
+                        ps = meds.row();
+                        ps.setLong(1, medicationId);
+                        ps.setLong(2, visitMillis);
+                        ps.setString(3, drug[1 + random.nextInt(drug.length - 1)]);
+                        LocalDate end = medicationEnd(visit);
+                        if (end == null) {
+                            ps.setNull(4, Types.BIGINT);
+                        } else {
+                            ps.setLong(4, millis(end));
+                        }
+                        ps.setString(5, Vocabulary.FREQUENCIES[frequencies.sample(random)]);
+                        ps.setString(6, drug[0]);
+                        ps.setLong(7, visitMillis);
+                        ps.setLong(8, recordId);
+                        meds.add();
+
+                        if (random.nextInt(10) != 0) {
+                            ps = prescriptions.row();
+                            ps.setLong(1, visitMillis);
+                            ps.setString(2, Distributions.pick(random, Vocabulary.PRESCRIPTION_INSTRUCTIONS));
+                            ps.setLong(3, visitMillis);
+                            ps.setLong(4, doctorId);
+                            ps.setLong(5, recordId);
+                            ps.setLong(6, medicationId);
+                            prescriptions.add();
+                        }
+                        medicationId++;
+                    }
+                    recordId++;
+                }
+
+                int reportCount = Distributions.logNormalCount(random, 0, 0.8, 1.0, 150);
+                for (int r = 0; r < reportCount; r++) {
+                    long day = since + random.nextInt((int) (asOfDay - since + 1));
+                    ps = reports.row();
+                    ps.setLong(1, millis(LocalDate.ofEpochDay(day)));
+                    ps.setLong(2, millis(LocalDate.ofEpochDay(day)));
+                    ps.setString(3, Distributions.pick(random, Vocabulary.REPORT_RECOMMENDATIONS));
+                    ps.setString(4, Distributions.pick(random, Vocabulary.REPORT_SUMMARIES));
+                    ps.setLong(5, caregivers[site][random.nextInt(caregivers[site].length)]);
+                    ps.setLong(6, patientId);
+                    reports.add();
+                }
+            }
+
+            Map<String, Long> counts = new LinkedHashMap<>();
+            counts.put("patients", patients.finish());
+            counts.put("medical_records", records.finish());
+            counts.put("medications", meds.finish());
+            counts.put("prescriptions", prescriptions.finish());
+            counts.put("progress_reports", reports.finish());
+
+            patientsByLocation = new int[locations.length][];
+            for (int site = 0; site < locations.length; site++) {
+                patientsByLocation[site] = new int[patientsPerSite[site]];
+                patientsPerSite[site] = 0;
+            }
+            for (int i = 0; i < patientCount; i++) {
+                int site = patientSite[i];
+                patientsByLocation[site][patientsPerSite[site]++] = i + 1;
+            }
+            return counts;
+        }
+    }
+
+    // Each doctor's weekday half-hour slots, filled at a fixed rate with patients from the doctor's site
+    private long generateAppointments() throws SQLException {
+        LocalDate first = settings.getAsOf().minusDays(settings.getHistoryDays());
+        LocalDate last = settings.getAsOf().plusDays(settings.getFutureDays());
+        LocalDateTime now = settings.getAsOf().atTime(DAY_START);
+
+        try (Batch appointments = new Batch("INSERT INTO appointments (appointment_date, created_at, status, doctor_id, "
+                + "patient_id, location) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int site = 0; site < locations.length; site++) {
+                int[] sitePatients = patientsByLocation[site];
+                if (sitePatients.length == 0) {
+                    continue;
+                }
+                for (long doctorId : doctors[site]) {
+                    for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                        if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                            continue;
+                        }
+                        boolean past = day.isBefore(settings.getAsOf());
+                        double utilisation = past ? PAST_SLOT_UTILISATION : FUTURE_SLOT_UTILISATION;
+                        for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                            if (random.nextDouble() >= utilisation) {
+                                continue;
+                            }
+                            LocalDateTime start = day.atTime(DAY_START).plusMinutes((long) slot * SLOT_MINUTES);
+                            LocalDateTime booked = start.minusDays(1 + random.nextInt(30));
+                            PreparedStatement ps = appointments.row();
+                            ps.setLong(1, millis(start));
+                            ps.setLong(2, millis(booked.isAfter(now) ? now : booked));
+                            ps.setString(3, appointmentStatus(past));
+                            ps.setLong(4, doctorId);
+                            ps.setLong(5, sitePatients[random.nextInt(sitePatients.length)]);
+                            ps.setString(6, locations[site]);
+                            appointments.add();
+                        }
+                    }
+                }
+            }
+            return appointments.finish();
+        }
+    }
+
+    private String appointmentStatus(boolean past) {
+        int roll = random.nextInt(100);
+        if (past) {
+            return roll < 85 ? "completed" : roll < 93 ? "cancelled" : "no-show";
+        }
+        return roll < 95 ? "active" : "cancelled";
+    }
+
+    // Roughly a third of prescriptions are long-term, half of those still running; the rest are short courses
+    private LocalDate medicationEnd(LocalDate start) {
+        if (random.nextInt(100) < 35) {
+            return random.nextBoolean() ? null : start.plusDays(180 + random.nextInt(1620));
+        }
+        return start.plusDays(5 + random.nextInt(86));
+    }
+
+    // Given names (most with a middle name) and a Zipf-distributed surname, re-drawn while the
+    // combination is taken; patients are unique by name, so a persistent clash falls back to a
+    // surname derived from the patient index
+    private String[] uniqueName(Set<Long> names, boolean female, int patientIndex) {
+        String[] given = female ? Vocabulary.FEMALE_FIRST_NAMES : Vocabulary.MALE_FIRST_NAMES;
+        Zipf givenNames = female ? femaleNames : maleNames;
+        int first = givenNames.sample(random);
+        int middle = 0;
+        int surnameIndex = 0;
+        for (int attempt = 0; attempt <= 8; attempt++) {
+            middle = random.nextInt(10) < 7 ? givenNames.sample(random) : NO_MIDDLE_NAME;
+            surnameIndex = attempt < 8 ? surnames.sample(random)
+                    : Vocabulary.COMMON_SURNAMES.length + SURNAME_TAIL + patientIndex;
+            long key = ((female ? 1L : 0L) << 47) | ((long) first << 40) | ((long) middle << 32) | surnameIndex;
+            if (names.add(key)) {
+                break;
+            }
+        }
+        String firstName = middle == NO_MIDDLE_NAME ? given[first] : given[first] + " " + given[middle];
+        return new String[]{firstName, surname(surnameIndex)};
+    }
+
+    // Common surnames first, then synthetic ones spelled from the index in base SURNAME_SYLLABLES
+    static String surname(int index) {
+        if (index < Vocabulary.COMMON_SURNAMES.length) {
+            return Vocabulary.COMMON_SURNAMES[index];
+        }
+        int n = index - Vocabulary.COMMON_SURNAMES.length;
+        String[] syllables = Vocabulary.SURNAME_SYLLABLES;
+        StringBuilder name = new StringBuilder();
+        do {
+            name.append(syllables[n % syllables.length]);
+            n /= syllables.length;
+        } while (n > 0 || name.length() < 6);
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    static String locationName(int index) {
+        int towns = Vocabulary.TOWNS.length;
+        int types = Vocabulary.SITE_TYPES.length;
+        String name = Vocabulary.TOWNS[index % towns] + " " + Vocabulary.SITE_TYPES[(index / towns) % types];
+        return index < towns * types ? name : name + " " + (index / (towns * types) + 1);
+    }
+
+    private String firstName(boolean female) {
+        return female ? Vocabulary.FEMALE_FIRST_NAMES[femaleNames.sample(random)]
+                : Vocabulary.MALE_FIRST_NAMES[maleNames.sample(random)];
+    }
+
+    private String clinicalNote() {
+        StringBuilder note = new StringBuilder()
+                .append(Distributions.pick(random, Vocabulary.NOTE_OPENINGS)).append(' ')
+                .append(Distributions.pick(random, Vocabulary.NOTE_FINDINGS));
+        if (random.nextBoolean()) {
+            note.append(" and ").append(Distributions.pick(random, Vocabulary.NOTE_FINDINGS));
+        }
+        return note.append(". ").append(Distributions.pick(random, Vocabulary.NOTE_CLOSINGS)).toString();
+    }
+
+    private String phoneNumber() {
+        return String.format("07%03d %06d", random.nextInt(1000), random.nextInt(1_000_000));
+    }
+
+    // The driver's default encoding for DATE and TIMESTAMP parameters, which the server reads back
+    private static long millis(LocalDate date) {
+        return Date.valueOf(date).getTime();
+    }
+
+    private static long millis(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime).getTime();
+    }
+
+    // One prepared INSERT, flushed every batch-size rows and committed with the others every COMMIT_EVERY_ROWS
+    private final class Batch implements AutoCloseable {
+        private final PreparedStatement statement;
+        private long rows;
+        private int pending;
+
+        private Batch(String sql) throws SQLException {
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        private PreparedStatement row() {
+            return statement;
+        }
+
+        private void add() throws SQLException {
+            statement.addBatch();
+            rows++;
+            if (++pending >= settings.getBatchSize()) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending == 0) {
+                return;
+            }
+            statement.executeBatch();
+            rowsSinceCommit += pending;
+            pending = 0;
+            if (rowsSinceCommit >= COMMIT_EVERY_ROWS) {
+                connection.commit();
+                rowsSinceCommit = 0;
+            }
+        }
+
+        private long finish() throws SQLException {
+            flush();
+            return rows;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            statement.close();
+        }
+    }
+
+    // Generator options; the defaults write about three million rows
+    public static final class Settings {
+
+        static final String USAGE = """
+                Options:
+                  --out <file>                    database to write (default build/datagen/eldercare.db)
+                  --patients <n>                  number of patients (default 100000)
+                  --patients-per-location <n>     patients per site; sets the number of sites (default 2500)
+                  --history-years <n>             years of past records and appointments (default 3)
+                  --future-days <n>               days of upcoming appointments (default 60)
+                  --as-of <yyyy-mm-dd>            date treated as today (default: today)
+                  --seed <n>                      random seed (default 42)
+                  --batch-size <n>                rows per JDBC batch (default 5000)
+                  --password <text>               password given to every generated user (default datagen)
+                  --force                         replace an existing file""";
+
+        private String out = "build/datagen/eldercare.db";
+        private int patients = 100_000;
+        private int patientsPerLocation = 2500;
+        private int historyYears = 3;
+        private int futureDays = 60;
+        private LocalDate asOf = LocalDate.now();
+        private long seed = 42;
+        private int batchSize = 5000;
+        private String password = DEFAULT_PASSWORD;
+        private boolean force;
+
+        static Settings parse(String[] args) {
+            Settings settings = new Settings();
+            List<String> rest = new ArrayList<>(List.of(args));
+            while (!rest.isEmpty()) {
+                String arg = rest.remove(0);
+                if (arg.equals("--force")) {
+                    settings.setForce(true);
+                    continue;
+                }
+                if (!arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Unexpected argument: " + arg);
+                }
+                String name = arg.substring(2);
+                String value;
+                int equals = name.indexOf('=');
+                if (equals >= 0) {
+                    value = name.substring(equals + 1);
+                    name = name.substring(0, equals);
+                } else if (!rest.isEmpty()) {
+                    value = rest.remove(0);
+                } else {
+                    throw new IllegalArgumentException("Missing value for --" + name);
+                }
+                try {
+                    switch (name) {
+                        case "out" -> settings.setOut(value);
+                        case "patients" -> settings.setPatients(Integer.parseInt(value));
+                        case "patients-per-location" -> settings.setPatientsPerLocation(Integer.parseInt(value));
+                        case "history-years" -> settings.setHistoryYears(Integer.parseInt(value));
+                        case "future-days" -> settings.setFutureDays(Integer.parseInt(value));
+                        case "as-of" -> settings.setAsOf(LocalDate.parse(value));
+                        case "seed" -> settings.setSeed(Long.parseLong(value));
+                        case "batch-size" -> settings.setBatchSize(Integer.parseInt(value));
+                        case "password" -> settings.setPassword(value);
+                        default -> throw new IllegalArgumentException("Unknown option --" + name);
+                    }
+                } catch (NumberFormatException | DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid value for --" + name + ": " + value);
+                }
+            }
+            if (settings.patients < 1 || settings.patientsPerLocation < 1 || settings.historyYears < 1
+                    || settings.futureDays < 0 || settings.batchSize < 1) {
+                throw new IllegalArgumentException("Counts must be positive");
+            }
+            return settings;
+        }
+
+        int getHistoryDays() {
+            return historyYears * 365;
+        }
+
+        public String getOut() { return out; }
+        public void setOut(String out) { this.out = out; }
+
+        public int getPatients() { return patients; }
+        public void setPatients(int patients) { this.patients = patients; }
+
+        public int getPatientsPerLocation() { return patientsPerLocation; }
+        public void setPatientsPerLocation(int patientsPerLocation) { this.patientsPerLocation = patientsPerLocation; }
+
+        public int getHistoryYears() { return historyYears; }
+        public void setHistoryYears(int historyYears) { this.historyYears = historyYears; }
+
+        public int getFutureDays() { return futureDays; }
+        public void setFutureDays(int futureDays) { this.futureDays = futureDays; }
+
+        public LocalDate getAsOf() { return asOf; }
+        public void setAsOf(LocalDate asOf) { this.asOf = asOf; }
+
+        public long getSeed() { return seed; }
+        public void setSeed(long seed) { this.seed = seed; }
+
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+
+        public boolean isForce() { return force; }
+        public void setForce(boolean force) { this.force = force; }
+    }
+}
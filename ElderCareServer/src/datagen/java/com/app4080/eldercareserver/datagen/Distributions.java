@@ -0,0 +1,66 @@
+package com.app4080.eldercareserver.datagen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Samplers for the skewed distributions real clinical data shows: a few names, diagnoses and
+// drugs account for most rows, and most patients have a few records while some have dozens.
+final class Distributions {
+
+    private Distributions() {
+    }
+
+    // Zipf over ranks 0..n-1 with exponent s; rank 0 is the most frequent
+    static final class Zipf {
+        private final double[] cdf;
+
+        Zipf(int n, double s) {
+            cdf = new double[n];
+            double total = 0;
+            for (int rank = 0; rank < n; rank++) {
+                total += 1.0 / Math.pow(rank + 1, s);
+                cdf[rank] = total;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cdf[rank] /= total;
+            }
+        }
+
+        int sample(Random random) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+        }
+    }
+
+    // Long-tailed count: at least min, median around min + exp(mu), capped at max
+    static int logNormalCount(Random random, int min, double mu, double sigma, int max) {
+        double value = Math.exp(mu + sigma * random.nextGaussian());
+        return (int) Math.min(max, min + Math.floor(value));
+    }
+
+    // Gaussian clipped to [min, max]
+    static int clippedGaussian(Random random, double mean, double sd, int min, int max) {
+        long value = Math.round(mean + sd * random.nextGaussian());
+        return (int) Math.max(min, Math.min(max, value));
+    }
+
+    // Index into weights, chosen in proportion to them
+    static int weighted(Random random, double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double point = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            point -= weights[i];
+            if (point < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
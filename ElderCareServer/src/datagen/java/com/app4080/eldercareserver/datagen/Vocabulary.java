@@ -0,0 +1,152 @@
+package com.app4080.eldercareserver.datagen;
+
+// Word lists behind the generated rows. Lists that are sampled with a Zipf distribution are in
+// descending order of real-world frequency, so the first entries dominate.
+final class Vocabulary {
+
+    private Vocabulary() {
+    }
+
+    static final String[] FEMALE_FIRST_NAMES = {"Mary", "Patricia", "Linda", "Barbara", "Elizabeth", "Jennifer",
+            "Maria", "Susan", "Margaret", "Dorothy", "Lisa", "Nancy", "Karen", "Betty", "Helen", "Sandra", "Donna",
+            "Carol", "Ruth", "Sharon", "Michelle", "Laura", "Sarah", "Kimberly", "Deborah", "Jessica", "Shirley",
+            "Cynthia", "Angela", "Melissa", "Brenda", "Amy", "Anna", "Rebecca", "Virginia", "Kathleen", "Pamela",
+            "Martha", "Debra", "Amanda", "Stephanie", "Carolyn", "Christine", "Marie", "Janet", "Catherine",
+            "Frances", "Ann", "Joyce", "Diane", "Alice", "Julie", "Heather", "Teresa", "Doris", "Gloria", "Evelyn",
+            "Jean", "Cheryl", "Mildred", "Katherine", "Joan", "Ashley", "Judith", "Rose", "Janice", "Kelly",
+            "Nicole", "Judy", "Christina", "Kathy", "Theresa", "Beverly", "Denise", "Tammy", "Irene", "Jane", "Lori"};
+
+    static final String[] MALE_FIRST_NAMES = {"James", "John", "Robert", "Michael", "William", "David", "Richard",
+            "Charles", "Joseph", "Thomas", "Christopher", "Daniel", "Paul", "Mark", "Donald", "George", "Kenneth",
+            "Steven", "Edward", "Brian", "Ronald", "Anthony", "Kevin", "Jason", "Matthew", "Gary", "Timothy", "Jose",
+            "Larry", "Jeffrey", "Frank", "Scott", "Eric", "Stephen", "Andrew", "Raymond", "Gregory", "Joshua",
+            "Jerry", "Dennis", "Walter", "Patrick", "Peter", "Harold", "Douglas", "Henry", "Carl", "Arthur", "Ryan",
+            "Roger", "Joe", "Juan", "Jack", "Albert", "Jonathan", "Justin", "Terry", "Gerald", "Keith", "Samuel",
+            "Willie", "Ralph", "Lawrence", "Nicholas", "Roy", "Benjamin", "Bruce", "Brandon", "Adam", "Harry"};
+
+    // Head of the surname distribution; the tail is synthesised from SURNAME_SYLLABLES
+    static final String[] COMMON_SURNAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas",
+            "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark",
+            "Ramirez", "Lewis", "Robinson", "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen",
+            "Hill", "Flores", "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell",
+            "Carter", "Roberts", "Gomez", "Phillips", "Evans", "Turner", "Diaz", "Parker", "Cruz", "Edwards",
+            "Collins", "Reyes", "Stewart", "Morris", "Morales", "Murphy", "Cook", "Rogers", "Gutierrez", "Ortiz",
+            "Morgan", "Cooper", "Peterson", "Bailey", "Reed", "Kelly", "Howard", "Ramos", "Kim", "Cox", "Ward",
+            "Richardson", "Watson", "Brooks", "Chavez", "Wood", "James", "Bennett", "Gray", "Mendoza", "Ruiz",
+            "Hughes", "Price", "Alvarez", "Castillo", "Sanders", "Patel", "Myers", "Long", "Ross", "Foster"};
+
+    static final String[] SURNAME_SYLLABLES = {"al", "ber", "car", "dan", "el", "fer", "gar", "hal", "in", "jor",
+            "kel", "lan", "mor", "nor", "ol", "pen", "quin", "ros", "sel", "tor", "ul", "van", "wes", "yar", "zel",
+            "bro", "cha", "dre", "fal", "gri"};
+
+    static final String[] STREETS = {"Main Street", "Oak Avenue", "Maple Drive", "Cedar Lane", "Elm Street",
+            "Pine Road", "Church Street", "Park Avenue", "Mill Lane", "High Street", "Station Road", "Victoria Road",
+            "Green Lane", "Manor Road", "Willow Close", "Kings Road", "Queens Drive", "Meadow Way", "Bridge Street",
+            "Orchard Close"};
+
+    static final String[] TOWNS = {"Princeton", "Plainsboro", "Ashford", "Brookfield", "Clearwater", "Dunmore",
+            "Easton", "Fairview", "Greenville", "Hillcrest", "Kingsbury", "Lakeside", "Millbrook", "Northfield",
+            "Oakridge", "Pinehurst", "Riverside", "Springfield", "Westbury", "Woodland"};
+
+    static final String[] SITE_TYPES = {"Medical Centre", "Care Home", "Community Clinic", "General Hospital",
+            "Day Centre", "Nursing Home"};
+
+    // Chronic conditions common among older patients, most frequent first
+    static final String[] DIAGNOSES = {"Hypertension", "Hyperlipidaemia", "Type 2 diabetes mellitus",
+            "Osteoarthritis of the knee", "Coronary artery disease", "Chronic kidney disease stage 3",
+            "Atrial fibrillation", "Hypothyroidism", "Chronic obstructive pulmonary disease", "Osteoporosis",
+            "Heart failure with reduced ejection fraction", "Major depressive disorder", "Mild cognitive impairment",
+            "Alzheimer's disease", "Benign prostatic hyperplasia", "Glaucoma", "Age-related macular degeneration",
+            "Gastro-oesophageal reflux disease", "Urinary tract infection", "Community-acquired pneumonia",
+            "Peripheral neuropathy", "Parkinson's disease", "Anaemia of chronic disease", "Insomnia",
+            "Cataract", "Hearing loss", "Falls with minor injury", "Constipation", "Gout", "Cellulitis",
+            "Pressure ulcer stage 2", "Vitamin D deficiency", "Dehydration", "Delirium", "Shingles",
+            "Transient ischaemic attack", "Stroke with residual weakness", "Rheumatoid arthritis",
+            "Peripheral arterial disease", "Sleep apnoea"};
+
+    static final String[] TREATMENT_PLANS = {"Continue current medication and review in three months",
+            "Start new medication; recheck bloods in four weeks", "Refer to physiotherapy for mobility and strength",
+            "Dietary advice given; dietitian referral made", "Increase dose gradually and monitor blood pressure",
+            "Refer to specialist outpatient clinic", "Short course of antibiotics; review if not improving in 48 hours",
+            "Falls risk assessment and home safety review", "Occupational therapy assessment for daily living aids",
+            "Monitor symptoms; family to report any deterioration", "Reduce dose due to side effects",
+            "Wound care by district nurse twice weekly", "Memory clinic referral and cognitive screening"};
+
+    static final String[] NOTE_OPENINGS = {"Patient reports", "Family members note", "Carer observed",
+            "On examination", "At follow-up the patient describes", "Nursing staff report"};
+
+    static final String[] NOTE_FINDINGS = {"improved sleep", "worsening joint pain in the mornings",
+            "reduced appetite over the past fortnight", "mild ankle swelling", "better mobility with a frame",
+            "increased confusion in the evenings", "dizziness on standing", "good adherence to medication",
+            "occasional missed doses", "shortness of breath on exertion", "stable weight", "new bruising on forearms",
+            "low mood since bereavement", "improved blood sugar readings", "persistent dry cough"};
+
+    static final String[] NOTE_CLOSINGS = {"No acute concerns.", "Observations within normal limits.",
+            "Bloods requested.", "Advised to keep a symptom diary.", "Safety-netting advice given.",
+            "Discussed with next of kin.", "Will review at next visit."};
+
+    // Medication names, most prescribed first, each with the strengths it comes in
+    static final String[][] MEDICATIONS = {
+            {"Atorvastatin", "10mg", "20mg", "40mg", "80mg"},
+            {"Amlodipine", "5mg", "10mg"},
+            {"Metformin", "500mg", "850mg", "1000mg"},
+            {"Lisinopril", "5mg", "10mg", "20mg"},
+            {"Levothyroxine", "25mcg", "50mcg", "75mcg", "100mcg"},
+            {"Omeprazole", "20mg", "40mg"},
+            {"Aspirin", "75mg"},
+            {"Bisoprolol", "1.25mg", "2.5mg", "5mg"},
+            {"Ramipril", "2.5mg", "5mg", "10mg"},
+            {"Simvastatin", "20mg", "40mg"},
+            {"Paracetamol", "500mg", "1g"},
+            {"Furosemide", "20mg", "40mg"},
+            {"Apixaban", "2.5mg", "5mg"},
+            {"Lansoprazole", "15mg", "30mg"},
+            {"Colecalciferol", "800 units", "1000 units"},
+            {"Sertraline", "50mg", "100mg"},
+            {"Citalopram", "10mg", "20mg"},
+            {"Tamsulosin", "400mcg"},
+            {"Donepezil", "5mg", "10mg"},
+            {"Alendronic acid", "70mg"},
+            {"Gabapentin", "100mg", "300mg"},
+            {"Warfarin", "1mg", "3mg", "5mg"},
+            {"Losartan", "25mg", "50mg", "100mg"},
+            {"Amoxicillin", "500mg"},
+            {"Nitrofurantoin", "50mg", "100mg"},
+            {"Prednisolone", "5mg", "30mg"},
+            {"Latanoprost", "50mcg/ml"},
+            {"Mirtazapine", "15mg", "30mg"},
+            {"Co-codamol", "8/500mg", "30/500mg"},
+            {"Allopurinol", "100mg", "300mg"},
+            {"Senna", "7.5mg"},
+            {"Levodopa/carbidopa", "100/25mg"},
+            {"Insulin glargine", "10 units", "20 units"},
+            {"Digoxin", "62.5mcg", "125mcg"},
+            {"Doxycycline", "100mg"}};
+
+    // Dosing schedules, most common first
+    static final String[] FREQUENCIES = {"once daily", "twice daily", "once daily at night", "three times daily",
+            "every morning", "as needed", "every 12 hours", "every 8 hours", "four times daily", "once weekly",
+            "every 6 hours", "every other day"};
+
+    static final String[] PRESCRIPTION_INSTRUCTIONS = {"Take with food", "Take with a full glass of water",
+            "Swallow whole; do not crush", "Take at the same time each day", "Avoid alcohol",
+            "Stop and seek advice if a rash develops", "Take on an empty stomach 30 minutes before breakfast",
+            "Do not take with indigestion remedies", "Complete the full course"};
+
+    static final String[] REPORT_SUMMARIES = {"Settled day; ate all meals and joined group activities",
+            "Mobilised with frame to the lounge and back with supervision", "Restless overnight; reassured and settled",
+            "Declined breakfast but ate a good lunch", "Visited by family; in good spirits afterwards",
+            "Skin intact; repositioned every four hours", "Complained of knee pain; analgesia given with effect",
+            "Some confusion in the late afternoon; redirected successfully", "Personal care completed independently",
+            "Fluid intake below target; encouraged to drink more", "Short walk in the garden with a carer",
+            "Took all medication as prescribed", "Blood glucose within target range before meals"};
+
+    static final String[] REPORT_RECOMMENDATIONS = {"Continue current care plan",
+            "Encourage fluids and record intake chart", "Refer to GP if pain persists beyond two days",
+            "Increase social activities in the afternoon", "Monitor weight weekly",
+            "Arrange optician appointment", "Review footwear for falls risk", "Continue pressure area care",
+            "Discuss sleep routine with family"};
+
+    static final String[] RELATIONSHIPS = {"daughter", "son", "spouse", "niece", "nephew", "friend", "neighbour"};
+}
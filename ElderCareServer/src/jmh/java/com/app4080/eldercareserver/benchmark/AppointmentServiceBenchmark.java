@@ -0,0 +1,81 @@
+package com.app4080.eldercareserver.benchmark;
+
+import com.app4080.eldercareserver.dto.appointment.AppointmentRequest;
+import com.app4080.eldercareserver.dto.appointment.AppointmentResponse;
+import com.app4080.eldercareserver.service.AppointmentService;
+import com.app4080.eldercareserver.dto.user.UserResponse;
+import com.app4080.eldercareserver.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Books a fresh half-hour slot on every call, rotating through the generated doctors, so each
+// invocation runs the full conflict check, insert and commit without ever being rejected. The
+// slots start a year out, past the upcoming appointments DataGenerator writes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AppointmentServiceBenchmark {
+
+    private static final int SLOTS_PER_DAY = 18;
+
+    private final AtomicLong bookings = new AtomicLong();
+
+    private AppointmentService appointmentService;
+    private long[] doctorIds;
+    private String[] doctorLocations;
+    private long firstPatientId;
+    private int patientCount;
+    private LocalDateTime firstSlot;
+
+    @Setup(Level.Trial)
+    public void setUp(ElderCareState state) {
+        appointmentService = state.bean(AppointmentService.class);
+        UserService userService = state.bean(UserService.class);
+
+        List<UserResponse> doctors = userService.findUsersByRole("doctor");
+        doctorIds = new long[doctors.size()];
+        doctorLocations = new String[doctors.size()];
+        for (int i = 0; i < doctors.size(); i++) {
+            doctorIds[i] = doctors.get(i).getId();
+            doctorLocations[i] = doctors.get(i).getPrimaryLocation();
+        }
+        firstPatientId = 1;
+        patientCount = state.patients;
+        firstSlot = LocalDate.now().plusYears(1).atTime(8, 0);
+    }
+
+    @Benchmark
+    public AppointmentResponse createAppointment() {
+        long n = bookings.getAndIncrement();
+        int doctor = (int) (n % doctorIds.length);
+        long slot = n / doctorIds.length;
+
+        AppointmentRequest request = new AppointmentRequest();
+        request.setDoctorId(doctorIds[doctor]);
+        request.setPatientId(firstPatientId + ThreadLocalRandom.current().nextInt(patientCount));
+        request.setAppointmentDate(firstSlot.plusDays(slot / SLOTS_PER_DAY).plusMinutes(30 * (slot % SLOTS_PER_DAY)));
+        request.setDurationMinutes(30);
+        request.setLocation(doctorLocations[doctor]);
+        request.setStatus("active");
+        return appointmentService.createAppointment(request);
+    }
+}
@@ -0,0 +1,71 @@
+package com.app4080.eldercareserver.benchmark;
+
+import com.app4080.eldercareserver.ElderCareServerApplication;
+import com.app4080.eldercareserver.datagen.DataGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// The application context shared by every benchmark in a fork: a database written by
+// DataGenerator, production configuration, no web server. Benchmarks pull the services they
+// measure out of it.
+@State(Scope.Benchmark)
+public class ElderCareState {
+
+    @Param("20000")
+    public int patients;
+
+    @Param("42")
+    public long seed;
+
+    private Path database;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        DataGenerator.Settings settings = new DataGenerator.Settings();
+        settings.setPatients(patients);
+        settings.setSeed(seed);
+        database = Files.createTempFile("eldercare-bench", ".db");
+        new DataGenerator(settings).generate(database);
+
+        context = new SpringApplicationBuilder(ElderCareServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:sqlite:" + database, "--logging.level.root=WARN",
+                        "--eldercare.jwt.secret=" + throwawayKey());
+    }
+
+    // Benchmarks call services directly, but the context still needs a signing key to start
+    private static String throwawayKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (database != null) {
+            Files.deleteIfExists(database);
+            Files.deleteIfExists(Path.of(database + "-wal"));
+            Files.deleteIfExists(Path.of(database + "-shm"));
+        }
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,69 @@
+package com.app4080.eldercareserver.benchmark;
+
+import com.app4080.eldercareserver.dto.page.CursorPage;
+import com.app4080.eldercareserver.dto.patient.PatientResponse;
+import com.app4080.eldercareserver.dto.patient.PatientSearch;
+import com.app4080.eldercareserver.service.PatientService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Patient search, single-record lookup and list paging over the seeded patients.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientServiceBenchmark {
+
+    private PatientService patientService;
+    private long firstPatientId;
+    private int patientCount;
+
+    @Setup(Level.Trial)
+    public void setUp(ElderCareState state) {
+        patientService = state.bean(PatientService.class);
+        patientCount = state.patients;
+        firstPatientId = patientService.getAllPatients(null, 1).getItems().get(0).getId();
+    }
+
+    // Keyword search scans every patient; the terms cover a surname shared by a large share of
+    // patients, a rare one and a term matching nothing
+    @State(Scope.Benchmark)
+    public static class SearchTerm {
+        @Param({"smith", "surname1234", "nomatch"})
+        public String keyword;
+    }
+
+    @Benchmark
+    public List<PatientSearch> keywordSearch(SearchTerm term) {
+        return patientService.keywordSearch(term.keyword);
+    }
+
+    // Single-row lookup plus the entity-to-DTO conversion
+    @Benchmark
+    public PatientResponse patientRecord() {
+        return patientService.getPatientRecordStaff(firstPatientId + ThreadLocalRandom.current().nextInt(patientCount));
+    }
+
+    // One default-sized page of the patient list, dominated by DTO conversion
+    @Benchmark
+    public CursorPage<PatientResponse> patientPage() {
+        long cursor = firstPatientId + ThreadLocalRandom.current().nextInt(patientCount - CursorPage.DEFAULT_LIMIT);
+        return patientService.getAllPatients(cursor, CursorPage.DEFAULT_LIMIT);
+    }
+}
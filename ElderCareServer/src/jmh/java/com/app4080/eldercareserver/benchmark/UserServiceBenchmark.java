@@ -0,0 +1,60 @@
+package com.app4080.eldercareserver.benchmark;
+
+import com.app4080.eldercareserver.datagen.DataGenerator;
+import com.app4080.eldercareserver.dto.user.UserResponse;
+import com.app4080.eldercareserver.service.PrincipalCache;
+import com.app4080.eldercareserver.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.AccessDeniedException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// validatePrivileges runs at the top of most controller methods, so both the cached path and
+// the cache-miss path (a user lookup) are measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    private static final String USERNAME = DataGenerator.doctorUsername(0, 0);
+
+    private UserService userService;
+    private PrincipalCache principalCache;
+
+    @Setup(Level.Trial)
+    public void setUp(ElderCareState state) {
+        userService = state.bean(UserService.class);
+        principalCache = state.bean(PrincipalCache.class);
+    }
+
+    @Benchmark
+    public void validatePrivilegesCached() throws AccessDeniedException {
+        userService.validatePrivileges(USERNAME, "viewer");
+    }
+
+    @Benchmark
+    public void validatePrivilegesUncached() throws AccessDeniedException {
+        principalCache.invalidate(USERNAME);
+        userService.validatePrivileges(USERNAME, "viewer");
+    }
+
+    // Entity-to-DTO conversion over every doctor
+    @Benchmark
+    public List<UserResponse> doctorsByRole() {
+        return userService.findUsersByRole("doctor");
+    }
+}
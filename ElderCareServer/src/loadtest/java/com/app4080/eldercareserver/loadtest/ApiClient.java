@@ -0,0 +1,140 @@
+package com.app4080.eldercareserver.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+// One virtual user's view of the REST API: holds its bearer token and times every call under a
+// label with path variables left as templates, so results group by endpoint like the server's
+// http.server.requests metric does.
+final class ApiClient {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final Metrics metrics;
+    private String token;
+
+    ApiClient(HttpClient http, String baseUrl, Duration timeout, Metrics metrics) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.metrics = metrics;
+    }
+
+    void login(String username, String password) {
+        ObjectNode body = JSON.createObjectNode().put("username", username).put("password", password);
+        token = null;
+        JsonNode response = post("/api/users/login", "/api/users/login", body, Set.of(200));
+        token = response.path("token").asText(null);
+        if (token == null) {
+            throw new StepFailedException("Login for " + username + " returned no token");
+        }
+    }
+
+    JsonNode get(String label, String path, Map<String, ?> query) {
+        return send(label, "GET", path + queryString(query), null, Set.of(200));
+    }
+
+    // For lookups where a 404 is an answer rather than a failure; never recorded
+    boolean exists(String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout)
+                .header("Authorization", "Bearer " + token).GET().build();
+        try {
+            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status != 200 && status != 404) {
+                throw new StepFailedException("GET " + path + " returned " + status);
+            }
+            return status == 200;
+        } catch (IOException e) {
+            throw new StepFailedException("GET " + path + " failed: " + e, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StepFailedException("GET " + path + " interrupted", e);
+        }
+    }
+
+    JsonNode post(String label, String path, JsonNode body, Set<Integer> expected) {
+        return send(label, "POST", path, body, expected);
+    }
+
+    // POST with query parameters and no body, as the appointment endpoints expect
+    JsonNode postParams(String label, String path, Map<String, ?> query, Set<Integer> expected) {
+        return send(label, "POST", path + queryString(query), null, expected);
+    }
+
+    private JsonNode send(String label, String method, String pathAndQuery, JsonNode body, Set<Integer> expected) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery)).timeout(timeout);
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body.toString()));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        String metricLabel = method + " " + label;
+        long started = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            metrics.request(metricLabel, System.nanoTime() - started, true);
+            throw new StepFailedException(metricLabel + " failed: " + e, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StepFailedException(metricLabel + " interrupted", e);
+        }
+        boolean ok = expected.contains(response.statusCode());
+        metrics.request(metricLabel, System.nanoTime() - started, !ok);
+        if (!ok) {
+            throw new StepFailedException(metricLabel + " returned " + response.statusCode());
+        }
+
+        byte[] bytes = response.body();
+        if (bytes.length == 0) {
+            return JSON.missingNode();
+        }
+        try {
+            return JSON.readTree(bytes);
+        } catch (IOException e) {
+            // Some endpoints answer with plain text
+            return JSON.getNodeFactory().textNode(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String queryString(Map<String, ?> query) {
+        if (query == null || query.isEmpty()) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner("&", "?", "");
+        query.forEach((name, value) -> {
+            if (value instanceof Iterable<?> values) {
+                values.forEach(v -> joiner.add(encode(name) + "=" + encode(String.valueOf(v))));
+            } else if (value != null) {
+                joiner.add(encode(name) + "=" + encode(String.valueOf(value)));
+            }
+        });
+        return joiner.toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
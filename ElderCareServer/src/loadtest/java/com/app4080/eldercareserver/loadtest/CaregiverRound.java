@@ -0,0 +1,40 @@
+package com.app4080.eldercareserver.loadtest;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.Set;
+
+// A caregiver logs in and, for each resident on the round, reads the recent progress reports
+// and files a new one.
+final class CaregiverRound implements Scenario {
+
+    private static final int RESIDENTS_PER_ROUND = 3;
+    private static final String[] SUMMARIES = {"Settled day; ate all meals", "Restless overnight; reassured",
+            "Mobilised with frame to the lounge", "Took all medication as prescribed"};
+
+    @Override
+    public String name() {
+        return "caregiver";
+    }
+
+    @Override
+    public void run(ApiClient client, Fixture fixture, Random random) {
+        Fixture.Staff caregiver = fixture.randomCaregiver(random);
+        client.login(caregiver.username(), fixture.password());
+
+        for (int i = 0; i < RESIDENTS_PER_ROUND; i++) {
+            long patientId = fixture.randomPatientId(random);
+            client.get("/api/progress-reports/patient/{id}", "/api/progress-reports/patient/" + patientId, null);
+
+            ObjectNode report = ApiClient.JSON.createObjectNode()
+                    .put("patientId", patientId)
+                    .put("caregiverId", caregiver.id())
+                    .put("date", LocalDateTime.now().withNano(0).toString())
+                    .put("summary", SUMMARIES[random.nextInt(SUMMARIES.length)])
+                    .put("recommendations", "Continue current care plan");
+            client.post("/api/progress-reports", "/api/progress-reports", report, Set.of(200));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.app4080.eldercareserver.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.Set;
+
+// A doctor logs in, opens their appointment list, reviews the records and medications of a few
+// of the patients on it and writes one prescription.
+final class DoctorMorning implements Scenario {
+
+    private static final int PATIENTS_REVIEWED = 3;
+
+    @Override
+    public String name() {
+        return "doctor";
+    }
+
+    @Override
+    public void run(ApiClient client, Fixture fixture, Random random) {
+        Fixture.Staff doctor = fixture.randomDoctor(random);
+        client.login(doctor.username(), fixture.password());
+
+        JsonNode appointments = client.get("/api/appointments/doctor/{id}", "/api/appointments/doctor/" + doctor.id(), null);
+
+        JsonNode lastRecord = null;
+        JsonNode lastMedications = null;
+        for (int i = 0; i < PATIENTS_REVIEWED; i++) {
+            long patientId = appointments.size() > 0
+                    ? appointments.get(random.nextInt(appointments.size())).path("patientId").asLong()
+                    : fixture.randomPatientId(random);
+            JsonNode records = client.get("/api/medical-records/patient/{id}", "/api/medical-records/patient/" + patientId, null);
+            if (records.size() == 0) {
+                continue;
+            }
+            lastRecord = records.get(random.nextInt(records.size()));
+            lastMedications = client.get("/api/medications/record/{id}",
+                    "/api/medications/record/" + lastRecord.path("id").asLong(), null);
+        }
+
+        if (lastRecord != null && lastMedications.size() > 0) {
+            JsonNode medication = lastMedications.get(random.nextInt(lastMedications.size()));
+            ObjectNode prescription = ApiClient.JSON.createObjectNode()
+                    .put("medicalRecordId", lastRecord.path("id").asLong())
+                    .put("medicationId", medication.path("id").asLong())
+                    .put("doctorId", doctor.id())
+                    .put("instructions", "Take with food")
+                    .put("issuedDate", LocalDateTime.now().withNano(0).toString());
+            client.post("/api/prescriptions", "/api/prescriptions", prescription, Set.of(201));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.app4080.eldercareserver.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// What the scenarios need to know about the target database, discovered through the API
+// before the run: the staff accounts to log in as and how many patients exist.
+final class Fixture {
+
+    record Staff(long id, String username, String location) {
+    }
+
+    private final List<Staff> doctors;
+    private final List<Staff> caregivers;
+    private final long patientCount;
+    private final String password;
+    private final String frontDeskUser;
+
+    private Fixture(List<Staff> doctors, List<Staff> caregivers, long patientCount, String password, String frontDeskUser) {
+        this.doctors = doctors;
+        this.caregivers = caregivers;
+        this.patientCount = patientCount;
+        this.password = password;
+        this.frontDeskUser = frontDeskUser;
+    }
+
+    static Fixture discover(ApiClient client, String frontDeskUser, String password) {
+        client.login(frontDeskUser, password);
+        List<Staff> doctors = staff(client, "doctor", frontDeskUser);
+        List<Staff> caregivers = staff(client, "caregiver", frontDeskUser);
+        if (doctors.isEmpty() || caregivers.isEmpty()) {
+            throw new StepFailedException("The database needs doctors and caregivers; generate it with `gradle generateData`");
+        }
+        return new Fixture(doctors, caregivers, countPatients(client), password, frontDeskUser);
+    }
+
+    private static List<Staff> staff(ApiClient client, String role, String exclude) {
+        List<Staff> staff = new ArrayList<>();
+        for (JsonNode user : client.get("/api/users/role/{role}", "/api/users/role/" + role, null)) {
+            if (!user.path("username").asText().equals(exclude)) {
+                staff.add(new Staff(user.path("id").asLong(), user.path("username").asText(), user.path("primaryLocation").asText()));
+            }
+        }
+        return staff;
+    }
+
+    // Generated patients are numbered 1..n, so binary search for the highest id that exists
+    private static long countPatients(ApiClient client) {
+        long low = 0;
+        long high = 1;
+        while (client.exists("/api/patients/fetch/" + high)) {
+            low = high;
+            high *= 2;
+        }
+        while (high - low > 1) {
+            long mid = (low + high) >>> 1;
+            if (client.exists("/api/patients/fetch/" + mid)) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == 0) {
+            throw new StepFailedException("The database has no patients");
+        }
+        return low;
+    }
+
+    Staff randomDoctor(Random random) {
+        return doctors.get(random.nextInt(doctors.size()));
+    }
+
+    Staff randomCaregiver(Random random) {
+        return caregivers.get(random.nextInt(caregivers.size()));
+    }
+
+    long randomPatientId(Random random) {
+        return 1 + (long) (random.nextDouble() * patientCount);
+    }
+
+    long patientCount() {
+        return patientCount;
+    }
+
+    int doctorCount() {
+        return doctors.size();
+    }
+
+    int caregiverCount() {
+        return caregivers.size();
+    }
+
+    String password() {
+        return password;
+    }
+
+    String frontDeskUser() {
+        return frontDeskUser;
+    }
+}
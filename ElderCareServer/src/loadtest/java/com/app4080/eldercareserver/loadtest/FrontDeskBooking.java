@@ -0,0 +1,57 @@
+package com.app4080.eldercareserver.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+// The front desk finds a patient by name, looks up a doctor's open slots over the next two weeks
+// and books one. Another desk taking the same slot first (409) is an expected outcome.
+final class FrontDeskBooking implements Scenario {
+
+    private static final String[] NAME_PREFIXES = {"Smi", "Joh", "Wil", "Bro", "Jon", "Gar", "Mil", "Dav", "Mar",
+            "Tho", "Lee", "Pat", "And", "Cla", "Kin"};
+
+    @Override
+    public String name() {
+        return "frontdesk";
+    }
+
+    @Override
+    public void run(ApiClient client, Fixture fixture, Random random) {
+        client.login(fixture.frontDeskUser(), fixture.password());
+
+        Map<String, Object> search = new LinkedHashMap<>();
+        search.put("q", NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)]);
+        search.put("limit", 10);
+        JsonNode matches = client.get("/api/patients/search/typeahead", "/api/patients/search/typeahead", search);
+        long patientId = matches.size() > 0
+                ? matches.get(random.nextInt(matches.size())).path("id").asLong()
+                : fixture.randomPatientId(random);
+
+        Fixture.Staff doctor = fixture.randomDoctor(random);
+        LocalDateTime from = LocalDate.now().plusDays(1).atStartOfDay();
+        Map<String, Object> slotQuery = new LinkedHashMap<>();
+        slotQuery.put("doctorIds", doctor.id());
+        slotQuery.put("from", from.toString());
+        slotQuery.put("to", from.plusDays(14).toString());
+        slotQuery.put("limit", 5);
+        JsonNode slots = client.get("/api/appointments/free-slots", "/api/appointments/free-slots", slotQuery);
+        if (slots.size() == 0) {
+            return;
+        }
+
+        JsonNode slot = slots.get(random.nextInt(slots.size()));
+        Map<String, Object> booking = new LinkedHashMap<>();
+        booking.put("doctorUsername", doctor.username());
+        booking.put("patientId", patientId);
+        booking.put("appointmentDate", slot.path("start").asText());
+        booking.put("location", doctor.location());
+        booking.put("durationMinutes", 30);
+        client.postParams("/api/appointments", "/api/appointments", booking, Set.of(201, 409));
+    }
+}
@@ -0,0 +1,339 @@
+package com.app4080.eldercareserver.loadtest;
+
+import com.app4080.eldercareserver.datagen.DataGenerator;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Closed-loop load test: each virtual user repeatedly picks a clinical workflow from the mix,
+// runs it against the REST API and waits for its think time before the next one. Users start
+// staggered over the warm-up; only what happens after the warm-up is reported.
+//
+// Against a server that is already running:
+//   gradle loadTest --args="--users 50 --duration 2m"
+// Starting the freshly built jar on a copy of the generated database, and comparing with the
+// report of an earlier run:
+//   gradle loadTest --args="--start-server --baseline build/loadtest/before.json"
+public final class LoadTest {
+
+    private static final Map<String, Scenario> SCENARIOS = new LinkedHashMap<>();
+
+    static {
+        for (Scenario scenario : List.of(new DoctorMorning(), new CaregiverRound(), new FrontDeskBooking())) {
+            SCENARIOS.put(scenario.name(), scenario);
+        }
+    }
+
+    private final Settings settings;
+    private final Metrics metrics = new Metrics();
+    private final HttpClient http;
+    private volatile boolean stopped;
+
+    private LoadTest(Settings settings) {
+        this.settings = settings;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(settings.getTimeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings;
+        try {
+            settings = Settings.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(Settings.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        if (!settings.isStartServer()) {
+            new LoadTest(settings).run();
+            return;
+        }
+        int port = URI.create(settings.getBaseUrl()).getPort();
+        try (ServerProcess ignored = ServerProcess.start(settings.getServerJar(), Path.of(settings.getDatabase()),
+                port == -1 ? 80 : port, settings.getServerArgs())) {
+            new LoadTest(settings).run();
+        }
+    }
+
+    private void run() throws Exception {
+        Fixture fixture = Fixture.discover(new ApiClient(http, settings.getBaseUrl(), settings.getTimeout(), metrics),
+                settings.getFrontDeskUser(), settings.getPassword());
+        System.out.printf("Target %s: %,d patients, %d doctors, %d caregivers%n", settings.getBaseUrl(),
+                fixture.patientCount(), fixture.doctorCount(), fixture.caregiverCount());
+        System.out.printf("Running %d users for %s after %s warm-up, mix %s%n", settings.getUsers(),
+                settings.getDuration(), settings.getWarmup(), settings.getMix());
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.getUsers(); i++) {
+                int user = i;
+                users.submit(() -> virtualUser(user, fixture));
+            }
+            Thread.sleep(settings.getWarmup().toMillis());
+            metrics.startRecording();
+            Thread.sleep(settings.getDuration().toMillis());
+            metrics.stopRecording();
+            stopped = true;
+            users.shutdown();
+            if (!users.awaitTermination(settings.getTimeout().toMillis() * 2, TimeUnit.MILLISECONDS)) {
+                users.shutdownNow();
+            }
+        }
+
+        Report report = Report.of(metrics, settings.toJson());
+        report.print(System.out);
+        if (settings.getBaseline() != null) {
+            report.compare(Path.of(settings.getBaseline()), System.out);
+        }
+        report.write(Path.of(settings.getReport()));
+        System.out.printf("%nReport written to %s%n", settings.getReport());
+    }
+
+    private Void virtualUser(int index, Fixture fixture) throws InterruptedException {
+        Random random = new Random(settings.getSeed() + index);
+        ApiClient client = new ApiClient(http, settings.getBaseUrl(), settings.getTimeout(), metrics);
+        Thread.sleep(settings.getWarmup().toMillis() * index / Math.max(1, settings.getUsers()));
+
+        while (!stopped) {
+            Scenario scenario = pick(random);
+            long started = System.nanoTime();
+            boolean failed = false;
+            try {
+                scenario.run(client, fixture, random);
+            } catch (StepFailedException e) {
+                failed = true;
+                metrics.error(e.getMessage());
+            } catch (RuntimeException e) {
+                failed = true;
+                metrics.error(scenario.name() + ": " + e);
+            }
+            metrics.scenario(scenario.name(), System.nanoTime() - started, failed);
+
+            long thinkMillis = settings.getThinkTime().toMillis();
+            if (thinkMillis > 0) {
+                // Spread around the mean so users do not fall into lockstep
+                Thread.sleep((long) (thinkMillis * (0.5 + random.nextDouble())));
+            }
+        }
+        return null;
+    }
+
+    private Scenario pick(Random random) {
+        Map<String, Integer> mix = settings.getMix();
+        int roll = random.nextInt(mix.values().stream().mapToInt(Integer::intValue).sum());
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return SCENARIOS.get(entry.getKey());
+            }
+        }
+        throw new IllegalStateException("Empty scenario mix");
+    }
+
+    static final class Settings {
+
+        static final String USAGE = """
+                Options:
+                  --base-url <url>                server to test (default http://localhost:8080)
+                  --users <n>                     concurrent virtual users (default 20)
+                  --duration <time>               measured period, e.g. 90s or 5m (default 60s)
+                  --warmup <time>                 unmeasured ramp-up before it (default 10s)
+                  --mix <name=weight,...>         scenario weights (default doctor=4,caregiver=3,frontdesk=3)
+                  --think-time <time>             mean pause between scenarios per user (default 0ms)
+                  --timeout <time>                per-request timeout (default 30s)
+                  --password <text>               password of the generated users (default datagen)
+                  --front-desk-user <name>        supervisor account used for booking (default datagen-admin)
+                  --report <file>                 JSON report to write (default build/loadtest/report.json)
+                  --baseline <file>               earlier report to compare against
+                  --seed <n>                      random seed for the virtual users (default 42)
+                  --start-server                  run the server jar on a copy of --database for the test
+                  --server-jar <file>             jar to run (default: the one `gradle loadTest` just built)
+                  --database <file>               database to copy (default build/datagen/eldercare.db)
+                  --server-arg <arg>              extra server argument; repeatable""";
+
+        private String baseUrl = "http://localhost:8080";
+        private int users = 20;
+        private Duration duration = Duration.ofSeconds(60);
+        private Duration warmup = Duration.ofSeconds(10);
+        private Map<String, Integer> mix = parseMix("doctor=4,caregiver=3,frontdesk=3");
+        private Duration thinkTime = Duration.ZERO;
+        private Duration timeout = Duration.ofSeconds(30);
+        private String password = DataGenerator.DEFAULT_PASSWORD;
+        private String frontDeskUser = DataGenerator.ADMIN_USERNAME;
+        private String report = "build/loadtest/report.json";
+        private String baseline;
+        private long seed = 42;
+        private boolean startServer;
+        private String serverJar = System.getProperty("loadtest.server-jar");
+        private String database = "build/datagen/eldercare.db";
+        private final List<String> serverArgs = new ArrayList<>();
+
+        static Settings parse(String[] args) {
+            Settings settings = new Settings();
+            List<String> rest = new ArrayList<>(List.of(args));
+            while (!rest.isEmpty()) {
+                String arg = rest.remove(0);
+                if (arg.equals("--start-server")) {
+                    settings.setStartServer(true);
+                    continue;
+                }
+                if (!arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Unexpected argument: " + arg);
+                }
+                String name = arg.substring(2);
+                String value;
+                int equals = name.indexOf('=');
+                if (equals >= 0) {
+                    value = name.substring(equals + 1);
+                    name = name.substring(0, equals);
+                } else if (!rest.isEmpty()) {
+                    value = rest.remove(0);
+                } else {
+                    throw new IllegalArgumentException("Missing value for --" + name);
+                }
+                try {
+                    switch (name) {
+                        case "base-url" -> settings.setBaseUrl(value.replaceAll("/+$", ""));
+                        case "users" -> settings.setUsers(Integer.parseInt(value));
+                        case "duration" -> settings.setDuration(parseDuration(value));
+                        case "warmup" -> settings.setWarmup(parseDuration(value));
+                        case "mix" -> settings.setMix(parseMix(value));
+                        case "think-time" -> settings.setThinkTime(parseDuration(value));
+                        case "timeout" -> settings.setTimeout(parseDuration(value));
+                        case "password" -> settings.setPassword(value);
+                        case "front-desk-user" -> settings.setFrontDeskUser(value);
+                        case "report" -> settings.setReport(value);
+                        case "baseline" -> settings.setBaseline(value);
+                        case "seed" -> settings.setSeed(Long.parseLong(value));
+                        case "server-jar" -> settings.setServerJar(value);
+                        case "database" -> settings.setDatabase(value);
+                        case "server-arg" -> settings.serverArgs.add(value);
+                        default -> throw new IllegalArgumentException("Unknown option --" + name);
+                    }
+                } catch (NumberFormatException | DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid value for --" + name + ": " + value);
+                }
+            }
+            if (settings.users < 1 || settings.duration.isZero() || settings.timeout.isZero()) {
+                throw new IllegalArgumentException("Users, duration and timeout must be positive");
+            }
+            return settings;
+        }
+
+        // 500ms, 30s, 5m or an ISO-8601 duration
+        static Duration parseDuration(String value) {
+            String text = value.trim().toLowerCase();
+            if (text.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+            }
+            if (text.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+            }
+            if (text.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+            }
+            return Duration.parse(value);
+        }
+
+        static Map<String, Integer> parseMix(String value) {
+            Map<String, Integer> mix = new LinkedHashMap<>();
+            for (String part : value.split(",")) {
+                String[] pair = part.trim().split("=");
+                if (pair.length != 2 || !SCENARIOS.containsKey(pair[0])) {
+                    throw new IllegalArgumentException("Invalid mix entry '" + part + "'; scenarios are " + SCENARIOS.keySet());
+                }
+                int weight = Integer.parseInt(pair[1]);
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Negative weight in mix: " + part);
+                }
+                if (weight > 0) {
+                    mix.put(pair[0], weight);
+                }
+            }
+            if (mix.isEmpty()) {
+                throw new IllegalArgumentException("The mix needs at least one scenario with a positive weight");
+            }
+            return mix;
+        }
+
+        // What the report records about the run, so two reports can be told apart
+        ObjectNode toJson() {
+            ObjectNode json = ApiClient.JSON.createObjectNode()
+                    .put("baseUrl", baseUrl)
+                    .put("users", users)
+                    .put("duration", duration.toString())
+                    .put("warmup", warmup.toString())
+                    .put("thinkTime", thinkTime.toString())
+                    .put("seed", seed);
+            mix.forEach(json.putObject("mix")::put);
+            if (startServer) {
+                json.put("database", database);
+                serverArgs.forEach(json.putArray("serverArgs")::add);
+            }
+            return json;
+        }
+
+        public String getBaseUrl() { return baseUrl; }
+        public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+
+        public int getUsers() { return users; }
+        public void setUsers(int users) { this.users = users; }
+
+        public Duration getDuration() { return duration; }
+        public void setDuration(Duration duration) { this.duration = duration; }
+
+        public Duration getWarmup() { return warmup; }
+        public void setWarmup(Duration warmup) { this.warmup = warmup; }
+
+        public Map<String, Integer> getMix() { return mix; }
+        public void setMix(Map<String, Integer> mix) { this.mix = mix; }
+
+        public Duration getThinkTime() { return thinkTime; }
+        public void setThinkTime(Duration thinkTime) { this.thinkTime = thinkTime; }
+
+        public Duration getTimeout() { return timeout; }
+        public void setTimeout(Duration timeout) { this.timeout = timeout; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+
+        public String getFrontDeskUser() { return frontDeskUser; }
+        public void setFrontDeskUser(String frontDeskUser) { this.frontDeskUser = frontDeskUser; }
+
+        public String getReport() { return report; }
+        public void setReport(String report) { this.report = report; }
+
+        public String getBaseline() { return baseline; }
+        public void setBaseline(String baseline) { this.baseline = baseline; }
+
+        public long getSeed() { return seed; }
+        public void setSeed(long seed) { this.seed = seed; }
+
+        public boolean isStartServer() { return startServer; }
+        public void setStartServer(boolean startServer) { this.startServer = startServer; }
+
+        public String getServerJar() { return serverJar; }
+        public void setServerJar(String serverJar) { this.serverJar = serverJar; }
+
+        public String getDatabase() { return database; }
+        public void setDatabase(String database) { this.database = database; }
+
+        public List<String> getServerArgs() { return serverArgs; }
+    }
+}
@@ -0,0 +1,87 @@
+package com.app4080.eldercareserver.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency and outcome counts per request label ("GET /api/appointments/doctor/{id}") and per
+// scenario. Nothing is kept until recording starts, so warm-up traffic does not skew results.
+final class Metrics {
+
+    private final Map<String, Stats> requests = new ConcurrentHashMap<>();
+    private final Map<String, Stats> scenarios = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private volatile Stats allRequests = new Stats();
+    private volatile boolean recording;
+    private volatile long recordingStartedNanos;
+    private volatile long recordingStoppedNanos;
+
+    void startRecording() {
+        requests.clear();
+        scenarios.clear();
+        errors.clear();
+        allRequests = new Stats();
+        recordingStartedNanos = System.nanoTime();
+        recording = true;
+    }
+
+    void stopRecording() {
+        recordingStoppedNanos = System.nanoTime();
+        recording = false;
+    }
+
+    double recordedSeconds() {
+        long end = recording ? System.nanoTime() : recordingStoppedNanos;
+        return (end - recordingStartedNanos) / 1e9;
+    }
+
+    void request(String label, long nanos, boolean failed) {
+        if (recording) {
+            requests.computeIfAbsent(label, key -> new Stats()).add(nanos, failed);
+            allRequests.add(nanos, failed);
+        }
+    }
+
+    void scenario(String name, long nanos, boolean failed) {
+        if (recording) {
+            scenarios.computeIfAbsent(name, key -> new Stats()).add(nanos, failed);
+        }
+    }
+
+    void error(String message) {
+        if (recording) {
+            errors.computeIfAbsent(message, key -> new LongAdder()).increment();
+        }
+    }
+
+    Map<String, Stats> requests() {
+        return new TreeMap<>(requests);
+    }
+
+    Map<String, Stats> scenarios() {
+        return new TreeMap<>(scenarios);
+    }
+
+    Map<String, Long> errors() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((message, count) -> counts.put(message, count.sum()));
+        return counts;
+    }
+
+    Stats allRequests() {
+        return allRequests;
+    }
+
+    static final class Stats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder failures = new LongAdder();
+
+        private void add(long nanos, boolean failed) {
+            latency.record(nanos / 1000);
+            if (failed) {
+                failures.increment();
+            }
+        }
+    }
+}
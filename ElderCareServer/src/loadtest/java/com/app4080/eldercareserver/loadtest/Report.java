@@ -0,0 +1,140 @@
+package com.app4080.eldercareserver.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+
+// Summarises a run: a table per request label and per scenario, the most frequent errors and,
+// given a previous report, the change in throughput and latency for everything both runs share.
+final class Report {
+
+    private static final int TOP_ERRORS = 10;
+
+    private final ObjectNode json;
+
+    private Report(ObjectNode json) {
+        this.json = json;
+    }
+
+    static Report of(Metrics metrics, ObjectNode settings) {
+        double seconds = metrics.recordedSeconds();
+        ObjectNode json = ApiClient.JSON.createObjectNode();
+        json.set("settings", settings);
+        json.put("seconds", round(seconds));
+        json.set("total", stats(metrics.allRequests(), seconds));
+
+        ObjectNode requests = json.putObject("requests");
+        metrics.requests().forEach((label, stats) -> requests.set(label, stats(stats, seconds)));
+        ObjectNode scenarios = json.putObject("scenarios");
+        metrics.scenarios().forEach((name, stats) -> scenarios.set(name, stats(stats, seconds)));
+
+        ObjectNode errors = json.putObject("errors");
+        metrics.errors().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(error -> errors.put(error.getKey(), error.getValue()));
+        return new Report(json);
+    }
+
+    private static ObjectNode stats(Metrics.Stats stats, double seconds) {
+        LatencyHistogram latency = stats.latency;
+        long count = latency.count();
+        long failures = stats.failures.sum();
+        return ApiClient.JSON.createObjectNode()
+                .put("count", count)
+                .put("failures", failures)
+                .put("errorRate", count == 0 ? 0 : round((double) failures / count))
+                .put("throughput", round(count / seconds))
+                .put("meanMs", round(latency.meanMicros() / 1000))
+                .put("p50Ms", millis(latency.percentileMicros(0.5)))
+                .put("p90Ms", millis(latency.percentileMicros(0.9)))
+                .put("p99Ms", millis(latency.percentileMicros(0.99)))
+                .put("p999Ms", millis(latency.percentileMicros(0.999)))
+                .put("maxMs", millis(latency.maxMicros()));
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nMeasured %.1f s%n", json.path("seconds").asDouble());
+        table(out, "Request", json.path("requests"), json.path("total"));
+        table(out, "Scenario", json.path("scenarios"), null);
+
+        JsonNode errors = json.path("errors");
+        if (!errors.isEmpty()) {
+            out.printf("%nTop errors%n");
+            Iterator<Map.Entry<String, JsonNode>> fields = errors.fields();
+            for (int i = 0; i < TOP_ERRORS && fields.hasNext(); i++) {
+                Map.Entry<String, JsonNode> error = fields.next();
+                out.printf("  %,8d  %s%n", error.getValue().asLong(), error.getKey());
+            }
+        }
+    }
+
+    private static void table(PrintStream out, String heading, JsonNode rows, JsonNode total) {
+        out.printf("%n%-48s %8s %7s %8s %8s %8s %8s %8s %8s %8s%n", heading,
+                "count", "err%", "req/s", "mean", "p50", "p90", "p99", "p99.9", "max");
+        rows.fields().forEachRemaining(row -> out.println(row(row.getKey(), row.getValue())));
+        if (total != null) {
+            out.println(row("TOTAL", total));
+        }
+    }
+
+    private static String row(String name, JsonNode stats) {
+        return String.format("%-48s %,8d %6.2f%% %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f", name,
+                stats.path("count").asLong(), stats.path("errorRate").asDouble() * 100, stats.path("throughput").asDouble(),
+                stats.path("meanMs").asDouble(), stats.path("p50Ms").asDouble(), stats.path("p90Ms").asDouble(),
+                stats.path("p99Ms").asDouble(), stats.path("p999Ms").asDouble(), stats.path("maxMs").asDouble());
+    }
+
+    // Positive throughput deltas and negative latency deltas are improvements
+    void compare(Path baselineFile, PrintStream out) throws IOException {
+        JsonNode baseline = ApiClient.JSON.readTree(baselineFile.toFile());
+        out.printf("%nCompared with %s%n", baselineFile);
+        out.printf("%-48s %17s %17s %17s %13s%n", "", "req/s", "p50 ms", "p99 ms", "err% before->after");
+        compareRow(out, "TOTAL", baseline.path("total"), json.path("total"));
+        for (String section : new String[]{"scenarios", "requests"}) {
+            json.path(section).fields().forEachRemaining(row -> {
+                JsonNode before = baseline.path(section).path(row.getKey());
+                if (!before.isMissingNode()) {
+                    compareRow(out, row.getKey(), before, row.getValue());
+                }
+            });
+        }
+    }
+
+    private static void compareRow(PrintStream out, String name, JsonNode before, JsonNode after) {
+        out.printf("%-48s %8.1f %8s %8.1f %8s %8.1f %8s %5.2f->%5.2f%n", name,
+                after.path("throughput").asDouble(), delta(before, after, "throughput"),
+                after.path("p50Ms").asDouble(), delta(before, after, "p50Ms"),
+                after.path("p99Ms").asDouble(), delta(before, after, "p99Ms"),
+                before.path("errorRate").asDouble() * 100, after.path("errorRate").asDouble() * 100);
+    }
+
+    private static String delta(JsonNode before, JsonNode after, String field) {
+        double was = before.path(field).asDouble();
+        double now = after.path(field).asDouble();
+        if (was == 0) {
+            return "n/a";
+        }
+        return String.format("%+.1f%%", (now - was) / was * 100);
+    }
+
+    void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        ApiClient.JSON.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), json);
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
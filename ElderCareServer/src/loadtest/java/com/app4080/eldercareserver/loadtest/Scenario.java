@@ -0,0 +1,12 @@
+package com.app4080.eldercareserver.loadtest;
+
+import java.util.Random;
+
+// One scripted workflow, run start to finish by a virtual user. A StepFailedException ends the
+// run early and counts it as failed.
+interface Scenario {
+
+    String name();
+
+    void run(ApiClient client, Fixture fixture, Random random);
+}
@@ -0,0 +1,124 @@
+package com.app4080.eldercareserver.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Runs the server jar on localhost against a throwaway copy of the database, so every run starts
+// from the same rows no matter what the previous run wrote. A database the server has never
+// opened is migrated in place first, once, so the copies do not each pay for building indexes.
+final class ServerProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(10);
+    private static final Path WORK_DIR = Path.of("build/loadtest");
+
+    private final Process process;
+    private final String baseUrl;
+
+    private ServerProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static ServerProcess start(String jar, Path database, int port, List<String> serverArgs) throws IOException, InterruptedException {
+        if (jar == null || !Files.exists(Path.of(jar))) {
+            throw new IllegalArgumentException("Server jar not found: " + jar + "; run through `gradle loadTest` or pass --server-jar");
+        }
+        if (!Files.exists(database)) {
+            throw new IllegalArgumentException("Database not found: " + database + "; create it with `gradle generateData`");
+        }
+        Files.createDirectories(WORK_DIR);
+
+        if (!isMigrated(database)) {
+            System.out.println("Migrating " + database + " (first use only)...");
+            try (ServerProcess migration = launch(jar, database, port, serverArgs, WORK_DIR.resolve("migration.log"))) {
+                migration.awaitReady();
+            }
+        }
+
+        Path copy = WORK_DIR.resolve("eldercare.db");
+        for (String suffix : List.of("-wal", "-shm")) {
+            Files.deleteIfExists(Path.of(copy + suffix));
+        }
+        Files.copy(database, copy, StandardCopyOption.REPLACE_EXISTING);
+
+        ServerProcess server = launch(jar, copy, port, serverArgs, WORK_DIR.resolve("server.log"));
+        server.awaitReady();
+        return server;
+    }
+
+    private static ServerProcess launch(String jar, Path database, int port, List<String> serverArgs, Path log) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar);
+        command.add("--spring.datasource.url=jdbc:sqlite:" + database.toAbsolutePath());
+        command.add("--server.port=" + port);
+        command.addAll(serverArgs);
+
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile());
+        // The server has no default signing key; a throwaway one is enough since tokens never outlive the run
+        builder.environment().putIfAbsent("ELDERCARE_JWT_SECRET", throwawayKey());
+        Process process = builder.start();
+        System.out.println("Started server (pid " + process.pid() + "), logging to " + log);
+        return new ServerProcess(process, "http://localhost:" + port);
+    }
+
+    private static String throwawayKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+
+    private static boolean isMigrated(Path database) {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database.toAbsolutePath());
+             ResultSet tables = connection.getMetaData().getTables(null, null, "schema_history", null)) {
+            return tables.next();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot open " + database + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Any HTTP response at all means the server is accepting requests
+    private void awaitReady() throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/")).timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Server exited during startup with status " + process.exitValue() + "; see build/loadtest");
+            }
+            try {
+                client.send(probe, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException("Server did not start within " + STARTUP_TIMEOUT.toMinutes() + " minutes");
+    }
+
+    // SIGTERM lets Spring shut down cleanly and checkpoint the WAL
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
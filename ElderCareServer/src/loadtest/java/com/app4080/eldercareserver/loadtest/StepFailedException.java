@@ -0,0 +1,13 @@
+package com.app4080.eldercareserver.loadtest;
+
+// A scenario step got a response it cannot continue from; the rest of the scenario is skipped
+final class StepFailedException extends RuntimeException {
+
+    StepFailedException(String message) {
+        super(message);
+    }
+
+    StepFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
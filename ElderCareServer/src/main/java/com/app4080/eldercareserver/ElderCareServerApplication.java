@@ -2,8 +2,10 @@ package com.app4080.eldercareserver;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ElderCareServerApplication {
 
     public static void main(String[] args) {
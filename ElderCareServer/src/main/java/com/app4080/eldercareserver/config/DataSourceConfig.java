@@ -0,0 +1,114 @@
+package com.app4080.eldercareserver.config;
+
+import com.app4080.eldercareserver.monitoring.QueryMonitor;
+import com.app4080.eldercareserver.monitoring.SqliteLockMetrics;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// SQLite allows one writer at a time but, in WAL mode, any number of readers alongside it.
+// The application therefore gets two pools over the same file:
+//   writer - a single read-write connection, so writes queue in the pool instead of failing
+//            with SQLITE_BUSY on the file lock
+//   reader - read-only connections for @Transactional(readOnly = true) work, which never wait
+//            for the writer
+// The primary DataSource routes each transaction to one or the other based on its read-only
+// flag. spring.datasource.url still selects the database file. QueryMonitor wraps the primary
+// so statements are counted per request whichever pool serves them, and SqliteLockMetrics
+// wraps the writer to time how long it waits for the database write lock.
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    // SQLITE_OPEN_READONLY; readers can never take the write lock
+    private static final String OPEN_READ_ONLY = "1";
+
+    @Value("${eldercare.datasource.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${eldercare.datasource.cache-size-kib:16384}")
+    private int cacheSizeKib;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteWriterDataSource(DataSourceProperties properties,
+                                                   @Value("${eldercare.datasource.writer-timeout-ms:30000}") long writerTimeoutMs)
+            throws SQLException {
+        HikariConfig config = baseConfig(properties, "sqlite-writer");
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(1);
+        config.setConnectionTimeout(writerTimeoutMs);
+        config.addDataSourceProperty("journal_mode", "WAL");
+        // In WAL mode NORMAL only syncs at checkpoints; a power loss can drop the last commits
+        // but never corrupts the database
+        config.addDataSourceProperty("synchronous", "NORMAL");
+        // Take the write lock at BEGIN so a transaction never fails halfway on lock upgrade
+        config.addDataSourceProperty("transaction_mode", "IMMEDIATE");
+
+        HikariDataSource writer = new HikariDataSource(config);
+        logJournalMode(writer);
+        return writer;
+    }
+
+    // Depends on the writer so the file exists, and is in WAL mode, before readers open it
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteReaderDataSource(DataSourceProperties properties,
+                                                   @Qualifier("sqliteWriterDataSource") HikariDataSource writer,
+                                                   @Value("${eldercare.datasource.reader-pool-size:4}") int readerPoolSize) {
+        HikariConfig config = baseConfig(properties, "sqlite-reader");
+        config.setMaximumPoolSize(readerPoolSize);
+        config.setReadOnly(true);
+        config.addDataSourceProperty("open_mode", OPEN_READ_ONLY);
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("sqliteWriterDataSource") HikariDataSource writer,
+                                 @Qualifier("sqliteReaderDataSource") HikariDataSource reader,
+                                 QueryMonitor queryMonitor,
+                                 SqliteLockMetrics lockMetrics) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(lockMetrics.instrumentWriter(writer));
+        routing.setReadOnlyDataSource(reader);
+        return queryMonitor.instrument(routing);
+    }
+
+    private HikariConfig baseConfig(DataSourceProperties properties, String poolName) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(properties.determineUrl());
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeoutMs));
+        // Negative cache_size is in KiB rather than pages
+        config.addDataSourceProperty("cache_size", String.valueOf(-cacheSizeKib));
+        config.addDataSourceProperty("temp_store", "MEMORY");
+        return config;
+    }
+
+    private void logJournalMode(HikariDataSource writer) throws SQLException {
+        try (Connection connection = writer.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA journal_mode")) {
+            String mode = rs.next() ? rs.getString(1) : "unknown";
+            if ("wal".equalsIgnoreCase(mode)) {
+                logger.info("SQLite running in WAL mode with a single writer connection");
+            } else {
+                logger.warn("SQLite journal mode is {} rather than WAL; reads will block behind writes", mode);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.app4080.eldercareserver.config;
+
+import com.app4080.eldercareserver.service.ResolvedPrincipal;
+import com.app4080.eldercareserver.service.TokenService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+// Verifies "Authorization: Bearer <token>" and exposes the token's principal as a request
+// attribute for UserService. Every /api request other than login and registration needs a
+// valid token and gets a 401 without one. The notification stream also takes the token as an
+// access_token parameter, since EventSource cannot send headers.
+//
+// eldercare.auth.legacy-username-parameter (off by default) lets requests without a token
+// through to the old ?username= parameter, for clients that have not moved to tokens yet.
+// The notification stream never accepts it.
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final Set<String> OPEN_PATHS = Set.of("/api/users/login", "/api/users/register");
+    private static final String STREAM_PATH = "/api/notifications/stream";
+    private static final String TOKEN_PARAMETER = "access_token";
+    private static final String API_PREFIX = "/api/";
+
+    private final TokenService tokenService;
+    private final boolean legacyUsernameParameter;
+
+    public JwtAuthenticationFilter(TokenService tokenService,
+                                   @Value("${eldercare.auth.legacy-username-parameter:false}") boolean legacyUsernameParameter) {
+        this.tokenService = tokenService;
+        this.legacyUsernameParameter = legacyUsernameParameter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return OPEN_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String token = null;
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            token = header.substring(BEARER_PREFIX.length()).trim();
+        } else if (STREAM_PATH.equals(request.getRequestURI())) {
+            token = request.getParameter(TOKEN_PARAMETER);
+        }
+
+        if (token == null) {
+            if (request.getRequestURI().startsWith(API_PREFIX)
+                    && (!legacyUsernameParameter || STREAM_PATH.equals(request.getRequestURI()))) {
+                unauthorized(response, "Authentication required");
+                return;
+            }
+        } else {
+            try {
+                ResolvedPrincipal principal = tokenService.verify(token);
+                request.setAttribute(ResolvedPrincipal.BEARER_ATTRIBUTE, principal);
+            } catch (JwtException | IllegalArgumentException e) {
+                unauthorized(response, "Invalid or expired token");
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static void unauthorized(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,82 @@
+package com.app4080.eldercareserver.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Compares the secondary indexes declared on the entities (@Table(indexes = ...)) with what the
+// SQLite file actually has, and warns about every declared index whose column list is missing.
+// An index counts as present if any index on the table covers exactly the same columns in the
+// same order, whatever it is called. Nothing is changed; this only makes a missing index,
+// and the table scans that come with it, visible at startup.
+@Component
+public class SchemaIndexVerifier implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexVerifier.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SchemaIndexVerifier(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        int expected = 0;
+        int missing = 0;
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Table table = entity.getJavaType().getAnnotation(Table.class);
+            if (table == null || table.indexes().length == 0) {
+                continue;
+            }
+            Set<List<String>> existing = existingIndexes(table.name());
+            for (Index index : table.indexes()) {
+                expected++;
+                if (!existing.contains(columns(index.columnList()))) {
+                    missing++;
+                    logger.warn("Missing index {} on {}({}); queries filtering on these columns will scan the table",
+                            index.name(), table.name(), index.columnList());
+                }
+            }
+        }
+        if (missing == 0) {
+            logger.info("All {} declared secondary indexes are present", expected);
+        }
+    }
+
+    // Column lists of every index on the table, primary key and unique constraints included
+    private Set<List<String>> existingIndexes(String table) {
+        Set<List<String>> indexes = new HashSet<>();
+        List<String> names = jdbcTemplate.query("SELECT name FROM pragma_index_list(?)",
+                (rs, row) -> rs.getString(1), table);
+        for (String name : names) {
+            List<String> columns = jdbcTemplate.query(
+                    "SELECT name FROM pragma_index_info(?) ORDER BY seqno",
+                    (rs, row) -> rs.getString(1).toLowerCase(Locale.ROOT), name);
+            indexes.add(columns);
+        }
+        return indexes;
+    }
+
+    private static List<String> columns(String columnList) {
+        return Arrays.stream(columnList.split(","))
+                .map(column -> column.trim().split("\\s+")[0].toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -2,10 +2,16 @@ package com.app4080.eldercareserver.controller;
 
 import com.app4080.eldercareserver.dto.appointment.AppointmentRequest;
 import com.app4080.eldercareserver.dto.appointment.AppointmentResponse;
+import com.app4080.eldercareserver.dto.appointment.AppointmentSeriesRequest;
+import com.app4080.eldercareserver.dto.appointment.AppointmentSeriesResponse;
+import com.app4080.eldercareserver.dto.appointment.FreeSlot;
 import com.app4080.eldercareserver.entity.Patient;
 import com.app4080.eldercareserver.entity.User;
+import com.app4080.eldercareserver.service.AppointmentSeriesService;
 import com.app4080.eldercareserver.service.AppointmentService;
+import com.app4080.eldercareserver.service.FreeSlotService;
 import com.app4080.eldercareserver.service.PatientService;
+import com.app4080.eldercareserver.service.SchedulingConflictException;
 import com.app4080.eldercareserver.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -26,14 +32,19 @@ public class AppointmentController {
     private final AppointmentService appointmentService;
     private final UserService userService;
     private final PatientService patientService;
+    private final FreeSlotService freeSlotService;
+    private final AppointmentSeriesService seriesService;
 
     private static final Logger logger = LoggerFactory.getLogger(AppointmentController.class);
 
     @Autowired
-    public AppointmentController(AppointmentService appointmentService, UserService userService, PatientService patientService) {
+    public AppointmentController(AppointmentService appointmentService, UserService userService, PatientService patientService,
+                                 FreeSlotService freeSlotService, AppointmentSeriesService seriesService) {
         this.appointmentService = appointmentService;
         this.userService = userService;
         this.patientService = patientService;
+        this.freeSlotService = freeSlotService;
+        this.seriesService = seriesService;
     }
 
     // Create a new appointment
@@ -42,7 +53,8 @@ public class AppointmentController {
             @RequestParam String doctorUsername,
             @RequestParam Long patientId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime appointmentDate,
-            @RequestParam String location) {
+            @RequestParam String location,
+            @RequestParam(required = false) Integer durationMinutes) {
 
         logger.info("Received request to create appointment with details - doctorUsername: {}, patientId: {}, appointmentDate: {}, location: {}",
                 doctorUsername, patientId, appointmentDate, location);
@@ -56,6 +68,7 @@ public class AppointmentController {
             requestDTO.setDoctorId(doctor.getId());
             requestDTO.setPatientId(patient.getId());
             requestDTO.setAppointmentDate(appointmentDate);
+            requestDTO.setDurationMinutes(durationMinutes);
             requestDTO.setLocation(location);
             requestDTO.setStatus("active");
 
@@ -67,6 +80,9 @@ public class AppointmentController {
             logger.info("Appointment created successfully with ID: {}", createdAppointment.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(createdAppointment);
 
+        } catch (SchedulingConflictException e) {
+            logger.info("Rejected conflicting appointment for {}: {}", doctorUsername, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             logger.error("Error occurred while creating appointment: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
@@ -122,11 +138,123 @@ public class AppointmentController {
         try {
             AppointmentResponse updatedAppointment = appointmentService.updateAppointmentStatus(appointmentId, status);
             return ResponseEntity.ok(updatedAppointment);
+        } catch (SchedulingConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // Create a recurring series; every occurrence is conflict-checked and written in one batch
+    @PostMapping("/series")
+    public ResponseEntity<AppointmentSeriesResponse> createSeries(
+            @RequestParam String doctorUsername,
+            @RequestParam Long patientId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime firstAppointment,
+            @RequestParam String location,
+            @RequestParam String frequency,
+            @RequestParam(required = false) Integer interval,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until,
+            @RequestParam(required = false) Integer count,
+            @RequestParam(required = false) Integer durationMinutes) {
+
+        try {
+            User doctor = userService.fetchUserByUsername(doctorUsername);
+
+            AppointmentSeriesRequest requestDTO = new AppointmentSeriesRequest();
+            requestDTO.setDoctorId(doctor.getId());
+            requestDTO.setPatientId(patientId);
+            requestDTO.setFirstAppointment(firstAppointment);
+            requestDTO.setLocation(location);
+            requestDTO.setFrequency(frequency);
+            requestDTO.setInterval(interval);
+            requestDTO.setUntil(until);
+            requestDTO.setCount(count);
+            requestDTO.setDurationMinutes(durationMinutes);
+
+            AppointmentSeriesResponse series = seriesService.createSeries(requestDTO);
+            logger.info("Appointment series {} created with {} occurrences", series.getId(), series.getOccurrences().size());
+            return ResponseEntity.status(HttpStatus.CREATED).body(series);
+        } catch (SchedulingConflictException e) {
+            logger.info("Rejected conflicting appointment series for {}: {}", doctorUsername, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            logger.info("Rejected appointment series for {}: {}", doctorUsername, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error occurred while creating appointment series: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/series/{seriesId}")
+    public ResponseEntity<AppointmentSeriesResponse> getSeries(@PathVariable Long seriesId) {
+        try {
+            return ResponseEntity.ok(seriesService.getSeries(seriesId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Edit a series; occurrences that have not started yet are regenerated from the new rule
+    @PutMapping("/series/{seriesId}")
+    public ResponseEntity<AppointmentSeriesResponse> updateSeries(
+            @PathVariable Long seriesId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime firstAppointment,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String frequency,
+            @RequestParam(required = false) Integer interval,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until,
+            @RequestParam(required = false) Integer count,
+            @RequestParam(required = false) Integer durationMinutes) {
+
+        AppointmentSeriesRequest requestDTO = new AppointmentSeriesRequest();
+        requestDTO.setFirstAppointment(firstAppointment);
+        requestDTO.setLocation(location);
+        requestDTO.setFrequency(frequency);
+        requestDTO.setInterval(interval);
+        requestDTO.setUntil(until);
+        requestDTO.setCount(count);
+        requestDTO.setDurationMinutes(durationMinutes);
+
+        try {
+            return ResponseEntity.ok(seriesService.updateSeries(seriesId, requestDTO));
+        } catch (SchedulingConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Cancel every future occurrence of a series
+    @DeleteMapping("/series/{seriesId}")
+    public ResponseEntity<Void> cancelSeries(@PathVariable Long seriesId) {
+        try {
+            seriesService.cancelSeries(seriesId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Earliest open slots for the given doctors and/or every doctor at a location
+    @GetMapping("/free-slots")
+    public ResponseEntity<List<FreeSlot>> getFreeSlots(
+            @RequestParam(required = false) List<Long> doctorIds,
+            @RequestParam(required = false) String location,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer slotMinutes,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            return ResponseEntity.ok(freeSlotService.findFreeSlots(doctorIds, location, from, to, slotMinutes, limit));
+        } catch (IllegalArgumentException e) {
+            logger.info("Rejected free-slot search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Get appointments within a specific date range
     @GetMapping("/date-range")
     public ResponseEntity<List<AppointmentResponse>> getAppointmentsByDateRange(
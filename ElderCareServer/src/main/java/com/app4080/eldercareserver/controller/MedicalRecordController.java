@@ -1,14 +1,26 @@
 package com.app4080.eldercareserver.controller;
 
+import com.app4080.eldercareserver.dto.bulkimport.ImportReport;
 import com.app4080.eldercareserver.dto.medicalrecord.MedicalRecordRequest;
 import com.app4080.eldercareserver.dto.medicalrecord.MedicalRecordResponse;
 import com.app4080.eldercareserver.dto.medicalrecord.MedicalRecordSearchCriteria;
+import com.app4080.eldercareserver.dto.page.ResultPage;
+import com.app4080.eldercareserver.dto.page.CursorPage;
+import com.app4080.eldercareserver.service.BulkImportService;
+import com.app4080.eldercareserver.service.ExportFormat;
 import com.app4080.eldercareserver.service.MedicalRecordService;
+import com.app4080.eldercareserver.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,10 +29,16 @@ import java.util.List;
 public class MedicalRecordController {
 
     private final MedicalRecordService medicalRecordService;
+    private final BulkImportService bulkImportService;
+    private final UserService userService;
 
     @Autowired
-    public MedicalRecordController(MedicalRecordService medicalRecordService) {
+    public MedicalRecordController(MedicalRecordService medicalRecordService,
+                                   BulkImportService bulkImportService,
+                                   UserService userService) {
         this.medicalRecordService = medicalRecordService;
+        this.bulkImportService = bulkImportService;
+        this.userService = userService;
     }
 
     // Create a new medical record
@@ -30,13 +48,55 @@ public class MedicalRecordController {
         return ResponseEntity.ok(response);
     }
 
-    // Get all medical records
+    // Get medical records, one keyset page at a time
     @GetMapping
-    public ResponseEntity<List<MedicalRecordResponse>> getAllMedicalRecords() {
-        List<MedicalRecordResponse> records = medicalRecordService.getAllMedicalRecords();
+    public ResponseEntity<CursorPage<MedicalRecordResponse>> getAllMedicalRecords(
+            @RequestParam(required = false) Long cursor, @RequestParam(required = false) Integer limit) {
+        CursorPage<MedicalRecordResponse> records = medicalRecordService.getAllMedicalRecords(cursor, limit);
         return ResponseEntity.ok(records);
     }
 
+    // Stream medical records as NDJSON or CSV, optionally limited to a visit date range (both
+    // ends required); editors only
+    @GetMapping("/export")
+    public void exportMedicalRecords(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String username,
+            HttpServletResponse response) throws IOException {
+        try {
+            userService.validatePrivileges(username, "editor");
+            ExportFormat exportFormat = ExportFormat.fromParameter(format);
+            response.setContentType(exportFormat.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=medical-records." + exportFormat.getExtension());
+            medicalRecordService.exportMedicalRecords(startDate, endDate, exportFormat, response.getOutputStream());
+        } catch (IllegalArgumentException e) {
+            // Raised before the first row is written, so the response can still be replaced
+            response.reset();
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        } catch (AccessDeniedException e) {
+            response.sendError(HttpStatus.FORBIDDEN.value());
+        }
+    }
+
+    // Bulk load medical records from an NDJSON or CSV body, e.g. a previous export
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv", "application/json", "text/plain"})
+    public ResponseEntity<ImportReport> importMedicalRecords(@RequestParam(required = false) String format,
+                                                             @RequestParam(required = false) String username,
+                                                             HttpServletRequest request) throws IOException {
+        try {
+            userService.validatePrivileges(username, "editor");
+            ExportFormat importFormat = ExportFormat.fromRequest(format, request.getContentType());
+            return ResponseEntity.ok(bulkImportService.importMedicalRecords(request.getInputStream(), importFormat));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
     // Get medical records by patient ID
     @GetMapping("/patient/{patientId}")
     public ResponseEntity<List<MedicalRecordResponse>> getMedicalRecordsByPatient(@PathVariable Long patientId) {
@@ -77,8 +137,11 @@ public class MedicalRecordController {
 
     // Search medical records by criteria
     @PostMapping("/search")
-    public ResponseEntity<List<MedicalRecordResponse>> searchMedicalRecords(@RequestBody MedicalRecordSearchCriteria criteria) {
-        List<MedicalRecordResponse> records = medicalRecordService.searchMedicalRecords(criteria);
-        return ResponseEntity.ok(records);
+    public ResponseEntity<ResultPage<MedicalRecordResponse>> searchMedicalRecords(@RequestBody MedicalRecordSearchCriteria criteria) {
+        try {
+            return ResponseEntity.ok(medicalRecordService.searchMedicalRecords(criteria));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
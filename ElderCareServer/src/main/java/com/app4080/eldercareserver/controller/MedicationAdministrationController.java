@@ -0,0 +1,119 @@
+package com.app4080.eldercareserver.controller;
+
+import com.app4080.eldercareserver.dto.administration.AdherenceSummary;
+import com.app4080.eldercareserver.dto.administration.AdministrationRequest;
+import com.app4080.eldercareserver.dto.administration.AdministrationResponse;
+import com.app4080.eldercareserver.service.MedicationAdministrationService;
+import com.app4080.eldercareserver.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.AccessDeniedException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/administrations")
+public class MedicationAdministrationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MedicationAdministrationController.class);
+
+    private final MedicationAdministrationService administrationService;
+    private final UserService userService;
+
+    @Autowired
+    public MedicationAdministrationController(MedicationAdministrationService administrationService,
+                                              UserService userService) {
+        this.administrationService = administrationService;
+        this.userService = userService;
+    }
+
+    // Record one dose given, skipped or refused, attributed to the caller. Events are append-only
+    // and cannot be corrected later, so writing them takes the same tier as other clinical writes.
+    @PostMapping
+    public ResponseEntity<?> recordAdministration(@RequestBody AdministrationRequest request,
+                                                  @RequestParam(required = false) String username) {
+        try {
+            userService.validatePrivileges(username, "editor");
+            String recordedBy = userService.resolvePrincipal(username).getUsername();
+            return ResponseEntity.status(HttpStatus.CREATED).body(administrationService.record(request, recordedBy));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException e) {
+            logger.info("Rejected medication administration: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Record a whole medication round at once; either every entry is stored or none is
+    @PostMapping("/batch")
+    public ResponseEntity<?> recordAdministrations(@RequestBody List<AdministrationRequest> requests,
+                                                   @RequestParam(required = false) String username) {
+        try {
+            userService.validatePrivileges(username, "editor");
+            String recordedBy = userService.resolvePrincipal(username).getUsername();
+            List<AdministrationResponse> recorded = administrationService.recordBatch(requests, recordedBy);
+            return ResponseEntity.status(HttpStatus.CREATED).body(recorded);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException e) {
+            logger.info("Rejected medication administration batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Raw administration events for a patient in [from, to)
+    @GetMapping("/patient/{patientId}")
+    public ResponseEntity<?> getAdministrations(@PathVariable Long patientId,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                @RequestParam(required = false) String username) {
+        try {
+            userService.validatePrivileges(username, "viewer");
+            return ResponseEntity.ok(administrationService.getAdministrations(patientId, from, to));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Daily (default) or weekly adherence for a patient between two dates, inclusive
+    @GetMapping("/adherence/patient/{patientId}")
+    public ResponseEntity<?> getAdherence(@PathVariable Long patientId,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                          @RequestParam(required = false) String period,
+                                          @RequestParam(required = false) String username) {
+        try {
+            userService.validatePrivileges(username, "viewer");
+            List<AdherenceSummary> adherence = administrationService.getAdherence(patientId, from, to, period);
+            return ResponseEntity.ok(adherence);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Patients with the lowest adherence in the week containing the given date (default: this week)
+    @GetMapping("/adherence/lowest")
+    public ResponseEntity<?> getLowestAdherence(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate week,
+                                                @RequestParam(required = false) Integer limit,
+                                                @RequestParam(required = false) String username) {
+        try {
+            userService.validatePrivileges(username, "editor");
+            List<AdherenceSummary> adherence = administrationService.getLowestAdherence(
+                    week != null ? week : LocalDate.now(), limit != null ? limit : 20);
+            return ResponseEntity.ok(adherence);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+}
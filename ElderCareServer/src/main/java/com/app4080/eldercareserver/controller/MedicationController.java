@@ -1,19 +1,29 @@
 package com.app4080.eldercareserver.controller;
 
 import ch.qos.logback.classic.Logger;
+import com.app4080.eldercareserver.dto.bulkimport.ImportReport;
+import com.app4080.eldercareserver.dto.medication.DoseDue;
 import com.app4080.eldercareserver.dto.medication.MedicationRequest;
 import com.app4080.eldercareserver.dto.medication.MedicationResponse;
+import com.app4080.eldercareserver.dto.page.CursorPage;
 import com.app4080.eldercareserver.entity.MedicalRecord;
 import com.app4080.eldercareserver.repository.MedicalRecordRepository;
+import com.app4080.eldercareserver.service.BulkImportService;
+import com.app4080.eldercareserver.service.ExportFormat;
 import com.app4080.eldercareserver.service.MedicationService;
 import com.app4080.eldercareserver.service.UserService;
 import com.app4080.eldercareserver.config.roleClusterConfig;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,20 +34,23 @@ public class MedicationController {
     private final MedicationService medicationService;
     private final MedicalRecordRepository recordRepository;
     private final UserService userService;
+    private final BulkImportService bulkImportService;
 
     @Autowired
     public MedicationController(MedicationService medicationService,
                                 MedicalRecordRepository recordRepository,
-                                UserService userService) {
+                                UserService userService,
+                                BulkImportService bulkImportService) {
         this.medicationService = medicationService;
         this.recordRepository = recordRepository;
         this.userService = userService;
+        this.bulkImportService = bulkImportService;
     }
 
     // Add a new medication
     @PostMapping
     public ResponseEntity<?> addMedication(@RequestBody MedicationRequest medicationRequest,
-                                           @RequestParam String username) {
+                                           @RequestParam(required = false) String username) {
         Logger log = (Logger) LoggerFactory.getLogger(this.getClass());
         try {
             log.info("Received medication request: {}", medicationRequest);
@@ -60,14 +73,32 @@ public class MedicationController {
         }
     }
 
+    // Bulk load medications from an NDJSON or CSV body; each row must reference an existing record
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv", "application/json", "text/plain"})
+    public ResponseEntity<ImportReport> importMedications(@RequestParam(required = false) String format,
+                                                          @RequestParam(required = false) String username,
+                                                          HttpServletRequest request) throws IOException {
+        try {
+            userService.validatePrivileges(username, "editor");
+            userService.validateRole(username, roleClusterConfig.getStaff());
+            ExportFormat importFormat = ExportFormat.fromRequest(format, request.getContentType());
+            return ResponseEntity.ok(bulkImportService.importMedications(request.getInputStream(), importFormat));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
 
-    // Get all medications
+    // Get medications, one keyset page at a time
     @GetMapping
-    public ResponseEntity<?> getAllMedications(@RequestParam String username) {
+    public ResponseEntity<?> getAllMedications(@RequestParam(required = false) String username,
+                                               @RequestParam(required = false) Long cursor,
+                                               @RequestParam(required = false) Integer limit) {
         try {
             userService.validateRole(username, roleClusterConfig.getStaff());
             userService.validatePrivileges(username, "supervisor");
-            List<MedicationResponse> medications = medicationService.getAllMedications();
+            CursorPage<MedicationResponse> medications = medicationService.getAllMedications(cursor, limit);
             return ResponseEntity.ok(medications);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred");
@@ -77,7 +108,7 @@ public class MedicationController {
     // Get medications by medical record ID
     @GetMapping("/record/{medicalRecordId}")
     public ResponseEntity<?> getMedicationsByMedicalRecord(@PathVariable Long medicalRecordId,
-                                                           @RequestParam String username) {
+                                                           @RequestParam(required = false) String username) {
         try {
             userService.validateRole(username, roleClusterConfig.getStaff());
             userService.validatePrivileges(username, "editor");
@@ -98,7 +129,7 @@ public class MedicationController {
     // Delete a medication by ID
     @DeleteMapping("/{medicationId}")
     public ResponseEntity<?> deleteMedication(@PathVariable Long medicationId,
-                                              @RequestParam String username) {
+                                              @RequestParam(required = false) String username) {
         try {
             userService.validateRole(username, roleClusterConfig.getStaff());
             userService.validatePrivileges(username, "editor");
@@ -113,7 +144,7 @@ public class MedicationController {
 
     // Get all active medications
     @GetMapping("/active")
-    public ResponseEntity<?> getAllActiveMedications(@RequestParam String username) {
+    public ResponseEntity<?> getAllActiveMedications(@RequestParam(required = false) String username) {
         try {
             userService.validateRole(username, roleClusterConfig.getStaff());
             userService.validatePrivileges(username, "supervisor");
@@ -127,7 +158,7 @@ public class MedicationController {
     // Find medications by name pattern
     @GetMapping("/search")
     public ResponseEntity<?> findMedicationsByName(@RequestParam String name,
-                                                   @RequestParam String username) {
+                                                   @RequestParam(required = false) String username) {
         try {
             userService.validateRole(username, roleClusterConfig.getStaff());
             userService.validatePrivileges(username, "supervisor");
@@ -138,9 +169,32 @@ public class MedicationController {
         }
     }
 
+    // Doses due in a window (default: the next two hours) for a location or a patient, earliest first
+    @GetMapping("/doses/due")
+    public ResponseEntity<?> getDosesDue(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                         @RequestParam(required = false) String location,
+                                         @RequestParam(required = false) Long patientId,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String username) {
+        try {
+            userService.validatePrivileges(username, "viewer");
+            LocalDateTime start = from != null ? from : LocalDateTime.now();
+            LocalDateTime end = to != null ? to : start.plusHours(2);
+            List<DoseDue> doses = medicationService.findDosesDue(start, end, location, patientId, limit);
+            return ResponseEntity.ok(doses);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
     // Find medications expiring soon
     @GetMapping("/expiring")
-    public ResponseEntity<?> getMedicationsExpiringSoon(@RequestParam String username) {
+    public ResponseEntity<?> getMedicationsExpiringSoon(@RequestParam(required = false) String username) {
         try {
             userService.validateRole(username, roleClusterConfig.getStaff());
             userService.validatePrivileges(username, "editor");
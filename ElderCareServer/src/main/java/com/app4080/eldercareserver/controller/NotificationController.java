@@ -0,0 +1,55 @@
+package com.app4080.eldercareserver.controller;
+
+import com.app4080.eldercareserver.service.NotificationService;
+import com.app4080.eldercareserver.service.ResolvedPrincipal;
+import com.app4080.eldercareserver.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final UserService userService;
+
+    @Autowired
+    public NotificationController(NotificationService notificationService, UserService userService) {
+        this.notificationService = notificationService;
+        this.userService = userService;
+    }
+
+    // One long-lived event stream per client, for bearer tokens only: a stream pushes patient
+    // events for as long as it stays open, so the legacy username parameter is not accepted.
+    // Browsers' EventSource cannot set headers, so the token may also be passed as
+    // ?access_token= (see JwtAuthenticationFilter).
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(HttpServletRequest request) {
+        if (!(request.getAttribute(ResolvedPrincipal.BEARER_ATTRIBUTE) instanceof ResolvedPrincipal)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            ResolvedPrincipal principal = userService.resolvePrincipal(null);
+            return ResponseEntity.ok(notificationService.subscribe(userService.fetchUserById(principal.getId())));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
+    // A client that disconnects surfaces as a write error on the stream's async dispatch;
+    // the response is already gone, so there is nothing to answer or log
+    @ExceptionHandler(IOException.class)
+    public void clientDisconnected() {
+    }
+}
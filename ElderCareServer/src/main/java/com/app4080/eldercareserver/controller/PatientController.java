@@ -1,18 +1,24 @@
 package com.app4080.eldercareserver.controller;
 
+import com.app4080.eldercareserver.dto.bulkimport.ImportReport;
+import com.app4080.eldercareserver.dto.page.CursorPage;
 import com.app4080.eldercareserver.dto.patient.PatientRequest;
 import com.app4080.eldercareserver.dto.patient.PatientResponse;
 import com.app4080.eldercareserver.dto.patient.PatientSearch;
 import com.app4080.eldercareserver.dto.patient.PatientSummary;
 import com.app4080.eldercareserver.dto.user.LoginRequest;
-import com.app4080.eldercareserver.entity.User;
+import com.app4080.eldercareserver.service.BulkImportService;
+import com.app4080.eldercareserver.service.ExportFormat;
 import com.app4080.eldercareserver.service.PatientService;
+import com.app4080.eldercareserver.service.ResolvedPrincipal;
 import com.app4080.eldercareserver.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 
@@ -20,19 +26,24 @@ import java.util.List;
 @RequestMapping("/api/patients")
 public class PatientController {
 
+    private static final int TYPEAHEAD_MAX_LIMIT = 50;
+
     private final PatientService patientService;
     private final UserService userService;
+    private final BulkImportService bulkImportService;
 
     @Autowired
     public PatientController(PatientService patientService,
-                             UserService userService) {
+                             UserService userService,
+                             BulkImportService bulkImportService) {
         this.patientService = patientService;
         this.userService = userService;
+        this.bulkImportService = bulkImportService;
     }
 
     @PostMapping
     public ResponseEntity<PatientResponse> createPatient(
-            @RequestBody PatientRequest requestDto, @RequestParam String username) {
+            @RequestBody PatientRequest requestDto, @RequestParam(required = false) String username) {
         try {
             userService.validatePrivileges(username, "editor");
             PatientResponse responseDto = patientService.createPatient(requestDto);
@@ -44,11 +55,29 @@ public class PatientController {
         }
     }
 
+    // Bulk load patients from an NDJSON or CSV body; rejected rows are listed in the report
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv", "application/json", "text/plain"})
+    public ResponseEntity<ImportReport> importPatients(@RequestParam(required = false) String format,
+                                                       @RequestParam(required = false) String username,
+                                                       HttpServletRequest request) throws IOException {
+        try {
+            userService.validatePrivileges(username, "editor");
+            ExportFormat importFormat = ExportFormat.fromRequest(format, request.getContentType());
+            return ResponseEntity.ok(bulkImportService.importPatients(request.getInputStream(), importFormat));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<PatientResponse>> getAllPatients(@RequestParam String username) {
+    public ResponseEntity<CursorPage<PatientResponse>> getAllPatients(@RequestParam(required = false) String username,
+                                                                      @RequestParam(required = false) Long cursor,
+                                                                      @RequestParam(required = false) Integer limit) {
         try {
             //userService.validatePrivileges(username, "editor");
-            List<PatientResponse> patients = patientService.getAllPatients();
+            CursorPage<PatientResponse> patients = patientService.getAllPatients(cursor, limit);
             return ResponseEntity.ok(patients);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -70,12 +99,11 @@ public class PatientController {
     }
 
     @DeleteMapping("/{patientId}")
-    public ResponseEntity<Void> deletePatient(@PathVariable Long patientId, @RequestParam String username) {
+    public ResponseEntity<Void> deletePatient(@PathVariable Long patientId, @RequestParam(required = false) String username) {
         try {
-
-            User user = userService.fetchUserByUsername(username);
+            ResolvedPrincipal principal = userService.resolvePrincipal(username);
             userService.validatePrivileges(username, "supervisor");
-            patientService.deletePatient(patientId, user);
+            patientService.deletePatient(patientId, principal);
 
             return ResponseEntity.noContent().build();
         } catch (IllegalArgumentException e) {
@@ -86,7 +114,7 @@ public class PatientController {
     }
 
     @GetMapping("/search/lastname")
-    public ResponseEntity<List<PatientSummary>> findPatientByLastName(@RequestParam String lastName, @RequestParam String username) {
+    public ResponseEntity<List<PatientSummary>> findPatientByLastName(@RequestParam String lastName, @RequestParam(required = false) String username) {
         try{
             userService.validatePrivileges(username, "supervisor");
             List<PatientSummary> patients = patientService.findPatientByLastName(lastName);
@@ -98,7 +126,7 @@ public class PatientController {
 
     // Endpoint for keyword search
     @GetMapping("/search/keyword")
-    public ResponseEntity<List<PatientSearch>> keywordSearch(@RequestParam String keyword, @RequestParam String username) {
+    public ResponseEntity<List<PatientSearch>> keywordSearch(@RequestParam String keyword, @RequestParam(required = false) String username) {
         try{
             userService.validatePrivileges(username, "supervisor");
             List<PatientSearch> patients = patientService.keywordSearch(keyword);
@@ -108,11 +136,25 @@ public class PatientController {
         }
     }
 
+    // Typeahead lookup by name or phone number, served from memory
+    @GetMapping("/search/typeahead")
+    public ResponseEntity<List<PatientSummary>> typeahead(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "10") int limit,
+                                                          @RequestParam(required = false) String username) {
+        try {
+            userService.validatePrivileges(username, "supervisor");
+            List<PatientSummary> patients = patientService.typeahead(q, Math.min(limit, TYPEAHEAD_MAX_LIMIT));
+            return ResponseEntity.ok(patients);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
     // Endpoint to find patients by age range
     @GetMapping("/search/age-range")
     public ResponseEntity<List<PatientSearch>> findPatientsByAgeRange(@RequestParam int minAge,
                                                                       @RequestParam int maxAge,
-                                                                      @RequestParam String username) {
+                                                                      @RequestParam(required = false) String username) {
         try{
             userService.validatePrivileges(username, "supervisor");
             List<PatientSearch> patients = patientService.findPatientsByAgeRange(minAge, maxAge);
@@ -1,15 +1,22 @@
 package com.app4080.eldercareserver.controller;
 
+import com.app4080.eldercareserver.dto.page.CursorPage;
 import com.app4080.eldercareserver.dto.prescription.PrescriptionRequest;
 import com.app4080.eldercareserver.dto.prescription.PrescriptionResponse;
+import com.app4080.eldercareserver.service.ExportFormat;
 import com.app4080.eldercareserver.service.PrescriptionService;
+import com.app4080.eldercareserver.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -18,10 +25,12 @@ import java.util.List;
 public class PrescriptionController {
 
     private final PrescriptionService prescriptionService;
+    private final UserService userService;
 
     @Autowired
-    public PrescriptionController(PrescriptionService prescriptionService) {
+    public PrescriptionController(PrescriptionService prescriptionService, UserService userService) {
         this.prescriptionService = prescriptionService;
+        this.userService = userService;
     }
 
     @PostMapping
@@ -47,15 +56,41 @@ public class PrescriptionController {
     }
 
     @GetMapping
-    public ResponseEntity<?> getAllPrescriptions() {
+    public ResponseEntity<?> getAllPrescriptions(@RequestParam(required = false) Long cursor,
+                                                 @RequestParam(required = false) Integer limit) {
         try {
-            List<PrescriptionResponse> responses = prescriptionService.getAllPrescriptions();
+            CursorPage<PrescriptionResponse> responses = prescriptionService.getAllPrescriptions(cursor, limit);
             return ResponseEntity.ok(responses);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while fetching prescriptions");
         }
     }
 
+    // Stream prescriptions as NDJSON or CSV, optionally limited to an issued date range (both
+    // ends required); editors only
+    @GetMapping("/export")
+    public void exportPrescriptions(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String username,
+            HttpServletResponse response) throws IOException {
+        try {
+            userService.validatePrivileges(username, "editor");
+            ExportFormat exportFormat = ExportFormat.fromParameter(format);
+            response.setContentType(exportFormat.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=prescriptions." + exportFormat.getExtension());
+            prescriptionService.exportPrescriptions(startDate, endDate, exportFormat, response.getOutputStream());
+        } catch (IllegalArgumentException e) {
+            // Raised before the first row is written, so the response can still be replaced
+            response.reset();
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        } catch (AccessDeniedException e) {
+            response.sendError(HttpStatus.FORBIDDEN.value());
+        }
+    }
+
     @GetMapping("/medicalRecord/{medicalRecordId}")
     public ResponseEntity<?> getPrescriptionsByMedicalRecord(@PathVariable Long medicalRecordId) {
         try {
@@ -1,12 +1,21 @@
 package com.app4080.eldercareserver.controller;
 
+import com.app4080.eldercareserver.dto.page.CursorPage;
 import com.app4080.eldercareserver.dto.progressreport.ProgressReportRequest;
 import com.app4080.eldercareserver.dto.progressreport.ProgressReportResponse;
+import com.app4080.eldercareserver.service.ExportFormat;
 import com.app4080.eldercareserver.service.ProgressReportService;
+import com.app4080.eldercareserver.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -15,10 +24,12 @@ import java.util.List;
 public class ProgressReportController {
 
     private final ProgressReportService progressReportService;
+    private final UserService userService;
 
     @Autowired
-    public ProgressReportController(ProgressReportService progressReportService) {
+    public ProgressReportController(ProgressReportService progressReportService, UserService userService) {
         this.progressReportService = progressReportService;
+        this.userService = userService;
     }
 
     @PostMapping
@@ -34,11 +45,37 @@ public class ProgressReportController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProgressReportResponse>> getAllProgressReports() {
-        List<ProgressReportResponse> responses = progressReportService.getAllProgressReports();
+    public ResponseEntity<CursorPage<ProgressReportResponse>> getAllProgressReports(
+            @RequestParam(required = false) Long cursor, @RequestParam(required = false) Integer limit) {
+        CursorPage<ProgressReportResponse> responses = progressReportService.getAllProgressReports(cursor, limit);
         return ResponseEntity.ok(responses);
     }
 
+    // Stream progress reports as NDJSON or CSV, optionally limited to a date range (both ends
+    // required); editors only
+    @GetMapping("/export")
+    public void exportProgressReports(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String username,
+            HttpServletResponse response) throws IOException {
+        try {
+            userService.validatePrivileges(username, "editor");
+            ExportFormat exportFormat = ExportFormat.fromParameter(format);
+            response.setContentType(exportFormat.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=progress-reports." + exportFormat.getExtension());
+            progressReportService.exportProgressReports(start, end, exportFormat, response.getOutputStream());
+        } catch (IllegalArgumentException e) {
+            // Raised before the first row is written, so the response can still be replaced
+            response.reset();
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        } catch (AccessDeniedException e) {
+            response.sendError(HttpStatus.FORBIDDEN.value());
+        }
+    }
+
     @GetMapping("/patient/{patientId}")
     public ResponseEntity<List<ProgressReportResponse>> getReportsByPatient(@PathVariable Long patientId) {
         List<ProgressReportResponse> responses = progressReportService.getPRbyPatient(patientId);
@@ -6,12 +6,9 @@ import com.app4080.eldercareserver.dto.user.UserUpdateRequest;
 import com.app4080.eldercareserver.dto.user.LoginRequest;
 import com.app4080.eldercareserver.entity.User;
 import com.app4080.eldercareserver.repository.UserRepository;
+import com.app4080.eldercareserver.service.TokenService;
 import com.app4080.eldercareserver.service.UserService;
 
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
-import java.security.Key;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,7 +16,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.nio.file.AccessDeniedException;
-import java.sql.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,11 +26,13 @@ public class UserController {
 
     private final UserService userService;
     private final UserRepository userRepository;
+    private final TokenService tokenService;
 
     @Autowired
-    public UserController(UserService userService, UserRepository userRepository) {
+    public UserController(UserService userService, UserRepository userRepository, TokenService tokenService) {
         this.userService = userService;
         this.userRepository = userRepository;
+        this.tokenService = tokenService;
     }
 
     @PostMapping("/register")
@@ -52,7 +50,7 @@ public class UserController {
     @GetMapping("/{id}/validate")
     public ResponseEntity<String> validateUserAccess(@PathVariable Long id, @RequestParam String required_access) {
         try {
-            User user = userRepository.getReferenceById(id);
+            User user = userRepository.findById(id).orElseThrow(EntityNotFoundException::new);
             userService.validatePrivileges(user.getUsername(), required_access);
             return ResponseEntity.ok("Access granted");
         } catch (EntityNotFoundException e) {
@@ -82,7 +80,7 @@ public class UserController {
 
             User user = userService.fetchUserByUsername(loginRequest.getUsername());
             String role = user.getRole().toLowerCase();
-            String token = generateToken(user);
+            String token = tokenService.generateToken(user);
 
             Map<String, String> response = new HashMap<>();
         
@@ -98,24 +96,6 @@ public class UserController {
         }        
     }
 
-    @SuppressWarnings("deprecation")
-    private String generateToken(User user) {
-        // Set expiration time for the token 12 hours)
-        long expirationTime = 1000 * 60 * 60 * 12;
-
-        Key secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-
-    
-        return Jwts.builder()
-                .setSubject(user.getUsername())
-                .claim("role", user.getRole())
-                .setIssuedAt(new Date(expirationTime))
-                .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(secretKey) 
-                .compact();
-    }
-
-
     @GetMapping("/username/{username}")
     public ResponseEntity<UserResponse> findByUsername(@PathVariable String username) {
         return userService.findUserByUsername(username)
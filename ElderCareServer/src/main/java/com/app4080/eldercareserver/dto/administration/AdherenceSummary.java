@@ -0,0 +1,52 @@
+package com.app4080.eldercareserver.dto.administration;
+
+import java.time.LocalDate;
+
+// A patient's recorded doses for one day or one week (periodStart is then the Monday).
+// adherencePercent is the share of recorded doses that were given.
+public class AdherenceSummary {
+
+    private Long patientId;
+    private String period;
+    private LocalDate periodStart;
+    private int given;
+    private int skipped;
+    private int refused;
+    private double adherencePercent;
+
+    // Constructors
+    public AdherenceSummary() {}
+
+    public AdherenceSummary(Long patientId, String period, LocalDate periodStart, int given, int skipped, int refused) {
+        this.patientId = patientId;
+        this.period = period;
+        this.periodStart = periodStart;
+        this.given = given;
+        this.skipped = skipped;
+        this.refused = refused;
+        int recorded = given + skipped + refused;
+        this.adherencePercent = recorded == 0 ? 0.0 : Math.round(1000.0 * given / recorded) / 10.0;
+    }
+
+    // Getters and Setters
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public String getPeriod() { return period; }
+    public void setPeriod(String period) { this.period = period; }
+
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
+    public int getGiven() { return given; }
+    public void setGiven(int given) { this.given = given; }
+
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+
+    public int getRefused() { return refused; }
+    public void setRefused(int refused) { this.refused = refused; }
+
+    public double getAdherencePercent() { return adherencePercent; }
+    public void setAdherencePercent(double adherencePercent) { this.adherencePercent = adherencePercent; }
+}
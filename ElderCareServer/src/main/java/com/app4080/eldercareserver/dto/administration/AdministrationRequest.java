@@ -0,0 +1,29 @@
+package com.app4080.eldercareserver.dto.administration;
+
+import java.time.LocalDateTime;
+
+// One dose given, skipped or refused; administeredAt defaults to the time it is recorded
+public class AdministrationRequest {
+
+    private Long medicationId;
+    private String status;
+    private LocalDateTime administeredAt;
+    private LocalDateTime scheduledFor;
+    private String notes;
+
+    // Getters and Setters
+    public Long getMedicationId() { return medicationId; }
+    public void setMedicationId(Long medicationId) { this.medicationId = medicationId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getAdministeredAt() { return administeredAt; }
+    public void setAdministeredAt(LocalDateTime administeredAt) { this.administeredAt = administeredAt; }
+
+    public LocalDateTime getScheduledFor() { return scheduledFor; }
+    public void setScheduledFor(LocalDateTime scheduledFor) { this.scheduledFor = scheduledFor; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+}
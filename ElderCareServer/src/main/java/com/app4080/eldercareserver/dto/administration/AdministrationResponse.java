@@ -0,0 +1,55 @@
+package com.app4080.eldercareserver.dto.administration;
+
+import java.time.LocalDateTime;
+
+public class AdministrationResponse {
+
+    private Long medicationId;
+    private Long patientId;
+    private String status;
+    private LocalDateTime administeredAt;
+    private LocalDateTime scheduledFor;
+    private String recordedBy;
+    private LocalDateTime recordedAt;
+    private String notes;
+
+    // Constructors
+    public AdministrationResponse() {}
+
+    public AdministrationResponse(Long medicationId, Long patientId, String status, LocalDateTime administeredAt,
+                                  LocalDateTime scheduledFor, String recordedBy, LocalDateTime recordedAt, String notes) {
+        this.medicationId = medicationId;
+        this.patientId = patientId;
+        this.status = status;
+        this.administeredAt = administeredAt;
+        this.scheduledFor = scheduledFor;
+        this.recordedBy = recordedBy;
+        this.recordedAt = recordedAt;
+        this.notes = notes;
+    }
+
+    // Getters and Setters
+    public Long getMedicationId() { return medicationId; }
+    public void setMedicationId(Long medicationId) { this.medicationId = medicationId; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getAdministeredAt() { return administeredAt; }
+    public void setAdministeredAt(LocalDateTime administeredAt) { this.administeredAt = administeredAt; }
+
+    public LocalDateTime getScheduledFor() { return scheduledFor; }
+    public void setScheduledFor(LocalDateTime scheduledFor) { this.scheduledFor = scheduledFor; }
+
+    public String getRecordedBy() { return recordedBy; }
+    public void setRecordedBy(String recordedBy) { this.recordedBy = recordedBy; }
+
+    public LocalDateTime getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(LocalDateTime recordedAt) { this.recordedAt = recordedAt; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+}
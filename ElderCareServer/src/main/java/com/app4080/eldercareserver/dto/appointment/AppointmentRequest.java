@@ -10,6 +10,7 @@ public class AppointmentRequest {
     private Long patientId;
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private LocalDateTime appointmentDate;
+    private Integer durationMinutes;
     private String location;
     private String status;
 
@@ -23,6 +24,9 @@ public class AppointmentRequest {
     public LocalDateTime getAppointmentDate() { return appointmentDate; }
     public void setAppointmentDate(LocalDateTime appointmentDate) { this.appointmentDate = appointmentDate; }
 
+    public Integer getDurationMinutes() { return durationMinutes; }
+    public void setDurationMinutes(Integer durationMinutes) { this.durationMinutes = durationMinutes; }
+
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
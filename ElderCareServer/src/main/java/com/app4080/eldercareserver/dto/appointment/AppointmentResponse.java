@@ -8,17 +8,19 @@ public class AppointmentResponse {
     private Long patientId;
     private Long doctorId;
     private LocalDateTime appointmentDate;
+    private Integer durationMinutes;
     private String location;
     private String status;
     private LocalDateTime createdAt;
 
     // Constructors
     public AppointmentResponse(Long id, Long patientId, Long doctorId, LocalDateTime appointmentDate,
-                               String location, String status, LocalDateTime createdAt) {
+                               Integer durationMinutes, String location, String status, LocalDateTime createdAt) {
         this.id = id;
         this.patientId = patientId;
         this.doctorId = doctorId;
         this.appointmentDate = appointmentDate;
+        this.durationMinutes = durationMinutes;
         this.location = location;
         this.status = status;
         this.createdAt = createdAt;
@@ -37,6 +39,9 @@ public class AppointmentResponse {
     public LocalDateTime getAppointmentDate() { return appointmentDate; }
     public void setAppointmentDate(LocalDateTime appointmentDate) { this.appointmentDate = appointmentDate; }
 
+    public Integer getDurationMinutes() { return durationMinutes; }
+    public void setDurationMinutes(Integer durationMinutes) { this.durationMinutes = durationMinutes; }
+
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
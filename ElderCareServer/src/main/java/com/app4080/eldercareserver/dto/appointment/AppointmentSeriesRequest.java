@@ -0,0 +1,48 @@
+package com.app4080.eldercareserver.dto.appointment;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+public class AppointmentSeriesRequest {
+
+    private Long doctorId;
+    private Long patientId;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime firstAppointment;
+    private Integer durationMinutes;
+    private String location;
+    private String frequency;
+    private Integer interval;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime until;
+    private Integer count;
+
+    // Getters and Setters
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public LocalDateTime getFirstAppointment() { return firstAppointment; }
+    public void setFirstAppointment(LocalDateTime firstAppointment) { this.firstAppointment = firstAppointment; }
+
+    public Integer getDurationMinutes() { return durationMinutes; }
+    public void setDurationMinutes(Integer durationMinutes) { this.durationMinutes = durationMinutes; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getFrequency() { return frequency; }
+    public void setFrequency(String frequency) { this.frequency = frequency; }
+
+    public Integer getInterval() { return interval; }
+    public void setInterval(Integer interval) { this.interval = interval; }
+
+    public LocalDateTime getUntil() { return until; }
+    public void setUntil(LocalDateTime until) { this.until = until; }
+
+    public Integer getCount() { return count; }
+    public void setCount(Integer count) { this.count = count; }
+}
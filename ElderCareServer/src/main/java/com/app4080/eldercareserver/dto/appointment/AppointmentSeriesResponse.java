@@ -0,0 +1,76 @@
+package com.app4080.eldercareserver.dto.appointment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AppointmentSeriesResponse {
+
+    private Long id;
+    private Long patientId;
+    private Long doctorId;
+    private LocalDateTime firstAppointment;
+    private Integer durationMinutes;
+    private String location;
+    private String frequency;
+    private Integer interval;
+    private LocalDateTime until;
+    private Integer count;
+    private String status;
+    private List<AppointmentResponse> occurrences;
+
+    // Constructors
+    public AppointmentSeriesResponse(Long id, Long patientId, Long doctorId, LocalDateTime firstAppointment,
+                                     Integer durationMinutes, String location, String frequency, Integer interval,
+                                     LocalDateTime until, Integer count, String status,
+                                     List<AppointmentResponse> occurrences) {
+        this.id = id;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.firstAppointment = firstAppointment;
+        this.durationMinutes = durationMinutes;
+        this.location = location;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.until = until;
+        this.count = count;
+        this.status = status;
+        this.occurrences = occurrences;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public LocalDateTime getFirstAppointment() { return firstAppointment; }
+    public void setFirstAppointment(LocalDateTime firstAppointment) { this.firstAppointment = firstAppointment; }
+
+    public Integer getDurationMinutes() { return durationMinutes; }
+    public void setDurationMinutes(Integer durationMinutes) { this.durationMinutes = durationMinutes; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getFrequency() { return frequency; }
+    public void setFrequency(String frequency) { this.frequency = frequency; }
+
+    public Integer getInterval() { return interval; }
+    public void setInterval(Integer interval) { this.interval = interval; }
+
+    public LocalDateTime getUntil() { return until; }
+    public void setUntil(LocalDateTime until) { this.until = until; }
+
+    public Integer getCount() { return count; }
+    public void setCount(Integer count) { this.count = count; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public List<AppointmentResponse> getOccurrences() { return occurrences; }
+    public void setOccurrences(List<AppointmentResponse> occurrences) { this.occurrences = occurrences; }
+}
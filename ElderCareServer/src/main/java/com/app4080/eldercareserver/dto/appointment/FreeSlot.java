@@ -0,0 +1,27 @@
+package com.app4080.eldercareserver.dto.appointment;
+
+import java.time.LocalDateTime;
+
+public class FreeSlot {
+
+    private Long doctorId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    // Constructors
+    public FreeSlot(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        this.doctorId = doctorId;
+        this.start = start;
+        this.end = end;
+    }
+
+    // Getters and Setters
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public LocalDateTime getStart() { return start; }
+    public void setStart(LocalDateTime start) { this.start = start; }
+
+    public LocalDateTime getEnd() { return end; }
+    public void setEnd(LocalDateTime end) { this.end = end; }
+}
@@ -0,0 +1,66 @@
+package com.app4080.eldercareserver.dto.bulkimport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of one bulk import. Every rejected row is counted; only the first maxErrors are
+// listed individually so a badly formatted file cannot blow up the response.
+public class ImportReport {
+
+    private String entity;
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long durationMs;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+
+    // Constructors
+    public ImportReport() {}
+
+    public ImportReport(String entity) {
+        this.entity = entity;
+    }
+
+    // Getters and Setters
+    public String getEntity() { return entity; }
+    public void setEntity(String entity) { this.entity = entity; }
+
+    public long getTotalRows() { return totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    // A rejected row, identified by its line in the uploaded file
+    public static class RowError {
+
+        private long line;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
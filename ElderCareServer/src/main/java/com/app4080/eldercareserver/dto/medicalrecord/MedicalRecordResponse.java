@@ -14,6 +14,22 @@ public class MedicalRecordResponse {
     private String notes;
     private LocalDateTime createdAt;
 
+    public MedicalRecordResponse() {}
+
+    // Used by the JPQL constructor projections in the repositories
+    public MedicalRecordResponse(Long id, Long patientId, Long doctorId, LocalDateTime dateOfVisit, String location,
+                                 String diagnosis, String treatmentPlan, String notes, LocalDateTime createdAt) {
+        this.id = id;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.dateOfVisit = dateOfVisit;
+        this.location = location;
+        this.diagnosis = diagnosis;
+        this.treatmentPlan = treatmentPlan;
+        this.notes = notes;
+        this.createdAt = createdAt;
+    }
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -11,6 +11,12 @@ public class MedicalRecordSearchCriteria {
     private String location;
     private String diagnosisOrTreatment;
 
+    // Paging and ordering; sortBy defaults to relevance for text searches, else dateOfVisit
+    private Integer page;
+    private Integer size;
+    private String sortBy;
+    private String direction;
+
     // Getters and setters
     public Long getPatientId() {
         return patientId;
@@ -59,4 +65,36 @@ public class MedicalRecordSearchCriteria {
     public void setDiagnosisOrTreatment(String diagnosisOrTreatment) {
         this.diagnosisOrTreatment = diagnosisOrTreatment;
     }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public void setSortBy(String sortBy) {
+        this.sortBy = sortBy;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
 }
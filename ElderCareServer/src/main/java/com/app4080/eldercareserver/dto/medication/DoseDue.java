@@ -0,0 +1,56 @@
+package com.app4080.eldercareserver.dto.medication;
+
+import java.time.LocalDateTime;
+
+// One scheduled dose of a medication, expanded from its frequency by the dose calendar
+public class DoseDue {
+
+    private Long medicationId;
+    private Long medicalRecordId;
+    private Long patientId;
+    private String location;
+    private String medicationName;
+    private String dosage;
+    private String frequency;
+    private LocalDateTime dueAt;
+
+    // Constructors
+    public DoseDue() {}
+
+    public DoseDue(Long medicationId, Long medicalRecordId, Long patientId, String location,
+                   String medicationName, String dosage, String frequency, LocalDateTime dueAt) {
+        this.medicationId = medicationId;
+        this.medicalRecordId = medicalRecordId;
+        this.patientId = patientId;
+        this.location = location;
+        this.medicationName = medicationName;
+        this.dosage = dosage;
+        this.frequency = frequency;
+        this.dueAt = dueAt;
+    }
+
+    // Getters and Setters
+    public Long getMedicationId() { return medicationId; }
+    public void setMedicationId(Long medicationId) { this.medicationId = medicationId; }
+
+    public Long getMedicalRecordId() { return medicalRecordId; }
+    public void setMedicalRecordId(Long medicalRecordId) { this.medicalRecordId = medicalRecordId; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getMedicationName() { return medicationName; }
+    public void setMedicationName(String medicationName) { this.medicationName = medicationName; }
+
+    public String getDosage() { return dosage; }
+    public void setDosage(String dosage) { this.dosage = dosage; }
+
+    public String getFrequency() { return frequency; }
+    public void setFrequency(String frequency) { this.frequency = frequency; }
+
+    public LocalDateTime getDueAt() { return dueAt; }
+    public void setDueAt(LocalDateTime dueAt) { this.dueAt = dueAt; }
+}
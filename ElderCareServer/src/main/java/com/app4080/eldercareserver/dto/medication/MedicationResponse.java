@@ -13,6 +13,22 @@ public class MedicationResponse {
     private Long medicalRecordId;
     private LocalDateTime createdAt;
 
+    public MedicationResponse() {}
+
+    // Used by the JPQL constructor projections in the repositories
+    public MedicationResponse(Long id, String medicationName, String dosage, String frequency,
+                              LocalDateTime startDate, LocalDateTime endDate, Long medicalRecordId,
+                              LocalDateTime createdAt) {
+        this.id = id;
+        this.medicationName = medicationName;
+        this.dosage = dosage;
+        this.frequency = frequency;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.medicalRecordId = medicalRecordId;
+        this.createdAt = createdAt;
+    }
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -0,0 +1,62 @@
+package com.app4080.eldercareserver.dto.medication;
+
+import java.time.LocalDateTime;
+
+// A running medication with the record's patient and location, as loaded by the dose calendar
+public class ScheduledMedication {
+
+    private Long id;
+    private Long medicalRecordId;
+    private Long patientId;
+    private String location;
+    private String medicationName;
+    private String dosage;
+    private String frequency;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+
+    // Constructors
+    public ScheduledMedication() {}
+
+    // Used by the JPQL constructor projection in MedicationRepository
+    public ScheduledMedication(Long id, Long medicalRecordId, Long patientId, String location, String medicationName,
+                               String dosage, String frequency, LocalDateTime startDate, LocalDateTime endDate) {
+        this.id = id;
+        this.medicalRecordId = medicalRecordId;
+        this.patientId = patientId;
+        this.location = location;
+        this.medicationName = medicationName;
+        this.dosage = dosage;
+        this.frequency = frequency;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getMedicalRecordId() { return medicalRecordId; }
+    public void setMedicalRecordId(Long medicalRecordId) { this.medicalRecordId = medicalRecordId; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getMedicationName() { return medicationName; }
+    public void setMedicationName(String medicationName) { this.medicationName = medicationName; }
+
+    public String getDosage() { return dosage; }
+    public void setDosage(String dosage) { this.dosage = dosage; }
+
+    public String getFrequency() { return frequency; }
+    public void setFrequency(String frequency) { this.frequency = frequency; }
+
+    public LocalDateTime getStartDate() { return startDate; }
+    public void setStartDate(LocalDateTime startDate) { this.startDate = startDate; }
+
+    public LocalDateTime getEndDate() { return endDate; }
+    public void setEndDate(LocalDateTime endDate) { this.endDate = endDate; }
+}
@@ -0,0 +1,46 @@
+package com.app4080.eldercareserver.dto.notification;
+
+import java.time.LocalDateTime;
+
+// Pushed a configured time before an appointment starts
+public class AppointmentReminder {
+
+    private Long appointmentId;
+    private Long patientId;
+    private Long doctorId;
+    private LocalDateTime appointmentDate;
+    private String location;
+    private long minutesBefore;
+
+    // Constructors
+    public AppointmentReminder() {}
+
+    public AppointmentReminder(Long appointmentId, Long patientId, Long doctorId, LocalDateTime appointmentDate,
+                               String location, long minutesBefore) {
+        this.appointmentId = appointmentId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.appointmentDate = appointmentDate;
+        this.location = location;
+        this.minutesBefore = minutesBefore;
+    }
+
+    // Getters and Setters
+    public Long getAppointmentId() { return appointmentId; }
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public LocalDateTime getAppointmentDate() { return appointmentDate; }
+    public void setAppointmentDate(LocalDateTime appointmentDate) { this.appointmentDate = appointmentDate; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public long getMinutesBefore() { return minutesBefore; }
+    public void setMinutesBefore(long minutesBefore) { this.minutesBefore = minutesBefore; }
+}
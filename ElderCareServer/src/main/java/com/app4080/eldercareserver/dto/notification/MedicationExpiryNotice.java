@@ -0,0 +1,56 @@
+package com.app4080.eldercareserver.dto.notification;
+
+import java.time.LocalDateTime;
+
+// A medication about to run out, with what is needed to decide who hears about it
+public class MedicationExpiryNotice {
+
+    private Long medicationId;
+    private String medicationName;
+    private String dosage;
+    private LocalDateTime endDate;
+    private Long medicalRecordId;
+    private Long patientId;
+    private Long doctorId;
+    private String location;
+
+    // Constructors
+    public MedicationExpiryNotice() {}
+
+    public MedicationExpiryNotice(Long medicationId, String medicationName, String dosage, LocalDateTime endDate,
+                                  Long medicalRecordId, Long patientId, Long doctorId, String location) {
+        this.medicationId = medicationId;
+        this.medicationName = medicationName;
+        this.dosage = dosage;
+        this.endDate = endDate;
+        this.medicalRecordId = medicalRecordId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.location = location;
+    }
+
+    // Getters and Setters
+    public Long getMedicationId() { return medicationId; }
+    public void setMedicationId(Long medicationId) { this.medicationId = medicationId; }
+
+    public String getMedicationName() { return medicationName; }
+    public void setMedicationName(String medicationName) { this.medicationName = medicationName; }
+
+    public String getDosage() { return dosage; }
+    public void setDosage(String dosage) { this.dosage = dosage; }
+
+    public LocalDateTime getEndDate() { return endDate; }
+    public void setEndDate(LocalDateTime endDate) { this.endDate = endDate; }
+
+    public Long getMedicalRecordId() { return medicalRecordId; }
+    public void setMedicalRecordId(Long medicalRecordId) { this.medicalRecordId = medicalRecordId; }
+
+    public Long getPatientId() { return patientId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+}
@@ -0,0 +1,41 @@
+package com.app4080.eldercareserver.dto.notification;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+// One pushed change. The type doubles as the SSE event name; payload is the changed
+// appointment (AppointmentResponse), a reminder (AppointmentReminder) or the expiring
+// medication (MedicationExpiryNotice).
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NotificationEvent {
+
+    public static final String APPOINTMENT_CREATED = "appointment.created";
+    public static final String APPOINTMENT_UPDATED = "appointment.updated";
+    public static final String APPOINTMENT_DELETED = "appointment.deleted";
+    public static final String APPOINTMENT_REMINDER = "appointment.reminder";
+    public static final String MEDICATION_EXPIRING = "medication.expiring";
+
+    private String type;
+    private LocalDateTime occurredAt;
+    private Object payload;
+
+    // Constructors
+    public NotificationEvent() {}
+
+    public NotificationEvent(String type, LocalDateTime occurredAt, Object payload) {
+        this.type = type;
+        this.occurredAt = occurredAt;
+        this.payload = payload;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    public Object getPayload() { return payload; }
+    public void setPayload(Object payload) { this.payload = payload; }
+}
@@ -0,0 +1,71 @@
+package com.app4080.eldercareserver.dto.page;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One slice of a keyset-paginated listing. Pass nextCursor back as ?cursor= to read the
+// following slice; it is null once the listing is exhausted.
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+    private Long nextCursor;
+    private int limit;
+
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, Long nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    // Clamp a requested page size to [1, MAX_LIMIT], defaulting when absent
+    public static int clampLimit(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    // Ids are positive, so "after 0" is the first page
+    public static long startAfter(Long cursor) {
+        return cursor == null ? 0L : cursor;
+    }
+
+    // Build a page from a query that fetched limit + 1 rows; the extra row only signals that
+    // another page exists and is dropped from the response
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, Long> idOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null, limit);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new CursorPage<>(items, idOf.apply(items.get(limit - 1)), limit);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,79 @@
+package com.app4080.eldercareserver.dto.page;
+
+import java.util.List;
+
+// One numbered page of a filtered, sorted search. Unlike CursorPage this carries a total so
+// the client can show "page x of y"; pages are zero-based.
+public class ResultPage<T> {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    private List<T> items;
+    private int page;
+    private int size;
+    private long totalItems;
+    private boolean hasNext;
+
+    public ResultPage() {}
+
+    public ResultPage(List<T> items, int page, int size, long totalItems) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalItems = totalItems;
+        this.hasNext = (long) (page + 1) * size < totalItems;
+    }
+
+    // Clamp a requested page size to [1, MAX_SIZE], defaulting when absent
+    public static int clampSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    public static int clampPage(Integer requested) {
+        return requested == null || requested < 0 ? 0 : requested;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalItems() {
+        return totalItems;
+    }
+
+    public void setTotalItems(long totalItems) {
+        this.totalItems = totalItems;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -8,6 +8,13 @@ public class PatientSummary {
 
     public PatientSummary(){}
 
+    public PatientSummary(Long id, String firstName, String lastName, String phoneNumber) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.phoneNumber = phoneNumber;
+    }
+
     public Long getId() {
         return id;
     }
@@ -11,6 +11,20 @@ public class PrescriptionResponse {
     private LocalDateTime issuedDate;
     private LocalDateTime createdAt;
 
+    public PrescriptionResponse() {}
+
+    // Used by the JPQL constructor projections in the repositories
+    public PrescriptionResponse(Long id, Long medicalRecordId, Long medicationId, Long doctorId, String instructions,
+                                LocalDateTime issuedDate, LocalDateTime createdAt) {
+        this.id = id;
+        this.medicalRecordId = medicalRecordId;
+        this.medicationId = medicationId;
+        this.doctorId = doctorId;
+        this.instructions = instructions;
+        this.issuedDate = issuedDate;
+        this.createdAt = createdAt;
+    }
+
     public Long getId() {
         return id;
     }
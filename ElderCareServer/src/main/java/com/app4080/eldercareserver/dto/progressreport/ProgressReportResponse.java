@@ -13,6 +13,20 @@ public class ProgressReportResponse {
     private String recommendations;
     private LocalDateTime createdAt;
 
+    public ProgressReportResponse() {}
+
+    // Used by the JPQL constructor projections in the repositories
+    public ProgressReportResponse(Long id, Long patientId, Long caregiverId, LocalDateTime date, String summary,
+                                  String recommendations, LocalDateTime createdAt) {
+        this.id = id;
+        this.patientId = patientId;
+        this.caregiverId = caregiverId;
+        this.date = date;
+        this.summary = summary;
+        this.recommendations = recommendations;
+        this.createdAt = createdAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -4,18 +4,25 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_doctor_date", columnList = "doctor_id, appointment_date"),
+        @Index(name = "idx_appointments_patient_date", columnList = "patient_id, appointment_date"),
+        @Index(name = "idx_appointments_location_date", columnList = "location, appointment_date"),
+        @Index(name = "idx_appointments_status_date", columnList = "status, appointment_date"),
+        @Index(name = "idx_appointments_date", columnList = "appointment_date"),
+        @Index(name = "idx_appointments_series_date", columnList = "series_id, appointment_date")
+})
 public class Appointment {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     private User doctor;
 
@@ -25,12 +32,21 @@ public class Appointment {
     @Column(name = "location", nullable = false)
     private String location;
 
+    // Null on rows created before durations were tracked; the configured default applies
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
     @Column(name = "status", nullable = false, length = 50)
     private String status;
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // Set when the appointment is one occurrence of a recurring series
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    private AppointmentSeries series;
+
     // Constructors, Getters, Setters
 
     public Appointment() {
@@ -84,6 +100,14 @@ public class Appointment {
         this.appointmentDate = appointmentDate;
     }
 
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -99,5 +123,13 @@ public class Appointment {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public AppointmentSeries getSeries() {
+        return series;
+    }
+
+    public void setSeries(AppointmentSeries series) {
+        this.series = series;
+    }
 }
 
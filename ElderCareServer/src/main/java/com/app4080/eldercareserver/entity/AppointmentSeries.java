@@ -0,0 +1,153 @@
+package com.app4080.eldercareserver.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A recurring booking; its occurrences are ordinary appointments carrying the series id
+@Entity
+@Table(name = "appointment_series", indexes = {
+        @Index(name = "idx_appointment_series_patient", columnList = "patient_id"),
+        @Index(name = "idx_appointment_series_doctor", columnList = "doctor_id")
+})
+public class AppointmentSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id", nullable = false)
+    private Patient patient;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private User doctor;
+
+    @Column(name = "location", nullable = false)
+    private String location;
+
+    @Column(name = "first_appointment", nullable = false)
+    private LocalDateTime firstAppointment;
+
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes;
+
+    @Column(name = "frequency", nullable = false, length = 20)
+    private String frequency;
+
+    @Column(name = "repeat_interval", nullable = false)
+    private Integer repeatInterval;
+
+    @Column(name = "until_date")
+    private LocalDateTime untilDate;
+
+    @Column(name = "occurrence_count")
+    private Integer occurrenceCount;
+
+    @Column(name = "status", nullable = false, length = 50)
+    private String status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors, Getters, Setters
+
+    public AppointmentSeries() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+
+    public void setPatient(Patient patient) {
+        this.patient = patient;
+    }
+
+    public User getDoctor() {
+        return doctor;
+    }
+
+    public void setDoctor(User doctor) {
+        this.doctor = doctor;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public LocalDateTime getFirstAppointment() {
+        return firstAppointment;
+    }
+
+    public void setFirstAppointment(LocalDateTime firstAppointment) {
+        this.firstAppointment = firstAppointment;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public String getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(String frequency) {
+        this.frequency = frequency;
+    }
+
+    public Integer getRepeatInterval() {
+        return repeatInterval;
+    }
+
+    public void setRepeatInterval(Integer repeatInterval) {
+        this.repeatInterval = repeatInterval;
+    }
+
+    public LocalDateTime getUntilDate() {
+        return untilDate;
+    }
+
+    public void setUntilDate(LocalDateTime untilDate) {
+        this.untilDate = untilDate;
+    }
+
+    public Integer getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    public void setOccurrenceCount(Integer occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
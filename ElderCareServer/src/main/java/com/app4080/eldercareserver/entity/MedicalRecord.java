@@ -4,18 +4,23 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "medical_records")
+@Table(name = "medical_records", indexes = {
+        @Index(name = "idx_medical_records_patient_date", columnList = "patient_id, date_of_visit"),
+        @Index(name = "idx_medical_records_doctor_date", columnList = "doctor_id, date_of_visit"),
+        @Index(name = "idx_medical_records_location_date", columnList = "location, date_of_visit"),
+        @Index(name = "idx_medical_records_date", columnList = "date_of_visit")
+})
 public class MedicalRecord {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     private User doctor;
 
@@ -4,14 +4,17 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "medications")
+@Table(name = "medications", indexes = {
+        @Index(name = "idx_medications_record", columnList = "record_id"),
+        @Index(name = "idx_medications_end_date", columnList = "end_date")
+})
 public class Medication {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "record_id", nullable = false)
     private MedicalRecord medicalRecord;
 
@@ -4,18 +4,22 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "progress_reports")
+@Table(name = "progress_reports", indexes = {
+        @Index(name = "idx_progress_reports_patient_date", columnList = "patient_id, date"),
+        @Index(name = "idx_progress_reports_caregiver_date", columnList = "caregiver_id, date"),
+        @Index(name = "idx_progress_reports_date", columnList = "date")
+})
 public class ProgressReport {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "caregiver_id", nullable = false)
     private User caregiver;
 
@@ -4,7 +4,12 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_privileges", columnList = "role, privileges"),
+        @Index(name = "idx_users_primary_location", columnList = "primary_location"),
+        @Index(name = "idx_users_secondary_location", columnList = "secondary_location"),
+        @Index(name = "idx_users_email", columnList = "email")
+})
 public class User {
 
     @Id
@@ -0,0 +1,20 @@
+package com.app4080.eldercareserver.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// One versioned step of the schema history. Versions are applied once, in ascending order,
+// each inside its own transaction together with its schema_history row.
+public interface Migration {
+
+    int getVersion();
+
+    String getDescription();
+
+    // "SQL" or "JAVA", recorded in schema_history
+    String getType();
+
+    // Detects edits to a migration after it was applied; null skips the check
+    Integer getChecksum();
+
+    void apply(JdbcTemplate jdbcTemplate);
+}
@@ -0,0 +1,15 @@
+package com.app4080.eldercareserver.migration;
+
+// The schema cannot be brought to, or verified at, the version this build expects
+public class MigrationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public MigrationException(String message) {
+        super(message);
+    }
+
+    public MigrationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,210 @@
+package com.app4080.eldercareserver.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Brings the SQLite schema to the version this build expects before JPA starts. Migrations are
+// the V<n>__*.sql scripts under eldercare.migrations.location plus every Migration bean; each
+// applied version is recorded in schema_history with its checksum.
+//
+// eldercare.migrations.mode:
+//   migrate  - apply pending migrations (default)
+//   validate - fail startup if anything is pending or an applied migration has changed
+//   off      - do nothing
+//
+// A database that predates migrations (tables present, no history) is baselined at version 1.
+// When the schema is already current, startup costs one read of schema_history and Hibernate
+// never inspects the schema (ddl-auto=none).
+@Component(SchemaMigrator.BEAN_NAME)
+public class SchemaMigrator implements InitializingBean {
+
+    public static final String BEAN_NAME = "schemaMigrator";
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private static final int BASELINE_VERSION = 1;
+
+    private final DataSource dataSource;
+    private final List<Migration> javaMigrations;
+    private final String location;
+    private final String mode;
+
+    public SchemaMigrator(DataSource dataSource,
+                          List<Migration> javaMigrations,
+                          @Value("${eldercare.migrations.location:classpath:db/migration}") String location,
+                          @Value("${eldercare.migrations.mode:migrate}") String mode) {
+        this.dataSource = dataSource;
+        this.javaMigrations = javaMigrations;
+        this.location = location;
+        this.mode = mode.trim().toLowerCase();
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        if (mode.equals("off")) {
+            logger.info("Schema migrations are disabled");
+            return;
+        }
+        if (!mode.equals("migrate") && !mode.equals("validate")) {
+            throw new MigrationException("Unknown eldercare.migrations.mode '" + mode + "'");
+        }
+
+        List<Migration> migrations = loadMigrations();
+        int latest = migrations.get(migrations.size() - 1).getVersion();
+
+        try (Connection connection = dataSource.getConnection()) {
+            JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Map<Integer, Integer> applied = readHistory(jdbc);
+
+            validateApplied(migrations, applied);
+            List<Migration> pending = migrations.stream()
+                    .filter(migration -> !applied.containsKey(migration.getVersion()))
+                    .toList();
+            if (pending.isEmpty()) {
+                logger.info("Schema is up to date at version {}", latest);
+                return;
+            }
+            if (mode.equals("validate")) {
+                throw new MigrationException("Schema is missing " + pending.size() + " migration(s) up to version "
+                        + latest + "; start once with eldercare.migrations.mode=migrate");
+            }
+
+            if (applied.isEmpty()) {
+                createHistory(jdbc);
+                if (hasLegacySchema(jdbc)) {
+                    Migration baseline = pending.get(0);
+                    record(jdbc, baseline, "BASELINE", 0);
+                    logger.info("Baselined existing database at version {}", BASELINE_VERSION);
+                    pending = pending.subList(1, pending.size());
+                }
+            }
+            for (Migration migration : pending) {
+                apply(connection, jdbc, migration);
+            }
+            logger.info("Schema migrated to version {}", latest);
+        }
+    }
+
+    private List<Migration> loadMigrations() {
+        List<Migration> migrations = new ArrayList<>(javaMigrations);
+        try {
+            Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(location + "/V*__*.sql");
+            for (Resource script : scripts) {
+                migrations.add(SqlMigration.load(script));
+            }
+        } catch (IOException e) {
+            throw new MigrationException("Could not list migrations under " + location, e);
+        }
+        migrations.sort(Comparator.comparingInt(Migration::getVersion));
+
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).getVersion() == migrations.get(i - 1).getVersion()) {
+                throw new MigrationException("More than one migration has version " + migrations.get(i).getVersion());
+            }
+        }
+        if (migrations.isEmpty() || migrations.get(0).getVersion() != BASELINE_VERSION) {
+            throw new MigrationException("Migrations must start with the version " + BASELINE_VERSION + " baseline");
+        }
+        return migrations;
+    }
+
+    // Applied versions mapped to their recorded checksums; empty when there is no history yet
+    private Map<Integer, Integer> readHistory(JdbcTemplate jdbc) {
+        Integer tables = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = 'schema_history'", Integer.class);
+        Map<Integer, Integer> applied = new HashMap<>();
+        if (tables != null && tables > 0) {
+            jdbc.query("SELECT version, checksum FROM schema_history", rs -> {
+                Object checksum = rs.getObject(2);
+                applied.put(rs.getInt(1), checksum == null ? null : ((Number) checksum).intValue());
+            });
+        }
+        return applied;
+    }
+
+    private void validateApplied(List<Migration> migrations, Map<Integer, Integer> applied) {
+        Map<Integer, Migration> known = new HashMap<>();
+        migrations.forEach(migration -> known.put(migration.getVersion(), migration));
+        for (Map.Entry<Integer, Integer> entry : applied.entrySet()) {
+            Migration migration = known.get(entry.getKey());
+            if (migration == null) {
+                throw new MigrationException("Database has migration " + entry.getKey()
+                        + " which this build does not know about; it was migrated by a newer version");
+            }
+            // Baselined versions never ran, so there is nothing to compare
+            if (entry.getValue() != null && migration.getChecksum() != null
+                    && !Objects.equals(entry.getValue(), migration.getChecksum())) {
+                throw new MigrationException("Migration " + entry.getKey() + " (" + migration.getDescription()
+                        + ") was changed after it was applied");
+            }
+        }
+    }
+
+    private void createHistory(JdbcTemplate jdbc) {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS schema_history (version integer primary key, "
+                + "description varchar(200) not null, type varchar(20) not null, checksum integer, "
+                + "installed_at timestamp not null, execution_ms integer not null)");
+    }
+
+    // Any application table without a history means the database came from ddl-auto
+    private boolean hasLegacySchema(JdbcTemplate jdbc) {
+        Integer tables = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = 'users'", Integer.class);
+        return tables != null && tables > 0;
+    }
+
+    private void apply(Connection connection, JdbcTemplate jdbc, Migration migration) throws SQLException {
+        long started = System.currentTimeMillis();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            migration.apply(jdbc);
+            record(jdbc, migration, migration.getType(), System.currentTimeMillis() - started);
+            connection.commit();
+            logger.info("Applied migration {} ({}) in {} ms", migration.getVersion(), migration.getDescription(),
+                    System.currentTimeMillis() - started);
+        } catch (RuntimeException | SQLException e) {
+            connection.rollback();
+            throw new MigrationException("Migration " + migration.getVersion() + " (" + migration.getDescription()
+                    + ") failed", e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void record(JdbcTemplate jdbc, Migration migration, String type, long executionMs) {
+        jdbc.update("INSERT INTO schema_history (version, description, type, checksum, installed_at, execution_ms) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                migration.getVersion(), migration.getDescription(), type,
+                type.equals("BASELINE") ? null : migration.getChecksum(),
+                new java.sql.Timestamp(System.currentTimeMillis()), executionMs);
+    }
+
+    // Makes the EntityManagerFactory wait for the migrations, so JPA only ever sees a current schema
+    @Component
+    static class EntityManagerFactoryDependsOnSchemaMigrator extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnSchemaMigrator() {
+            super(BEAN_NAME);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.app4080.eldercareserver.migration;
+
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+// A migration script named V<version>__<description>.sql. Statements are separated by
+// semicolons; semicolons inside quotes, comments and BEGIN/CASE ... END blocks (trigger
+// bodies) do not end a statement.
+public class SqlMigration implements Migration {
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private final int version;
+    private final String description;
+    private final String script;
+    private final int checksum;
+
+    private SqlMigration(int version, String description, String script) {
+        this.version = version;
+        this.description = description;
+        this.script = script;
+
+        // Line endings are normalized so a checkout on another platform keeps the same checksum
+        CRC32 crc = new CRC32();
+        crc.update(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+        this.checksum = (int) crc.getValue();
+    }
+
+    public static SqlMigration load(Resource resource) {
+        Matcher name = FILE_NAME.matcher(resource.getFilename() == null ? "" : resource.getFilename());
+        if (!name.matches()) {
+            throw new MigrationException("Migration script " + resource.getFilename()
+                    + " does not follow the V<version>__<description>.sql naming scheme");
+        }
+        try {
+            String script = resource.getContentAsString(StandardCharsets.UTF_8);
+            return new SqlMigration(Integer.parseInt(name.group(1)), name.group(2).replace('_', ' '), script);
+        } catch (IOException e) {
+            throw new MigrationException("Could not read migration script " + resource.getFilename(), e);
+        }
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String getType() {
+        return "SQL";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public void apply(JdbcTemplate jdbcTemplate) {
+        for (String statement : statements(script)) {
+            jdbcTemplate.execute(statement);
+        }
+    }
+
+    static List<String> statements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        StringBuilder word = new StringBuilder();
+        int depth = 0;
+        int i = 0;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+
+            if (c == '-' && i + 1 < script.length() && script.charAt(i + 1) == '-') {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? script.length() : end;
+                continue;
+            }
+            if (c == '\'' || c == '"') {
+                int end = i + 1;
+                while (end < script.length()) {
+                    if (script.charAt(end) == c) {
+                        // A doubled quote is an escaped quote inside the literal
+                        if (end + 1 < script.length() && script.charAt(end + 1) == c) {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                current.append(script, i, Math.min(end + 1, script.length()));
+                i = end + 1;
+                continue;
+            }
+
+            if (Character.isLetterOrDigit(c) || c == '_') {
+                word.append(c);
+            } else {
+                depth = track(word, depth);
+            }
+
+            if (c == ';' && depth == 0) {
+                addStatement(statements, current);
+            } else {
+                current.append(c);
+            }
+            i++;
+        }
+        track(word, depth);
+        addStatement(statements, current);
+        return statements;
+    }
+
+    // Keeps count of open BEGIN/CASE blocks as each keyword completes
+    private static int track(StringBuilder word, int depth) {
+        if (word.isEmpty()) {
+            return depth;
+        }
+        String keyword = word.toString().toUpperCase(Locale.ROOT);
+        word.setLength(0);
+        if (keyword.equals("BEGIN") || keyword.equals("CASE")) {
+            return depth + 1;
+        }
+        if (keyword.equals("END")) {
+            return Math.max(0, depth - 1);
+        }
+        return depth;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+}
@@ -0,0 +1,50 @@
+package com.app4080.eldercareserver.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Appointment durations and recurring series. Written in Java because SQLite has no
+// ADD COLUMN IF NOT EXISTS, and databases that ran under ddl-auto=update may already have
+// some of these columns.
+@Component
+public class V2_AppointmentScheduling implements Migration {
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public String getDescription() {
+        return "appointment scheduling";
+    }
+
+    @Override
+    public String getType() {
+        return "JAVA";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return 1;
+    }
+
+    @Override
+    public void apply(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS appointment_series (id integer, created_at timestamp not null, "
+                + "doctor_id bigint not null, duration_minutes integer not null, first_appointment timestamp not null, "
+                + "frequency varchar(20) not null, location varchar(255) not null, occurrence_count integer, "
+                + "patient_id bigint not null, repeat_interval integer not null, status varchar(50) not null, "
+                + "until_date timestamp, primary key (id))");
+
+        List<String> columns = jdbcTemplate.queryForList("SELECT name FROM pragma_table_info('appointments')", String.class);
+        if (!columns.contains("duration_minutes")) {
+            jdbcTemplate.execute("ALTER TABLE appointments ADD COLUMN duration_minutes integer");
+        }
+        if (!columns.contains("series_id")) {
+            jdbcTemplate.execute("ALTER TABLE appointments ADD COLUMN series_id bigint");
+        }
+    }
+}
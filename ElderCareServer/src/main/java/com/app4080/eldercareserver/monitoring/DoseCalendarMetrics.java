@@ -0,0 +1,28 @@
+package com.app4080.eldercareserver.monitoring;
+
+import com.app4080.eldercareserver.service.DoseCalendar;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+// eldercare.doses.scheduled (doses in the calendar window) and eldercare.doses.medications
+@Component
+public class DoseCalendarMetrics implements MeterBinder {
+
+    private final DoseCalendar doseCalendar;
+
+    public DoseCalendarMetrics(DoseCalendar doseCalendar) {
+        this.doseCalendar = doseCalendar;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("eldercare.doses.scheduled", doseCalendar, DoseCalendar::getDoseCount)
+                .description("Medication doses scheduled in the dose calendar window")
+                .register(registry);
+        Gauge.builder("eldercare.doses.medications", doseCalendar, DoseCalendar::getMedicationCount)
+                .description("Running medications tracked by the dose calendar")
+                .register(registry);
+    }
+}
@@ -0,0 +1,52 @@
+package com.app4080.eldercareserver.monitoring;
+
+import com.app4080.eldercareserver.service.PrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.stereotype.Component;
+
+// Publishes the principal cache under Micrometer's standard cache.* meters (cache.gets with
+// result=hit|miss, cache.puts, cache.evictions, cache.size) so its hit ratio can be graphed
+// next to any other cache.
+@Component
+public class PrincipalCacheMetrics extends CacheMeterBinder<PrincipalCache> {
+
+    public PrincipalCacheMetrics(PrincipalCache cache) {
+        super(cache, "principals", Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        PrincipalCache cache = getCache();
+        return cache == null ? null : (long) cache.size();
+    }
+
+    @Override
+    protected long hitCount() {
+        PrincipalCache cache = getCache();
+        return cache == null ? 0 : cache.getHitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        PrincipalCache cache = getCache();
+        return cache == null ? null : cache.getMissCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        PrincipalCache cache = getCache();
+        return cache == null ? null : cache.getEvictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        PrincipalCache cache = getCache();
+        return cache == null ? 0 : cache.getPutCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+    }
+}
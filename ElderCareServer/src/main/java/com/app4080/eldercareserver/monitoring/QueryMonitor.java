@@ -0,0 +1,158 @@
+package com.app4080.eldercareserver.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Collects per-request JDBC statistics, totals them per controller method and logs requests
+// that are slow, run too many statements or repeat the same SELECT (a likely N+1).
+// Listeners see every finished request; tests use them to assert query budgets. The same
+// per-handler figures are published as eldercare.request.* meters tagged with the handler.
+@Component
+public class QueryMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryMonitor.class);
+
+    private final boolean enabled;
+    private final long slowRequestMs;
+    private final int statementWarnThreshold;
+    private final int nPlusOneThreshold;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, HandlerTotals> totals = new ConcurrentHashMap<>();
+    private final List<Consumer<RequestQueryStats>> listeners = new CopyOnWriteArrayList<>();
+
+    public QueryMonitor(@Value("${eldercare.monitoring.sql.enabled:true}") boolean enabled,
+                        @Value("${eldercare.monitoring.slow-request-ms:500}") long slowRequestMs,
+                        @Value("${eldercare.monitoring.statement-warn-threshold:50}") int statementWarnThreshold,
+                        @Value("${eldercare.monitoring.n-plus-one-threshold:10}") int nPlusOneThreshold,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.slowRequestMs = slowRequestMs;
+        this.statementWarnThreshold = statementWarnThreshold;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Wrap the application DataSource so its statements are counted; a no-op when disabled
+    public DataSource instrument(DataSource dataSource) {
+        return enabled ? new QueryCountingDataSource(dataSource) : dataSource;
+    }
+
+    // Called by QueryMonitoringFilter once the request has completed
+    void record(RequestQueryStats stats) {
+        HandlerTotals handlerTotals = totals.computeIfAbsent(stats.getHandler(), handler -> new HandlerTotals(handler, meterRegistry));
+        handlerTotals.add(stats);
+
+        Map<String, Integer> repeated = stats.repeatedSelects(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            handlerTotals.nPlusOneRequests.increment();
+        }
+        repeated.forEach((sql, count) ->
+                logger.warn("Possible N+1 in {}: statement ran {} times in one request: {}", stats.getHandler(), count, sql));
+
+        if (stats.getElapsedMillis() >= slowRequestMs || stats.getStatements() >= statementWarnThreshold) {
+            logger.warn("Slow request {}", stats);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Request {}", stats);
+        }
+
+        for (Consumer<RequestQueryStats> listener : listeners) {
+            listener.accept(stats);
+        }
+    }
+
+    // Returns a handle that unregisters the listener when closed
+    public AutoCloseable addListener(Consumer<RequestQueryStats> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    public Map<String, HandlerTotals> getTotals() {
+        return totals;
+    }
+
+    // Running totals for one controller method
+    public static final class HandlerTotals {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rowsFetched = new LongAdder();
+        private final LongAdder sqlMillis = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+        private final DistributionSummary statementsPerRequest;
+        private final DistributionSummary rowsPerRequest;
+        private final Timer sqlTime;
+        private final Counter nPlusOneRequests;
+
+        private HandlerTotals(String handler, MeterRegistry registry) {
+            this.statementsPerRequest = DistributionSummary.builder("eldercare.request.statements")
+                    .description("JDBC statements executed per request")
+                    .tag("handler", handler)
+                    .register(registry);
+            this.rowsPerRequest = DistributionSummary.builder("eldercare.request.rows")
+                    .description("Result set rows read per request")
+                    .tag("handler", handler)
+                    .register(registry);
+            this.sqlTime = Timer.builder("eldercare.request.sql")
+                    .description("Time per request spent executing JDBC statements")
+                    .tag("handler", handler)
+                    .register(registry);
+            this.nPlusOneRequests = Counter.builder("eldercare.request.n-plus-one")
+                    .description("Requests that repeated one SELECT at least n-plus-one-threshold times")
+                    .tag("handler", handler)
+                    .register(registry);
+        }
+
+        private void add(RequestQueryStats stats) {
+            requests.increment();
+            statements.add(stats.getStatements());
+            rowsFetched.add(stats.getRowsFetched());
+            sqlMillis.add(stats.getSqlMillis());
+            maxStatements.accumulate(stats.getStatements());
+
+            statementsPerRequest.record(stats.getStatements());
+            rowsPerRequest.record(stats.getRowsFetched());
+            sqlTime.record(stats.getSqlNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        public long getRowsFetched() {
+            return rowsFetched.sum();
+        }
+
+        public long getSqlMillis() {
+            return sqlMillis.sum();
+        }
+
+        public long getMaxStatements() {
+            return maxStatements.get();
+        }
+    }
+}
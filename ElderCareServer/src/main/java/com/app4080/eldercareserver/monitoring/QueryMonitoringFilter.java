@@ -0,0 +1,48 @@
+package com.app4080.eldercareserver.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Opens a RequestQueryStats scope around the whole request, ahead of every other filter so
+// authentication lookups are counted too, and labels it with the controller method that
+// handled it.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryMonitoringFilter extends OncePerRequestFilter {
+
+    private final QueryMonitor queryMonitor;
+
+    public QueryMonitoringFilter(QueryMonitor queryMonitor) {
+        this.queryMonitor = queryMonitor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !queryMonitor.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin(request.getMethod(), request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats.end();
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+                stats.setHandler(handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName());
+            }
+            queryMonitor.record(stats);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.app4080.eldercareserver.monitoring;
+
+import com.app4080.eldercareserver.service.AppointmentReminderService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+// eldercare.reminders.pending (timers waiting in the wheel) and eldercare.reminders.fired
+@Component
+public class ReminderMetrics implements MeterBinder {
+
+    private final AppointmentReminderService reminderService;
+
+    public ReminderMetrics(AppointmentReminderService reminderService) {
+        this.reminderService = reminderService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("eldercare.reminders.pending", reminderService, AppointmentReminderService::getPendingCount)
+                .description("Appointment reminders scheduled and not yet sent")
+                .register(registry);
+        FunctionCounter.builder("eldercare.reminders.fired", reminderService, AppointmentReminderService::getFiredCount)
+                .description("Appointment reminders sent")
+                .register(registry);
+    }
+}
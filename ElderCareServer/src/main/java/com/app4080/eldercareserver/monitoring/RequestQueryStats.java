@@ -0,0 +1,113 @@
+package com.app4080.eldercareserver.monitoring;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// JDBC work done on behalf of one HTTP request: statements executed, rows read back and time
+// spent inside the driver. Bound to the request thread by QueryMonitoringFilter; statements
+// run on other threads (startup jobs, the group-commit writer) are not attributed to a request.
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final String method;
+    private final String uri;
+    private final long startedNanos = System.nanoTime();
+    private final Map<String, Integer> selectCounts = new HashMap<>();
+
+    private String handler = "unmapped";
+    private int statements;
+    private long rowsFetched;
+    private long sqlNanos;
+    private long elapsedNanos;
+
+    RequestQueryStats(String method, String uri) {
+        this.method = method;
+        this.uri = uri;
+    }
+
+    static RequestQueryStats begin(String method, String uri) {
+        RequestQueryStats stats = new RequestQueryStats(method, uri);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void end() {
+        elapsedNanos = System.nanoTime() - startedNanos;
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql, long nanos) {
+        statements++;
+        sqlNanos += nanos;
+        if (sql != null && sql.regionMatches(true, 0, "select", 0, 6)) {
+            selectCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordRow() {
+        rowsFetched++;
+    }
+
+    void setHandler(String handler) {
+        this.handler = handler;
+    }
+
+    // Identical SELECTs run at least threshold times in this request, the usual shape of an N+1
+    public Map<String, Integer> repeatedSelects(int threshold) {
+        if (threshold <= 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        selectCounts.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public String getHandler() {
+        return handler;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public long getSqlNanos() {
+        return sqlNanos;
+    }
+
+    public long getSqlMillis() {
+        return sqlNanos / 1_000_000;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + uri + " (" + handler + "): " + getElapsedMillis() + " ms, " + statements
+                + " statements, " + rowsFetched + " rows, " + getSqlMillis() + " ms in SQL";
+    }
+}
@@ -0,0 +1,80 @@
+package com.app4080.eldercareserver.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+// Measures how long the writer waits for SQLite's file lock. Writers inside this process
+// already queue for the single writer connection, which Hikari times as
+// hikaricp.connections.acquire{pool="sqlite-writer"}. What remains is BEGIN IMMEDIATE, which
+// the driver issues when auto-commit is switched off and which blocks for up to busy_timeout
+// while another process (a backup, the sqlite3 shell) holds the lock. Statements run after
+// BEGIN IMMEDIATE already own the lock, so SQLITE_BUSY can only come from BEGIN or COMMIT.
+@Component
+public class SqliteLockMetrics {
+
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+
+    private final Timer lockWait;
+    private final Counter busy;
+
+    public SqliteLockMetrics(MeterRegistry registry) {
+        this.lockWait = Timer.builder("eldercare.sqlite.lock.wait")
+                .description("Time the writer connection spent in BEGIN IMMEDIATE waiting for the write lock")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.busy = Counter.builder("eldercare.sqlite.busy")
+                .description("Writer calls that gave up with SQLITE_BUSY or SQLITE_LOCKED after busy_timeout")
+                .register(registry);
+    }
+
+    // Wrap the writer pool; connections from it time their BEGIN and count lock timeouts
+    public DataSource instrumentWriter(DataSource writer) {
+        return new DelegatingDataSource(writer) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return wrapConnection(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return wrapConnection(super.getConnection(username, password));
+            }
+        };
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(SqliteLockMetrics.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    boolean begin = method.getName().equals("setAutoCommit") && Boolean.FALSE.equals(args[0]);
+                    long started = System.nanoTime();
+                    try {
+                        return QueryCountingDataSource.invoke(connection, method, args);
+                    } catch (SQLException e) {
+                        if (isLockTimeout(e)) {
+                            busy.increment();
+                        }
+                        throw e;
+                    } finally {
+                        if (begin) {
+                            lockWait.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                        }
+                    }
+                });
+    }
+
+    // The driver reports extended result codes (e.g. SQLITE_BUSY_SNAPSHOT); the low byte is the primary code
+    private static boolean isLockTimeout(SQLException e) {
+        int code = e.getErrorCode() & 0xff;
+        return code == SQLITE_BUSY || code == SQLITE_LOCKED;
+    }
+}
@@ -1,7 +1,9 @@
 package com.app4080.eldercareserver.repository;
 
+import com.app4080.eldercareserver.dto.appointment.AppointmentResponse;
 import com.app4080.eldercareserver.entity.Appointment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,23 +13,64 @@ import java.util.List;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
-    List<Appointment> findByPatientId(Long patientId);
-    List<Appointment> findByDoctorId(Long doctorId);
-    List<Appointment> findByStatus(String status);
+
+    // Exactly the AppointmentResponse columns. Patient and doctor ids are read from the foreign
+    // keys, so list queries neither join nor hydrate Patient and User rows.
+    String RESPONSE_SELECT = "SELECT new com.app4080.eldercareserver.dto.appointment.AppointmentResponse(" +
+            "a.id, a.patient.id, a.doctor.id, a.appointmentDate, a.durationMinutes, a.location, a.status, a.createdAt) " +
+            "FROM Appointment a ";
+
+    @Query(RESPONSE_SELECT + "WHERE a.patient.id = :patientId")
+    List<AppointmentResponse> findResponsesByPatientId(@Param("patientId") Long patientId);
+
+    @Query(RESPONSE_SELECT + "WHERE a.doctor.id = :doctorId")
+    List<AppointmentResponse> findResponsesByDoctorId(@Param("doctorId") Long doctorId);
+
+    @Query(RESPONSE_SELECT + "WHERE a.status = :status")
+    List<AppointmentResponse> findResponsesByStatus(@Param("status") String status);
+
+    @Query(RESPONSE_SELECT + "WHERE a.location = :location")
+    List<AppointmentResponse> findResponsesByLocation(@Param("location") String location);
+
+    @Query(RESPONSE_SELECT + "WHERE a.appointmentDate BETWEEN :startDate AND :endDate")
+    List<AppointmentResponse> findResponsesByAppointmentDateBetween(@Param("startDate") LocalDateTime startDate,
+                                                                    @Param("endDate") LocalDateTime endDate);
+
     List<Appointment> findByPatientIdAndDoctorId(Long patientId, Long doctorId);
     List<Appointment> findByLocationAndDoctorId(String location, Long doctorId);
-    List<Appointment> findByLocation(String location);
     List<Appointment> findByPatientIdAndStatus(Long patientId, String status);
     List<Appointment> findByDoctorIdAndStatus(Long doctorId, String status);
 
-    // Find appointments for a specific day
-    List<Appointment> findByAppointmentDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    List<Appointment> findBySeriesIdOrderByAppointmentDateAsc(Long seriesId);
+
+    // Occurrences of a series that have not started yet
+    List<Appointment> findBySeriesIdAndAppointmentDateAfterOrderByAppointmentDateAsc(Long seriesId, LocalDateTime after);
+
+    // Clears the persistence context as well: SQLite hands deleted ids out again, so stale
+    // entities would otherwise shadow rows inserted afterwards
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Appointment a WHERE a.id IN :ids")
+    void deleteByIdIn(@Param("ids") List<Long> ids);
 
     // Find upcoming appointments
     @Query("SELECT a FROM Appointment a WHERE a.appointmentDate > CURRENT_TIMESTAMP " +
             "AND a.status = 'scheduled' ORDER BY a.appointmentDate")
     List<Appointment> findUpcomingAppointments();
 
+    // Just the columns the schedule index needs, for appointments starting on or after a time
+    @Query("SELECT a.id AS id, a.doctor.id AS doctorId, a.appointmentDate AS appointmentDate, " +
+            "a.durationMinutes AS durationMinutes, a.status AS status " +
+            "FROM Appointment a WHERE a.appointmentDate >= :since")
+    List<BookedSlot> findBookedSlotsSince(@Param("since") LocalDateTime since);
+
+    interface BookedSlot {
+        Long getId();
+        Long getDoctorId();
+        LocalDateTime getAppointmentDate();
+        Integer getDurationMinutes();
+        String getStatus();
+    }
+
     // Find overlapping appointments for a doctor
     @Query("SELECT a FROM Appointment a WHERE a.doctor.id = :doctorId " +
             "AND a.appointmentDate BETWEEN :startTime AND :endTime")
@@ -0,0 +1,13 @@
+package com.app4080.eldercareserver.repository;
+
+import com.app4080.eldercareserver.entity.AppointmentSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AppointmentSeriesRepository extends JpaRepository<AppointmentSeries, Long> {
+    List<AppointmentSeries> findByPatientId(Long patientId);
+    List<AppointmentSeries> findByDoctorId(Long doctorId);
+}
@@ -0,0 +1,23 @@
+package com.app4080.eldercareserver.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+// HQL/Criteria function over the FTS5 index of medical records (see V4__full_text_search.sql),
+// so a full-text term can be ANDed with ordinary filters inside one statement instead of being
+// resolved to a capped id list first. Registered in META-INF/services.
+public class FullTextFunctions implements FunctionContributor {
+
+    // medical_record_match(id, :match): whether the record with that id matches the expression
+    public static final String MATCH = "medical_record_match";
+
+    @Override
+    public void contributeFunctions(FunctionContributions contributions) {
+        BasicTypeRegistry types = contributions.getTypeConfiguration().getBasicTypeRegistry();
+        contributions.getFunctionRegistry().registerPattern(MATCH,
+                "(?1 in (select rowid from medical_records_fts where medical_records_fts match ?2))",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
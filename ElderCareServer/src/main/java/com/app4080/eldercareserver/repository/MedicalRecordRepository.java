@@ -1,38 +1,82 @@
 package com.app4080.eldercareserver.repository;
 
+import com.app4080.eldercareserver.dto.medicalrecord.MedicalRecordResponse;
 import com.app4080.eldercareserver.entity.MedicalRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long> {
+public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long>,
+        JpaSpecificationExecutor<MedicalRecord> {
 
-    List<MedicalRecord> findByPatientId(Long patientId);
-    List<MedicalRecord> findByDoctorId(Long doctorId);
-    List<MedicalRecord> findByPatientIdAndDoctorId(Long patientId, Long doctorId);
-    List<MedicalRecord> findByDoctorIdAndDateOfVisit(Long doctorId, LocalDateTime dateOfVisit);
+    // Exactly the MedicalRecordResponse columns; patient and doctor ids come from the foreign keys
+    String RESPONSE_SELECT = "SELECT new com.app4080.eldercareserver.dto.medicalrecord.MedicalRecordResponse(" +
+            "mr.id, mr.patient.id, mr.doctor.id, mr.dateOfVisit, mr.location, mr.diagnosis, mr.treatmentPlan, " +
+            "mr.notes, mr.createdAt) FROM MedicalRecord mr ";
 
-    @Override
-    List<MedicalRecord> findAll();
+    @Query(RESPONSE_SELECT + "WHERE mr.patient.id = :patientId")
+    List<MedicalRecordResponse> findResponsesByPatientId(@Param("patientId") Long patientId);
 
-    List<MedicalRecord> findByLocation(String location);
-    List<MedicalRecord> findByDateOfVisitAndLocation(LocalDateTime dateOfVisit, String location);
+    @Query(RESPONSE_SELECT + "WHERE mr.doctor.id = :doctorId")
+    List<MedicalRecordResponse> findResponsesByDoctorId(@Param("doctorId") Long doctorId);
+
+    @Query(RESPONSE_SELECT + "WHERE mr.patient.id = :patientId AND mr.doctor.id = :doctorId")
+    List<MedicalRecordResponse> findResponsesByPatientIdAndDoctorId(@Param("patientId") Long patientId,
+                                                                    @Param("doctorId") Long doctorId);
 
-    // Find records by date range
-    List<MedicalRecord> findByDateOfVisitBetween(LocalDateTime startDate, LocalDateTime endDate);
+    @Query(RESPONSE_SELECT + "WHERE mr.location = :location")
+    List<MedicalRecordResponse> findResponsesByLocation(@Param("location") String location);
+
+    @Query(RESPONSE_SELECT + "WHERE mr.dateOfVisit BETWEEN :startDate AND :endDate")
+    List<MedicalRecordResponse> findResponsesByDateOfVisitBetween(@Param("startDate") LocalDateTime startDate,
+                                                                  @Param("endDate") LocalDateTime endDate);
+
+    // Keyset page: the next rows after the given id
+    @Query(RESPONSE_SELECT + "WHERE mr.id > :id ORDER BY mr.id")
+    List<MedicalRecordResponse> findResponsesAfter(@Param("id") Long id, Limit limit);
+
+    List<MedicalRecord> findByDoctorIdAndDateOfVisit(Long doctorId, LocalDateTime dateOfVisit);
+
+    List<MedicalRecord> findByDateOfVisitAndLocation(LocalDateTime dateOfVisit, String location);
 
     // Find records by patient and date range
     List<MedicalRecord> findByPatientIdAndDateOfVisitBetween(
             Long patientId, LocalDateTime startDate, LocalDateTime endDate);
 
-    // Search records by diagnosis or treatment
-    @Query("SELECT mr FROM MedicalRecord mr WHERE " +
-            "LOWER(mr.diagnosis) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(mr.treatmentPlan) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<MedicalRecord> searchRecords(@Param("searchTerm") String searchTerm);
+    // One page of full-text matches that also pass the optional filters, best match first:
+    // diagnosis hits weigh most, then treatment plan, then notes. The index drives the scan, so
+    // bm25 is computed once per match; the filters mirror MedicalRecordSpecifications.
+    @Query(value = "SELECT mr.id FROM medical_records_fts JOIN medical_records mr ON mr.id = medical_records_fts.rowid " +
+            "WHERE medical_records_fts MATCH :match " +
+            "AND (:patientId IS NULL OR mr.patient_id = :patientId) " +
+            "AND (:doctorId IS NULL OR mr.doctor_id = :doctorId) " +
+            "AND (:location IS NULL OR mr.location = :location) " +
+            "AND (:startDate IS NULL OR mr.date_of_visit >= :startDate) " +
+            "AND (:endDate IS NULL OR mr.date_of_visit <= :endDate) " +
+            "ORDER BY bm25(medical_records_fts, 3.0, 2.0, 1.0), mr.id DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Number> searchRankedIds(@Param("match") String match, @Param("patientId") Long patientId,
+                                 @Param("doctorId") Long doctorId, @Param("location") String location,
+                                 @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
+                                 @Param("limit") int limit, @Param("offset") long offset);
+
+    // Cursor-backed streams for exports; callers must consume them inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT + "ORDER BY mr.id")
+    Stream<MedicalRecordResponse> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT + "WHERE mr.dateOfVisit BETWEEN :startDate AND :endDate ORDER BY mr.id")
+    Stream<MedicalRecordResponse> streamByDateOfVisitBetween(@Param("startDate") LocalDateTime startDate,
+                                                     @Param("endDate") LocalDateTime endDate);
 }
@@ -0,0 +1,56 @@
+package com.app4080.eldercareserver.repository;
+
+import com.app4080.eldercareserver.entity.MedicalRecord;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// Building blocks for MedicalRecordRepository.findAll(Specification, ...). Each one is a
+// single sargable predicate on an indexed column; callers AND together the ones they need.
+// Joins are avoided by comparing the foreign key ids directly.
+public final class MedicalRecordSpecifications {
+
+    private MedicalRecordSpecifications() {
+    }
+
+    public static Specification<MedicalRecord> forPatient(Long patientId) {
+        return (root, query, cb) -> cb.equal(root.get("patient").get("id"), patientId);
+    }
+
+    public static Specification<MedicalRecord> byDoctor(Long doctorId) {
+        return (root, query, cb) -> cb.equal(root.get("doctor").get("id"), doctorId);
+    }
+
+    public static Specification<MedicalRecord> atLocation(String location) {
+        return (root, query, cb) -> cb.equal(root.get("location"), location);
+    }
+
+    public static Specification<MedicalRecord> visitedOnOrAfter(LocalDateTime start) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dateOfVisit"), start);
+    }
+
+    public static Specification<MedicalRecord> visitedOnOrBefore(LocalDateTime end) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dateOfVisit"), end);
+    }
+
+    public static Specification<MedicalRecord> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    // Records matching an FTS5 expression (see FullTextQuery), evaluated by the database together
+    // with the other filters
+    public static Specification<MedicalRecord> matching(String match) {
+        return (root, query, cb) -> cb.isTrue(
+                cb.function(FullTextFunctions.MATCH, Boolean.class, root.get("id"), bound(cb, match)));
+    }
+
+    // A bind parameter rather than an inline literal, so the statement text stays the same
+    // whatever is searched for
+    private static Expression<String> bound(CriteriaBuilder cb, String value) {
+        return ((HibernateCriteriaBuilder) cb).value(value);
+    }
+}
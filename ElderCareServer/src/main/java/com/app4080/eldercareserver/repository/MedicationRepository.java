@@ -1,7 +1,10 @@
 package com.app4080.eldercareserver.repository;
 
-import com.app4080.eldercareserver.entity.MedicalRecord;
+import com.app4080.eldercareserver.dto.medication.MedicationResponse;
+import com.app4080.eldercareserver.dto.medication.ScheduledMedication;
+import com.app4080.eldercareserver.dto.notification.MedicationExpiryNotice;
 import com.app4080.eldercareserver.entity.Medication;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,20 +12,44 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MedicationRepository extends JpaRepository<Medication, Long> {
-    List<Medication> findByMedicalRecord(MedicalRecord mr);
+
+    // Exactly the MedicationResponse columns; the record id comes from the foreign key
+    String RESPONSE_SELECT = "SELECT new com.app4080.eldercareserver.dto.medication.MedicationResponse(" +
+            "m.id, m.medicationName, m.dosage, m.frequency, m.startDate, m.endDate, m.medicalRecord.id, m.createdAt) " +
+            "FROM Medication m ";
+
+    @Query(RESPONSE_SELECT + "WHERE m.medicalRecord.id = :medicalRecordId")
+    List<MedicationResponse> findResponsesByMedicalRecordId(@Param("medicalRecordId") Long medicalRecordId);
+
+    // Keyset page: the next rows after the given id
+    @Query(RESPONSE_SELECT + "WHERE m.id > :id ORDER BY m.id")
+    List<MedicationResponse> findResponsesAfter(@Param("id") Long id, Limit limit);
 
     // Find active medications
-    @Query("SELECT m FROM Medication m WHERE m.endDate >= CURRENT_DATE")
-    List<Medication> findActiveMedications();
+    @Query(RESPONSE_SELECT + "WHERE m.endDate >= CURRENT_DATE")
+    List<MedicationResponse> findActiveMedications();
 
     // Find medications by name pattern
-    List<Medication> findByMedicationNameContainingIgnoreCase(String name);
+    @Query(RESPONSE_SELECT + "WHERE LOWER(m.medicationName) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<MedicationResponse> findResponsesByNameContaining(@Param("name") String name);
 
     // Find medications expiring soon
-    @Query("SELECT m FROM Medication m WHERE m.endDate BETWEEN CURRENT_DATE AND :date")
-    List<Medication> findMedicationsExpiringSoon(@Param("date") LocalDateTime date);
+    @Query(RESPONSE_SELECT + "WHERE m.endDate BETWEEN CURRENT_DATE AND :date")
+    List<MedicationResponse> findMedicationsExpiringSoon(@Param("date") LocalDateTime date);
+
+    // Medications ending in (from, until], with the record's doctor and location for routing notifications
+    @Query("SELECT new com.app4080.eldercareserver.dto.notification.MedicationExpiryNotice(" +
+            "m.id, m.medicationName, m.dosage, m.endDate, r.id, r.patient.id, r.doctor.id, r.location) " +
+            "FROM Medication m JOIN m.medicalRecord r WHERE m.endDate > :from AND m.endDate <= :until ORDER BY m.endDate")
+    List<MedicationExpiryNotice> findExpiryNoticesBetween(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
 
+    // Medications still running on or after a time, with what the dose calendar needs from the record
+    @Query("SELECT new com.app4080.eldercareserver.dto.medication.ScheduledMedication(" +
+            "m.id, r.id, r.patient.id, r.location, m.medicationName, m.dosage, m.frequency, m.startDate, m.endDate) " +
+            "FROM Medication m JOIN m.medicalRecord r WHERE m.endDate IS NULL OR m.endDate >= :since")
+    Stream<ScheduledMedication> streamScheduledSince(@Param("since") LocalDateTime since);
 }
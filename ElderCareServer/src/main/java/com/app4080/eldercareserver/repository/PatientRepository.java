@@ -1,6 +1,8 @@
 package com.app4080.eldercareserver.repository;
 
+import com.app4080.eldercareserver.dto.patient.PatientSummary;
 import com.app4080.eldercareserver.entity.Patient;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,9 +10,13 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
+    // Keyset page: the next rows after the given id
+    List<Patient> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
     List<Patient> findByLastName(String lastName);
 
     Optional<Patient> findByFirstNameAndLastName(String firstName, String lastName);
@@ -23,6 +29,11 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
             "p.emergencyContact LIKE CONCAT('%', :searchTerm, '%')")
     List<Patient> searchPatients(@Param("searchTerm") String searchTerm);
 
+    // Columns needed by the typeahead index, without loading full entities
+    @Query("SELECT new com.app4080.eldercareserver.dto.patient.PatientSummary(" +
+            "p.id, p.firstName, p.lastName, p.phoneNumber) FROM Patient p")
+    Stream<PatientSummary> streamSummaries();
+
     // Find patients by age range
     @Query("SELECT p FROM Patient p WHERE YEAR(CURRENT_DATE) - YEAR(p.dob) BETWEEN :minAge AND :maxAge")
     List<Patient> findByAgeRange(@Param("minAge") int minAge, @Param("maxAge") int maxAge);
@@ -1,30 +1,62 @@
 package com.app4080.eldercareserver.repository;
 
-import com.app4080.eldercareserver.entity.MedicalRecord;
+import com.app4080.eldercareserver.dto.prescription.PrescriptionResponse;
 import com.app4080.eldercareserver.entity.Prescription;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PrescriptionRepository extends JpaRepository<Prescription, Long> {
 
-    List<Prescription> findByMedicalRecord(MedicalRecord mr);
-    List<Prescription> findByDoctorId(Long doctorId);
-    List<Prescription> findByMedicationId(Long medicationId);
+    // Exactly the PrescriptionResponse columns; record, medication and doctor ids come from the
+    // foreign keys (the doctor is optional, so its id may be null)
+    String RESPONSE_SELECT = "SELECT new com.app4080.eldercareserver.dto.prescription.PrescriptionResponse(" +
+            "p.id, p.medicalRecord.id, p.medication.id, p.doctor.id, p.instructions, p.issuedDate, p.createdAt) " +
+            "FROM Prescription p ";
+
+    @Query(RESPONSE_SELECT + "WHERE p.medicalRecord.id = :medicalRecordId")
+    List<PrescriptionResponse> findResponsesByMedicalRecordId(@Param("medicalRecordId") Long medicalRecordId);
+
+    @Query(RESPONSE_SELECT + "WHERE p.doctor.id = :doctorId")
+    List<PrescriptionResponse> findResponsesByDoctorId(@Param("doctorId") Long doctorId);
+
+    @Query(RESPONSE_SELECT + "WHERE p.medication.id = :medicationId")
+    List<PrescriptionResponse> findResponsesByMedicationId(@Param("medicationId") Long medicationId);
+
+    // Keyset page: the next rows after the given id
+    @Query(RESPONSE_SELECT + "WHERE p.id > :id ORDER BY p.id")
+    List<PrescriptionResponse> findResponsesAfter(@Param("id") Long id, Limit limit);
 
     // Find active prescriptions
-    @Query("SELECT p FROM Prescription p JOIN p.medication m WHERE m.endDate >= CURRENT_DATE")
-    List<Prescription> findActivePrescriptions();
+    @Query(RESPONSE_SELECT + "JOIN p.medication m WHERE m.endDate >= CURRENT_DATE")
+    List<PrescriptionResponse> findActivePrescriptions();
 
     // Find prescriptions by date range
-    List<Prescription> findByIssuedDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    @Query(RESPONSE_SELECT + "WHERE p.issuedDate BETWEEN :startDate AND :endDate")
+    List<PrescriptionResponse> findResponsesByIssuedDateBetween(@Param("startDate") LocalDateTime startDate,
+                                                                @Param("endDate") LocalDateTime endDate);
+
+    // Cursor-backed streams for exports; callers must consume them inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT + "ORDER BY p.id")
+    Stream<PrescriptionResponse> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT + "WHERE p.issuedDate BETWEEN :startDate AND :endDate ORDER BY p.id")
+    Stream<PrescriptionResponse> streamByIssuedDateBetween(@Param("startDate") LocalDateTime startDate,
+                                                           @Param("endDate") LocalDateTime endDate);
 
     // Find prescriptions for a specific patient
-    @Query("SELECT p FROM Prescription p JOIN p.medicalRecord mr WHERE mr.patient.id = :patientId")
-    List<Prescription> findByPatientId(@Param("patientId") Long patientId);
+    @Query(RESPONSE_SELECT + "JOIN p.medicalRecord mr WHERE mr.patient.id = :patientId")
+    List<PrescriptionResponse> findResponsesByPatientId(@Param("patientId") Long patientId);
 }
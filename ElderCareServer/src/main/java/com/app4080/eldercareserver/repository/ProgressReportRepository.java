@@ -1,30 +1,62 @@
 package com.app4080.eldercareserver.repository;
 
+import com.app4080.eldercareserver.dto.progressreport.ProgressReportResponse;
 import com.app4080.eldercareserver.entity.ProgressReport;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProgressReportRepository extends JpaRepository<ProgressReport, Long> {
-    List<ProgressReport> findByPatientId(Long patientId);
-    List<ProgressReport> findByCaregiverId(Long caregiverId);
+
+    // Exactly the ProgressReportResponse columns; patient and caregiver ids come from the foreign keys
+    String RESPONSE_SELECT = "SELECT new com.app4080.eldercareserver.dto.progressreport.ProgressReportResponse(" +
+            "pr.id, pr.patient.id, pr.caregiver.id, pr.date, pr.summary, pr.recommendations, pr.createdAt) " +
+            "FROM ProgressReport pr ";
+
+    @Query(RESPONSE_SELECT + "WHERE pr.patient.id = :patientId")
+    List<ProgressReportResponse> findResponsesByPatientId(@Param("patientId") Long patientId);
+
+    @Query(RESPONSE_SELECT + "WHERE pr.caregiver.id = :caregiverId")
+    List<ProgressReportResponse> findResponsesByCaregiverId(@Param("caregiverId") Long caregiverId);
+
+    // Keyset page: the next rows after the given id
+    @Query(RESPONSE_SELECT + "WHERE pr.id > :id ORDER BY pr.id")
+    List<ProgressReportResponse> findResponsesAfter(@Param("id") Long id, Limit limit);
 
     // Find reports by date range
-    List<ProgressReport> findByDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    @Query(RESPONSE_SELECT + "WHERE pr.date BETWEEN :startDate AND :endDate")
+    List<ProgressReportResponse> findResponsesByDateBetween(@Param("startDate") LocalDateTime startDate,
+                                                            @Param("endDate") LocalDateTime endDate);
+
+    // Cursor-backed streams for exports; callers must consume them inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT + "ORDER BY pr.id")
+    Stream<ProgressReportResponse> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT + "WHERE pr.date BETWEEN :startDate AND :endDate ORDER BY pr.id")
+    Stream<ProgressReportResponse> streamByDateBetween(@Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate);
 
     // Find latest report for each patient
     @Query("SELECT pr FROM ProgressReport pr WHERE pr.date = " +
             "(SELECT MAX(pr2.date) FROM ProgressReport pr2 WHERE pr2.patient.id = pr.patient.id)")
     List<ProgressReport> findLatestReportsForAllPatients();
 
-    // Search reports by content
-    @Query("SELECT pr FROM ProgressReport pr WHERE " +
-            "LOWER(pr.summary) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(pr.recommendations) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<ProgressReport> searchReports(@Param("searchTerm") String searchTerm);
+    // Full-text search over summary and recommendations, best matches first
+    @Query(value = "SELECT pr.* FROM progress_reports pr " +
+            "JOIN progress_reports_fts ON progress_reports_fts.rowid = pr.id " +
+            "WHERE progress_reports_fts MATCH :match " +
+            "ORDER BY bm25(progress_reports_fts, 2.0, 1.0) LIMIT :limit", nativeQuery = true)
+    List<ProgressReport> searchReports(@Param("match") String match, @Param("limit") int limit);
 }
@@ -23,6 +23,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByRoleAndPrivileges(String role, String privileges);
 
+    // Doctors who work at a location, either as their primary or secondary site
+    @Query("SELECT u.id FROM User u WHERE LOWER(u.role) = 'doctor' AND " +
+            "(u.primaryLocation = :location OR u.secondaryLocation = :location) ORDER BY u.id")
+    List<Long> findDoctorIdsAtLocation(@Param("location") String location);
+
     @Query("SELECT u FROM User u WHERE " +
             "LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
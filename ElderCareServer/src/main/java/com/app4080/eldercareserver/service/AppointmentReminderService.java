@@ -0,0 +1,220 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.dto.appointment.AppointmentResponse;
+import com.app4080.eldercareserver.dto.notification.AppointmentReminder;
+import com.app4080.eldercareserver.repository.AppointmentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fires reminders (by default 24 h and 1 h) before upcoming appointments, pushed through the
+// notification stream. Pending reminders live in a TimingWheel rather than being found by
+// polling the appointments table. Scheduling or cancelling one is O(1), and a tick only
+// touches what is due.
+//
+// The wheel holds the appointments of the next horizon-days. It is filled at startup and
+// extended by one range query on the indexed appointment_date every reload-ms. Bookings,
+// status changes and deletes update it as they commit.
+@Service
+public class AppointmentReminderService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentReminderService.class);
+
+    private static final int BUCKETS_PER_LEVEL = 512;
+    private static final int LEVELS = 3;
+
+    private final AppointmentRepository appointmentRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final List<Duration> offsets;
+    private final Duration horizon;
+    private final TimingWheel<AppointmentReminder> wheel;
+    private final Thread ticker;
+
+    private final Map<Long, List<TimingWheel.Timer<AppointmentReminder>>> byAppointment = new ConcurrentHashMap<>();
+    private final LongAdder fired = new LongAdder();
+
+    // Appointments starting up to here are in the wheel (or are being loaded into it)
+    private volatile LocalDateTime loadedUntil;
+    private volatile boolean running = true;
+
+    public AppointmentReminderService(AppointmentRepository appointmentRepository,
+                                      NotificationService notificationService,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${eldercare.reminders.enabled:true}") boolean enabled,
+                                      @Value("${eldercare.reminders.offsets:24h,1h}") String offsets,
+                                      @Value("${eldercare.reminders.horizon-days:7}") int horizonDays,
+                                      @Value("${eldercare.reminders.tick-ms:1000}") long tickMs) {
+        this.appointmentRepository = appointmentRepository;
+        this.notificationService = notificationService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.offsets = Arrays.stream(offsets.split(","))
+                .map(String::trim)
+                .filter(offset -> !offset.isEmpty())
+                .map(DurationStyle::detectAndParse)
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        this.horizon = Duration.ofDays(Math.max(1, horizonDays));
+        this.wheel = new TimingWheel<>(Math.max(1, tickMs), BUCKETS_PER_LEVEL, LEVELS, System.currentTimeMillis());
+
+        if (enabled) {
+            ticker = new Thread(this::tickLoop, "reminder-wheel");
+            ticker.setDaemon(true);
+        } else {
+            ticker = null;
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        int loaded = loadUntil(LocalDateTime.now(), LocalDateTime.now().plus(horizon));
+        logger.info("Reminder wheel loaded with {} reminders for {} appointments in the next {} days (offsets {})",
+                wheel.size(), loaded, horizon.toDays(), offsets);
+        ticker.start();
+    }
+
+    // Schedule, move or drop an appointment's reminders to match it, once the change commits
+    public void appointmentChanged(AppointmentResponse appointment) {
+        if (enabled) {
+            AfterCommit.run(() -> track(appointment));
+        }
+    }
+
+    public void appointmentRemoved(Long appointmentId) {
+        if (enabled) {
+            AfterCommit.run(() -> cancel(appointmentId));
+        }
+    }
+
+    // Pull the next slice of appointments into the wheel as the horizon moves forward
+    @Scheduled(fixedDelayString = "${eldercare.reminders.reload-ms:3600000}",
+            initialDelayString = "${eldercare.reminders.reload-ms:3600000}")
+    public void extendHorizon() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime until = LocalDateTime.now().plus(horizon);
+        int loaded = loadUntil(loadedUntil, until);
+        logger.debug("Reminder horizon extended to {}: {} appointments added", until, loaded);
+    }
+
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    public long getFiredCount() {
+        return fired.sum();
+    }
+
+    // loadedUntil moves first, so an appointment committed while the query runs is either seen
+    // by it or tracked by its own after-commit hook; tracking the same one twice is harmless
+    private int loadUntil(LocalDateTime from, LocalDateTime until) {
+        if (!until.isAfter(from)) {
+            return 0;
+        }
+        loadedUntil = until;
+        List<AppointmentResponse> appointments = readOnlyTransaction.execute(status ->
+                appointmentRepository.findResponsesByAppointmentDateBetween(from, until));
+        for (AppointmentResponse appointment : appointments) {
+            track(appointment);
+        }
+        return appointments.size();
+    }
+
+    private void track(AppointmentResponse appointment) {
+        Long appointmentId = appointment.getId();
+        if (!remindable(appointment.getStatus()) || appointment.getAppointmentDate().isAfter(loadedUntil)) {
+            cancel(appointmentId);
+            return;
+        }
+
+        long startMillis = toMillis(appointment.getAppointmentDate());
+        long now = System.currentTimeMillis();
+        byAppointment.compute(appointmentId, (id, previous) -> {
+            if (previous != null) {
+                previous.forEach(wheel::cancel);
+            }
+            List<TimingWheel.Timer<AppointmentReminder>> timers = new ArrayList<>(offsets.size());
+            for (Duration offset : offsets) {
+                long dueMillis = startMillis - offset.toMillis();
+                // A reminder whose moment has passed is skipped rather than sent late
+                if (dueMillis > now) {
+                    timers.add(wheel.schedule(dueMillis, new AppointmentReminder(appointmentId,
+                            appointment.getPatientId(), appointment.getDoctorId(), appointment.getAppointmentDate(),
+                            appointment.getLocation(), offset.toMinutes())));
+                }
+            }
+            return timers.isEmpty() ? null : timers;
+        });
+    }
+
+    private void cancel(Long appointmentId) {
+        List<TimingWheel.Timer<AppointmentReminder>> timers = byAppointment.remove(appointmentId);
+        if (timers != null) {
+            timers.forEach(wheel::cancel);
+        }
+    }
+
+    // Cancelled and completed appointments get no reminders
+    private static boolean remindable(String status) {
+        return AppointmentScheduleIndex.occupiesSlot(status) && !"completed".equalsIgnoreCase(status);
+    }
+
+    private void tickLoop() {
+        long tickMillis = wheel.tickMillis();
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                Thread.sleep(tickMillis - now % tickMillis);
+                for (AppointmentReminder reminder : wheel.advance(System.currentTimeMillis())) {
+                    fired.increment();
+                    // Forget the appointment once its last reminder has gone out
+                    byAppointment.computeIfPresent(reminder.getAppointmentId(),
+                            (id, timers) -> timers.stream().anyMatch(wheel::isPending) ? timers : null);
+                    notificationService.appointmentReminder(reminder);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Reminder tick failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        if (ticker != null) {
+            ticker.interrupt();
+        }
+    }
+}
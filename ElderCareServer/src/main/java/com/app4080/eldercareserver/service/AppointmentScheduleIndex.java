@@ -0,0 +1,263 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory index of each doctor's booked intervals. Bookings are kept in a balanced tree
+// ordered by start time, together with the longest booking length seen for that doctor, so an
+// overlap check only visits bookings that start within [start - longest, end): O(log n) plus
+// the handful of neighbours in that window.
+//
+// Reservations are taken under a per-doctor lock before the row is written and released if
+// the transaction rolls back, so two concurrent inserts can never both claim the same slot.
+// The index is rebuilt from the appointments table at startup.
+@Component
+public class AppointmentScheduleIndex implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentScheduleIndex.class);
+
+    private static final Set<String> FREE_STATUSES = Set.of("cancelled", "canceled");
+
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration defaultDuration;
+
+    private final Map<Long, DoctorSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<Long, Booking> byAppointment = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public AppointmentScheduleIndex(AppointmentRepository appointmentRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${eldercare.appointments.default-duration-minutes:30}") int defaultDurationMinutes) {
+        this.appointmentRepository = appointmentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.defaultDuration = Duration.ofMinutes(defaultDurationMinutes);
+    }
+
+    // Whether an appointment in this status holds its time slot
+    public static boolean occupiesSlot(String status) {
+        return status == null || !FREE_STATUSES.contains(status.toLowerCase());
+    }
+
+    public Duration durationOf(Integer durationMinutes) {
+        return durationMinutes != null && durationMinutes > 0 ? Duration.ofMinutes(durationMinutes) : defaultDuration;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Bookings that ended before today cannot collide with anything bookable
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        readOnlyTransaction.executeWithoutResult(status ->
+                appointmentRepository.findBookedSlotsSince(since).forEach(slot -> {
+                    if (occupiesSlot(slot.getStatus())) {
+                        LocalDateTime start = slot.getAppointmentDate();
+                        Booking booking = new Booking(sequence.incrementAndGet(), slot.getDoctorId(),
+                                start, start.plus(durationOf(slot.getDurationMinutes())));
+                        booking.appointmentId = slot.getId();
+                        schedule(slot.getDoctorId()).insert(booking);
+                        byAppointment.put(slot.getId(), booking);
+                    }
+                }));
+        logger.info("Appointment schedule index built with {} bookings across {} doctors",
+                byAppointment.size(), schedules.size());
+    }
+
+    // Claim [start, end) for the doctor, or throw if it overlaps an existing booking
+    public Booking reserve(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Appointment must end after it starts");
+        }
+        DoctorSchedule schedule = schedule(doctorId);
+        synchronized (schedule) {
+            Optional<Booking> conflict = schedule.findOverlap(start, end);
+            if (conflict.isPresent()) {
+                throw new SchedulingConflictException(
+                        "Doctor already has an appointment from " + conflict.get().start + " to " + conflict.get().end,
+                        conflict.get().appointmentId);
+            }
+            Booking booking = new Booking(sequence.incrementAndGet(), doctorId, start, end);
+            schedule.insert(booking);
+            return booking;
+        }
+    }
+
+    // Claim a whole set of equal-length intervals for one doctor, all or nothing
+    public List<Booking> reserveAll(Long doctorId, List<LocalDateTime> starts, Duration length) {
+        DoctorSchedule schedule = schedule(doctorId);
+        List<Booking> reserved = new ArrayList<>(starts.size());
+        synchronized (schedule) {
+            for (LocalDateTime start : starts) {
+                LocalDateTime end = start.plus(length);
+                Optional<Booking> conflict = schedule.findOverlap(start, end);
+                if (conflict.isPresent()) {
+                    reserved.forEach(schedule::remove);
+                    throw new SchedulingConflictException(
+                            "Occurrence at " + start + " overlaps an appointment from " + conflict.get().start
+                                    + " to " + conflict.get().end,
+                            conflict.get().appointmentId);
+                }
+                Booking booking = new Booking(sequence.incrementAndGet(), doctorId, start, end);
+                schedule.insert(booking);
+                reserved.add(booking);
+            }
+        }
+        return reserved;
+    }
+
+    // Put back a booking released earlier in a transaction that did not commit
+    public void restore(Booking booking) {
+        DoctorSchedule schedule = schedule(booking.doctorId);
+        synchronized (schedule) {
+            schedule.insert(booking);
+        }
+        if (booking.appointmentId != null) {
+            byAppointment.put(booking.appointmentId, booking);
+        }
+    }
+
+    // Attach the saved appointment id to a reservation
+    public void bind(Booking booking, Long appointmentId) {
+        booking.appointmentId = appointmentId;
+        byAppointment.put(appointmentId, booking);
+    }
+
+    public void release(Booking booking) {
+        DoctorSchedule schedule = schedules.get(booking.doctorId);
+        if (schedule != null) {
+            synchronized (schedule) {
+                schedule.remove(booking);
+            }
+        }
+        if (booking.appointmentId != null) {
+            byAppointment.remove(booking.appointmentId, booking);
+        }
+    }
+
+    public Booking release(Long appointmentId) {
+        Booking booking = byAppointment.get(appointmentId);
+        if (booking != null) {
+            release(booking);
+        }
+        return booking;
+    }
+
+    public boolean isBooked(Long appointmentId) {
+        return byAppointment.containsKey(appointmentId);
+    }
+
+    // Snapshot of a doctor's bookings that overlap [from, to), ordered by start
+    public List<Booking> bookedBetween(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        DoctorSchedule schedule = schedules.get(doctorId);
+        if (schedule == null) {
+            return List.of();
+        }
+        synchronized (schedule) {
+            return schedule.overlapping(from, to);
+        }
+    }
+
+    private DoctorSchedule schedule(Long doctorId) {
+        return schedules.computeIfAbsent(doctorId, id -> new DoctorSchedule());
+    }
+
+    public static final class Booking {
+        private static final Comparator<Booking> ORDER = Comparator
+                .comparing((Booking b) -> b.start)
+                .thenComparingLong(b -> b.sequence);
+
+        private final long sequence;
+        private final Long doctorId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private volatile Long appointmentId;
+
+        private Booking(long sequence, Long doctorId, LocalDateTime start, LocalDateTime end) {
+            this.sequence = sequence;
+            this.doctorId = doctorId;
+            this.start = start;
+            this.end = end;
+        }
+
+        private static Booking probe(LocalDateTime start, long sequence) {
+            return new Booking(sequence, null, start, start);
+        }
+
+        public Long getDoctorId() {
+            return doctorId;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDateTime getEnd() {
+            return end;
+        }
+
+        public Long getAppointmentId() {
+            return appointmentId;
+        }
+    }
+
+    private static final class DoctorSchedule {
+        private final TreeSet<Booking> bookings = new TreeSet<>(Booking.ORDER);
+        private Duration longest = Duration.ZERO;
+
+        private void insert(Booking booking) {
+            bookings.add(booking);
+            Duration length = Duration.between(booking.start, booking.end);
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+        }
+
+        private void remove(Booking booking) {
+            bookings.remove(booking);
+        }
+
+        private Optional<Booking> findOverlap(LocalDateTime start, LocalDateTime end) {
+            for (Booking candidate : window(start, end)) {
+                if (candidate.end.isAfter(start)) {
+                    return Optional.of(candidate);
+                }
+            }
+            return Optional.empty();
+        }
+
+        private List<Booking> overlapping(LocalDateTime from, LocalDateTime to) {
+            List<Booking> result = new ArrayList<>();
+            for (Booking candidate : window(from, to)) {
+                if (candidate.end.isAfter(from)) {
+                    result.add(candidate);
+                }
+            }
+            return result;
+        }
+
+        // Every booking that starts before end and late enough that it could still reach start
+        private Set<Booking> window(LocalDateTime start, LocalDateTime end) {
+            return bookings.subSet(
+                    Booking.probe(start.minus(longest), Long.MIN_VALUE), true,
+                    Booking.probe(end, Long.MIN_VALUE), false);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.dto.appointment.AppointmentResponse;
+import com.app4080.eldercareserver.dto.appointment.AppointmentSeriesRequest;
+import com.app4080.eldercareserver.dto.appointment.AppointmentSeriesResponse;
+import com.app4080.eldercareserver.entity.Appointment;
+import com.app4080.eldercareserver.entity.AppointmentSeries;
+import com.app4080.eldercareserver.entity.Patient;
+import com.app4080.eldercareserver.entity.User;
+import com.app4080.eldercareserver.repository.AppointmentRepository;
+import com.app4080.eldercareserver.repository.AppointmentSeriesRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Recurring appointments. A series is expanded server-side into its occurrences, every
+// occurrence is checked against the doctor's schedule before anything is written, and the
+// occurrences are inserted as one JDBC batch inside the same transaction as the series row.
+@Service
+public class AppointmentSeriesService {
+
+    private static final String ACTIVE = "active";
+    private static final String CANCELLED = "cancelled";
+
+    private static final String INSERT_OCCURRENCE =
+            "INSERT INTO appointments (patient_id, doctor_id, appointment_date, duration_minutes, location, " +
+            "status, created_at, series_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final AppointmentSeriesRepository seriesRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentService appointmentService;
+    private final UserService userService;
+    private final PatientService patientService;
+    private final AppointmentScheduleIndex scheduleIndex;
+    private final AppointmentReminderService reminderService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxOccurrences;
+
+    @Autowired
+    public AppointmentSeriesService(AppointmentSeriesRepository seriesRepository,
+                                    AppointmentRepository appointmentRepository,
+                                    AppointmentService appointmentService,
+                                    UserService userService,
+                                    PatientService patientService,
+                                    AppointmentScheduleIndex scheduleIndex,
+                                    AppointmentReminderService reminderService,
+                                    JdbcTemplate jdbcTemplate,
+                                    @Value("${eldercare.appointments.series.max-occurrences:104}") int maxOccurrences) {
+        this.seriesRepository = seriesRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentService = appointmentService;
+        this.userService = userService;
+        this.patientService = patientService;
+        this.scheduleIndex = scheduleIndex;
+        this.reminderService = reminderService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxOccurrences = maxOccurrences;
+    }
+
+    @Transactional
+    public AppointmentSeriesResponse createSeries(AppointmentSeriesRequest request) {
+        User doctor = userService.fetchUserById(request.getDoctorId());
+        appointmentService.validateDoctor(doctor);
+
+        Patient patient = patientService.findPatientById(request.getPatientId());
+        appointmentService.validatePatient(patient);
+
+        if (request.getFirstAppointment() == null || request.getFirstAppointment().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("The first appointment cannot be in the past");
+        }
+        if (request.getLocation() == null || request.getLocation().isBlank()) {
+            throw new IllegalArgumentException("Location is required");
+        }
+
+        AppointmentSeries series = new AppointmentSeries();
+        series.setDoctor(doctor);
+        series.setPatient(patient);
+        series.setLocation(request.getLocation());
+        series.setFirstAppointment(request.getFirstAppointment());
+        series.setDurationMinutes((int) scheduleIndex.durationOf(request.getDurationMinutes()).toMinutes());
+        applyRule(series, request);
+        series.setStatus(ACTIVE);
+        series.setCreatedAt(LocalDateTime.now());
+
+        List<LocalDateTime> starts = expand(series);
+        AppointmentSeries saved = seriesRepository.save(series);
+        List<Appointment> occurrences = book(saved, starts);
+        return toResponseDto(saved, occurrences);
+    }
+
+    // Change the rule, time, length or location; occurrences that have not started yet are
+    // replaced by a fresh expansion, earlier ones are kept as they were
+    @Transactional
+    public AppointmentSeriesResponse updateSeries(Long seriesId, AppointmentSeriesRequest request) {
+        AppointmentSeries series = findActiveSeries(seriesId);
+
+        if (request.getFirstAppointment() != null) {
+            series.setFirstAppointment(request.getFirstAppointment());
+        }
+        if (request.getDurationMinutes() != null) {
+            series.setDurationMinutes((int) scheduleIndex.durationOf(request.getDurationMinutes()).toMinutes());
+        }
+        if (request.getLocation() != null && !request.getLocation().isBlank()) {
+            series.setLocation(request.getLocation());
+        }
+        if (request.getFrequency() != null || request.getInterval() != null
+                || request.getUntil() != null || request.getCount() != null) {
+            AppointmentSeriesRequest rule = new AppointmentSeriesRequest();
+            rule.setFrequency(request.getFrequency() != null ? request.getFrequency() : series.getFrequency());
+            rule.setInterval(request.getInterval() != null ? request.getInterval() : series.getRepeatInterval());
+            // A new end condition replaces the old one rather than combining with it
+            boolean newEnd = request.getUntil() != null || request.getCount() != null;
+            rule.setUntil(newEnd ? request.getUntil() : series.getUntilDate());
+            rule.setCount(newEnd ? request.getCount() : series.getOccurrenceCount());
+            applyRule(series, rule);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Appointment> upcoming =
+                appointmentRepository.findBySeriesIdAndAppointmentDateAfterOrderByAppointmentDateAsc(seriesId, now);
+
+        // Occurrences cancelled one by one stay cancelled if the new rule lands on them again
+        Set<LocalDateTime> skipped = new HashSet<>();
+        List<Appointment> replaced = new ArrayList<>();
+        for (Appointment appointment : upcoming) {
+            if (AppointmentScheduleIndex.occupiesSlot(appointment.getStatus())) {
+                replaced.add(appointment);
+            } else {
+                skipped.add(appointment.getAppointmentDate());
+            }
+        }
+        releaseNow(replaced);
+        if (!replaced.isEmpty()) {
+            appointmentRepository.deleteByIdIn(replaced.stream().map(Appointment::getId).collect(Collectors.toList()));
+        }
+
+        List<LocalDateTime> starts = expand(series).stream()
+                .filter(start -> start.isAfter(now) && !skipped.contains(start))
+                .collect(Collectors.toList());
+        AppointmentSeries saved = seriesRepository.save(series);
+        book(saved, starts);
+        return toResponseDto(saved, appointmentRepository.findBySeriesIdOrderByAppointmentDateAsc(seriesId));
+    }
+
+    // Cancel every occurrence that has not started yet and close the series
+    @Transactional
+    public void cancelSeries(Long seriesId) {
+        AppointmentSeries series = findActiveSeries(seriesId);
+        series.setStatus(CANCELLED);
+        seriesRepository.save(series);
+
+        for (Appointment appointment : appointmentRepository
+                .findBySeriesIdAndAppointmentDateAfterOrderByAppointmentDateAsc(seriesId, LocalDateTime.now())) {
+            if (AppointmentScheduleIndex.occupiesSlot(appointment.getStatus())) {
+                appointment.setStatus(CANCELLED);
+                Long appointmentId = appointment.getId();
+                AfterCommit.run(() -> scheduleIndex.release(appointmentId));
+                reminderService.appointmentRemoved(appointmentId);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public AppointmentSeriesResponse getSeries(Long seriesId) {
+        AppointmentSeries series = seriesRepository.findById(seriesId)
+                .orElseThrow(() -> new IllegalArgumentException("Appointment series not found"));
+        return toResponseDto(series, appointmentRepository.findBySeriesIdOrderByAppointmentDateAsc(seriesId));
+    }
+
+    private AppointmentSeries findActiveSeries(Long seriesId) {
+        AppointmentSeries series = seriesRepository.findById(seriesId)
+                .orElseThrow(() -> new IllegalArgumentException("Appointment series not found"));
+        if (!ACTIVE.equalsIgnoreCase(series.getStatus())) {
+            throw new IllegalArgumentException("Appointment series has been cancelled");
+        }
+        return series;
+    }
+
+    private void applyRule(AppointmentSeries series, AppointmentSeriesRequest rule) {
+        RecurrenceFrequency frequency = RecurrenceFrequency.fromParameter(rule.getFrequency());
+        int interval = rule.getInterval() == null ? 1 : rule.getInterval();
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Recurrence interval must be positive");
+        }
+        if (rule.getUntil() == null && rule.getCount() == null) {
+            throw new IllegalArgumentException("A series needs an end date or an occurrence count");
+        }
+        if (rule.getCount() != null && (rule.getCount() <= 0 || rule.getCount() > maxOccurrences)) {
+            throw new IllegalArgumentException("Occurrence count must be between 1 and " + maxOccurrences);
+        }
+        series.setFrequency(frequency.name());
+        series.setRepeatInterval(interval);
+        series.setUntilDate(rule.getUntil());
+        series.setOccurrenceCount(rule.getCount());
+    }
+
+    // Every occurrence of the rule, from the anchor up to the end date and/or count
+    private List<LocalDateTime> expand(AppointmentSeries series) {
+        RecurrenceFrequency frequency = RecurrenceFrequency.valueOf(series.getFrequency());
+        Integer count = series.getOccurrenceCount();
+        LocalDateTime until = series.getUntilDate();
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (int n = 0; count == null || n < count; n++) {
+            LocalDateTime start = frequency.occurrence(series.getFirstAppointment(), series.getRepeatInterval(), n);
+            if (until != null && start.isAfter(until)) {
+                break;
+            }
+            if (starts.size() == maxOccurrences) {
+                throw new IllegalArgumentException("A series may not have more than " + maxOccurrences + " occurrences");
+            }
+            starts.add(start);
+        }
+        if (starts.isEmpty()) {
+            throw new IllegalArgumentException("The recurrence rule produces no occurrences");
+        }
+        return starts;
+    }
+
+    // Reserve every start in the schedule index, then write them in a single batch
+    private List<Appointment> book(AppointmentSeries series, List<LocalDateTime> starts) {
+        if (starts.isEmpty()) {
+            return List.of();
+        }
+        Duration length = Duration.ofMinutes(series.getDurationMinutes());
+        List<AppointmentScheduleIndex.Booking> bookings =
+                scheduleIndex.reserveAll(series.getDoctor().getId(), starts, length);
+        AfterCommit.onRollback(() -> bookings.forEach(scheduleIndex::release));
+
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_OCCURRENCE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, series.getPatient().getId());
+                ps.setLong(2, series.getDoctor().getId());
+                ps.setTimestamp(3, Timestamp.valueOf(starts.get(i)));
+                ps.setInt(4, series.getDurationMinutes());
+                ps.setString(5, series.getLocation());
+                ps.setString(6, ACTIVE);
+                ps.setTimestamp(7, createdAt);
+                ps.setLong(8, series.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return starts.size();
+            }
+        });
+
+        // Read the generated ids back and attach each to the reservation with the same start
+        Map<LocalDateTime, AppointmentScheduleIndex.Booking> byStart = bookings.stream()
+                .collect(Collectors.toMap(AppointmentScheduleIndex.Booking::getStart, Function.identity()));
+        List<Appointment> occurrences = appointmentRepository
+                .findBySeriesIdAndAppointmentDateAfterOrderByAppointmentDateAsc(series.getId(), starts.get(0).minusNanos(1))
+                .stream()
+                .filter(appointment -> byStart.containsKey(appointment.getAppointmentDate())
+                        && ACTIVE.equals(appointment.getStatus()))
+                .collect(Collectors.toList());
+        for (Appointment occurrence : occurrences) {
+            scheduleIndex.bind(byStart.get(occurrence.getAppointmentDate()), occurrence.getId());
+        }
+        for (Appointment occurrence : occurrences) {
+            reminderService.appointmentChanged(appointmentService.toResponseDto(occurrence));
+        }
+        return occurrences;
+    }
+
+    // Free replaced slots immediately so the new expansion can reuse them; put them back on rollback
+    private void releaseNow(List<Appointment> appointments) {
+        for (Appointment appointment : appointments) {
+            AppointmentScheduleIndex.Booking booking = scheduleIndex.release(appointment.getId());
+            if (booking != null) {
+                AfterCommit.onRollback(() -> scheduleIndex.restore(booking));
+            }
+            reminderService.appointmentRemoved(appointment.getId());
+        }
+    }
+
+    private AppointmentSeriesResponse toResponseDto(AppointmentSeries series, List<Appointment> occurrences) {
+        List<AppointmentResponse> responses = occurrences.stream()
+                .map(appointmentService::toResponseDto)
+                .collect(Collectors.toList());
+        return new AppointmentSeriesResponse(
+                series.getId(),
+                series.getPatient().getId(),
+                series.getDoctor().getId(),
+                series.getFirstAppointment(),
+                series.getDurationMinutes(),
+                series.getLocation(),
+                series.getFrequency(),
+                series.getRepeatInterval(),
+                series.getUntilDate(),
+                series.getOccurrenceCount(),
+                series.getStatus(),
+                responses
+        );
+    }
+}
@@ -2,17 +2,18 @@ package com.app4080.eldercareserver.service;
 
 import com.app4080.eldercareserver.dto.appointment.AppointmentRequest;
 import com.app4080.eldercareserver.dto.appointment.AppointmentResponse;
+import com.app4080.eldercareserver.dto.notification.NotificationEvent;
 import com.app4080.eldercareserver.entity.Appointment;
 import com.app4080.eldercareserver.entity.Patient;
 import com.app4080.eldercareserver.entity.User;
 import com.app4080.eldercareserver.repository.AppointmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -21,17 +22,29 @@ public class AppointmentService {
     private final AppointmentRepository appointmentRepository;
     private final PatientService patientService;
     private final UserService userService;
+    private final AppointmentScheduleIndex scheduleIndex;
+    private final GroupCommitWriter groupCommitWriter;
+    private final NotificationService notificationService;
+    private final AppointmentReminderService reminderService;
 
     @Autowired
     public AppointmentService(AppointmentRepository appointmentRepository,
                               PatientService patientService,
-                              UserService userService) {
+                              UserService userService,
+                              AppointmentScheduleIndex scheduleIndex,
+                              GroupCommitWriter groupCommitWriter,
+                              NotificationService notificationService,
+                              AppointmentReminderService reminderService) {
         this.appointmentRepository = appointmentRepository;
         this.patientService = patientService;
         this.userService = userService;
+        this.scheduleIndex = scheduleIndex;
+        this.groupCommitWriter = groupCommitWriter;
+        this.notificationService = notificationService;
+        this.reminderService = reminderService;
     }
 
-    private void validateDoctor(User doctor) {
+    void validateDoctor(User doctor) {
         if ("doctor".equalsIgnoreCase(doctor.getRole())) {
             return;
         } else {
@@ -39,7 +52,7 @@ public class AppointmentService {
         }
     }
 
-    private void validatePatient(Patient patient) {
+    void validatePatient(Patient patient) {
         if (!patientService.checkExists(patient)) {
             throw new IllegalArgumentException("Patient does not exist");
         }
@@ -49,6 +62,7 @@ public class AppointmentService {
     private Appointment fromRequestDto(AppointmentRequest requestDTO) {
         Appointment appointment = new Appointment();
         appointment.setAppointmentDate(requestDTO.getAppointmentDate());
+        appointment.setDurationMinutes((int) scheduleIndex.durationOf(requestDTO.getDurationMinutes()).toMinutes());
         appointment.setLocation(requestDTO.getLocation());
         appointment.setStatus(requestDTO.getStatus());
         appointment.setCreatedAt(LocalDateTime.now());
@@ -56,20 +70,27 @@ public class AppointmentService {
     }
 
     // Convert Appointment to AppointmentResponseDTO
-    private AppointmentResponse toResponseDto(Appointment appointment) {
+    AppointmentResponse toResponseDto(Appointment appointment) {
         return new AppointmentResponse(
                 appointment.getId(),
                 appointment.getPatient().getId(),
                 appointment.getDoctor().getId(),
                 appointment.getAppointmentDate(),
+                (int) scheduleIndex.durationOf(appointment.getDurationMinutes()).toMinutes(),
                 appointment.getLocation(),
                 appointment.getStatus(),
                 appointment.getCreatedAt()
         );
     }
 
-    @Transactional
+    // Runs outside the class transaction so concurrent bookings can share one commit
+    @Transactional(propagation = Propagation.SUPPORTS)
     public AppointmentResponse createAppointment(AppointmentRequest requestDTO) {
+        return groupCommitWriter.submit(() -> insertAppointment(requestDTO));
+    }
+
+    // Safe to re-run: the slot reservation is undone on rollback and the notification only goes out on commit
+    private AppointmentResponse insertAppointment(AppointmentRequest requestDTO) {
         User doctor = userService.fetchUserById(requestDTO.getDoctorId());
         validateDoctor(doctor);
 
@@ -84,17 +105,42 @@ public class AppointmentService {
         appointment.setDoctor(doctor);
         appointment.setPatient(patient);
 
+        // Claim the slot first; a conflict aborts before anything is written
+        AppointmentScheduleIndex.Booking booking = reserveSlot(appointment, appointment.getStatus());
+
         appointment.setCreatedAt(LocalDateTime.now());
         Appointment savedAppointment = appointmentRepository.save(appointment);
-        return toResponseDto(savedAppointment);
+        if (booking != null) {
+            scheduleIndex.bind(booking, savedAppointment.getId());
+        }
+        AppointmentResponse response = toResponseDto(savedAppointment);
+        notificationService.appointmentChanged(NotificationEvent.APPOINTMENT_CREATED, response);
+        reminderService.appointmentChanged(response);
+        return response;
+    }
+
+    // Reserve the appointment's interval in the schedule index if it holds a slot in the given status,
+    // released again on rollback
+    private AppointmentScheduleIndex.Booking reserveSlot(Appointment appointment, String status) {
+        if (!AppointmentScheduleIndex.occupiesSlot(status)) {
+            return null;
+        }
+        LocalDateTime start = appointment.getAppointmentDate();
+        AppointmentScheduleIndex.Booking booking = scheduleIndex.reserve(appointment.getDoctor().getId(), start,
+                start.plus(scheduleIndex.durationOf(appointment.getDurationMinutes())));
+        AfterCommit.onRollback(() -> scheduleIndex.release(booking));
+        return booking;
     }
 
     @Transactional
     public void deleteAppointment(Long appointmentId) {
-        if (!appointmentRepository.existsById(appointmentId)) {
-            throw new IllegalArgumentException("Appointment not found");
-        }
-        appointmentRepository.deleteById(appointmentId);
+        Appointment appointment = appointmentRepository.findById(appointmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Appointment not found"));
+        AppointmentResponse deleted = toResponseDto(appointment);
+        appointmentRepository.delete(appointment);
+        AfterCommit.run(() -> scheduleIndex.release(appointmentId));
+        notificationService.appointmentChanged(NotificationEvent.APPOINTMENT_DELETED, deleted);
+        reminderService.appointmentRemoved(appointmentId);
     }
 
     @Transactional
@@ -102,41 +148,58 @@ public class AppointmentService {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Appointment not found"));
 
+        boolean wasBooked = AppointmentScheduleIndex.occupiesSlot(appointment.getStatus());
+        boolean isBooked = AppointmentScheduleIndex.occupiesSlot(status);
+        if (wasBooked && !isBooked) {
+            AfterCommit.run(() -> scheduleIndex.release(appointmentId));
+        } else if (!wasBooked && isBooked && !scheduleIndex.isBooked(appointmentId)) {
+            AppointmentScheduleIndex.Booking booking = reserveSlot(appointment, status);
+            if (booking != null) {
+                scheduleIndex.bind(booking, appointmentId);
+            }
+        }
+
         appointment.setStatus(status);
         Appointment updatedAppointment = appointmentRepository.save(appointment);
-        return toResponseDto(updatedAppointment);
+        AppointmentResponse response = toResponseDto(updatedAppointment);
+        notificationService.appointmentChanged(NotificationEvent.APPOINTMENT_UPDATED, response);
+        reminderService.appointmentChanged(response);
+        return response;
     }
 
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAppointmentsByDoctor(User doctor) {
         validateDoctor(doctor);
-        List<Appointment> appointments = appointmentRepository.findByDoctorId(doctor.getId());
-        return appointments.stream().map(this::toResponseDto).collect(Collectors.toList());
+        return withDefaultDurations(appointmentRepository.findResponsesByDoctorId(doctor.getId()));
     }
 
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAppointmentsByPatient(Patient patient) {
         validatePatient(patient);
-        List<Appointment> appointments = appointmentRepository.findByPatientId(patient.getId());
-        return appointments.stream().map(this::toResponseDto).collect(Collectors.toList());
+        return withDefaultDurations(appointmentRepository.findResponsesByPatientId(patient.getId()));
     }
 
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAppointmentsByLocation(String location) {
-        List<Appointment> appointments = appointmentRepository.findByLocation(location);
-        return appointments.stream().map(this::toResponseDto).collect(Collectors.toList());
+        return withDefaultDurations(appointmentRepository.findResponsesByLocation(location));
     }
 
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAppointmentsByStatus(String status) {
-        List<Appointment> appointments = appointmentRepository.findByStatus(status);
-        return appointments.stream().map(this::toResponseDto).collect(Collectors.toList());
+        return withDefaultDurations(appointmentRepository.findResponsesByStatus(status));
     }
 
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAppointmentsByDateRange(LocalDateTime start, LocalDateTime end) {
-        List<Appointment> appointments = appointmentRepository.findByAppointmentDateBetween(start, end);
-        return appointments.stream().map(this::toResponseDto).collect(Collectors.toList());
+        return withDefaultDurations(appointmentRepository.findResponsesByAppointmentDateBetween(start, end));
+    }
+
+    // Rows written before durations existed have none; report the configured default as toResponseDto does
+    private List<AppointmentResponse> withDefaultDurations(List<AppointmentResponse> appointments) {
+        for (AppointmentResponse appointment : appointments) {
+            appointment.setDurationMinutes((int) scheduleIndex.durationOf(appointment.getDurationMinutes()).toMinutes());
+        }
+        return appointments;
     }
 }
 
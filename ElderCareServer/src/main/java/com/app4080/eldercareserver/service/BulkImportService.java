@@ -0,0 +1,396 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.dto.bulkimport.ImportReport;
+import com.app4080.eldercareserver.dto.medicalrecord.MedicalRecordRequest;
+import com.app4080.eldercareserver.dto.medication.MedicationRequest;
+import com.app4080.eldercareserver.dto.patient.PatientSummary;
+import com.app4080.eldercareserver.dto.patient.PatientRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk import of patients, medical records and medications from NDJSON or CSV uploads.
+// Rows are bound to the same request DTOs the single-row endpoints use and validated a
+// chunk at a time; foreign keys and duplicate checks are answered from id sets loaded once
+// at the start instead of a query per row. Each valid chunk is written as one JDBC batch in
+// its own transaction, so a large file commits periodically and never holds the writer for
+// long. Rejected rows are collected into the returned report rather than aborting the load.
+// Imported patients are added to the typeahead index as each chunk commits.
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    private static final String INSERT_PATIENT =
+            "INSERT INTO patients (first_name, last_name, dob, gender, address, phone_number, " +
+            "emergency_contact, emergency_contact_phone, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MEDICAL_RECORD =
+            "INSERT INTO medical_records (patient_id, doctor_id, date_of_visit, location, diagnosis, " +
+            "treatment_plan, notes, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MEDICATION =
+            "INSERT INTO medications (record_id, medication_name, dosage, frequency, start_date, end_date, " +
+            "created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final PatientTypeaheadIndex typeaheadIndex;
+    private final DoseCalendar doseCalendar;
+
+    @Value("${eldercare.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${eldercare.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Autowired
+    public BulkImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             PatientTypeaheadIndex typeaheadIndex,
+                             DoseCalendar doseCalendar) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.typeaheadIndex = typeaheadIndex;
+        this.doseCalendar = doseCalendar;
+    }
+
+    public ImportReport importPatients(InputStream in, ExportFormat format) {
+        // Same rule as PatientService.checkExists: one patient per first and last name
+        Set<String> names = readOnlyTransaction.execute(status -> {
+            Set<String> existing = new HashSet<>();
+            jdbcTemplate.query("SELECT first_name, last_name FROM patients",
+                    rs -> { existing.add(nameKey(rs.getString(1), rs.getString(2))); });
+            return existing;
+        });
+
+        return importRows("patients", in, format, PatientRequest.class, fields -> { },
+                patient -> {
+                    require(patient.getFirstName(), "firstName", 100);
+                    require(patient.getLastName(), "lastName", 100);
+                    if (patient.getDob() == null) {
+                        throw new IllegalArgumentException("dob is required");
+                    }
+                    require(patient.getGender(), "gender", 10);
+                    require(patient.getAddress(), "address", 250);
+                    limit(patient.getPhoneNumber(), "phoneNumber", 20);
+                    limit(patient.getEmergencyContact(), "emergencyContact", 100);
+                    limit(patient.getEmergencyContactPhone(), "emergencyContactPhone", 20);
+                    if (!names.add(nameKey(patient.getFirstName(), patient.getLastName()))) {
+                        throw new IllegalArgumentException("Patient already exists");
+                    }
+                },
+                INSERT_PATIENT, (ps, patient, createdAt) -> {
+                    ps.setString(1, patient.getFirstName());
+                    ps.setString(2, patient.getLastName());
+                    ps.setDate(3, Date.valueOf(patient.getDob()));
+                    ps.setString(4, patient.getGender());
+                    ps.setString(5, patient.getAddress());
+                    ps.setString(6, patient.getPhoneNumber());
+                    ps.setString(7, patient.getEmergencyContact());
+                    ps.setString(8, patient.getEmergencyContactPhone());
+                    ps.setTimestamp(9, createdAt);
+                },
+                afterId -> {
+                    List<PatientSummary> added = jdbcTemplate.query(
+                            "SELECT id, first_name, last_name, phone_number FROM patients WHERE id > ?",
+                            (rs, rowNum) -> new PatientSummary(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)),
+                            afterId);
+                    AfterCommit.run(() -> added.forEach(typeaheadIndex::add));
+                });
+    }
+
+    public ImportReport importMedicalRecords(InputStream in, ExportFormat format) {
+        BitSet patientIds = loadIds("SELECT id FROM patients");
+        Map<String, Long> userIds = readOnlyTransaction.execute(status -> {
+            Map<String, Long> users = new HashMap<>();
+            jdbcTemplate.query("SELECT id, username FROM users",
+                    rs -> { users.put(rs.getString(2), rs.getLong(1)); });
+            return users;
+        });
+        BitSet knownUserIds = new BitSet();
+        userIds.values().forEach(id -> setId(knownUserIds, id));
+
+        return importRows("medical_records", in, format, MedicalRecordRequest.class,
+                fields -> {
+                    // Files migrated from another system rarely know our user ids; accept the username instead
+                    Object username = fields.get("doctorUsername");
+                    if (fields.get("doctorId") == null && username != null) {
+                        Long doctorId = userIds.get(username.toString());
+                        if (doctorId == null) {
+                            throw new IllegalArgumentException("Doctor not found: " + username);
+                        }
+                        fields.put("doctorId", doctorId);
+                    }
+                },
+                record -> {
+                    if (!containsId(patientIds, record.getPatientId())) {
+                        throw new IllegalArgumentException("Patient not found");
+                    }
+                    // Same check as addMedicalRecord: the doctor must be an existing user
+                    if (!containsId(knownUserIds, record.getDoctorId())) {
+                        throw new IllegalArgumentException("Doctor not found");
+                    }
+                    if (record.getDateOfVisit() == null) {
+                        throw new IllegalArgumentException("dateOfVisit is required");
+                    }
+                    require(record.getLocation(), "location", 255);
+                    require(record.getDiagnosis(), "diagnosis", 500);
+                    limit(record.getTreatmentPlan(), "treatmentPlan", 1000);
+                    limit(record.getNotes(), "notes", 2000);
+                },
+                INSERT_MEDICAL_RECORD, (ps, record, createdAt) -> {
+                    ps.setLong(1, record.getPatientId());
+                    ps.setLong(2, record.getDoctorId());
+                    ps.setTimestamp(3, Timestamp.valueOf(record.getDateOfVisit()));
+                    ps.setString(4, record.getLocation());
+                    ps.setString(5, record.getDiagnosis());
+                    ps.setString(6, record.getTreatmentPlan());
+                    ps.setString(7, record.getNotes());
+                    ps.setTimestamp(8, createdAt);
+                }, null);
+    }
+
+    public ImportReport importMedications(InputStream in, ExportFormat format) {
+        BitSet recordIds = loadIds("SELECT id FROM medical_records");
+
+        ImportReport report = importRows("medications", in, format, MedicationRequest.class,
+                fields -> {
+                    // record_id is the column name the exports use
+                    if (fields.get("medicalRecordId") == null && fields.containsKey("recordId")) {
+                        fields.put("medicalRecordId", fields.remove("recordId"));
+                    }
+                },
+                medication -> {
+                    if (!containsId(recordIds, medication.getMedicalRecordId())) {
+                        throw new IllegalArgumentException("Medical record not found");
+                    }
+                    require(medication.getMedicationName(), "medicationName", 200);
+                    require(medication.getDosage(), "dosage", 50);
+                    require(medication.getFrequency(), "frequency", 50);
+                    if (medication.getStartDate() == null) {
+                        throw new IllegalArgumentException("startDate is required");
+                    }
+                    if (medication.getEndDate() != null && medication.getEndDate().isBefore(medication.getStartDate())) {
+                        throw new IllegalArgumentException("endDate is before startDate");
+                    }
+                },
+                INSERT_MEDICATION, (ps, medication, createdAt) -> {
+                    ps.setLong(1, medication.getMedicalRecordId());
+                    ps.setString(2, medication.getMedicationName());
+                    ps.setString(3, medication.getDosage());
+                    ps.setString(4, medication.getFrequency());
+                    ps.setTimestamp(5, Timestamp.valueOf(medication.getStartDate()));
+                    ps.setTimestamp(6, medication.getEndDate() == null ? null : Timestamp.valueOf(medication.getEndDate()));
+                    ps.setTimestamp(7, createdAt);
+                }, null);
+
+        if (report.getImported() > 0) {
+            doseCalendar.reload();
+        }
+        return report;
+    }
+
+    private <R> ImportReport importRows(String entity, InputStream in, ExportFormat format, Class<R> type,
+                                        FieldMapper fieldMapper, RowValidator<R> validator,
+                                        String insertSql, RowBinder<R> binder, InsertListener listener) {
+        long started = System.nanoTime();
+        ImportReport report = new ImportReport(entity);
+        List<PendingRow<R>> chunk = new ArrayList<>(chunkSize);
+
+        try (ImportRowReader rows = new ImportRowReader(in, format, objectMapper)) {
+            while (rows.hasNext()) {
+                ImportRowReader.Row row = rows.next();
+                report.setTotalRows(report.getTotalRows() + 1);
+                if (row.getError() != null) {
+                    reject(report, row.getLine(), row.getError());
+                    continue;
+                }
+                try {
+                    fieldMapper.map(row.getFields());
+                    R request = bind(row.getFields(), type);
+                    validator.validate(request);
+                    chunk.add(new PendingRow<>(row.getLine(), request));
+                } catch (IllegalArgumentException e) {
+                    reject(report, row.getLine(), e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    insertChunk(entity, report, chunk, insertSql, binder, listener);
+                    chunk.clear();
+                }
+            }
+            insertChunk(entity, report, chunk, insertSql, binder, listener);
+        } catch (IOException | UncheckedIOException e) {
+            // Whatever was committed before the stream broke stays; the report says how far it got
+            logger.warn("Import of {} stopped after {} rows: {}", entity, report.getTotalRows(), e.getMessage());
+            reject(report, report.getTotalRows() + 1, "Upload could not be read: " + e.getMessage());
+        }
+
+        report.setDurationMs((System.nanoTime() - started) / 1_000_000);
+        logger.info("Imported {} of {} {} rows in {} ms ({} rejected)", report.getImported(), report.getTotalRows(),
+                entity, report.getDurationMs(), report.getFailed());
+        return report;
+    }
+
+    // One JDBC batch per chunk in its own transaction. If the batch fails, the chunk is replayed
+    // row by row so only the offending rows are rejected.
+    private <R> void insertChunk(String table, ImportReport report, List<PendingRow<R>> chunk, String insertSql,
+                                 RowBinder<R> binder, InsertListener listener) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                long lastId = lastId(table, listener);
+                jdbcTemplate.batchUpdate(insertSql, chunk, chunk.size(), (ps, row) -> binder.bind(ps, row.request, createdAt));
+                if (listener != null) {
+                    listener.inserted(lastId);
+                }
+            });
+            report.setImported(report.getImported() + chunk.size());
+            return;
+        } catch (DataAccessException e) {
+            logger.debug("Import batch of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+        }
+
+        for (PendingRow<R> row : chunk) {
+            try {
+                writeTransaction.executeWithoutResult(status -> {
+                    long lastId = lastId(table, listener);
+                    jdbcTemplate.update(insertSql, ps -> binder.bind(ps, row.request, createdAt));
+                    if (listener != null) {
+                        listener.inserted(lastId);
+                    }
+                });
+                report.setImported(report.getImported() + 1);
+            } catch (DataAccessException e) {
+                reject(report, row.line, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    // SQLite gives new rows ids above the current maximum, and the write transaction keeps anyone
+    // else from inserting meanwhile, so the rows above this id are exactly the ones just written
+    private long lastId(String table, InsertListener listener) {
+        if (listener == null) {
+            return 0;
+        }
+        Long id = jdbcTemplate.queryForObject("SELECT coalesce(max(id), 0) FROM " + table, Long.class);
+        return id == null ? 0 : id;
+    }
+
+    private <R> R bind(Map<String, Object> fields, Class<R> type) {
+        try {
+            return objectMapper.convertValue(fields, type);
+        } catch (IllegalArgumentException e) {
+            // Jackson's message carries the whole reference chain; the first line names the bad value
+            String message = e.getMessage() == null ? "Invalid row" : e.getMessage().lines().findFirst().orElse("Invalid row");
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private void reject(ImportReport report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new ImportReport.RowError(line, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private BitSet loadIds(String sql) {
+        return readOnlyTransaction.execute(status -> {
+            BitSet ids = new BitSet();
+            jdbcTemplate.query(sql, rs -> { setId(ids, rs.getLong(1)); });
+            return ids;
+        });
+    }
+
+    // Row ids are dense, so a bit per id is far smaller than a set of boxed Longs
+    private static void setId(BitSet ids, long id) {
+        if (id >= 0 && id < Integer.MAX_VALUE) {
+            ids.set((int) id);
+        }
+    }
+
+    private static boolean containsId(BitSet ids, Long id) {
+        return id != null && id >= 0 && id < Integer.MAX_VALUE && ids.get(id.intValue());
+    }
+
+    private static String nameKey(String firstName, String lastName) {
+        return firstName + '\u0000' + lastName;
+    }
+
+    private static void require(String value, String field, int maxLength) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        limit(value, field, maxLength);
+    }
+
+    private static void limit(String value, String field, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maxLength + " characters");
+        }
+    }
+
+    @FunctionalInterface
+    private interface FieldMapper {
+        void map(Map<String, Object> fields);
+    }
+
+    @FunctionalInterface
+    private interface RowValidator<R> {
+        void validate(R request);
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<R> {
+        void bind(PreparedStatement ps, R request, Timestamp createdAt) throws SQLException;
+    }
+
+    // Runs inside the write transaction, after a chunk or row has been inserted
+    @FunctionalInterface
+    private interface InsertListener {
+        void inserted(long afterId);
+    }
+
+    private static final class PendingRow<R> {
+        private final long line;
+        private final R request;
+
+        private PendingRow(long line, R request) {
+            this.line = line;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.dto.medication.DoseDue;
+import com.app4080.eldercareserver.dto.medication.MedicationResponse;
+import com.app4080.eldercareserver.dto.medication.ScheduledMedication;
+import com.app4080.eldercareserver.repository.MedicationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Every scheduled dose of every running medication over a rolling window, by default from an
+// hour ago to twelve hours ahead. Frequencies are parsed once into DoseRules and expanded into
+// dose events held in 15-minute buckets per location, with a second index per patient, so
+// "what is due on this ward now" never touches the medications table.
+//
+// Built at startup from one query and kept current by MedicationService as medications are
+// added or deleted. Every refresh-ms the window rolls forward: buckets that have passed are
+// dropped and the new stretch is expanded from the rules already in memory.
+@Component
+public class DoseCalendar implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoseCalendar.class);
+
+    private static final int BUCKET_MINUTES = 15;
+
+    private static final Comparator<DoseDue> BY_TIME = Comparator.comparing(DoseDue::getDueAt)
+            .thenComparing(DoseDue::getPatientId)
+            .thenComparing(DoseDue::getMedicationId);
+
+    private final MedicationRepository medicationRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Duration window;
+    private final Duration grace;
+    private final int maxResults;
+
+    private final Map<Long, Course> courses = new HashMap<>();
+    private final TreeMap<LocalDateTime, Map<String, List<Dose>>> buckets = new TreeMap<>();
+    private final Map<Long, List<Dose>> byPatient = new HashMap<>();
+    // One parsed rule per distinct frequency text; most medications share a handful of them
+    private final Map<String, DoseRule> rules = new HashMap<>();
+    private final Map<String, String> strings = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Doses in [windowStart, windowEnd) are in the buckets
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private int doseCount;
+    private int unscheduled;
+
+    public DoseCalendar(MedicationRepository medicationRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${eldercare.doses.enabled:true}") boolean enabled,
+                        @Value("${eldercare.doses.window-hours:12}") int windowHours,
+                        @Value("${eldercare.doses.grace-minutes:60}") int graceMinutes,
+                        @Value("${eldercare.doses.max-results:1000}") int maxResults) {
+        this.medicationRepository = medicationRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.window = Duration.ofHours(Math.max(1, windowHours));
+        this.grace = Duration.ofMinutes(Math.max(0, graceMinutes));
+        this.maxResults = Math.max(1, maxResults);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    // Rebuild from the medications table; used at startup and after bulk imports
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            courses.clear();
+            buckets.clear();
+            byPatient.clear();
+            rules.clear();
+            strings.clear();
+            doseCount = 0;
+            unscheduled = 0;
+
+            LocalDateTime now = LocalDateTime.now();
+            windowStart = bucketOf(now.minus(grace));
+            windowEnd = now.plus(window).truncatedTo(ChronoUnit.MINUTES);
+            // Date-only end dates run to the end of that day
+            LocalDateTime since = windowStart.toLocalDate().atStartOfDay();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ScheduledMedication> medications = medicationRepository.streamScheduledSince(since)) {
+                    medications.forEach(this::addLocked);
+                }
+            });
+            logger.info("Dose calendar loaded {} doses for {} medications until {} in {} ms; " +
+                            "{} medications have a frequency with no fixed schedule ({} distinct texts)",
+                    doseCount, courses.size(), windowEnd,
+                    (System.nanoTime() - started) / 1_000_000, unscheduled,
+                    rules.values().stream().filter(rule -> rule == null || rule.isAsNeeded()).count());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Schedule a new medication's doses once it commits
+    public void medicationAdded(MedicationResponse medication, Long patientId, String location) {
+        if (!enabled) {
+            return;
+        }
+        ScheduledMedication scheduled = new ScheduledMedication(medication.getId(), medication.getMedicalRecordId(),
+                patientId, location, medication.getMedicationName(), medication.getDosage(), medication.getFrequency(),
+                medication.getStartDate(), medication.getEndDate());
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeLocked(scheduled.getId());
+                addLocked(scheduled);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void medicationRemoved(Long medicationId) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeLocked(medicationId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Drop the buckets that have passed and expand the rules over the stretch now in reach
+    @Scheduled(fixedDelayString = "${eldercare.doses.refresh-ms:900000}",
+            initialDelayString = "${eldercare.doses.refresh-ms:900000}")
+    public void roll() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime start = bucketOf(now.minus(grace));
+            LocalDateTime end = now.plus(window).truncatedTo(ChronoUnit.MINUTES);
+
+            NavigableMap<LocalDateTime, Map<String, List<Dose>>> passed = buckets.headMap(start, false);
+            for (Map<String, List<Dose>> bucket : passed.values()) {
+                for (List<Dose> doses : bucket.values()) {
+                    for (Dose dose : doses) {
+                        dose.course.doses.remove(dose);
+                        removeFrom(byPatient, dose.course.patientId, dose);
+                        doseCount--;
+                    }
+                }
+            }
+            passed.clear();
+            windowStart = start;
+
+            Iterator<Course> running = courses.values().iterator();
+            while (running.hasNext()) {
+                Course course = running.next();
+                if (course.endsBefore(start)) {
+                    // Finished; whatever doses it still has in the window stay until they pass
+                    if (course.doses.isEmpty()) {
+                        running.remove();
+                    }
+                    continue;
+                }
+                expandLocked(course, windowEnd, end);
+            }
+            windowEnd = end;
+            logger.debug("Dose calendar rolled to [{}, {}): {} doses for {} medications",
+                    windowStart, windowEnd, doseCount, courses.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Doses due in [from, to), earliest first, for one patient, one location or everywhere;
+    // at most max-results of them
+    public List<DoseDue> dosesDue(LocalDateTime from, LocalDateTime to, String location, Long patientId, Integer limit) {
+        if (!enabled) {
+            throw new IllegalStateException("Dose calendar is disabled");
+        }
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("to must be after from");
+        }
+        List<DoseDue> due = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (from.isBefore(windowStart) || to.isAfter(windowEnd)) {
+                throw new IllegalArgumentException("Doses are only scheduled between " + windowStart + " and " + windowEnd);
+            }
+            if (patientId != null) {
+                collect(byPatient.getOrDefault(patientId, List.of()), from, to, location, due);
+            } else {
+                for (Map<String, List<Dose>> bucket : buckets.subMap(bucketOf(from), true, to, false).values()) {
+                    if (location != null) {
+                        collect(bucket.getOrDefault(location, List.of()), from, to, null, due);
+                    } else {
+                        for (List<Dose> doses : bucket.values()) {
+                            collect(doses, from, to, null, due);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        due.sort(BY_TIME);
+        int size = limit == null ? maxResults : Math.max(1, Math.min(limit, maxResults));
+        return due.size() > size ? new ArrayList<>(due.subList(0, size)) : due;
+    }
+
+    public int getDoseCount() {
+        lock.readLock().lock();
+        try {
+            return doseCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getMedicationCount() {
+        lock.readLock().lock();
+        try {
+            return courses.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collect(Collection<Dose> doses, LocalDateTime from, LocalDateTime to, String location,
+                                List<DoseDue> due) {
+        for (Dose dose : doses) {
+            if (!dose.dueAt.isBefore(from) && dose.dueAt.isBefore(to)
+                    && (location == null || location.equals(dose.course.location))) {
+                Course course = dose.course;
+                due.add(new DoseDue(course.id, course.medicalRecordId, course.patientId, course.location,
+                        course.name, course.dosage, course.frequency, dose.dueAt));
+            }
+        }
+    }
+
+    private void addLocked(ScheduledMedication medication) {
+        String text = intern(medication.getFrequency());
+        DoseRule rule;
+        if (rules.containsKey(text)) {
+            rule = rules.get(text);
+        } else {
+            rule = DoseRule.parse(text);
+            rules.put(text, rule);
+            if (rule == null) {
+                logger.debug("No dose schedule for frequency '{}'", text);
+            }
+        }
+        if (rule == null || rule.isAsNeeded()) {
+            unscheduled++;
+            return;
+        }
+        Course course = new Course(medication.getId(), medication.getMedicalRecordId(), medication.getPatientId(),
+                intern(medication.getLocation()), intern(medication.getMedicationName()), intern(medication.getDosage()),
+                text, medication.getStartDate(), medication.getEndDate(), rule);
+        if (course.endsBefore(windowStart)) {
+            return;
+        }
+        courses.put(course.id, course);
+        expandLocked(course, windowStart, windowEnd);
+    }
+
+    private void expandLocked(Course course, LocalDateTime from, LocalDateTime to) {
+        for (LocalDateTime dueAt : course.rule.dosesBetween(course.startDate, course.endDate, from, to)) {
+            Dose dose = new Dose(course, dueAt);
+            course.doses.add(dose);
+            buckets.computeIfAbsent(bucketOf(dueAt), key -> new HashMap<>())
+                    .computeIfAbsent(course.location, key -> new ArrayList<>())
+                    .add(dose);
+            byPatient.computeIfAbsent(course.patientId, key -> new ArrayList<>(4)).add(dose);
+            doseCount++;
+        }
+    }
+
+    private void removeLocked(Long medicationId) {
+        Course course = courses.remove(medicationId);
+        if (course == null) {
+            return;
+        }
+        for (Dose dose : course.doses) {
+            LocalDateTime key = bucketOf(dose.dueAt);
+            Map<String, List<Dose>> bucket = buckets.get(key);
+            if (bucket != null) {
+                removeFrom(bucket, course.location, dose);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+            removeFrom(byPatient, course.patientId, dose);
+            doseCount--;
+        }
+        course.doses.clear();
+    }
+
+    private static <K> void removeFrom(Map<K, List<Dose>> index, K key, Dose dose) {
+        List<Dose> doses = index.get(key);
+        if (doses != null) {
+            doses.remove(dose);
+            if (doses.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private String intern(String value) {
+        return value == null ? null : strings.computeIfAbsent(value, key -> key);
+    }
+
+    private static LocalDateTime bucketOf(LocalDateTime time) {
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        return minute.minusMinutes(minute.getMinute() % BUCKET_MINUTES);
+    }
+
+    // A running medication; its doses in the window are kept so it can be unscheduled quickly
+    private static final class Course {
+
+        private final Long id;
+        private final Long medicalRecordId;
+        private final Long patientId;
+        private final String location;
+        private final String name;
+        private final String dosage;
+        private final String frequency;
+        private final LocalDateTime startDate;
+        private final LocalDateTime endDate;
+        private final DoseRule rule;
+        private final List<Dose> doses = new ArrayList<>(2);
+
+        private Course(Long id, Long medicalRecordId, Long patientId, String location, String name, String dosage,
+                       String frequency, LocalDateTime startDate, LocalDateTime endDate, DoseRule rule) {
+            this.id = id;
+            this.medicalRecordId = medicalRecordId;
+            this.patientId = patientId;
+            this.location = location;
+            this.name = name;
+            this.dosage = dosage;
+            this.frequency = frequency;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.rule = rule;
+        }
+
+        // Same end-of-day rule as DoseRule.dosesBetween
+        private boolean endsBefore(LocalDateTime time) {
+            if (endDate == null) {
+                return false;
+            }
+            LocalDateTime endExclusive = endDate.toLocalTime().equals(LocalTime.MIDNIGHT) ? endDate.plusDays(1) : endDate;
+            return !endExclusive.isAfter(time);
+        }
+    }
+
+    // Compared by identity, so unscheduling one dose never takes out another at the same time
+    private static final class Dose {
+
+        private final Course course;
+        private final LocalDateTime dueAt;
+
+        private Dose(Course course, LocalDateTime dueAt) {
+            this.course = course;
+            this.dueAt = dueAt;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.app4080.eldercareserver.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// A medication's free-text frequency ("twice daily", "every 8 hours", "tds", "once weekly",
+// "at 08:00 and 20:00", "as needed") as a structured rule. Most rules are clock times repeated
+// every N days, counted from the start date. An interval that does not divide the day evenly
+// ("every 5 hours") instead counts from the start time itself. Several doses a week ("twice
+// weekly") are left unparsed, since the text does not say on which days they fall.
+//
+// Doses without a stated time fall on the usual ward medication rounds: 08:00, 12:00/14:00,
+// 16:00/20:00, and 22:00 for night-time doses.
+final class DoseRule {
+
+    private static final LocalTime MORNING = LocalTime.of(8, 0);
+    private static final LocalTime NIGHT = LocalTime.of(22, 0);
+
+    // Round times for n doses a day
+    private static final Map<Integer, List<LocalTime>> ROUNDS = Map.of(
+            1, List.of(MORNING),
+            2, List.of(MORNING, LocalTime.of(20, 0)),
+            3, List.of(MORNING, LocalTime.of(14, 0), LocalTime.of(20, 0)),
+            4, List.of(MORNING, LocalTime.of(12, 0), LocalTime.of(16, 0), LocalTime.of(20, 0)),
+            5, List.of(MORNING, LocalTime.of(11, 0), LocalTime.of(14, 0), LocalTime.of(17, 0), LocalTime.of(20, 0)),
+            6, List.of(LocalTime.of(6, 0), LocalTime.of(9, 0), LocalTime.of(12, 0), LocalTime.of(15, 0),
+                    LocalTime.of(18, 0), LocalTime.of(21, 0)));
+
+    private static final Map<String, Integer> COUNT_WORDS = Map.ofEntries(
+            Map.entry("once", 1), Map.entry("one", 1), Map.entry("twice", 2), Map.entry("two", 2),
+            Map.entry("three", 3), Map.entry("thrice", 3), Map.entry("four", 4), Map.entry("five", 5),
+            Map.entry("six", 6));
+
+    // Latin and ward abbreviations, matched as whole words after normalisation
+    private static final Map<String, Integer> ABBREVIATED_DAILY_COUNTS = Map.ofEntries(
+            Map.entry("od", 1), Map.entry("qd", 1), Map.entry("daily", 1),
+            Map.entry("bd", 2), Map.entry("bid", 2), Map.entry("tds", 3), Map.entry("tid", 3),
+            Map.entry("qds", 4), Map.entry("qid", 4));
+
+    private static final Pattern AS_NEEDED = Pattern.compile("\\b(prn|as needed|as required|when required|if needed)\\b");
+    private static final Pattern CLOCK_TIME = Pattern.compile("\\b([01]?\\d|2[0-3])[:.h]([0-5]\\d)\\b");
+    private static final Pattern EVERY_HOURS = Pattern.compile("\\b(?:every|q) ?(\\d{1,2}) ?(?:hours?|hrs?|h)\\b|\\bq(\\d{1,2})h\\b");
+    private static final Pattern TIMES_A_DAY = Pattern.compile(
+            "\\b(once|one|twice|two|three|thrice|four|five|six|\\d) ?(?:times?|x)? ?(?:a|per|each)? ?(?:day|daily)\\b");
+    private static final Pattern EVERY_DAYS = Pattern.compile("\\bevery (\\d{1,2}) days?\\b");
+    private static final Pattern TIMES_A_WEEK = Pattern.compile(
+            "\\b(once|one|twice|two|three|thrice|four|five|six|\\d) ?(?:times?|x)? ?(?:a|per|each)? ?(?:week|weekly)\\b");
+    private static final Pattern WEEKLY = Pattern.compile("\\b(weekly|every week)\\b");
+    private static final Pattern OTHER_DAY = Pattern.compile("\\b(every other day|alternate days|on alternate days|eod|qod)\\b");
+    private static final Pattern NIGHT_WORDS = Pattern.compile("\\b(at night|nocte|at bedtime|bedtime|before bed|qhs|in the evening|evening)\\b");
+    private static final Pattern MORNING_WORDS = Pattern.compile("\\b(morning|mane|in the morning|every morning|om)\\b");
+
+    // Clock times repeated every dayInterval days; empty when interval is set instead
+    private final List<LocalTime> times;
+    private final int dayInterval;
+    private final Duration interval;
+    private final boolean asNeeded;
+
+    private DoseRule(List<LocalTime> times, int dayInterval, Duration interval, boolean asNeeded) {
+        this.times = times;
+        this.dayInterval = dayInterval;
+        this.interval = interval;
+        this.asNeeded = asNeeded;
+    }
+
+    // The rule for a frequency text, or null if it cannot be understood
+    static DoseRule parse(String frequency) {
+        if (frequency == null || frequency.isBlank()) {
+            return null;
+        }
+        String text = frequency.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9:. ]", " ").replaceAll("\\s+", " ").trim();
+
+        if (AS_NEEDED.matcher(text).find()) {
+            return new DoseRule(List.of(), 1, null, true);
+        }
+
+        int dayInterval = 1;
+        Matcher timesAWeek = TIMES_A_WEEK.matcher(text);
+        if (timesAWeek.find()) {
+            String count = timesAWeek.group(1);
+            int perWeek = COUNT_WORDS.containsKey(count) ? COUNT_WORDS.get(count) : Integer.parseInt(count);
+            // "twice weekly" names no days, and spreading the doses evenly would be a guess
+            if (perWeek != 1) {
+                return null;
+            }
+            dayInterval = 7;
+        } else if (OTHER_DAY.matcher(text).find()) {
+            dayInterval = 2;
+        } else if (WEEKLY.matcher(text).find()) {
+            dayInterval = 7;
+        } else {
+            Matcher everyDays = EVERY_DAYS.matcher(text);
+            if (everyDays.find()) {
+                dayInterval = Math.max(1, Integer.parseInt(everyDays.group(1)));
+            }
+        }
+
+        // Explicit clock times win over everything else
+        TreeSet<LocalTime> clock = new TreeSet<>();
+        Matcher time = CLOCK_TIME.matcher(text);
+        while (time.find()) {
+            clock.add(LocalTime.of(Integer.parseInt(time.group(1)), Integer.parseInt(time.group(2))));
+        }
+        if (!clock.isEmpty()) {
+            return new DoseRule(List.copyOf(clock), dayInterval, null, false);
+        }
+
+        Matcher everyHours = EVERY_HOURS.matcher(text);
+        if (everyHours.find()) {
+            int hours = Integer.parseInt(everyHours.group(1) != null ? everyHours.group(1) : everyHours.group(2));
+            if (hours < 1 || hours > 72) {
+                return null;
+            }
+            if (24 % hours == 0) {
+                List<LocalTime> slots = new ArrayList<>();
+                for (int h = 0; h < 24; h += hours) {
+                    slots.add(MORNING.plusHours(h));
+                }
+                slots.sort(null);
+                return new DoseRule(List.copyOf(slots), dayInterval, null, false);
+            }
+            return new DoseRule(List.of(), 1, Duration.ofHours(hours), false);
+        }
+
+        Integer perDay = null;
+        Matcher timesADay = TIMES_A_DAY.matcher(text);
+        if (timesADay.find()) {
+            String count = timesADay.group(1);
+            perDay = COUNT_WORDS.containsKey(count) ? COUNT_WORDS.get(count) : Integer.valueOf(count);
+        } else {
+            for (String word : text.split(" ")) {
+                if (ABBREVIATED_DAILY_COUNTS.containsKey(word)) {
+                    perDay = ABBREVIATED_DAILY_COUNTS.get(word);
+                    break;
+                }
+            }
+        }
+
+        boolean night = NIGHT_WORDS.matcher(text).find();
+        boolean morning = MORNING_WORDS.matcher(text).find();
+        if (perDay == null) {
+            if (night && morning) {
+                perDay = 2;
+            } else if (night || morning || dayInterval > 1) {
+                // "every morning", "nocte", "once weekly", "every other day"
+                perDay = 1;
+            } else {
+                return null;
+            }
+        }
+        if (!ROUNDS.containsKey(perDay)) {
+            return null;
+        }
+
+        List<LocalTime> slots = ROUNDS.get(perDay);
+        if (perDay == 1 && night) {
+            slots = List.of(NIGHT);
+        } else if (perDay == 2 && night && morning) {
+            slots = List.of(MORNING, NIGHT);
+        }
+        return new DoseRule(slots, dayInterval, null, false);
+    }
+
+    boolean isAsNeeded() {
+        return asNeeded;
+    }
+
+    // Every dose in [from, to) for a medication taken from start until end (null: open-ended).
+    // An end date with no time of day includes that whole day.
+    List<LocalDateTime> dosesBetween(LocalDateTime start, LocalDateTime end, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> doses = new ArrayList<>();
+        if (asNeeded || start == null) {
+            return doses;
+        }
+        LocalDateTime until = to;
+        if (end != null) {
+            LocalDateTime endExclusive = end.toLocalTime().equals(LocalTime.MIDNIGHT) ? end.plusDays(1) : end;
+            if (endExclusive.isBefore(until)) {
+                until = endExclusive;
+            }
+        }
+        LocalDateTime since = from.isBefore(start) ? start : from;
+        if (!since.isBefore(until)) {
+            return doses;
+        }
+
+        if (interval != null) {
+            long step = interval.toMinutes();
+            long skipped = Math.max(0, ChronoUnit.MINUTES.between(start, since) / step);
+            for (LocalDateTime dose = start.plusMinutes(skipped * step); dose.isBefore(until); dose = dose.plus(interval)) {
+                if (!dose.isBefore(since)) {
+                    doses.add(dose);
+                }
+            }
+            return doses;
+        }
+
+        LocalDate firstDay = start.toLocalDate();
+        for (LocalDate day = since.toLocalDate(); !day.atStartOfDay().isAfter(until); day = day.plusDays(1)) {
+            if (ChronoUnit.DAYS.between(firstDay, day) % dayInterval != 0) {
+                continue;
+            }
+            for (LocalTime slot : times) {
+                LocalDateTime dose = day.atTime(slot);
+                if (!dose.isBefore(since) && dose.isBefore(until)) {
+                    doses.add(dose);
+                }
+            }
+        }
+        return doses;
+    }
+
+    @Override
+    public String toString() {
+        if (asNeeded) {
+            return "as needed";
+        }
+        if (interval != null) {
+            return "every " + interval.toHours() + "h from start";
+        }
+        return times + (dayInterval == 1 ? " daily" : " every " + dayInterval + " days");
+    }
+}
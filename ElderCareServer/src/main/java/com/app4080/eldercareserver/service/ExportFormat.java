@@ -0,0 +1,44 @@
+package com.app4080.eldercareserver.service;
+
+// Formats supported by the streaming export and bulk import endpoints
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    // Import bodies may name their format either way; an explicit parameter wins over the Content-Type.
+    // Form-encoded uploads are refused by the endpoints because the container would consume the body.
+    public static ExportFormat fromRequest(String parameter, String contentType) {
+        if ((parameter == null || parameter.isBlank()) && contentType != null
+                && contentType.toLowerCase().startsWith(CSV.contentType)) {
+            return CSV;
+        }
+        return fromParameter(parameter);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
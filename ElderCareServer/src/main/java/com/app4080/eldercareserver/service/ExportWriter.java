@@ -0,0 +1,98 @@
+package com.app4080.eldercareserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Writes a database cursor straight to an output stream as NDJSON or CSV. The persistence
+// context is cleared every few hundred rows so heap use stays flat regardless of table size.
+@Component
+public class ExportWriter {
+
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+
+    public ExportWriter(EntityManager entityManager, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.jsonWriter = objectMapper.writer();
+    }
+
+    // Exports filter on a date range only when both ends are given, so reject a lone bound
+    // rather than silently exporting every row
+    public static void checkRange(LocalDateTime start, LocalDateTime end) {
+        if ((start == null) != (end == null)) {
+            throw new IllegalArgumentException("An export date range needs both a start and an end");
+        }
+        if (start != null && end.isBefore(start)) {
+            throw new IllegalArgumentException("The export date range ends before it starts");
+        }
+    }
+
+    // Must be called inside a transaction that keeps the stream's cursor open
+    public <E, D> long write(Stream<E> rows, Function<E, D> toDto, ExportFormat format,
+                             Map<String, Function<D, Object>> csvColumns, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count = 0;
+
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(writer, csvColumns.keySet().iterator());
+        }
+
+        Iterator<E> it = rows.iterator();
+        while (it.hasNext()) {
+            D dto = toDto.apply(it.next());
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, csvColumns.values().stream().map(column -> column.apply(dto)).iterator());
+            } else {
+                writer.write(jsonWriter.writeValueAsString(dto));
+                writer.write('\n');
+            }
+
+            if (++count % CLEAR_INTERVAL == 0) {
+                writer.flush();
+                entityManager.clear();
+            }
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, Iterator<?> values) throws IOException {
+        boolean first = true;
+        while (values.hasNext()) {
+            if (!first) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.next()));
+            first = false;
+        }
+        writer.write("\r\n");
+    }
+
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
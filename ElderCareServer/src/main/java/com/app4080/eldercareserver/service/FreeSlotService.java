@@ -0,0 +1,194 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.dto.appointment.FreeSlot;
+import com.app4080.eldercareserver.entity.User;
+import com.app4080.eldercareserver.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Finds the earliest open slots for one or more doctors. Each doctor's free time is walked
+// lazily from the gaps between their bookings in AppointmentScheduleIndex, and the per-doctor
+// streams are merged through a priority queue, so only as many gaps are inspected as it takes
+// to produce the requested number of slots.
+@Service
+public class FreeSlotService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    private static final Comparator<DoctorCursor> EARLIEST_FIRST = Comparator
+            .comparing((DoctorCursor c) -> c.pending.getStart())
+            .thenComparing(c -> c.doctorId);
+
+    private final UserRepository userRepository;
+    private final AppointmentScheduleIndex scheduleIndex;
+    private final LocalTime dayStart;
+    private final LocalTime dayEnd;
+    private final int granularityMinutes;
+    private final int maxWindowDays;
+
+    @Autowired
+    public FreeSlotService(UserRepository userRepository,
+                           AppointmentScheduleIndex scheduleIndex,
+                           @Value("${eldercare.appointments.working-hours.start:08:00}") LocalTime dayStart,
+                           @Value("${eldercare.appointments.working-hours.end:17:00}") LocalTime dayEnd,
+                           @Value("${eldercare.appointments.slot-granularity-minutes:15}") int granularityMinutes,
+                           @Value("${eldercare.appointments.free-slot-max-window-days:31}") int maxWindowDays) {
+        this.userRepository = userRepository;
+        this.scheduleIndex = scheduleIndex;
+        this.dayStart = dayStart;
+        this.dayEnd = dayEnd;
+        this.granularityMinutes = granularityMinutes;
+        this.maxWindowDays = maxWindowDays;
+    }
+
+    @Transactional(readOnly = true)
+    public List<FreeSlot> findFreeSlots(List<Long> doctorIds, String location, LocalDateTime from, LocalDateTime to,
+                                        Integer slotMinutes, Integer limit) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("The search window must end after it starts");
+        }
+        if (Duration.between(from, to).toDays() > maxWindowDays) {
+            throw new IllegalArgumentException("The search window may not exceed " + maxWindowDays + " days");
+        }
+        Duration length = scheduleIndex.durationOf(slotMinutes);
+        if (length.compareTo(Duration.between(dayStart, dayEnd)) > 0) {
+            throw new IllegalArgumentException("Slot length is longer than the working day");
+        }
+        int wanted = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        // Past slots are never bookable, and the index only tracks bookings from yesterday on
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from.isBefore(now) ? now : from;
+        if (!to.isAfter(start)) {
+            return List.of();
+        }
+
+        PriorityQueue<DoctorCursor> queue = new PriorityQueue<>(EARLIEST_FIRST);
+        for (Long doctorId : resolveDoctors(doctorIds, location)) {
+            DoctorCursor cursor = new DoctorCursor(doctorId, start, to, length);
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+
+        List<FreeSlot> slots = new ArrayList<>(wanted);
+        while (slots.size() < wanted && !queue.isEmpty()) {
+            DoctorCursor cursor = queue.poll();
+            slots.add(cursor.pending);
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+        return slots;
+    }
+
+    // Explicit doctor ids narrowed to the location when both are given
+    private Set<Long> resolveDoctors(List<Long> doctorIds, String location) {
+        boolean byId = doctorIds != null && !doctorIds.isEmpty();
+        boolean byLocation = location != null && !location.isBlank();
+        if (!byId && !byLocation) {
+            throw new IllegalArgumentException("Specify doctorIds, a location, or both");
+        }
+
+        Set<Long> doctors = new LinkedHashSet<>();
+        if (byId) {
+            for (User user : userRepository.findAllById(doctorIds)) {
+                if (!"doctor".equalsIgnoreCase(user.getRole())) {
+                    throw new IllegalArgumentException("User is not a doctor " + user.getUsername());
+                }
+                doctors.add(user.getId());
+            }
+            if (byLocation) {
+                doctors.retainAll(userRepository.findDoctorIdsAtLocation(location));
+            }
+        } else {
+            doctors.addAll(userRepository.findDoctorIdsAtLocation(location));
+        }
+        return doctors;
+    }
+
+    // Round up to the next multiple of the slot granularity within the day
+    private LocalDateTime align(LocalDateTime time) {
+        LocalDateTime minute = time.withSecond(0).withNano(0);
+        if (minute.isBefore(time)) {
+            minute = minute.plusMinutes(1);
+        }
+        int offset = (minute.getHour() * 60 + minute.getMinute()) % granularityMinutes;
+        return offset == 0 ? minute : minute.plusMinutes(granularityMinutes - offset);
+    }
+
+    // Walks one doctor's working hours day by day, stepping over booked intervals
+    private final class DoctorCursor {
+        private final Long doctorId;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final Duration length;
+
+        private LocalDate day;
+        private LocalDateTime windowEnd;
+        private LocalDateTime next;
+        private List<AppointmentScheduleIndex.Booking> bookings;
+        private int position;
+        private FreeSlot pending;
+
+        private DoctorCursor(Long doctorId, LocalDateTime from, LocalDateTime to, Duration length) {
+            this.doctorId = doctorId;
+            this.from = from;
+            this.to = to;
+            this.length = length;
+            this.day = from.toLocalDate();
+        }
+
+        // Moves pending to the next free slot; false once the search window is exhausted
+        private boolean advance() {
+            while (!day.atStartOfDay().isAfter(to)) {
+                if (bookings == null) {
+                    openDay();
+                }
+                while (!next.plus(length).isAfter(windowEnd)) {
+                    LocalDateTime slotEnd = next.plus(length);
+                    while (position < bookings.size() && !bookings.get(position).getEnd().isAfter(next)) {
+                        position++;
+                    }
+                    if (position < bookings.size() && bookings.get(position).getStart().isBefore(slotEnd)) {
+                        next = align(bookings.get(position).getEnd());
+                        continue;
+                    }
+                    pending = new FreeSlot(doctorId, next, slotEnd);
+                    next = slotEnd;
+                    return true;
+                }
+                day = day.plusDays(1);
+                bookings = null;
+            }
+            pending = null;
+            return false;
+        }
+
+        private void openDay() {
+            LocalDateTime open = day.atTime(dayStart);
+            LocalDateTime close = day.atTime(dayEnd);
+            LocalDateTime windowStart = open.isBefore(from) ? from : open;
+            windowEnd = close.isAfter(to) ? to : close;
+            next = align(windowStart);
+            bookings = windowEnd.isAfter(windowStart)
+                    ? scheduleIndex.bookedBetween(doctorId, windowStart, windowEnd)
+                    : List.of();
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.app4080.eldercareserver.service;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Turns free-text user input into an FTS5 MATCH expression: every word must match (AND),
+// each as a prefix, with FTS5 syntax characters stripped so input can never break the query
+public final class FullTextQuery {
+
+    private FullTextQuery() {
+    }
+
+    // Returns null when the input has no searchable words
+    public static String toMatchExpression(String input) {
+        if (input == null) {
+            return null;
+        }
+        String expression = Arrays.stream(input.split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> "\"" + term.toLowerCase() + "\"*")
+                .collect(Collectors.joining(" AND "));
+        return expression.isEmpty() ? null : expression;
+    }
+}
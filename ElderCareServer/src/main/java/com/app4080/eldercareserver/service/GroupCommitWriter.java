@@ -0,0 +1,242 @@
+package com.app4080.eldercareserver.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Group commit for small, independent writes. With eldercare.group-commit.enabled, units
+// submitted by concurrent requests are collected for up to window-ms (or until max-batch
+// arrive) and run back to back in one transaction, so a burst of N inserts costs one commit
+// and one WAL sync instead of N.
+//
+// Every caller still gets its own result or exception:
+//   - a unit that throws is dropped and the rest of the batch is retried without it
+//   - if the commit itself fails, the surviving units are run one transaction each
+// Units may run more than once for that reason. Anything they do besides database writes must
+// go through AfterCommit/onRollback so a rolled-back attempt leaves no trace.
+//
+// A caller waits at most wait-ms for the committer to pick its write up; after that it withdraws
+// the write and runs it in its own transaction. A write the committer has already taken is always
+// settled by it. The committer survives Errors thrown by a batch, and is restarted if its thread
+// has died anyway.
+//
+// When disabled, or when the caller is already inside a transaction, a unit simply runs in
+// its own (or the caller's) transaction as before.
+@Component
+public class GroupCommitWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitWriter.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final long waitMillis;
+
+    private final BlockingQueue<PendingWrite<?>> queue = new LinkedBlockingQueue<>();
+    private volatile Thread committer;
+    private volatile boolean running = true;
+
+    public GroupCommitWriter(PlatformTransactionManager transactionManager,
+                             @Value("${eldercare.group-commit.enabled:false}") boolean enabled,
+                             @Value("${eldercare.group-commit.window-ms:5}") long windowMs,
+                             @Value("${eldercare.group-commit.max-batch:128}") int maxBatch,
+                             @Value("${eldercare.group-commit.wait-ms:2000}") long waitMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.waitMillis = Math.max(1, waitMillis);
+
+        if (enabled) {
+            startCommitter();
+            logger.info("Group commit enabled: window {} ms, up to {} writes per transaction", windowMs, this.maxBatch);
+        }
+    }
+
+    // Run the unit in a transaction and return its result once that transaction has committed
+    public <T> T submit(Supplier<T> unit) {
+        if (!enabled || !running || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> unit.get());
+        }
+        if (!committer.isAlive()) {
+            restartCommitter();
+        }
+
+        PendingWrite<T> write = new PendingWrite<>(unit);
+        queue.add(write);
+        try {
+            try {
+                return write.result.get(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (write.take()) {
+                    logger.warn("Group commit did not pick up a write within {} ms; running it alone", waitMillis);
+                    return transactionTemplate.execute(status -> unit.get());
+                }
+                // The committer has it and settles every write it takes
+                return write.result.get();
+            }
+        } catch (InterruptedException e) {
+            write.take();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void startCommitter() {
+        Thread thread = new Thread(this::commitLoop, "group-commit");
+        thread.setDaemon(true);
+        committer = thread;
+        thread.start();
+    }
+
+    private synchronized void restartCommitter() {
+        if (running && !committer.isAlive()) {
+            logger.error("Group commit thread has died; starting a new one");
+            startCommitter();
+        }
+    }
+
+    private void commitLoop() {
+        List<PendingWrite<?>> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null || !first.take()) {
+                    continue;
+                }
+                batch.add(first);
+                // The window starts with the first write, so none waits longer than window-ms
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite<?> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next.take()) {
+                        batch.add(next);
+                    }
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException | Error e) {
+                // commit() settles every write itself; this only keeps the loop alive
+                logger.error("Group commit loop failed", e);
+            } finally {
+                batch.forEach(write -> write.result.completeExceptionally(
+                        new IllegalStateException("Group commit did not complete this write")));
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite<?>> batch) {
+        List<PendingWrite<?>> remaining = new ArrayList<>(batch);
+        while (!remaining.isEmpty()) {
+            List<PendingWrite<?>> attempt = remaining;
+            PendingWrite<?>[] failed = new PendingWrite<?>[1];
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (PendingWrite<?> write : attempt) {
+                        try {
+                            write.run();
+                        } catch (RuntimeException | Error e) {
+                            write.failure = e;
+                            failed[0] = write;
+                            status.setRollbackOnly();
+                            return;
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                // The commit itself failed; isolate the writes so one bad row cannot sink the rest
+                logger.warn("Group commit of {} writes failed, retrying individually: {}", attempt.size(), e.getMessage());
+                attempt.forEach(this::commitAlone);
+                return;
+            }
+
+            if (failed[0] == null) {
+                attempt.forEach(PendingWrite::complete);
+                return;
+            }
+            failed[0].fail();
+            remaining = new ArrayList<>(attempt);
+            remaining.remove(failed[0]);
+        }
+    }
+
+    private void commitAlone(PendingWrite<?> write) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write.run());
+            write.complete();
+        } catch (RuntimeException | Error e) {
+            write.failure = e;
+            write.fail();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        Thread thread = committer;
+        if (thread != null) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private static final class PendingWrite<T> {
+        private final Supplier<T> unit;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // Set once by whoever runs the unit: the committer, or the caller after a timeout
+        private final AtomicBoolean taken = new AtomicBoolean();
+        private T value;
+        private Throwable failure;
+
+        private PendingWrite(Supplier<T> unit) {
+            this.unit = unit;
+        }
+
+        private boolean take() {
+            return taken.compareAndSet(false, true);
+        }
+
+        private void run() {
+            value = unit.get();
+        }
+
+        private void complete() {
+            result.complete(value);
+        }
+
+        private void fail() {
+            result.completeExceptionally(failure);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.app4080.eldercareserver.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Reads an uploaded NDJSON or CSV stream one row at a time as field maps keyed by camelCase
+// property name, ready to bind to the regular request DTOs. CSV headers may use the snake_case
+// names written by the export endpoints, so an export can be fed straight back in. A malformed
+// row comes back carrying an error instead of ending the stream.
+final class ImportRowReader implements Iterator<ImportRowReader.Row>, Closeable {
+
+    private final BufferedReader reader;
+    private final ExportFormat format;
+    private final ObjectReader jsonReader;
+
+    private List<String> header;
+    private long line;
+    private long recordLine;
+    private Row next;
+
+    ImportRowReader(InputStream in, ExportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.jsonReader = objectMapper.readerFor(Map.class);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = format == ExportFormat.CSV ? readCsvRow() : readJsonRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Row readJsonRow() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        try {
+            Object value = jsonReader.readValue(stripBom(text));
+            if (!(value instanceof Map<?, ?> map)) {
+                return Row.failed(line, "Expected a JSON object");
+            }
+            Map<String, Object> fields = new LinkedHashMap<>();
+            map.forEach((key, field) -> fields.put(toPropertyName(key.toString()), field));
+            return new Row(line, fields, null);
+        } catch (JsonProcessingException e) {
+            return Row.failed(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Row readCsvRow() throws IOException {
+        if (header == null) {
+            List<String> names = readCsvRecord();
+            if (names == null) {
+                return null;
+            }
+            header = new ArrayList<>(names.size());
+            for (String name : names) {
+                header.add(toPropertyName(stripBom(name == null ? "" : name).trim()));
+            }
+        }
+
+        List<String> values = readCsvRecord();
+        if (values == null) {
+            return null;
+        }
+        if (values.size() != header.size()) {
+            return Row.failed(recordLine, "Expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return new Row(recordLine, fields, null);
+    }
+
+    // One CSV record, which may span several physical lines inside quotes. Blank lines are
+    // skipped and empty cells read as null.
+    private List<String> readCsvRecord() throws IOException {
+        List<String> values = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        boolean any = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        cell.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    cell.append((char) c);
+                }
+                continue;
+            }
+
+            if (c == '\r') {
+                continue;
+            }
+            if (c == '\n') {
+                line++;
+                if (!any) {
+                    continue;
+                }
+                values.add(cellValue(cell, wasQuoted));
+                return values;
+            }
+            if (!any) {
+                recordLine = line + 1;
+                any = true;
+            }
+            if (c == '"' && cell.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                values.add(cellValue(cell, wasQuoted));
+                cell.setLength(0);
+                wasQuoted = false;
+            } else {
+                cell.append((char) c);
+            }
+        }
+
+        if (!any) {
+            return null;
+        }
+        line++;
+        values.add(cellValue(cell, wasQuoted));
+        return values;
+    }
+
+    private static String cellValue(StringBuilder cell, boolean wasQuoted) {
+        return cell.isEmpty() && !wasQuoted ? null : cell.toString();
+    }
+
+    private static String stripBom(String text) {
+        return !text.isEmpty() && text.charAt(0) == '\uFEFF' ? text.substring(1) : text;
+    }
+
+    // patient_id -> patientId; names already in camelCase pass through unchanged
+    static String toPropertyName(String name) {
+        if (name.indexOf('_') < 0) {
+            return name;
+        }
+        StringBuilder property = new StringBuilder(name.length());
+        boolean upper = false;
+        for (char ch : name.toCharArray()) {
+            if (ch == '_') {
+                upper = property.length() > 0;
+            } else {
+                property.append(upper ? Character.toUpperCase(ch) : Character.toLowerCase(ch));
+                upper = false;
+            }
+        }
+        return property.toString();
+    }
+
+    static final class Row {
+        private final long line;
+        private final Map<String, Object> fields;
+        private final String error;
+
+        private Row(long line, Map<String, Object> fields, String error) {
+            this.line = line;
+            this.fields = fields;
+            this.error = error;
+        }
+
+        private static Row failed(long line, String error) {
+            return new Row(line, null, error);
+        }
+
+        long getLine() {
+            return line;
+        }
+
+        Map<String, Object> getFields() {
+            return fields;
+        }
+
+        String getError() {
+            return error;
+        }
+    }
+}
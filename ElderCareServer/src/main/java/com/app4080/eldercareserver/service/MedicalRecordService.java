@@ -3,19 +3,36 @@ package com.app4080.eldercareserver.service;
 import com.app4080.eldercareserver.dto.medicalrecord.MedicalRecordRequest;
 import com.app4080.eldercareserver.dto.medicalrecord.MedicalRecordResponse;
 import com.app4080.eldercareserver.dto.medicalrecord.MedicalRecordSearchCriteria;
+import com.app4080.eldercareserver.dto.page.CursorPage;
+import com.app4080.eldercareserver.dto.page.ResultPage;
 import com.app4080.eldercareserver.entity.MedicalRecord;
 import com.app4080.eldercareserver.entity.Patient;
 import com.app4080.eldercareserver.entity.User;
 import com.app4080.eldercareserver.repository.MedicalRecordRepository;
+import com.app4080.eldercareserver.repository.MedicalRecordSpecifications;
 import com.app4080.eldercareserver.repository.PatientRepository;
 import com.app4080.eldercareserver.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -24,14 +41,33 @@ public class MedicalRecordService {
     private final MedicalRecordRepository medicalRecordRepository;
     private final PatientRepository patientRepository;
     private final UserRepository userRepository;
+    private final ExportWriter exportWriter;
+
+    private static final Set<String> SEARCH_SORTABLE = Set.of("dateOfVisit", "createdAt", "location", "id");
+
+    private static final Map<String, Function<MedicalRecordResponse, Object>> CSV_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        CSV_COLUMNS.put("id", MedicalRecordResponse::getId);
+        CSV_COLUMNS.put("patient_id", MedicalRecordResponse::getPatientId);
+        CSV_COLUMNS.put("doctor_id", MedicalRecordResponse::getDoctorId);
+        CSV_COLUMNS.put("date_of_visit", MedicalRecordResponse::getDateOfVisit);
+        CSV_COLUMNS.put("location", MedicalRecordResponse::getLocation);
+        CSV_COLUMNS.put("diagnosis", MedicalRecordResponse::getDiagnosis);
+        CSV_COLUMNS.put("treatment_plan", MedicalRecordResponse::getTreatmentPlan);
+        CSV_COLUMNS.put("notes", MedicalRecordResponse::getNotes);
+        CSV_COLUMNS.put("created_at", MedicalRecordResponse::getCreatedAt);
+    }
 
     @Autowired
     public MedicalRecordService(MedicalRecordRepository medicalRecordRepository,
                                 PatientRepository patientRepository,
-                                UserRepository userRepository) {
+                                UserRepository userRepository,
+                                ExportWriter exportWriter) {
         this.medicalRecordRepository = medicalRecordRepository;
         this.patientRepository = patientRepository;
         this.userRepository = userRepository;
+        this.exportWriter = exportWriter;
     }
 
     private MedicalRecordResponse toResponse(MedicalRecord medicalRecord) {
@@ -69,68 +105,133 @@ public class MedicalRecordService {
     }
 
     @Transactional(readOnly = true)
-    public List<MedicalRecordResponse> getAllMedicalRecords() {
-        return medicalRecordRepository.findAll().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<MedicalRecordResponse> getAllMedicalRecords(Long cursor, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<MedicalRecordResponse> records = medicalRecordRepository
+                .findResponsesAfter(CursorPage.startAfter(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(records, pageSize, MedicalRecordResponse::getId);
     }
 
     @Transactional(readOnly = true)
     public List<MedicalRecordResponse> getMedicalRecordsByPatient(Long patientId) {
-        return medicalRecordRepository.findByPatientId(patientId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return medicalRecordRepository.findResponsesByPatientId(patientId);
     }
 
     @Transactional(readOnly = true)
     public List<MedicalRecordResponse> getMedicalRecordsByDoctor(Long doctorId) {
-        return medicalRecordRepository.findByDoctorId(doctorId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return medicalRecordRepository.findResponsesByDoctorId(doctorId);
     }
 
     @Transactional(readOnly = true)
     public List<MedicalRecordResponse> getMedicalRecordsByPatientAndDoctor(Long patientId, Long doctorId) {
-        return medicalRecordRepository.findByPatientIdAndDoctorId(patientId, doctorId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return medicalRecordRepository.findResponsesByPatientIdAndDoctorId(patientId, doctorId);
     }
 
     @Transactional(readOnly = true)
     public List<MedicalRecordResponse> getMedicalRecordsByLocation(String location) {
-        return medicalRecordRepository.findByLocation(location).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return medicalRecordRepository.findResponsesByLocation(location);
     }
 
     @Transactional(readOnly = true)
     public List<MedicalRecordResponse> getMedicalRecordsByDateRange(LocalDateTime start, LocalDateTime end) {
-        return medicalRecordRepository.findByDateOfVisitBetween(start, end).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return medicalRecordRepository.findResponsesByDateOfVisitBetween(start, end);
     }
 
+    // Every supplied criterion is ANDed into a single query, so adding a filter can only
+    // narrow the result. A text term is matched against the full-text index inside that same
+    // query rather than through a capped list of ids, so every match that passes the other
+    // filters is found and counted.
     @Transactional(readOnly = true)
-    public List<MedicalRecordResponse> searchMedicalRecords(MedicalRecordSearchCriteria criteria) {
-        List<MedicalRecord> records;
-
-        if (criteria.getDiagnosisOrTreatment() != null) {
-            records = medicalRecordRepository.searchRecords(criteria.getDiagnosisOrTreatment());
-        } else if (criteria.getPatientId() != null && criteria.getStartDate() != null && criteria.getEndDate() != null) {
-            records = medicalRecordRepository.findByPatientIdAndDateOfVisitBetween(
-                    criteria.getPatientId(), criteria.getStartDate(), criteria.getEndDate());
-        } else if (criteria.getDoctorId() != null && criteria.getStartDate() != null && criteria.getEndDate() != null) {
-            records = medicalRecordRepository.findByDoctorIdAndDateOfVisit(
-                    criteria.getDoctorId(), criteria.getStartDate());
-        } else if (criteria.getLocation() != null && criteria.getStartDate() != null && criteria.getEndDate() != null) {
-            records = medicalRecordRepository.findByDateOfVisitAndLocation(criteria.getStartDate(), criteria.getLocation());
-        } else {
-            records = medicalRecordRepository.findAll();
+    public ResultPage<MedicalRecordResponse> searchMedicalRecords(MedicalRecordSearchCriteria criteria) {
+        int page = ResultPage.clampPage(criteria.getPage());
+        int size = ResultPage.clampSize(criteria.getSize());
+
+        List<Specification<MedicalRecord>> filters = new ArrayList<>();
+        if (criteria.getPatientId() != null) {
+            filters.add(MedicalRecordSpecifications.forPatient(criteria.getPatientId()));
+        }
+        if (criteria.getDoctorId() != null) {
+            filters.add(MedicalRecordSpecifications.byDoctor(criteria.getDoctorId()));
+        }
+        if (criteria.getLocation() != null && !criteria.getLocation().isBlank()) {
+            filters.add(MedicalRecordSpecifications.atLocation(criteria.getLocation()));
+        }
+        if (criteria.getStartDate() != null) {
+            filters.add(MedicalRecordSpecifications.visitedOnOrAfter(criteria.getStartDate()));
+        }
+        if (criteria.getEndDate() != null) {
+            filters.add(MedicalRecordSpecifications.visitedOnOrBefore(criteria.getEndDate()));
+        }
+
+        String match = null;
+        if (criteria.getDiagnosisOrTreatment() != null && !criteria.getDiagnosisOrTreatment().isBlank()) {
+            match = FullTextQuery.toMatchExpression(criteria.getDiagnosisOrTreatment());
+            if (match == null) {
+                return new ResultPage<>(List.of(), page, size, 0);
+            }
+            filters.add(MedicalRecordSpecifications.matching(match));
         }
 
-        return records.stream()
+        if (filters.isEmpty()) {
+            throw new IllegalArgumentException("At least one search criterion is required");
+        }
+        Specification<MedicalRecord> query = Specification.allOf(filters);
+
+        // Relevance order only exists in the full-text index: rank the page there, then load it
+        if (match != null && (criteria.getSortBy() == null || "relevance".equalsIgnoreCase(criteria.getSortBy()))) {
+            long total = medicalRecordRepository.count(query);
+            long offset = (long) page * size;
+            if (offset >= total) {
+                return new ResultPage<>(List.of(), page, size, total);
+            }
+            List<Long> ids = medicalRecordRepository.searchRankedIds(match, criteria.getPatientId(),
+                            criteria.getDoctorId(), blankToNull(criteria.getLocation()),
+                            criteria.getStartDate(), criteria.getEndDate(), size, offset)
+                    .stream()
+                    .map(Number::longValue)
+                    .collect(Collectors.toList());
+            Map<Long, MedicalRecord> byId = medicalRecordRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(MedicalRecord::getId, Function.identity()));
+            List<MedicalRecordResponse> items = ids.stream()
+                    .map(byId::get)
+                    .map(this::toResponse)
+                    .collect(Collectors.toList());
+            return new ResultPage<>(items, page, size, total);
+        }
+
+        Page<MedicalRecord> records = medicalRecordRepository.findAll(query,
+                PageRequest.of(page, size, searchSort(criteria.getSortBy(), criteria.getDirection())));
+        List<MedicalRecordResponse> items = records.getContent().stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
+        return new ResultPage<>(items, page, size, records.getTotalElements());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static Sort searchSort(String sortBy, String direction) {
+        String property = sortBy == null || "relevance".equalsIgnoreCase(sortBy) ? "dateOfVisit" : sortBy;
+        if (!SEARCH_SORTABLE.contains(property)) {
+            throw new IllegalArgumentException("Cannot sort medical records by " + sortBy);
+        }
+        Sort.Direction order = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.DESC);
+        // id breaks ties so pages never overlap
+        return Sort.by(order, property).and(Sort.by(order, "id"));
+    }
+
+    // Stream every record (optionally within a visit date range) to the output without
+    // materializing the result set
+    @Transactional(readOnly = true)
+    public long exportMedicalRecords(LocalDateTime start, LocalDateTime end, ExportFormat format,
+                                     OutputStream out) throws IOException {
+        ExportWriter.checkRange(start, end);
+        try (Stream<MedicalRecordResponse> rows = (start != null && end != null)
+                ? medicalRecordRepository.streamByDateOfVisitBetween(start, end)
+                : medicalRecordRepository.streamAll()) {
+            return exportWriter.write(rows, Function.identity(), format, CSV_COLUMNS, out);
+        }
     }
 
     boolean checkExists(MedicalRecord mr) {
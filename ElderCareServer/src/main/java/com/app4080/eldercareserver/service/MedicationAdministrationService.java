@@ -0,0 +1,297 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.dto.administration.AdherenceSummary;
+import com.app4080.eldercareserver.dto.administration.AdministrationRequest;
+import com.app4080.eldercareserver.dto.administration.AdministrationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Append-only log of doses given, skipped or refused, with per-patient adherence rollups.
+//
+// Events go to one table per calendar month (medication_administrations_<yyyymm>, by
+// administeredAt), created on first use with triggers that reject UPDATE and DELETE. A month is
+// read or archived as a unit, and inserts only ever touch the current month's indexes.
+//
+// A batch of events is one unit of work: one lookup resolves every medication's patient, one
+// batched INSERT per month writes the events, and one UPSERT per patient-day and
+// patient-week adds their counts to adherence_daily and adherence_weekly. Single events go
+// through GroupCommitWriter, so concurrent recordings share a commit when group commit is on.
+// Adherence queries read only the rollups.
+@Service
+public class MedicationAdministrationService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(MedicationAdministrationService.class);
+
+    public static final String GIVEN = "given";
+    public static final String SKIPPED = "skipped";
+    public static final String REFUSED = "refused";
+    private static final List<String> STATUSES = List.of(GIVEN, SKIPPED, REFUSED);
+
+    private static final String PARTITION_PREFIX = "medication_administrations_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    // Clock drift allowed between a handheld device and the server
+    private static final long FUTURE_TOLERANCE_MINUTES = 5;
+    private static final int MAX_NOTES = 500;
+
+    private static final String UPSERT_DAILY = "INSERT INTO adherence_daily (patient_id, day, given, skipped, refused) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT (patient_id, day) DO UPDATE SET given = given + excluded.given, " +
+            "skipped = skipped + excluded.skipped, refused = refused + excluded.refused";
+    private static final String UPSERT_WEEKLY = "INSERT INTO adherence_weekly (patient_id, week_start, given, skipped, refused) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT (patient_id, week_start) DO UPDATE SET given = given + excluded.given, " +
+            "skipped = skipped + excluded.skipped, refused = refused + excluded.refused";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GroupCommitWriter groupCommitWriter;
+    private final int maxBatch;
+
+    // Months whose partition is known to exist
+    private final Set<YearMonth> partitions = ConcurrentHashMap.newKeySet();
+
+    public MedicationAdministrationService(JdbcTemplate jdbcTemplate,
+                                           GroupCommitWriter groupCommitWriter,
+                                           @Value("${eldercare.administrations.max-batch:500}") int maxBatch) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.groupCommitWriter = groupCommitWriter;
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        jdbcTemplate.queryForList("SELECT name FROM sqlite_master WHERE type = 'table' AND name LIKE '"
+                        + PARTITION_PREFIX + "%'", String.class)
+                .forEach(name -> partitions.add(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX)));
+        logger.info("Medication administration log has {} monthly partitions", partitions.size());
+    }
+
+    // Runs outside any class transaction so concurrent recordings can share one commit
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AdministrationResponse record(AdministrationRequest request, String recordedBy) {
+        return groupCommitWriter.submit(() -> append(List.of(request), recordedBy)).get(0);
+    }
+
+    // A medication round recorded in one go; the whole batch is written or none of it is
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<AdministrationResponse> recordBatch(List<AdministrationRequest> requests, String recordedBy) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("No administrations to record");
+        }
+        if (requests.size() > maxBatch) {
+            throw new IllegalArgumentException("At most " + maxBatch + " administrations per batch");
+        }
+        return groupCommitWriter.submit(() -> append(requests, recordedBy));
+    }
+
+    // Raw events for one patient in [from, to), oldest first, read from the months it spans
+    @Transactional(readOnly = true)
+    public List<AdministrationResponse> getAdministrations(Long patientId, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("to must be after from");
+        }
+        List<AdministrationResponse> events = new ArrayList<>();
+        YearMonth last = YearMonth.from(to.minusNanos(1));
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+            if (!partitions.contains(month)) {
+                continue;
+            }
+            events.addAll(jdbcTemplate.query("SELECT medication_id, patient_id, status, administered_at, scheduled_for, "
+                            + "recorded_by, recorded_at, notes FROM " + partition(month)
+                            + " WHERE patient_id = ? AND administered_at >= ? AND administered_at < ? ORDER BY administered_at",
+                    MedicationAdministrationService::toResponse, patientId, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        }
+        return events;
+    }
+
+    // Daily or weekly adherence for one patient over [from, to], from the rollups only
+    @Transactional(readOnly = true)
+    public List<AdherenceSummary> getAdherence(Long patientId, LocalDate from, LocalDate to, String period) {
+        boolean weekly = isWeekly(period);
+        LocalDate start = weekly ? weekOf(from) : from;
+        String sql = weekly
+                ? "SELECT patient_id, week_start, given, skipped, refused FROM adherence_weekly "
+                    + "WHERE patient_id = ? AND week_start BETWEEN ? AND ? ORDER BY week_start"
+                : "SELECT patient_id, day, given, skipped, refused FROM adherence_daily "
+                    + "WHERE patient_id = ? AND day BETWEEN ? AND ? ORDER BY day";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> toSummary(rs, weekly ? "week" : "day"),
+                patientId, dayStamp(start), dayStamp(to));
+    }
+
+    // The patients with the lowest adherence in one week, for the ward overview
+    @Transactional(readOnly = true)
+    public List<AdherenceSummary> getLowestAdherence(LocalDate week, int limit) {
+        return jdbcTemplate.query("SELECT patient_id, week_start, given, skipped, refused FROM adherence_weekly "
+                        + "WHERE week_start = ? ORDER BY CAST(given AS REAL) / (given + skipped + refused), patient_id LIMIT ?",
+                (rs, rowNum) -> toSummary(rs, "week"), dayStamp(weekOf(week)), Math.max(1, Math.min(limit, maxBatch)));
+    }
+
+    private static boolean isWeekly(String period) {
+        if (period == null || period.equalsIgnoreCase("daily") || period.equalsIgnoreCase("day")) {
+            return false;
+        }
+        if (period.equalsIgnoreCase("weekly") || period.equalsIgnoreCase("week")) {
+            return true;
+        }
+        throw new IllegalArgumentException("period must be daily or weekly");
+    }
+
+    private List<AdministrationResponse> append(List<AdministrationRequest> requests, String recordedBy) {
+        Map<Long, Long> patients = patientsOf(requests);
+        LocalDateTime recordedAt = LocalDateTime.now();
+
+        List<AdministrationResponse> recorded = new ArrayList<>(requests.size());
+        for (AdministrationRequest request : requests) {
+            recorded.add(validate(request, patients, recordedBy, recordedAt));
+        }
+
+        Map<YearMonth, List<AdministrationResponse>> byMonth = recorded.stream()
+                .collect(Collectors.groupingBy(event -> YearMonth.from(event.getAdministeredAt()), TreeMap::new, Collectors.toList()));
+        byMonth.forEach((month, events) -> {
+            ensurePartition(month);
+            jdbcTemplate.batchUpdate("INSERT INTO " + partition(month) + " (medication_id, patient_id, status, "
+                            + "administered_at, scheduled_for, recorded_by, recorded_at, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    events, events.size(), (ps, event) -> {
+                        ps.setLong(1, event.getMedicationId());
+                        ps.setLong(2, event.getPatientId());
+                        ps.setString(3, event.getStatus());
+                        ps.setTimestamp(4, Timestamp.valueOf(event.getAdministeredAt()));
+                        ps.setTimestamp(5, event.getScheduledFor() == null ? null : Timestamp.valueOf(event.getScheduledFor()));
+                        ps.setString(6, event.getRecordedBy());
+                        ps.setTimestamp(7, Timestamp.valueOf(event.getRecordedAt()));
+                        ps.setString(8, event.getNotes());
+                    });
+        });
+
+        addToRollup(UPSERT_DAILY, recorded, false);
+        addToRollup(UPSERT_WEEKLY, recorded, true);
+        return recorded;
+    }
+
+    private AdministrationResponse validate(AdministrationRequest request, Map<Long, Long> patients,
+                                            String recordedBy, LocalDateTime recordedAt) {
+        if (request == null || request.getMedicationId() == null) {
+            throw new IllegalArgumentException("medicationId is required");
+        }
+        Long patientId = patients.get(request.getMedicationId());
+        if (patientId == null) {
+            throw new IllegalArgumentException("Medication " + request.getMedicationId() + " does not exist");
+        }
+        String status = request.getStatus() == null ? null : request.getStatus().trim().toLowerCase(Locale.ROOT);
+        if (!STATUSES.contains(status)) {
+            throw new IllegalArgumentException("status must be one of " + STATUSES);
+        }
+        LocalDateTime administeredAt = request.getAdministeredAt() != null ? request.getAdministeredAt() : recordedAt;
+        if (administeredAt.isAfter(recordedAt.plusMinutes(FUTURE_TOLERANCE_MINUTES))) {
+            throw new IllegalArgumentException("administeredAt is in the future");
+        }
+        if (request.getNotes() != null && request.getNotes().length() > MAX_NOTES) {
+            throw new IllegalArgumentException("notes must be at most " + MAX_NOTES + " characters");
+        }
+        return new AdministrationResponse(request.getMedicationId(), patientId, status, administeredAt,
+                request.getScheduledFor(), recordedBy, recordedAt, request.getNotes());
+    }
+
+    // The patient behind each medication in the batch, in one query
+    private Map<Long, Long> patientsOf(List<AdministrationRequest> requests) {
+        List<Long> medicationIds = requests.stream()
+                .filter(request -> request != null && request.getMedicationId() != null)
+                .map(AdministrationRequest::getMedicationId)
+                .distinct()
+                .toList();
+        if (medicationIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> patients = new HashMap<>();
+        jdbcTemplate.query("SELECT m.id, r.patient_id FROM medications m JOIN medical_records r ON r.id = m.record_id "
+                        + "WHERE m.id IN (" + String.join(", ", Collections.nCopies(medicationIds.size(), "?")) + ")",
+                rs -> {
+                    patients.put(rs.getLong(1), rs.getLong(2));
+                }, medicationIds.toArray());
+        return patients;
+    }
+
+    // Sum the batch per patient and period first, so each rollup row is written once
+    private void addToRollup(String upsert, List<AdministrationResponse> events, boolean weekly) {
+        Map<List<Object>, int[]> counts = new LinkedHashMap<>();
+        for (AdministrationResponse event : events) {
+            LocalDate day = event.getAdministeredAt().toLocalDate();
+            int[] count = counts.computeIfAbsent(List.of(event.getPatientId(), weekly ? weekOf(day) : day), key -> new int[3]);
+            count[STATUSES.indexOf(event.getStatus())]++;
+        }
+        List<Map.Entry<List<Object>, int[]>> rows = new ArrayList<>(counts.entrySet());
+        jdbcTemplate.batchUpdate(upsert, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, (Long) row.getKey().get(0));
+            ps.setTimestamp(2, dayStamp((LocalDate) row.getKey().get(1)));
+            ps.setInt(3, row.getValue()[0]);
+            ps.setInt(4, row.getValue()[1]);
+            ps.setInt(5, row.getValue()[2]);
+        });
+    }
+
+    // Create the month's table inside the current transaction; remember it only once that commits
+    private void ensurePartition(YearMonth month) {
+        if (partitions.contains(month)) {
+            return;
+        }
+        String table = partition(month);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " (medication_id bigint not null, "
+                + "patient_id bigint not null, status varchar(20) not null, administered_at timestamp not null, "
+                + "scheduled_for timestamp, recorded_by varchar(255), recorded_at timestamp not null, notes varchar(500))");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_patient ON " + table + " (patient_id, administered_at)");
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS " + table + "_no_update BEFORE UPDATE ON " + table
+                + " BEGIN SELECT RAISE(ABORT, 'medication administrations are append-only'); END");
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS " + table + "_no_delete BEFORE DELETE ON " + table
+                + " BEGIN SELECT RAISE(ABORT, 'medication administrations are append-only'); END");
+        AfterCommit.run(() -> partitions.add(month));
+    }
+
+    private static String partition(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static LocalDate weekOf(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static Timestamp dayStamp(LocalDate day) {
+        return Timestamp.valueOf(day.atStartOfDay());
+    }
+
+    private static AdministrationResponse toResponse(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp scheduledFor = rs.getTimestamp("scheduled_for");
+        return new AdministrationResponse(rs.getLong("medication_id"), rs.getLong("patient_id"), rs.getString("status"),
+                rs.getTimestamp("administered_at").toLocalDateTime(),
+                scheduledFor == null ? null : scheduledFor.toLocalDateTime(),
+                rs.getString("recorded_by"), rs.getTimestamp("recorded_at").toLocalDateTime(), rs.getString("notes"));
+    }
+
+    private static AdherenceSummary toSummary(ResultSet rs, String period) throws SQLException {
+        return new AdherenceSummary(rs.getLong(1), period, rs.getTimestamp(2).toLocalDateTime().toLocalDate(),
+                rs.getInt(3), rs.getInt(4), rs.getInt(5));
+    }
+}
@@ -5,15 +5,17 @@ import com.app4080.eldercareserver.entity.Medication;
 import com.app4080.eldercareserver.repository.MedicalRecordRepository;
 import com.app4080.eldercareserver.repository.MedicationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.app4080.eldercareserver.dto.medication.*;
+import com.app4080.eldercareserver.dto.page.CursorPage;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -22,14 +24,17 @@ public class MedicationService {
     private final MedicationRepository medicationRepository;
     private final MedicalRecordService medicalRecordService;
     private final MedicalRecordRepository recordRepository;
+    private final DoseCalendar doseCalendar;
 
     @Autowired
     public MedicationService(MedicationRepository medicationRepository,
                              MedicalRecordService medicalRecordService,
-                             MedicalRecordRepository recordRepository) {
+                             MedicalRecordRepository recordRepository,
+                             DoseCalendar doseCalendar) {
         this.medicationRepository = medicationRepository;
         this.medicalRecordService = medicalRecordService;
         this.recordRepository = recordRepository;
+        this.doseCalendar = doseCalendar;
     }
 
     // Converts a Medication entity to MedicationResponse DTO
@@ -70,18 +75,20 @@ public class MedicationService {
         Medication medication = convertToEntity(medicationRequest);
         medication.setCreatedAt(LocalDateTime.now());
         Medication savedMedication = medicationRepository.save(medication);
-        return convertToResponse(savedMedication);
+        MedicationResponse response = convertToResponse(savedMedication);
+        MedicalRecord record = savedMedication.getMedicalRecord();
+        doseCalendar.medicationAdded(response, record.getPatient().getId(), record.getLocation());
+        return response;
     }
 
 
-    // Retrieves all medications and returns them as a list of MedicationResponse DTOs
+    // Retrieves one keyset page of medications as MedicationResponse DTOs
     @Transactional(readOnly = true)
-    public List<MedicationResponse> getAllMedications() {
-        Collectors Collectors = null;
-        return medicationRepository.findAll()
-                .stream()
-                .map(this::convertToResponse)
-                .collect(java.util.stream.Collectors.toList());
+    public CursorPage<MedicationResponse> getAllMedications(Long cursor, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<MedicationResponse> medications = medicationRepository
+                .findResponsesAfter(CursorPage.startAfter(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(medications, pageSize, MedicationResponse::getId);
     }
 
     // Retrieves medications for a
@@ -93,16 +100,14 @@ public class MedicationService {
             throw new IllegalArgumentException("Medical record does not exist");
         }
 
-        return medicationRepository.findByMedicalRecord(medicalRecord)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return medicationRepository.findResponsesByMedicalRecordId(medicalRecord.getId());
     }
 
     // Deletes a medication
     public void deleteMedication(Long medicationId) throws IllegalArgumentException {
         if (medicationRepository.existsById(medicationId)) {
             medicationRepository.deleteById(medicationId);
+            doseCalendar.medicationRemoved(medicationId);
         } else {
             throw new IllegalArgumentException("Medication does not exist");
         }
@@ -111,28 +116,25 @@ public class MedicationService {
     // Retrieves active medications and returns them as MedicationResponse DTOs
     @Transactional(readOnly = true)
     public List<MedicationResponse> findAllActiveMedications() {
-        return medicationRepository.findActiveMedications()
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return medicationRepository.findActiveMedications();
     }
 
     // Finds medications by name pattern and returns them as MedicationResponse DTOs
     @Transactional(readOnly = true)
     public List<MedicationResponse> findByName(String name) {
-        return medicationRepository.findByMedicationNameContainingIgnoreCase(name)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return medicationRepository.findResponsesByNameContaining(name);
+    }
+
+    // Doses due in [from, to) from the dose calendar, without touching the medications table
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<DoseDue> findDosesDue(LocalDateTime from, LocalDateTime to, String location, Long patientId, Integer limit) {
+        return doseCalendar.dosesDue(from, to, location, patientId, limit);
     }
 
     // Finds medications expiring soon and returns them as MedicationResponse DTOs
     @Transactional(readOnly = true)
     public List<MedicationResponse> findMedicationsExpiringSoon() {
-        return medicationRepository.findMedicationsExpiringSoon(LocalDateTime.now())
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return medicationRepository.findMedicationsExpiringSoon(LocalDateTime.now());
     }
 }
 
@@ -0,0 +1,278 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.dto.appointment.AppointmentResponse;
+import com.app4080.eldercareserver.dto.notification.AppointmentReminder;
+import com.app4080.eldercareserver.dto.notification.MedicationExpiryNotice;
+import com.app4080.eldercareserver.dto.notification.NotificationEvent;
+import com.app4080.eldercareserver.entity.User;
+import com.app4080.eldercareserver.repository.MedicationRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Server-sent event push channel. Each signed-in client holds one open stream; appointment
+// changes and medications entering their expiry window are pushed to the users they concern
+// instead of every open page re-fetching whole lists to spot them.
+//
+// Who hears about what:
+//   - an appointment, or a reminder of one, goes to its doctor and to staff whose primary or
+//     secondary location is the appointment's location
+//   - an expiring medication goes to the doctor who wrote the record and to staff at the
+//     record's location
+//
+// An idle stream is only an async request parked in the servlet container, so it holds no
+// thread. Sending happens on virtual threads, one drain per subscriber at a time, so a slow
+// client delays nobody else and each client sees its events in order. A client that falls
+// more than max-pending-events behind is disconnected and reconnects (EventSource does that
+// by itself).
+@Service
+public class NotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    private final MedicationRepository medicationRepository;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final int maxPendingEvents;
+    private final Duration expiryWindow;
+
+    private final Map<Long, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byLocation = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Medications ending at or before this instant have already been announced. It starts at
+    // startup time, so the first check announces everything already inside the window.
+    private volatile LocalDateTime announcedUntil;
+
+    public NotificationService(MedicationRepository medicationRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${eldercare.notifications.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                               @Value("${eldercare.notifications.max-pending-events:256}") int maxPendingEvents,
+                               @Value("${eldercare.notifications.expiry-window-hours:48}") long expiryWindowHours) {
+        this.medicationRepository = medicationRepository;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxPendingEvents = Math.max(1, maxPendingEvents);
+        this.expiryWindow = Duration.ofHours(expiryWindowHours);
+        this.announcedUntil = LocalDateTime.now();
+    }
+
+    // Open a stream for the user; it is dropped again when the client goes away or it times out
+    public SseEmitter subscribe(User user) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(user.getId(), locationsOf(user), emitter);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        subscribers.add(subscriber);
+        byUser.computeIfAbsent(subscriber.userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        for (String location : subscriber.locations) {
+            byLocation.computeIfAbsent(location, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        // Sent straight away so the client sees the stream open before the first real event
+        subscriber.offer(new Outgoing(eventIds.incrementAndGet(), "ready", "{}"));
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Push an appointment change once the surrounding transaction has committed
+    public void appointmentChanged(String type, AppointmentResponse appointment) {
+        AfterCommit.run(() -> publish(new NotificationEvent(type, LocalDateTime.now(), appointment),
+                appointment.getDoctorId(), appointment.getLocation()));
+    }
+
+    public void appointmentReminder(AppointmentReminder reminder) {
+        publish(new NotificationEvent(NotificationEvent.APPOINTMENT_REMINDER, LocalDateTime.now(), reminder),
+                reminder.getDoctorId(), reminder.getLocation());
+    }
+
+    // Announce medications whose end date has moved inside the expiry window since the last check
+    @Scheduled(fixedDelayString = "${eldercare.notifications.expiry-check-ms:900000}",
+            initialDelayString = "${eldercare.notifications.expiry-check-ms:900000}")
+    @Transactional(readOnly = true)
+    public void announceExpiringMedications() {
+        LocalDateTime from = announcedUntil;
+        LocalDateTime until = LocalDateTime.now().plus(expiryWindow);
+        if (!until.isAfter(from)) {
+            return;
+        }
+
+        List<MedicationExpiryNotice> expiring = medicationRepository.findExpiryNoticesBetween(from, until);
+        for (MedicationExpiryNotice notice : expiring) {
+            publish(new NotificationEvent(NotificationEvent.MEDICATION_EXPIRING, LocalDateTime.now(), notice),
+                    notice.getDoctorId(), notice.getLocation());
+        }
+        announcedUntil = until;
+        if (!expiring.isEmpty()) {
+            logger.info("Announced {} medications ending before {}", expiring.size(), until);
+        }
+    }
+
+    // Comment lines keep proxies from closing quiet streams and surface dead clients
+    @Scheduled(fixedRateString = "${eldercare.notifications.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(Outgoing.HEARTBEAT);
+        }
+    }
+
+    private void publish(NotificationEvent event, Long userId, String location) {
+        Set<Subscriber> recipients = new LinkedHashSet<>();
+        if (userId != null) {
+            recipients.addAll(byUser.getOrDefault(userId, Set.of()));
+        }
+        if (location != null) {
+            recipients.addAll(byLocation.getOrDefault(location, Set.of()));
+        }
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        // Serialised once, however many clients receive it
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            logger.error("Could not serialise {} notification: {}", event.getType(), e.getMessage());
+            return;
+        }
+        Outgoing outgoing = new Outgoing(eventIds.incrementAndGet(), event.getType(), json);
+        for (Subscriber subscriber : recipients) {
+            subscriber.offer(outgoing);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        subscriber.closed = true;
+        byUser.computeIfPresent(subscriber.userId, (id, set) -> set.remove(subscriber) && set.isEmpty() ? null : set);
+        for (String location : subscriber.locations) {
+            byLocation.computeIfPresent(location, (key, set) -> set.remove(subscriber) && set.isEmpty() ? null : set);
+        }
+    }
+
+    private static Set<String> locationsOf(User user) {
+        Set<String> locations = new LinkedHashSet<>();
+        if (user.getPrimaryLocation() != null && !user.getPrimaryLocation().isBlank()) {
+            locations.add(user.getPrimaryLocation());
+        }
+        if (user.getSecondaryLocation() != null && !user.getSecondaryLocation().isBlank()) {
+            locations.add(user.getSecondaryLocation());
+        }
+        return locations;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        fanOut.shutdown();
+    }
+
+    // An event ready to write; SseEventBuilder is single-use, so one is built per recipient
+    private record Outgoing(Long id, String name, String json) {
+
+        static final Outgoing HEARTBEAT = new Outgoing(null, null, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (json == null) {
+                return SseEmitter.event().comment("keepalive");
+            }
+            return SseEmitter.event().id(String.valueOf(id)).name(name).data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        final Long userId;
+        final Set<String> locations;
+        final SseEmitter emitter;
+        final Queue<Outgoing> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pendingCount = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(Long userId, Set<String> locations, SseEmitter emitter) {
+            this.userId = userId;
+            this.locations = locations;
+            this.emitter = emitter;
+        }
+
+        void offer(Outgoing outgoing) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                logger.info("Disconnecting notification stream of user {}: {} events behind", userId, maxPendingEvents);
+                close();
+                return;
+            }
+            pending.add(outgoing);
+            if (draining.compareAndSet(false, true)) {
+                fanOut.execute(this::drain);
+            }
+        }
+
+        // Only one drain runs per subscriber; the re-check after releasing the flag picks up
+        // anything offered while the last send was in progress
+        private void drain() {
+            do {
+                Outgoing outgoing;
+                while ((outgoing = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    if (closed) {
+                        continue;
+                    }
+                    try {
+                        emitter.send(outgoing.toEvent());
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away. The container completes the emitter itself and
+                        // must not be completed from here once the response has failed.
+                        unsubscribe(this);
+                    }
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void close() {
+            unsubscribe(this);
+            emitter.complete();
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package com.app4080.eldercareserver.service;
 
 import com.app4080.eldercareserver.config.accessConfig;
+import com.app4080.eldercareserver.dto.page.CursorPage;
 import com.app4080.eldercareserver.dto.patient.*;
 import com.app4080.eldercareserver.dto.user.LoginRequest;
 import com.app4080.eldercareserver.entity.Patient;
 import com.app4080.eldercareserver.entity.User;
 import com.app4080.eldercareserver.repository.PatientRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.file.AccessDeniedException;
@@ -22,11 +25,14 @@ public class PatientService {
 
     private final PatientRepository patientRepository;
     private final UserService userService;
+    private final PatientTypeaheadIndex typeaheadIndex;
 
     @Autowired
-    public PatientService(PatientRepository patientRepository, UserService userService) {
+    public PatientService(PatientRepository patientRepository, UserService userService,
+                          PatientTypeaheadIndex typeaheadIndex) {
         this.patientRepository = patientRepository;
         this.userService = userService;
+        this.typeaheadIndex = typeaheadIndex;
     }
 
     // Conversion Methods
@@ -91,27 +97,33 @@ public class PatientService {
         }
 
         Patient savedPatient = patientRepository.save(patient);
+        PatientSummary summary = convertToSummaryDto(savedPatient);
+        AfterCommit.run(() -> typeaheadIndex.add(summary));
         return convertToResponseDto(savedPatient);
     }
 
     @Transactional(readOnly = true)
-    public List<PatientResponse> getAllPatients() {
-        return patientRepository.findAll()
+    public CursorPage<PatientResponse> getAllPatients(Long cursor, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<PatientResponse> patients = patientRepository
+                .findByIdGreaterThanOrderByIdAsc(CursorPage.startAfter(cursor), Limit.of(pageSize + 1))
                 .stream()
                 .map(this::convertToResponseDto)
                 .collect(Collectors.toList());
+        return CursorPage.of(patients, pageSize, PatientResponse::getId);
     }
 
     @Transactional
-    public void deletePatient(Long patientId, User user) throws IllegalArgumentException, AccessDeniedException {
+    public void deletePatient(Long patientId, ResolvedPrincipal principal) throws IllegalArgumentException, AccessDeniedException {
         Patient patient = patientRepository.findById(patientId)
                 .orElseThrow(() -> new IllegalArgumentException("Patient does not exist"));
 
-        if (accessConfig.getTier(user.getPrivileges()) < 3) {
+        if (principal.getTier() < accessConfig.getTier("supervisor")) {
             throw new AccessDeniedException("Access denied");
         }
 
         patientRepository.delete(patient);
+        AfterCommit.run(() -> typeaheadIndex.remove(patientId));
     }
 
     @Transactional(readOnly = true)
@@ -130,6 +142,12 @@ public class PatientService {
                 .collect(Collectors.toList());
     }
 
+    // Served from the in-memory index; never touches the database
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<PatientSummary> typeahead(String query, int limit) {
+        return typeaheadIndex.search(query, limit);
+    }
+
     @Transactional(readOnly = true)
     public List<PatientSearch> findPatientsByAgeRange(int minAge, int maxAge) {
         return patientRepository.findByAgeRange(minAge, maxAge)
@@ -152,6 +170,7 @@ public class PatientService {
         else {throw new IllegalArgumentException("Patient does not exist");}
     }
 
+    @Transactional(readOnly = true)
     public PatientResponse getPatientRecord(LoginRequest loginRequest) throws AccessDeniedException {
         // Authenticate user and retrieve user details
         userService.login(loginRequest); // This performs login, throws an exception if failed
@@ -171,6 +190,7 @@ public class PatientService {
         return convertToResponseDto(patient);
     }
 
+    @Transactional(readOnly = true)
     public PatientResponse getPatientRecordStaff(String fname, String lname){
         Patient patient = patientRepository.findByFirstNameAndLastName(fname, lname)
                 .orElseThrow(() -> new IllegalArgumentException("Patient record not found"));
@@ -178,6 +198,7 @@ public class PatientService {
         return convertToResponseDto(patient);
     }
 
+    @Transactional(readOnly = true)
     public PatientResponse getPatientRecordStaff(Long patientId){
         Patient patient = patientRepository.findById(patientId)
                 .orElseThrow(() -> new IllegalArgumentException("Patient does not exist"));
@@ -0,0 +1,281 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.dto.patient.PatientSummary;
+import com.app4080.eldercareserver.repository.PatientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory typeahead over patient names and phone numbers. Queries of three or more
+// characters intersect trigram posting lists; shorter ones use a sorted token map for prefix
+// lookup. Built once at startup and kept current by PatientService, so lookups never hit SQLite.
+@Component
+public class PatientTypeaheadIndex implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientTypeaheadIndex.class);
+
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+    private final TreeMap<String, Set<Long>> tokens = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public PatientTypeaheadIndex(PatientRepository patientRepository, PlatformTransactionManager transactionManager) {
+        this.patientRepository = patientRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // Reload every patient; used at startup
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            trigrams.clear();
+            tokens.clear();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<PatientSummary> patients = patientRepository.streamSummaries()) {
+                    patients.forEach(this::addLocked);
+                }
+            });
+            logger.info("Patient typeahead index built with {} patients", entries.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(PatientSummary patient) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(patient.getId());
+            addLocked(patient);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long patientId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(patientId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best matches first: name prefix, then full-name prefix, then substring anywhere
+    public List<PatientSummary> search(String query, int limit) {
+        String name = normalize(query);
+        String digits = digitsOf(query);
+        if (name.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = name.length() >= 3 ? trigramCandidates(name, digits) : prefixCandidates(name);
+
+            Comparator<Match> order = Comparator.<Match>comparingInt(m -> m.rank)
+                    .thenComparing(m -> m.entry.sortKey)
+                    .thenComparing(m -> m.entry.summary.getId());
+            PriorityQueue<Match> best = new PriorityQueue<>(order.reversed());
+
+            for (Long id : candidates) {
+                Entry entry = entries.get(id);
+                int rank = entry.rank(name, digits);
+                if (rank < 0) {
+                    continue;
+                }
+                best.add(new Match(entry, rank));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<PatientSummary> results = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                results.add(best.poll().entry.summary);
+            }
+            Collections.reverse(results);
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> trigramCandidates(String name, String digits) {
+        Set<Long> candidates = intersect(trigramsOf(name));
+        if (digits.length() >= 3 && !digits.equals(name)) {
+            candidates = new HashSet<>(candidates);
+            candidates.addAll(intersect(trigramsOf(digits)));
+        }
+        return candidates;
+    }
+
+    private Set<Long> intersect(Set<String> grams) {
+        Set<Long> result = null;
+        for (String gram : grams) {
+            Set<Long> posting = trigrams.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            if (result == null) {
+                result = new HashSet<>(posting);
+            } else {
+                result.retainAll(posting);
+            }
+            if (result.isEmpty()) {
+                return result;
+            }
+        }
+        return result == null ? Set.of() : result;
+    }
+
+    private Set<Long> prefixCandidates(String prefix) {
+        Set<Long> candidates = new HashSet<>();
+        for (Set<Long> ids : tokens.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            candidates.addAll(ids);
+        }
+        return candidates;
+    }
+
+    private void addLocked(PatientSummary patient) {
+        Entry entry = new Entry(patient);
+        entries.put(patient.getId(), entry);
+        for (String gram : entry.trigrams()) {
+            trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(patient.getId());
+        }
+        for (String token : entry.tokens()) {
+            tokens.computeIfAbsent(token, t -> new HashSet<>()).add(patient.getId());
+        }
+    }
+
+    private void removeLocked(Long patientId) {
+        Entry entry = entries.remove(patientId);
+        if (entry == null) {
+            return;
+        }
+        for (String gram : entry.trigrams()) {
+            Set<Long> ids = trigrams.get(gram);
+            if (ids != null && ids.remove(patientId) && ids.isEmpty()) {
+                trigrams.remove(gram);
+            }
+        }
+        for (String token : entry.tokens()) {
+            Set<Long> ids = tokens.get(token);
+            if (ids != null && ids.remove(patientId) && ids.isEmpty()) {
+                tokens.remove(token);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static String digitsOf(String value) {
+        return value == null ? "" : value.replaceAll("\\D", "");
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private record Match(Entry entry, int rank) {
+    }
+
+    private static final class Entry {
+        private final PatientSummary summary;
+        private final String firstName;
+        private final String lastName;
+        private final String fullName;
+        private final String phone;
+        private final String sortKey;
+
+        private Entry(PatientSummary summary) {
+            this.summary = summary;
+            this.firstName = normalize(summary.getFirstName());
+            this.lastName = normalize(summary.getLastName());
+            this.fullName = (firstName + " " + lastName).trim();
+            this.phone = digitsOf(summary.getPhoneNumber());
+            this.sortKey = lastName + " " + firstName;
+        }
+
+        private Set<String> trigrams() {
+            Set<String> grams = trigramsOf(fullName);
+            grams.addAll(trigramsOf(lastName + " " + firstName));
+            grams.addAll(trigramsOf(phone));
+            return grams;
+        }
+
+        private Set<String> tokens() {
+            Set<String> result = new HashSet<>();
+            for (String token : fullName.split(" ")) {
+                if (!token.isEmpty()) {
+                    result.add(token);
+                }
+            }
+            if (!phone.isEmpty()) {
+                result.add(phone);
+            }
+            return result;
+        }
+
+        // Lower is better; -1 means the candidate does not actually match
+        private int rank(String query, String digits) {
+            if (firstName.startsWith(query) || lastName.startsWith(query)) {
+                return 0;
+            }
+            if (fullName.startsWith(query) || (lastName + " " + firstName).startsWith(query)) {
+                return 1;
+            }
+            if (!digits.isEmpty() && phone.startsWith(digits)) {
+                return 1;
+            }
+            if (fullName.contains(query) || (lastName + " " + firstName).contains(query)) {
+                return 2;
+            }
+            if (digits.length() >= 3 && phone.contains(digits)) {
+                return 2;
+            }
+            return -1;
+        }
+    }
+}
@@ -1,20 +1,27 @@
 package com.app4080.eldercareserver.service;
 
+import com.app4080.eldercareserver.dto.page.CursorPage;
 import com.app4080.eldercareserver.dto.prescription.PrescriptionResponse;
 import com.app4080.eldercareserver.dto.prescription.PrescriptionRequest;
-import com.app4080.eldercareserver.entity.MedicalRecord;
 import com.app4080.eldercareserver.entity.Prescription;
 import com.app4080.eldercareserver.repository.MedicalRecordRepository;
 import com.app4080.eldercareserver.repository.MedicationRepository;
 import com.app4080.eldercareserver.repository.PrescriptionRepository;
 import com.app4080.eldercareserver.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -24,16 +31,31 @@ public class PrescriptionService {
     private final MedicalRecordRepository medicalRecordRepository;
     private final UserRepository userRepository;
     private final MedicationRepository medicationRepository;
+    private final ExportWriter exportWriter;
+
+    private static final Map<String, Function<PrescriptionResponse, Object>> CSV_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        CSV_COLUMNS.put("id", PrescriptionResponse::getId);
+        CSV_COLUMNS.put("record_id", PrescriptionResponse::getMedicalRecordId);
+        CSV_COLUMNS.put("medication_id", PrescriptionResponse::getMedicationId);
+        CSV_COLUMNS.put("doctor_id", PrescriptionResponse::getDoctorId);
+        CSV_COLUMNS.put("instructions", PrescriptionResponse::getInstructions);
+        CSV_COLUMNS.put("issued_date", PrescriptionResponse::getIssuedDate);
+        CSV_COLUMNS.put("created_at", PrescriptionResponse::getCreatedAt);
+    }
 
     @Autowired
     public PrescriptionService(PrescriptionRepository prescriptionRepository,
                                MedicalRecordRepository medicalRecordRepository,
                                UserRepository userRepository,
-                               MedicationRepository medicationRepository) {
+                               MedicationRepository medicationRepository,
+                               ExportWriter exportWriter) {
         this.prescriptionRepository = prescriptionRepository;
         this.medicalRecordRepository = medicalRecordRepository;
         this.userRepository = userRepository;
         this.medicationRepository = medicationRepository;
+        this.exportWriter = exportWriter;
     }
 
     // Convert Prescription entity to PrescriptionResponse DTO
@@ -86,22 +108,22 @@ public class PrescriptionService {
         }
     }
 
-    // Retrieve all prescriptions
+    // Retrieve one keyset page of prescriptions
     @Transactional(readOnly = true)
-    public List<PrescriptionResponse> getAllPrescriptions() {
-        return prescriptionRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<PrescriptionResponse> getAllPrescriptions(Long cursor, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<PrescriptionResponse> prescriptions = prescriptionRepository
+                .findResponsesAfter(CursorPage.startAfter(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(prescriptions, pageSize, PrescriptionResponse::getId);
     }
 
     // Retrieve prescriptions by medical record
     @Transactional(readOnly = true)
     public List<PrescriptionResponse> getPrescriptionsByMedicalRecord(Long medicalRecordId) {
-        MedicalRecord medicalRecord = medicalRecordRepository.findById(medicalRecordId)
-                .orElseThrow(() -> new IllegalArgumentException("Medical record does not exist"));
-        return prescriptionRepository.findByMedicalRecord(medicalRecord).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        if (!medicalRecordRepository.existsById(medicalRecordId)) {
+            throw new IllegalArgumentException("Medical record does not exist");
+        }
+        return prescriptionRepository.findResponsesByMedicalRecordId(medicalRecordId);
     }
 
     // Retrieve prescriptions by doctor
@@ -110,9 +132,7 @@ public class PrescriptionService {
         if (!userRepository.existsById(doctorId)) {
             throw new IllegalArgumentException("Doctor does not exist");
         }
-        return prescriptionRepository.findByDoctorId(doctorId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return prescriptionRepository.findResponsesByDoctorId(doctorId);
     }
 
     // Retrieve prescriptions by medication
@@ -121,33 +141,37 @@ public class PrescriptionService {
         if (!medicationRepository.existsById(medicationId)) {
             throw new IllegalArgumentException("Medication does not exist");
         }
-        return prescriptionRepository.findByMedicationId(medicationId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return prescriptionRepository.findResponsesByMedicationId(medicationId);
     }
 
     // Retrieve active prescriptions
     @Transactional(readOnly = true)
     public List<PrescriptionResponse> findActivePrescriptions() {
-        return prescriptionRepository.findActivePrescriptions().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return prescriptionRepository.findActivePrescriptions();
     }
 
     // Retrieve prescriptions by date range
     @Transactional(readOnly = true)
     public List<PrescriptionResponse> findPrescriptionsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return prescriptionRepository.findByIssuedDateBetween(startDate, endDate).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return prescriptionRepository.findResponsesByIssuedDateBetween(startDate, endDate);
+    }
+
+    // Stream every prescription (optionally within an issued date range) to the output
+    @Transactional(readOnly = true)
+    public long exportPrescriptions(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+                                    OutputStream out) throws IOException {
+        ExportWriter.checkRange(startDate, endDate);
+        try (Stream<PrescriptionResponse> rows = (startDate != null && endDate != null)
+                ? prescriptionRepository.streamByIssuedDateBetween(startDate, endDate)
+                : prescriptionRepository.streamAll()) {
+            return exportWriter.write(rows, Function.identity(), format, CSV_COLUMNS, out);
+        }
     }
 
     // Retrieve prescriptions by patient ID
     @Transactional(readOnly = true)
     public List<PrescriptionResponse> findPrescriptionsByPatientId(Long patientId) {
-        return prescriptionRepository.findByPatientId(patientId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return prescriptionRepository.findResponsesByPatientId(patientId);
     }
 }
 
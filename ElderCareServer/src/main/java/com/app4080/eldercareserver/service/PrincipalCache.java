@@ -0,0 +1,152 @@
+package com.app4080.eldercareserver.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded, TTL-evicting cache of username -> (role, privilege tier) shared across requests.
+// Entries are dropped by UserService whenever the underlying user is updated or deleted.
+//
+// A loader may have read the user row from a snapshot taken before such an update committed.
+// Every invalidate() bumps the username's generation, and a put made with a generation read
+// before the bump is discarded, so the stale row cannot outlive the invalidation. Generations
+// are striped by username hash: a collision only costs a skipped put.
+@Component
+public class PrincipalCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    // Entries dropped at once when the cache is full, so the sort in evict() runs once per batch
+    // of misses rather than on every one
+    private final int evictionBatch;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    // Running counts published by PrincipalCacheMetrics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PrincipalCache(@Value("${eldercare.auth.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${eldercare.auth.principal-cache.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.evictionBatch = Math.max(1, maxEntries / 10);
+    }
+
+    public Optional<ResolvedPrincipal> get(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(username, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.principal);
+    }
+
+    // Read before loading the user row, and passed back to put()
+    public long generation(String username) {
+        return generations.get(stripe(username));
+    }
+
+    public void put(ResolvedPrincipal principal, long generation) {
+        String username = principal.getUsername();
+        if (maxEntries <= 0 || ttlMillis <= 0 || generation(username) != generation) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        Entry entry = new Entry(principal, System.currentTimeMillis() + ttlMillis);
+        entries.put(username, entry);
+        // An invalidate() that ran between the check above and the put has already done its remove
+        if (generation(username) != generation) {
+            entries.remove(username, entry);
+            return;
+        }
+        puts.increment();
+    }
+
+    public void invalidate(String username) {
+        generations.incrementAndGet(stripe(username));
+        entries.remove(username);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getPutCount() {
+        return puts.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    // Drop expired entries first; if that frees less than a batch, drop the entries closest to
+    // expiry until a batch of room is free
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().isExpired(now);
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue((a, b) -> Long.compare(a.expiresAt, b.expiresAt)))
+                .limit(Math.max(0, entries.size() - (maxEntries - evictionBatch)))
+                .iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> oldest = it.next();
+            if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static int stripe(String username) {
+        return (username.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private static final class Entry {
+        private final ResolvedPrincipal principal;
+        private final long expiresAt;
+
+        private Entry(ResolvedPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -5,14 +5,24 @@ import com.app4080.eldercareserver.repository.PatientRepository;
 import com.app4080.eldercareserver.repository.ProgressReportRepository;
 import com.app4080.eldercareserver.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import com.app4080.eldercareserver.dto.page.CursorPage;
 import com.app4080.eldercareserver.dto.progressreport.ProgressReportRequest;
 import com.app4080.eldercareserver.dto.progressreport.ProgressReportResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -21,17 +31,44 @@ public class ProgressReportService {
     private final ProgressReportRepository progressReportRepository;
     private final PatientRepository patientRepository;
     private final UserRepository userRepository;
+    private final ExportWriter exportWriter;
+    private final GroupCommitWriter groupCommitWriter;
+
+    @Value("${eldercare.search.max-results:200}")
+    private int maxSearchResults;
+
+    private static final Map<String, Function<ProgressReportResponse, Object>> CSV_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        CSV_COLUMNS.put("id", ProgressReportResponse::getId);
+        CSV_COLUMNS.put("patient_id", ProgressReportResponse::getPatientId);
+        CSV_COLUMNS.put("caregiver_id", ProgressReportResponse::getCaregiverId);
+        CSV_COLUMNS.put("date", ProgressReportResponse::getDate);
+        CSV_COLUMNS.put("summary", ProgressReportResponse::getSummary);
+        CSV_COLUMNS.put("recommendations", ProgressReportResponse::getRecommendations);
+        CSV_COLUMNS.put("created_at", ProgressReportResponse::getCreatedAt);
+    }
 
     @Autowired
     public ProgressReportService(ProgressReportRepository progressReportRepository,
                                  PatientRepository patientRepository,
-                                 UserRepository userRepository) {
+                                 UserRepository userRepository,
+                                 ExportWriter exportWriter,
+                                 GroupCommitWriter groupCommitWriter) {
         this.progressReportRepository = progressReportRepository;
         this.patientRepository = patientRepository;
         this.userRepository = userRepository;
+        this.exportWriter = exportWriter;
+        this.groupCommitWriter = groupCommitWriter;
     }
 
+    // Runs outside the class transaction so concurrent reports can share one commit
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ProgressReportResponse createProgressReport(ProgressReportRequest request) {
+        return groupCommitWriter.submit(() -> insertProgressReport(request));
+    }
+
+    private ProgressReportResponse insertProgressReport(ProgressReportRequest request) {
         ProgressReport progressReport = fromRequest(request);
         progressReport.setCreatedAt(LocalDateTime.now());
         ProgressReport savedReport = progressReportRepository.save(progressReport);
@@ -43,11 +80,11 @@ public class ProgressReportService {
     }
 
     @Transactional(readOnly = true)
-    public List<ProgressReportResponse> getAllProgressReports() {
-        return progressReportRepository.findAll()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<ProgressReportResponse> getAllProgressReports(Long cursor, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<ProgressReportResponse> reports = progressReportRepository
+                .findResponsesAfter(CursorPage.startAfter(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(reports, pageSize, ProgressReportResponse::getId);
     }
 
     @Transactional(readOnly = true)
@@ -55,10 +92,7 @@ public class ProgressReportService {
         if (!patientRepository.existsById(patientId)) {
             throw new IllegalArgumentException("Patient not found");
         }
-        return progressReportRepository.findByPatientId(patientId)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return progressReportRepository.findResponsesByPatientId(patientId);
     }
 
     @Transactional(readOnly = true)
@@ -66,28 +100,38 @@ public class ProgressReportService {
         if (!userRepository.existsById(caregiverId)) {
             throw new IllegalArgumentException("Caregiver not found");
         }
-        return progressReportRepository.findByCaregiverId(caregiverId)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return progressReportRepository.findResponsesByCaregiverId(caregiverId);
     }
 
     @Transactional(readOnly = true)
     public List<ProgressReportResponse> findPRbyRange(LocalDateTime start, LocalDateTime end) {
-        return progressReportRepository.findByDateBetween(start, end)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return progressReportRepository.findResponsesByDateBetween(start, end);
     }
 
     @Transactional(readOnly = true)
     public List<ProgressReportResponse> keywordSearch(String keyword) {
-        return progressReportRepository.searchReports(keyword)
+        String match = FullTextQuery.toMatchExpression(keyword);
+        if (match == null) {
+            return List.of();
+        }
+        return progressReportRepository.searchReports(match, maxSearchResults)
                 .stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
+    // Stream every report (optionally within a date range) to the output
+    @Transactional(readOnly = true)
+    public long exportProgressReports(LocalDateTime start, LocalDateTime end, ExportFormat format,
+                                      OutputStream out) throws IOException {
+        ExportWriter.checkRange(start, end);
+        try (Stream<ProgressReportResponse> rows = (start != null && end != null)
+                ? progressReportRepository.streamByDateBetween(start, end)
+                : progressReportRepository.streamAll()) {
+            return exportWriter.write(rows, Function.identity(), format, CSV_COLUMNS, out);
+        }
+    }
+
     // Helper method to convert a ProgressReport entity to a ProgressReportResponse
     private ProgressReportResponse toResponse(ProgressReport report) {
         ProgressReportResponse response = new ProgressReportResponse();
@@ -0,0 +1,32 @@
+package com.app4080.eldercareserver.service;
+
+import java.time.LocalDateTime;
+
+// How a recurring appointment series repeats; interval scales the unit (every 2 weeks, etc.)
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    public static RecurrenceFrequency fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Recurrence frequency is required");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported recurrence frequency: " + value);
+        }
+    }
+
+    // The n-th occurrence counted from the first one. Months are added from the anchor rather
+    // than chained, so a series starting on the 31st does not drift to the 28th after February.
+    public LocalDateTime occurrence(LocalDateTime first, int interval, int n) {
+        long steps = (long) interval * n;
+        return switch (this) {
+            case DAILY -> first.plusDays(steps);
+            case WEEKLY -> first.plusWeeks(steps);
+            case MONTHLY -> first.plusMonths(steps);
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.config.accessConfig;
+import com.app4080.eldercareserver.entity.User;
+
+// The authorization-relevant slice of a User: enough to answer role and privilege checks
+// without keeping a managed entity (and its password) around between requests.
+public final class ResolvedPrincipal {
+
+    // Request attribute holding the principal verified from a bearer token
+    public static final String BEARER_ATTRIBUTE = ResolvedPrincipal.class.getName() + ".bearer";
+
+    private final Long id;
+    private final String username;
+    private final String role;
+    private final String privileges;
+
+    public ResolvedPrincipal(Long id, String username, String role, String privileges) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.privileges = privileges;
+    }
+
+    public static ResolvedPrincipal of(User user) {
+        return new ResolvedPrincipal(user.getId(), user.getUsername(), user.getRole(), user.getPrivileges());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getPrivileges() {
+        return privileges;
+    }
+
+    public int getTier() {
+        return accessConfig.getTier(privileges);
+    }
+}
@@ -0,0 +1,18 @@
+package com.app4080.eldercareserver.service;
+
+// Thrown when a booking would overlap an appointment the doctor already has
+public class SchedulingConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long conflictingAppointmentId;
+
+    public SchedulingConflictException(String message, Long conflictingAppointmentId) {
+        super(message);
+        this.conflictingAppointmentId = conflictingAppointmentId;
+    }
+
+    public Long getConflictingAppointmentId() {
+        return conflictingAppointmentId;
+    }
+}
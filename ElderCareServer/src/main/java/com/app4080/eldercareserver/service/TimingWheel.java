@@ -0,0 +1,194 @@
+package com.app4080.eldercareserver.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hierarchical hashed timing wheel (Varghese & Lauck). Time advances in ticks; level 0 has one
+// bucket per tick, and each level above it has buckets spanning a whole turn of the level
+// below. A timer is dropped into the bucket for its deadline at the lowest level that reaches
+// that far. When a lower level wraps, the next bucket of the level above is cascaded down.
+//
+// Adding and cancelling are O(1), because buckets are intrusive doubly linked lists. Each tick
+// costs O(1) plus the timers that fire. A timer is moved at most once per level on its way
+// down. With the default 512 buckets and 1 s ticks, three levels reach about four years;
+// timers beyond that sit in the top level and are placed again whenever it cascades.
+//
+// Thread-safe: every operation holds the wheel's lock. advance() returns the expired payloads
+// rather than running callbacks, so nothing slow happens under the lock.
+final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Bucket<T>[][] levels;
+
+    // The last tick that has been processed; timers due at or before it have fired
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimingWheel(long tickMillis, int bucketsPerLevel, int levelCount, long startMillis) {
+        if (tickMillis < 1 || levelCount < 1 || Integer.bitCount(bucketsPerLevel) != 1 || bucketsPerLevel < 2) {
+            throw new IllegalArgumentException("Tick must be positive and buckets per level a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(bucketsPerLevel);
+        this.mask = bucketsPerLevel - 1;
+        if ((long) bits * levelCount >= 62) {
+            throw new IllegalArgumentException("Too many levels for " + bucketsPerLevel + " buckets");
+        }
+        this.levels = new Bucket[levelCount][bucketsPerLevel];
+        for (Bucket<T>[] level : levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Bucket<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    // Schedule a payload; a deadline that has already passed fires on the next tick
+    synchronized Timer<T> schedule(long deadlineMillis, T payload) {
+        Timer<T> timer = new Timer<>(Math.max(deadlineMillis / tickMillis, currentTick + 1), payload);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    // Returns false if the timer had already fired or been cancelled
+    synchronized boolean cancel(Timer<T> timer) {
+        if (timer.bucket == null) {
+            return false;
+        }
+        timer.bucket.unlink(timer);
+        size--;
+        return true;
+    }
+
+    // Process every tick up to nowMillis and return what fired, earliest tick first
+    synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            int index = (int) (currentTick & mask);
+            if (index == 0) {
+                cascade(1);
+            }
+            Bucket<T> bucket = levels[0][index];
+            for (Timer<T> timer = bucket.head; timer != null; timer = bucket.head) {
+                bucket.unlink(timer);
+                size--;
+                expired.add(timer.payload);
+            }
+        }
+        return expired;
+    }
+
+    synchronized boolean isPending(Timer<T> timer) {
+        return timer.bucket != null;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    long tickMillis() {
+        return tickMillis;
+    }
+
+    // Re-place the timers of the level's current bucket, which now fit in the levels below it.
+    // A level that wraps cascades the one above first, so those timers are placed in turn.
+    private void cascade(int level) {
+        if (level >= levels.length) {
+            return;
+        }
+        int index = (int) ((currentTick >>> (bits * level)) & mask);
+        if (index == 0) {
+            cascade(level + 1);
+        }
+        Bucket<T> bucket = levels[level][index];
+        Timer<T> timer = bucket.head;
+        bucket.head = null;
+        bucket.tail = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.next = null;
+            timer.prev = null;
+            timer.bucket = null;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        long deadline = timer.deadlineTick;
+        int level = 0;
+        while (level < levels.length - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        long reach = 1L << (bits * (level + 1));
+        if (delta >= reach) {
+            // Beyond the top level: park in its furthest bucket and place again when it cascades
+            deadline = currentTick + reach - 1;
+        }
+        if (delta <= 0) {
+            // Only reached while cascading: due this very tick, which advance() fires next
+            deadline = currentTick;
+        }
+        int index = (int) ((deadline >>> (bits * level)) & mask);
+        levels[level][index].append(timer);
+    }
+
+    static final class Timer<T> {
+
+        private final long deadlineTick;
+        private final T payload;
+        private Timer<T> prev;
+        private Timer<T> next;
+        private Bucket<T> bucket;
+
+        private Timer(long deadlineTick, T payload) {
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+
+        T payload() {
+            return payload;
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private Timer<T> head;
+        private Timer<T> tail;
+
+        void append(Timer<T> timer) {
+            timer.bucket = this;
+            timer.prev = tail;
+            timer.next = null;
+            if (tail == null) {
+                head = timer;
+            } else {
+                tail.next = timer;
+            }
+            tail = timer;
+        }
+
+        void unlink(Timer<T> timer) {
+            if (timer.prev == null) {
+                head = timer.next;
+            } else {
+                timer.prev.next = timer.next;
+            }
+            if (timer.next == null) {
+                tail = timer.prev;
+            } else {
+                timer.next.prev = timer.prev;
+            }
+            timer.prev = null;
+            timer.next = null;
+            timer.bucket = null;
+        }
+    }
+}
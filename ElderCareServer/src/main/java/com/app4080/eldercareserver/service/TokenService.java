@@ -0,0 +1,86 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.DecodingException;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Date;
+
+// Issues and verifies HS256 bearer tokens with a configured key, so any server instance
+// sharing the key can authenticate a request. Role and privilege claims are informational;
+// UserService re-reads both from the user row, so a changed or deleted user loses access at once.
+@Service
+public class TokenService {
+
+    private static final int MIN_KEY_BYTES = 32;
+
+    private static final String ROLE_CLAIM = "role";
+    private static final String PRIVILEGES_CLAIM = "privileges";
+    private static final String USER_ID_CLAIM = "uid";
+
+    private final SecretKey signingKey;
+    private final Duration expiration;
+
+    public TokenService(@Value("${eldercare.jwt.secret:}") String secret,
+                        @Value("${eldercare.jwt.expiration-hours:12}") long expirationHours) {
+        this.signingKey = Keys.hmacShaKeyFor(decodeSecret(secret));
+        this.expiration = Duration.ofHours(expirationHours);
+    }
+
+    // There is no fallback key: a server that cannot sign tokens safely must not start
+    private static byte[] decodeSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("eldercare.jwt.secret is not set; provide a Base64-encoded key of at least "
+                    + MIN_KEY_BYTES * 8 + " bits through ELDERCARE_JWT_SECRET");
+        }
+        byte[] key;
+        try {
+            key = Decoders.BASE64.decode(secret.trim());
+        } catch (DecodingException e) {
+            throw new IllegalStateException("eldercare.jwt.secret is not valid Base64", e);
+        }
+        if (key.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("eldercare.jwt.secret is " + key.length * 8 + " bits; at least "
+                    + MIN_KEY_BYTES * 8 + " are required");
+        }
+        return key;
+    }
+
+    public String generateToken(User user) {
+        long now = System.currentTimeMillis();
+
+        return Jwts.builder()
+                .subject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole())
+                .claim(PRIVILEGES_CLAIM, user.getPrivileges())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration.toMillis()))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    // Verify signature and expiry, then rebuild the principal from the claims
+    public ResolvedPrincipal verify(String token) throws JwtException {
+        Claims claims = Jwts.parser()
+                .verifyWith(signingKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return new ResolvedPrincipal(
+                userId != null ? userId.longValue() : null,
+                claims.getSubject(),
+                claims.get(ROLE_CLAIM, String.class),
+                claims.get(PRIVILEGES_CLAIM, String.class));
+    }
+}
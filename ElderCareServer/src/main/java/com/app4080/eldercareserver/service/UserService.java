@@ -9,7 +9,10 @@ import com.app4080.eldercareserver.entity.User;
 import com.app4080.eldercareserver.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
@@ -21,17 +24,69 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserService {
 
+    private static final String REQUEST_PRINCIPAL_PREFIX = UserService.class.getName() + ".principal:";
+
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, PrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+    }
+
+    // Resolve the role and privileges of a user, at most one database lookup per request. A verified
+    // bearer token only establishes who the caller is; role and privileges always come from the
+    // user row (through PrincipalCache, which is invalidated on every update), so a token issued
+    // before a demotion or deletion carries no more than the user has now.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ResolvedPrincipal resolvePrincipal(String username) throws AccessDeniedException {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        ResolvedPrincipal bearer = null;
+        if (attributes != null
+                && attributes.getAttribute(ResolvedPrincipal.BEARER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof ResolvedPrincipal verified) {
+            if (username != null && !username.equals(verified.getUsername())) {
+                throw new AccessDeniedException("Token does not belong to " + username);
+            }
+            bearer = verified;
+            username = verified.getUsername();
+        }
+        if (username == null) {
+            throw new AccessDeniedException("Authentication required");
+        }
+
+        String key = REQUEST_PRINCIPAL_PREFIX + username;
+        if (attributes != null
+                && attributes.getAttribute(key, RequestAttributes.SCOPE_REQUEST) instanceof ResolvedPrincipal principal) {
+            return principal;
+        }
+
+        ResolvedPrincipal principal = principalCache.get(username).orElse(null);
+        if (principal == null) {
+            long generation = principalCache.generation(username);
+            Optional<User> user = userRepository.findByUsername(username);
+            if (user.isEmpty()) {
+                if (bearer != null) {
+                    throw new AccessDeniedException("Token user no longer exists");
+                }
+                throw new IllegalArgumentException("User not found");
+            }
+            principal = ResolvedPrincipal.of(user.get());
+            principalCache.put(principal, generation);
+        }
+
+        if (attributes != null) {
+            attributes.setAttribute(key, principal, RequestAttributes.SCOPE_REQUEST);
+        }
+        return principal;
     }
 
     // Validate user privileges
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void validatePrivileges(String username, String requiredPrivilege) throws AccessDeniedException {
-        User user = fetchUserByUsername(username);
-        int currentAccess = accessConfig.getTier(user.getPrivileges());
+        ResolvedPrincipal principal = resolvePrincipal(username);
+        int currentAccess = principal.getTier();
         int requiredAccess = accessConfig.getTier(requiredPrivilege);
 
         if (currentAccess < requiredAccess) {
@@ -40,13 +95,27 @@ public class UserService {
     }
 
     // Validate user role
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void validateRole(String username, List<String> requiredRole) throws AccessDeniedException {
-        User user = fetchUserByUsername(username);
-        if (requiredRole.contains(user.getRole())) return;
+        ResolvedPrincipal principal = resolvePrincipal(username);
+        if (requiredRole.contains(principal.getRole())) return;
 
         throw new AccessDeniedException("User lacking required role");
     }
 
+    // Drop a cached principal now and again once the surrounding transaction commits,
+    // so a concurrent lookup cannot re-cache the pre-update row
+    private void evictPrincipal(String username) {
+        principalCache.invalidate(username);
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(REQUEST_PRINCIPAL_PREFIX + username, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        AfterCommit.run(() -> principalCache.invalidate(username));
+    }
+
     // Convert User entity to UserResponse DTO
     private UserResponse convertToResponse(User user) {
         UserResponse response = new UserResponse();
@@ -105,6 +174,7 @@ public class UserService {
         user.setPrivileges(updateRequest.getPrivileges());
 
         user = userRepository.save(user);
+        evictPrincipal(user.getUsername());
         return convertToResponse(user);
     }
 
@@ -118,9 +188,11 @@ public class UserService {
         }
 
         userRepository.delete(user.get());
+        evictPrincipal(user.get().getUsername());
     }
 
     // Login validation
+    @Transactional(readOnly = true)
     public void login(LoginRequest loginRequest) throws AccessDeniedException, IllegalArgumentException {
         Optional<User> existing = userRepository.findByUsername(loginRequest.getUsername());
 
@@ -134,6 +206,7 @@ public class UserService {
     }
 
     // Fetch user by username
+    @Transactional(readOnly = true)
     public User fetchUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -208,6 +281,7 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public User fetchUserById(Long id) {
         return userRepository.findById(id).orElseThrow(IllegalArgumentException::new);
     }
@@ -0,0 +1,16 @@
+-- Schema as it stood when migrations were introduced. Databases created before then already
+-- have these tables and are baselined at this version without running it.
+
+CREATE TABLE IF NOT EXISTS users (id integer, created_at timestamp not null, email varchar(150) not null, password varchar(255) not null, phone_number varchar(20), role varchar(50) not null, username varchar(100) not null, primary_location varchar(255) not null, privileges varchar(255) not null, secondary_location varchar(255), first_name varchar(255), second_name varchar(255), primary key (id), unique (username));
+
+CREATE TABLE IF NOT EXISTS patients (id integer, address varchar(250) not null, created_at date not null, dob date not null, emergency_contact varchar(100), emergency_contact_phone varchar(20), first_name varchar(100) not null, gender varchar(10) not null, last_name varchar(100) not null, phone_number varchar(20), primary key (id));
+
+CREATE TABLE IF NOT EXISTS medical_records (id integer, created_at date not null, date_of_visit date not null, diagnosis varchar(500) not null, notes varchar(2000), treatment_plan varchar(1000), doctor_id bigint not null, patient_id bigint not null, location varchar(255) not null, primary key (id));
+
+CREATE TABLE IF NOT EXISTS medications (id integer, created_at date not null, dosage varchar(50) not null, end_date date, frequency varchar(50) not null, medication_name varchar(200) not null, start_date date not null, record_id bigint not null, primary key (id));
+
+CREATE TABLE IF NOT EXISTS prescriptions (id integer, created_at date not null, instructions varchar(1000), issued_date date not null, doctor_id bigint not null, record_id bigint not null, medication_id bigint not null, primary key (id));
+
+CREATE TABLE IF NOT EXISTS progress_reports (id integer, created_at date not null, date date not null, recommendations varchar(1000), summary varchar(2000), caregiver_id bigint not null, patient_id bigint not null, primary key (id));
+
+CREATE TABLE IF NOT EXISTS appointments (id integer, appointment_date timestamp not null, created_at timestamp not null, status varchar(50) not null, doctor_id bigint not null, patient_id bigint not null, location varchar(255) not null, primary key (id));
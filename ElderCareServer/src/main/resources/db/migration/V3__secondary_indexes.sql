@@ -0,0 +1,36 @@
+-- Secondary indexes for the repository access paths; mirrors the @Table(indexes = ...)
+-- declarations that SchemaIndexVerifier checks at startup.
+
+CREATE INDEX IF NOT EXISTS idx_appointments_doctor_date ON appointments (doctor_id, appointment_date);
+CREATE INDEX IF NOT EXISTS idx_appointments_patient_date ON appointments (patient_id, appointment_date);
+CREATE INDEX IF NOT EXISTS idx_appointments_location_date ON appointments (location, appointment_date);
+CREATE INDEX IF NOT EXISTS idx_appointments_status_date ON appointments (status, appointment_date);
+CREATE INDEX IF NOT EXISTS idx_appointments_date ON appointments (appointment_date);
+CREATE INDEX IF NOT EXISTS idx_appointments_series_date ON appointments (series_id, appointment_date);
+
+CREATE INDEX IF NOT EXISTS idx_appointment_series_patient ON appointment_series (patient_id);
+CREATE INDEX IF NOT EXISTS idx_appointment_series_doctor ON appointment_series (doctor_id);
+
+CREATE INDEX IF NOT EXISTS idx_medical_records_patient_date ON medical_records (patient_id, date_of_visit);
+CREATE INDEX IF NOT EXISTS idx_medical_records_doctor_date ON medical_records (doctor_id, date_of_visit);
+CREATE INDEX IF NOT EXISTS idx_medical_records_location_date ON medical_records (location, date_of_visit);
+CREATE INDEX IF NOT EXISTS idx_medical_records_date ON medical_records (date_of_visit);
+
+CREATE INDEX IF NOT EXISTS idx_medications_record ON medications (record_id);
+CREATE INDEX IF NOT EXISTS idx_medications_end_date ON medications (end_date);
+
+CREATE INDEX IF NOT EXISTS idx_patients_name ON patients (last_name, first_name);
+
+CREATE INDEX IF NOT EXISTS idx_prescriptions_record ON prescriptions (record_id);
+CREATE INDEX IF NOT EXISTS idx_prescriptions_medication ON prescriptions (medication_id);
+CREATE INDEX IF NOT EXISTS idx_prescriptions_doctor ON prescriptions (doctor_id);
+CREATE INDEX IF NOT EXISTS idx_prescriptions_issued_date ON prescriptions (issued_date);
+
+CREATE INDEX IF NOT EXISTS idx_progress_reports_patient_date ON progress_reports (patient_id, date);
+CREATE INDEX IF NOT EXISTS idx_progress_reports_caregiver_date ON progress_reports (caregiver_id, date);
+CREATE INDEX IF NOT EXISTS idx_progress_reports_date ON progress_reports (date);
+
+CREATE INDEX IF NOT EXISTS idx_users_role_privileges ON users (role, privileges);
+CREATE INDEX IF NOT EXISTS idx_users_primary_location ON users (primary_location);
+CREATE INDEX IF NOT EXISTS idx_users_secondary_location ON users (secondary_location);
+CREATE INDEX IF NOT EXISTS idx_users_email ON users (email);
@@ -0,0 +1,49 @@
+-- SQLite FTS5 indexes behind medical record and progress report search. Both are
+-- external-content tables over the real rows, kept in sync by insert/update/delete triggers,
+-- and rebuilt once to index the rows that predate the triggers.
+
+CREATE VIRTUAL TABLE IF NOT EXISTS medical_records_fts USING fts5(diagnosis, treatment_plan, notes,
+    content='medical_records', content_rowid='id',
+    tokenize='porter unicode61 remove_diacritics 2', prefix='2 3');
+
+CREATE TRIGGER IF NOT EXISTS medical_records_fts_ai AFTER INSERT ON medical_records BEGIN
+    INSERT INTO medical_records_fts(rowid, diagnosis, treatment_plan, notes)
+    VALUES (new.id, new.diagnosis, new.treatment_plan, new.notes);
+END;
+
+CREATE TRIGGER IF NOT EXISTS medical_records_fts_ad AFTER DELETE ON medical_records BEGIN
+    INSERT INTO medical_records_fts(medical_records_fts, rowid, diagnosis, treatment_plan, notes)
+    VALUES ('delete', old.id, old.diagnosis, old.treatment_plan, old.notes);
+END;
+
+CREATE TRIGGER IF NOT EXISTS medical_records_fts_au AFTER UPDATE ON medical_records BEGIN
+    INSERT INTO medical_records_fts(medical_records_fts, rowid, diagnosis, treatment_plan, notes)
+    VALUES ('delete', old.id, old.diagnosis, old.treatment_plan, old.notes);
+    INSERT INTO medical_records_fts(rowid, diagnosis, treatment_plan, notes)
+    VALUES (new.id, new.diagnosis, new.treatment_plan, new.notes);
+END;
+
+INSERT INTO medical_records_fts(medical_records_fts) VALUES ('rebuild');
+
+CREATE VIRTUAL TABLE IF NOT EXISTS progress_reports_fts USING fts5(summary, recommendations,
+    content='progress_reports', content_rowid='id',
+    tokenize='porter unicode61 remove_diacritics 2', prefix='2 3');
+
+CREATE TRIGGER IF NOT EXISTS progress_reports_fts_ai AFTER INSERT ON progress_reports BEGIN
+    INSERT INTO progress_reports_fts(rowid, summary, recommendations)
+    VALUES (new.id, new.summary, new.recommendations);
+END;
+
+CREATE TRIGGER IF NOT EXISTS progress_reports_fts_ad AFTER DELETE ON progress_reports BEGIN
+    INSERT INTO progress_reports_fts(progress_reports_fts, rowid, summary, recommendations)
+    VALUES ('delete', old.id, old.summary, old.recommendations);
+END;
+
+CREATE TRIGGER IF NOT EXISTS progress_reports_fts_au AFTER UPDATE ON progress_reports BEGIN
+    INSERT INTO progress_reports_fts(progress_reports_fts, rowid, summary, recommendations)
+    VALUES ('delete', old.id, old.summary, old.recommendations);
+    INSERT INTO progress_reports_fts(rowid, summary, recommendations)
+    VALUES (new.id, new.summary, new.recommendations);
+END;
+
+INSERT INTO progress_reports_fts(progress_reports_fts) VALUES ('rebuild');
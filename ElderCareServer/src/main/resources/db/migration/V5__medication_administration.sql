@@ -0,0 +1,16 @@
+-- Medication administration log. Raw events (given/skipped/refused) are append-only and live in
+-- one table per month, medication_administrations_<yyyymm>, created by
+-- MedicationAdministrationService on first use; SQLite has no declarative partitioning.
+--
+-- Adherence is kept as per-patient counters by day and by ISO week (Monday start), updated in
+-- the same transaction as the events they count, so adherence views never read raw events.
+
+CREATE TABLE IF NOT EXISTS adherence_daily (patient_id bigint not null, day date not null,
+    given integer not null default 0, skipped integer not null default 0, refused integer not null default 0,
+    primary key (patient_id, day)) WITHOUT ROWID;
+
+CREATE TABLE IF NOT EXISTS adherence_weekly (patient_id bigint not null, week_start date not null,
+    given integer not null default 0, skipped integer not null default 0, refused integer not null default 0,
+    primary key (patient_id, week_start)) WITHOUT ROWID;
+
+CREATE INDEX IF NOT EXISTS idx_adherence_weekly_week ON adherence_weekly (week_start);
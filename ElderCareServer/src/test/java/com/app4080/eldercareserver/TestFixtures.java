@@ -0,0 +1,49 @@
+package com.app4080.eldercareserver;
+
+import com.app4080.eldercareserver.entity.Patient;
+import com.app4080.eldercareserver.entity.User;
+import com.app4080.eldercareserver.repository.PatientRepository;
+import com.app4080.eldercareserver.repository.UserRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Rows the integration tests seed into their throwaway database. Every method is idempotent,
+// because test classes that share a Spring context also share the database file.
+public final class TestFixtures {
+
+    public static final String PASSWORD = "test-password";
+    public static final String LOCATION = "Test Ward";
+
+    private TestFixtures() {
+    }
+
+    public static User user(UserRepository userRepository, String username, String role, String privileges) {
+        return userRepository.findByUsername(username).orElseGet(() -> {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(PASSWORD);
+            user.setEmail(username + "@test.invalid");
+            user.setFirstName(username);
+            user.setSecondName("Test");
+            user.setRole(role);
+            user.setPrivileges(privileges);
+            user.setPrimaryLocation(LOCATION);
+            user.setCreatedAt(LocalDateTime.now());
+            return userRepository.save(user);
+        });
+    }
+
+    public static Patient patient(PatientRepository patientRepository, String firstName, String lastName) {
+        return patientRepository.findByFirstNameAndLastName(firstName, lastName).orElseGet(() -> {
+            Patient patient = new Patient();
+            patient.setFirstName(firstName);
+            patient.setLastName(lastName);
+            patient.setDob(LocalDate.of(1940, 1, 1));
+            patient.setGender("F");
+            patient.setAddress("1 Test Street");
+            patient.setCreatedAt(LocalDateTime.now());
+            return patientRepository.save(patient);
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.app4080.eldercareserver.controller;
+
+import com.app4080.eldercareserver.TestFixtures;
+import com.app4080.eldercareserver.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Administration events are append-only, so only editors may write them
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdministrationEndpointTests {
+
+    // No medication has this id, so a request that gets past the access check is a bad request
+    private static final Map<String, Object> DOSE = Map.of(
+            "medicationId", Long.MAX_VALUE, "status", "given", "administeredAt", "2024-01-01T08:00:00");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String editor;
+    private String viewer;
+
+    @BeforeEach
+    void login() throws Exception {
+        TestFixtures.user(userRepository, "administration-editor", "nurse", "editor");
+        TestFixtures.user(userRepository, "administration-viewer", "caregiver", "viewer");
+        editor = bearer("administration-editor");
+        viewer = bearer("administration-viewer");
+    }
+
+    @Test
+    void viewersCannotRecordDoses() throws Exception {
+        mockMvc.perform(post("/api/administrations").header(HttpHeaders.AUTHORIZATION, viewer)
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(DOSE)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/administrations/batch").header(HttpHeaders.AUTHORIZATION, viewer)
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(List.of(DOSE))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void editorsGetPastTheAccessCheck() throws Exception {
+        mockMvc.perform(post("/api/administrations").header(HttpHeaders.AUTHORIZATION, editor)
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(DOSE)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/administrations/batch").header(HttpHeaders.AUTHORIZATION, editor)
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(List.of(DOSE))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String bearer(String username) throws Exception {
+        String body = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("username", username, "password", TestFixtures.PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(body).get("token").asText();
+    }
+}
@@ -0,0 +1,116 @@
+package com.app4080.eldercareserver.controller;
+
+import com.app4080.eldercareserver.TestFixtures;
+import com.app4080.eldercareserver.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The three bulk export endpoints share their access and parameter rules
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportEndpointTests {
+
+    private static final List<String> EXPORTS = List.of(
+            "/api/medical-records/export", "/api/prescriptions/export", "/api/progress-reports/export");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String editor;
+    private String viewer;
+
+    @BeforeEach
+    void login() throws Exception {
+        TestFixtures.user(userRepository, "export-editor", "nurse", "editor");
+        TestFixtures.user(userRepository, "export-viewer", "caregiver", "viewer");
+        editor = bearer("export-editor");
+        viewer = bearer("export-viewer");
+    }
+
+    @Test
+    void editorsCanExport() throws Exception {
+        for (String export : EXPORTS) {
+            mockMvc.perform(get(export).param("format", "csv").header(HttpHeaders.AUTHORIZATION, editor))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"));
+        }
+    }
+
+    @Test
+    void viewersAreRefused() throws Exception {
+        for (String export : EXPORTS) {
+            mockMvc.perform(get(export).header(HttpHeaders.AUTHORIZATION, viewer))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    void anonymousCallersAreRefused() throws Exception {
+        for (String export : EXPORTS) {
+            mockMvc.perform(get(export)).andExpect(status().isUnauthorized());
+            mockMvc.perform(get(export).param("username", "export-editor")).andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Test
+    void unknownFormatIsABadRequest() throws Exception {
+        for (String export : EXPORTS) {
+            mockMvc.perform(get(export).param("format", "xml").header(HttpHeaders.AUTHORIZATION, editor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void singleDateBoundIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/medical-records/export").param("startDate", "2024-01-01T00:00:00")
+                        .header(HttpHeaders.AUTHORIZATION, editor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/prescriptions/export").param("endDate", "2024-01-01T00:00:00")
+                        .header(HttpHeaders.AUTHORIZATION, editor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/progress-reports/export").param("start", "2024-01-01T00:00:00")
+                        .header(HttpHeaders.AUTHORIZATION, editor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void fullDateRangeIsAccepted() throws Exception {
+        mockMvc.perform(get("/api/medical-records/export")
+                        .param("startDate", "2024-01-01T00:00:00").param("endDate", "2024-12-31T23:59:59")
+                        .header(HttpHeaders.AUTHORIZATION, editor))
+                .andExpect(status().isOk());
+    }
+
+    private String bearer(String username) throws Exception {
+        String body = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("username", username, "password", TestFixtures.PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(body).get("token").asText();
+    }
+}
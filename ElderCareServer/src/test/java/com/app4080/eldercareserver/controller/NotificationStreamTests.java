@@ -0,0 +1,80 @@
+package com.app4080.eldercareserver.controller;
+
+import com.app4080.eldercareserver.TestFixtures;
+import com.app4080.eldercareserver.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The notification stream only opens for a bearer token, in the header or as access_token
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NotificationStreamTests {
+
+    private static final String STREAM = "/api/notifications/stream";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String token;
+
+    @BeforeEach
+    void login() throws Exception {
+        TestFixtures.user(userRepository, "stream-nurse", "nurse", "editor");
+        String body = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("username", "stream-nurse", "password", TestFixtures.PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readTree(body).get("token").asText();
+    }
+
+    @Test
+    void bearerHeaderOpensTheStream() throws Exception {
+        mockMvc.perform(get(STREAM).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void accessTokenParameterOpensTheStream() throws Exception {
+        mockMvc.perform(get(STREAM).param("access_token", token))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void usernameParameterIsNotEnough() throws Exception {
+        mockMvc.perform(get(STREAM).param("username", "stream-nurse"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get(STREAM)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void invalidTokenIsRejected() throws Exception {
+        mockMvc.perform(get(STREAM).param("access_token", token + "x"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,44 @@
+package com.app4080.eldercareserver.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Query budgets for integration tests: run one request through MockMvc and fail if it
+// executed more JDBC statements than allowed or repeated a SELECT like an N+1 would.
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    @FunctionalInterface
+    public interface RequestAction {
+        void perform() throws Exception;
+    }
+
+    // Statistics for the single request the action performs
+    public static RequestQueryStats capture(QueryMonitor monitor, RequestAction action) throws Exception {
+        List<RequestQueryStats> recorded = new ArrayList<>();
+        try (AutoCloseable ignored = monitor.addListener(recorded::add)) {
+            action.perform();
+        }
+        assertEquals(1, recorded.size(), "Expected exactly one monitored request");
+        return recorded.get(0);
+    }
+
+    public static RequestQueryStats assertMaxStatements(QueryMonitor monitor, int maxStatements,
+                                                        RequestAction action) throws Exception {
+        RequestQueryStats stats = capture(monitor, action);
+        assertTrue(stats.getStatements() <= maxStatements,
+                () -> "Query budget exceeded: " + stats + ", allowed " + maxStatements);
+        return stats;
+    }
+
+    public static void assertNoRepeatedSelects(RequestQueryStats stats, int threshold) {
+        Map<String, Integer> repeated = stats.repeatedSelects(threshold);
+        assertTrue(repeated.isEmpty(), () -> "Possible N+1 in " + stats.getHandler() + ": " + repeated);
+    }
+}
@@ -0,0 +1,166 @@
+package com.app4080.eldercareserver.monitoring;
+
+import com.app4080.eldercareserver.TestFixtures;
+import com.app4080.eldercareserver.entity.Appointment;
+import com.app4080.eldercareserver.entity.MedicalRecord;
+import com.app4080.eldercareserver.entity.Medication;
+import com.app4080.eldercareserver.entity.Patient;
+import com.app4080.eldercareserver.entity.Prescription;
+import com.app4080.eldercareserver.entity.User;
+import com.app4080.eldercareserver.repository.AppointmentRepository;
+import com.app4080.eldercareserver.repository.MedicalRecordRepository;
+import com.app4080.eldercareserver.repository.MedicationRepository;
+import com.app4080.eldercareserver.repository.PatientRepository;
+import com.app4080.eldercareserver.repository.PrescriptionRepository;
+import com.app4080.eldercareserver.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Read endpoints must keep to a fixed number of statements however many rows they return. Each
+// endpoint is seeded with several rows pointing at distinct associated rows, so a lazy association
+// loaded per row would show up as extra statements.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequestQueryBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryMonitor queryMonitor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    private MedicationRepository medicationRepository;
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    private static final int ROWS = 5;
+
+    private String bearer;
+    private Long doctorId;
+    private Long patientId;
+
+    @BeforeEach
+    void login() throws Exception {
+        User doctor = TestFixtures.user(userRepository, "budget-doctor", "doctor", "overseer");
+        Patient patient = TestFixtures.patient(patientRepository, "Budget", "Patient");
+        doctorId = doctor.getId();
+        patientId = patient.getId();
+        if (appointmentRepository.findByDoctorIdAndStatus(doctorId, "completed").isEmpty()) {
+            seed(doctor, patient);
+        }
+        String body = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("username", "budget-doctor", "password", TestFixtures.PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        bearer = "Bearer " + objectMapper.readTree(body).get("token").asText();
+    }
+
+    @Test
+    void medicalRecordPageIsOneQuery() throws Exception {
+        RequestQueryStats stats = QueryCountAssertions.assertMaxStatements(queryMonitor, 1, () ->
+                mockMvc.perform(get("/api/medical-records").header(HttpHeaders.AUTHORIZATION, bearer))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items.length()").value(greaterThanOrEqualTo(ROWS))));
+        assertEquals("MedicalRecordController.getAllMedicalRecords", stats.getHandler());
+    }
+
+    @Test
+    void appointmentsByDoctorLoadsDoctorAndList() throws Exception {
+        RequestQueryStats stats = QueryCountAssertions.assertMaxStatements(queryMonitor, 2, () ->
+                mockMvc.perform(get("/api/appointments/doctor/" + doctorId).header(HttpHeaders.AUTHORIZATION, bearer))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(ROWS)));
+        QueryCountAssertions.assertNoRepeatedSelects(stats, 2);
+    }
+
+    @Test
+    void prescriptionsByPatientIsOneQuery() throws Exception {
+        QueryCountAssertions.assertMaxStatements(queryMonitor, 1, () ->
+                mockMvc.perform(get("/api/prescriptions/patient/" + patientId).header(HttpHeaders.AUTHORIZATION, bearer))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(ROWS)));
+    }
+
+    // Past appointments with a different patient each, and records for the patient that each
+    // carry their own medication and prescription
+    private void seed(User doctor, Patient patient) {
+        LocalDateTime past = LocalDateTime.now().minusDays(30);
+        for (int i = 0; i < ROWS; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setDoctor(doctor);
+            appointment.setPatient(TestFixtures.patient(patientRepository, "Budget", "Visitor" + i));
+            appointment.setAppointmentDate(past.plusHours(i));
+            appointment.setDurationMinutes(30);
+            appointment.setLocation(TestFixtures.LOCATION);
+            appointment.setStatus("completed");
+            appointment.setCreatedAt(past);
+            appointmentRepository.save(appointment);
+
+            MedicalRecord record = new MedicalRecord();
+            record.setPatient(patient);
+            record.setDoctor(doctor);
+            record.setDateOfVisit(past.plusHours(i));
+            record.setLocation(TestFixtures.LOCATION);
+            record.setDiagnosis("Budget diagnosis " + i);
+            record.setCreatedAt(past);
+            medicalRecordRepository.save(record);
+
+            Medication medication = new Medication();
+            medication.setMedicalRecord(record);
+            medication.setMedicationName("Budgetol " + i);
+            medication.setDosage("10mg");
+            medication.setFrequency("once daily");
+            medication.setStartDate(past);
+            medication.setEndDate(past.plusDays(7));
+            medication.setCreatedAt(past);
+            medicationRepository.save(medication);
+
+            Prescription prescription = new Prescription();
+            prescription.setMedicalRecord(record);
+            prescription.setMedication(medication);
+            prescription.setDoctor(doctor);
+            prescription.setInstructions("With food");
+            prescription.setIssuedDate(past);
+            prescription.setCreatedAt(past);
+            prescriptionRepository.save(prescription);
+        }
+    }
+}
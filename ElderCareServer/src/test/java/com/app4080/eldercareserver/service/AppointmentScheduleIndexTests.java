@@ -0,0 +1,117 @@
+package com.app4080.eldercareserver.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static java.time.Duration.ofMinutes;
+
+// Overlap rules of the in-memory schedule index, without a database behind it
+class AppointmentScheduleIndexTests {
+
+    private static final Long DOCTOR = 1L;
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 3, 4, 9, 0);
+
+    private final AppointmentScheduleIndex index = new AppointmentScheduleIndex(null, null, 30);
+
+    @Test
+    void backToBackBookingsDoNotOverlap() {
+        index.reserve(DOCTOR, NINE, NINE.plusMinutes(30));
+        index.reserve(DOCTOR, NINE.plusMinutes(30), NINE.plusMinutes(60));
+        index.reserve(DOCTOR, NINE.minusMinutes(30), NINE);
+        assertEquals(3, index.bookedBetween(DOCTOR, NINE.minusHours(1), NINE.plusHours(1)).size());
+    }
+
+    @Test
+    void partialAndEnclosingOverlapsAreRejected() {
+        index.reserve(DOCTOR, NINE, NINE.plusMinutes(30));
+        assertThrows(SchedulingConflictException.class,
+                () -> index.reserve(DOCTOR, NINE.minusMinutes(15), NINE.plusMinutes(15)));
+        assertThrows(SchedulingConflictException.class,
+                () -> index.reserve(DOCTOR, NINE.plusMinutes(10), NINE.plusMinutes(20)));
+        assertThrows(SchedulingConflictException.class,
+                () -> index.reserve(DOCTOR, NINE.minusHours(1), NINE.plusHours(1)));
+    }
+
+    @Test
+    void longBookingIsFoundFromAnIntervalStartingInsideIt() {
+        // Only the longest booking per doctor tells the index how far back to look
+        index.reserve(DOCTOR, NINE, NINE.plusHours(4));
+        index.reserve(DOCTOR, NINE.plusHours(5), NINE.plusHours(5).plusMinutes(10));
+        SchedulingConflictException conflict = assertThrows(SchedulingConflictException.class,
+                () -> index.reserve(DOCTOR, NINE.plusHours(3), NINE.plusHours(3).plusMinutes(30)));
+        assertTrue(conflict.getMessage().contains(NINE.toString()));
+    }
+
+    @Test
+    void doctorsAreIndependent() {
+        index.reserve(DOCTOR, NINE, NINE.plusMinutes(30));
+        index.reserve(2L, NINE, NINE.plusMinutes(30));
+        assertEquals(1, index.bookedBetween(2L, NINE, NINE.plusMinutes(30)).size());
+    }
+
+    @Test
+    void emptyIntervalIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> index.reserve(DOCTOR, NINE, NINE));
+    }
+
+    @Test
+    void conflictNamesTheBoundAppointment() {
+        AppointmentScheduleIndex.Booking booking = index.reserve(DOCTOR, NINE, NINE.plusMinutes(30));
+        index.bind(booking, 42L);
+        SchedulingConflictException conflict = assertThrows(SchedulingConflictException.class,
+                () -> index.reserve(DOCTOR, NINE.plusMinutes(5), NINE.plusMinutes(10)));
+        assertEquals(42L, conflict.getConflictingAppointmentId());
+    }
+
+    @Test
+    void releaseFreesTheSlotAndRestorePutsItBack() {
+        AppointmentScheduleIndex.Booking booking = index.reserve(DOCTOR, NINE, NINE.plusMinutes(30));
+        index.bind(booking, 7L);
+
+        assertEquals(booking, index.release(7L));
+        assertFalse(index.isBooked(7L));
+        index.release(index.reserve(DOCTOR, NINE, NINE.plusMinutes(30)));
+
+        index.restore(booking);
+        assertTrue(index.isBooked(7L));
+        assertThrows(SchedulingConflictException.class, () -> index.reserve(DOCTOR, NINE, NINE.plusMinutes(30)));
+    }
+
+    @Test
+    void reserveAllIsAllOrNothing() {
+        index.reserve(DOCTOR, NINE.plusDays(2), NINE.plusDays(2).plusMinutes(30));
+        List<LocalDateTime> starts = List.of(NINE, NINE.plusDays(1), NINE.plusDays(2));
+
+        assertThrows(SchedulingConflictException.class, () -> index.reserveAll(DOCTOR, starts, ofMinutes(30)));
+        assertEquals(1, index.bookedBetween(DOCTOR, NINE, NINE.plusDays(3)).size());
+    }
+
+    @Test
+    void reserveAllRejectsOverlapsWithinTheSet() {
+        List<LocalDateTime> starts = List.of(NINE, NINE.plusMinutes(20));
+        assertThrows(SchedulingConflictException.class, () -> index.reserveAll(DOCTOR, starts, ofMinutes(30)));
+        assertTrue(index.bookedBetween(DOCTOR, NINE, NINE.plusHours(1)).isEmpty());
+    }
+
+    @Test
+    void bookedBetweenIsOrderedByStart() {
+        index.reserve(DOCTOR, NINE.plusHours(2), NINE.plusHours(3));
+        index.reserve(DOCTOR, NINE, NINE.plusHours(1));
+        List<AppointmentScheduleIndex.Booking> booked = index.bookedBetween(DOCTOR, NINE.plusMinutes(30), NINE.plusHours(4));
+        assertEquals(List.of(NINE, NINE.plusHours(2)), booked.stream().map(AppointmentScheduleIndex.Booking::getStart).toList());
+    }
+
+    @Test
+    void cancelledStatusesDoNotHoldASlot() {
+        assertFalse(AppointmentScheduleIndex.occupiesSlot("Cancelled"));
+        assertFalse(AppointmentScheduleIndex.occupiesSlot("canceled"));
+        assertTrue(AppointmentScheduleIndex.occupiesSlot("active"));
+        assertTrue(AppointmentScheduleIndex.occupiesSlot(null));
+    }
+}
@@ -0,0 +1,161 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.TestFixtures;
+import com.app4080.eldercareserver.dto.appointment.AppointmentRequest;
+import com.app4080.eldercareserver.dto.appointment.AppointmentResponse;
+import com.app4080.eldercareserver.dto.appointment.AppointmentSeriesRequest;
+import com.app4080.eldercareserver.dto.appointment.AppointmentSeriesResponse;
+import com.app4080.eldercareserver.repository.PatientRepository;
+import com.app4080.eldercareserver.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Slot claims made through the services: status changes, single bookings and series expansion
+@SpringBootTest
+@ActiveProfiles("test")
+class AppointmentSchedulingTests {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentSeriesService seriesService;
+
+    @Autowired
+    private AppointmentScheduleIndex scheduleIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private Long patientId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void seed() {
+        patientId = TestFixtures.patient(patientRepository, "Schedule", "Patient").getId();
+        start = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    void reactivatingACancelledAppointmentReclaimsItsSlot() {
+        Long doctorId = doctor("schedule-reactivate");
+        AppointmentResponse first = appointmentService.createAppointment(request(doctorId, start));
+
+        appointmentService.updateAppointmentStatus(first.getId(), "cancelled");
+        AppointmentResponse second = appointmentService.createAppointment(request(doctorId, start));
+
+        SchedulingConflictException conflict = assertThrows(SchedulingConflictException.class,
+                () -> appointmentService.updateAppointmentStatus(first.getId(), "active"));
+        assertEquals(second.getId(), conflict.getConflictingAppointmentId());
+
+        appointmentService.updateAppointmentStatus(second.getId(), "cancelled");
+        appointmentService.updateAppointmentStatus(first.getId(), "active");
+        assertTrue(scheduleIndex.isBooked(first.getId()));
+        assertThrows(SchedulingConflictException.class,
+                () -> appointmentService.createAppointment(request(doctorId, start.plusMinutes(15))));
+    }
+
+    @Test
+    void seriesExpandsUpToItsCount() {
+        Long doctorId = doctor("schedule-series-count");
+        AppointmentSeriesResponse series = seriesService.createSeries(series(doctorId, "weekly", 2, 4, null));
+
+        assertEquals(List.of(start, start.plusWeeks(2), start.plusWeeks(4), start.plusWeeks(6)), startsOf(series));
+        assertBoundByStart(doctorId, series.getOccurrences());
+    }
+
+    @Test
+    void updatedSeriesBindsEachReservationToTheRowWithItsStart() {
+        Long doctorId = doctor("schedule-series-update");
+        AppointmentSeriesResponse series = seriesService.createSeries(series(doctorId, "daily", 1, 4, null));
+        appointmentService.updateAppointmentStatus(series.getOccurrences().get(1).getId(), "cancelled");
+
+        AppointmentSeriesRequest later = new AppointmentSeriesRequest();
+        later.setFirstAppointment(start.plusHours(2));
+        AppointmentSeriesResponse updated = seriesService.updateSeries(series.getId(), later);
+
+        List<AppointmentResponse> active = updated.getOccurrences().stream()
+                .filter(occurrence -> "active".equals(occurrence.getStatus())).toList();
+        // The cancelled occurrence no longer shares a start with the rule, so all four are booked again
+        assertEquals(List.of(start.plusHours(2), start.plusDays(1).plusHours(2),
+                        start.plusDays(2).plusHours(2), start.plusDays(3).plusHours(2)),
+                active.stream().map(AppointmentResponse::getAppointmentDate).toList());
+        assertBoundByStart(doctorId, active);
+    }
+
+    @Test
+    void seriesStopsAtItsEndDateInclusive() {
+        Long doctorId = doctor("schedule-series-until");
+        AppointmentSeriesResponse series = seriesService.createSeries(series(doctorId, "daily", 1, null, start.plusDays(3)));
+
+        assertEquals(List.of(start, start.plusDays(1), start.plusDays(2), start.plusDays(3)), startsOf(series));
+    }
+
+    @Test
+    void seriesOverlappingABookingIsRejectedWhole() {
+        Long doctorId = doctor("schedule-series-conflict");
+        appointmentService.createAppointment(request(doctorId, start.plusDays(2)));
+
+        assertThrows(SchedulingConflictException.class,
+                () -> seriesService.createSeries(series(doctorId, "daily", 1, 5, null)));
+        assertEquals(1, scheduleIndex.bookedBetween(doctorId, start, start.plusDays(5)).size());
+    }
+
+    // Every occurrence holds exactly the reservation that starts when it does
+    private void assertBoundByStart(Long doctorId, List<AppointmentResponse> occurrences) {
+        for (AppointmentResponse occurrence : occurrences) {
+            assertTrue(scheduleIndex.isBooked(occurrence.getId()));
+            List<AppointmentScheduleIndex.Booking> bookings = scheduleIndex.bookedBetween(doctorId,
+                    occurrence.getAppointmentDate(), occurrence.getAppointmentDate().plusMinutes(1));
+            assertEquals(1, bookings.size());
+            assertEquals(occurrence.getId(), bookings.get(0).getAppointmentId());
+        }
+    }
+
+    private Long doctor(String username) {
+        return TestFixtures.user(userRepository, username, "doctor", "editor").getId();
+    }
+
+    private AppointmentRequest request(Long doctorId, LocalDateTime at) {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setDoctorId(doctorId);
+        request.setPatientId(patientId);
+        request.setAppointmentDate(at);
+        request.setDurationMinutes(30);
+        request.setLocation(TestFixtures.LOCATION);
+        request.setStatus("active");
+        return request;
+    }
+
+    private AppointmentSeriesRequest series(Long doctorId, String frequency, int interval, Integer count, LocalDateTime until) {
+        AppointmentSeriesRequest request = new AppointmentSeriesRequest();
+        request.setDoctorId(doctorId);
+        request.setPatientId(patientId);
+        request.setFirstAppointment(start);
+        request.setDurationMinutes(30);
+        request.setLocation(TestFixtures.LOCATION);
+        request.setFrequency(frequency);
+        request.setInterval(interval);
+        request.setCount(count);
+        request.setUntil(until);
+        return request;
+    }
+
+    private static List<LocalDateTime> startsOf(AppointmentSeriesResponse series) {
+        return series.getOccurrences().stream().map(AppointmentResponse::getAppointmentDate).toList();
+    }
+}
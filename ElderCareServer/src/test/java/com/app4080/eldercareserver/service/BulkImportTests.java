@@ -0,0 +1,61 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.TestFixtures;
+import com.app4080.eldercareserver.dto.bulkimport.ImportReport;
+import com.app4080.eldercareserver.dto.patient.PatientSummary;
+import com.app4080.eldercareserver.repository.PatientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Imported patients reach the typeahead index row by row, with the ids they were stored under
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkImportTests {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private PatientTypeaheadIndex typeaheadIndex;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Test
+    void importedPatientsAreAddedToTheTypeaheadIndex() {
+        TestFixtures.patient(patientRepository, "Quillon", "Existing");
+        int before = typeaheadIndex.size();
+
+        ImportReport report = importPatients(
+                patientRow("Quillon", "Existing"),
+                patientRow("Quillon", "Imported"),
+                patientRow("Quillette", "Imported"));
+
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(before + 2, typeaheadIndex.size());
+        for (String firstName : List.of("Quillon", "Quillette")) {
+            Long id = patientRepository.findByFirstNameAndLastName(firstName, "Imported").orElseThrow().getId();
+            List<PatientSummary> matches = typeaheadIndex.search(firstName + " Imported", 5);
+            assertEquals(id, matches.get(0).getId());
+        }
+    }
+
+    private ImportReport importPatients(String... rows) {
+        byte[] body = String.join("\n", rows).getBytes(StandardCharsets.UTF_8);
+        return bulkImportService.importPatients(new ByteArrayInputStream(body), ExportFormat.NDJSON);
+    }
+
+    private static String patientRow(String firstName, String lastName) {
+        return "{\"firstName\":\"" + firstName + "\",\"lastName\":\"" + lastName + "\",\"dob\":\"1940-01-01\"," +
+                "\"gender\":\"F\",\"address\":\"1 Import Street\"}";
+    }
+}
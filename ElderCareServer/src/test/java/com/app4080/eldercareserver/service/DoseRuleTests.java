@@ -0,0 +1,130 @@
+package com.app4080.eldercareserver.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DoseRuleTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+    private static final LocalDateTime START = DAY.atStartOfDay();
+
+    private static List<LocalDateTime> doses(String frequency, LocalDateTime start, LocalDateTime end,
+                                             LocalDateTime from, LocalDateTime to) {
+        DoseRule rule = DoseRule.parse(frequency);
+        assertNotNull(rule, frequency);
+        return rule.dosesBetween(start, end, from, to);
+    }
+
+    private static List<LocalDateTime> firstDay(String frequency) {
+        return doses(frequency, START, null, START, START.plusDays(1));
+    }
+
+    private static LocalDateTime at(int dayOffset, int hour, int minute) {
+        return DAY.plusDays(dayOffset).atTime(hour, minute);
+    }
+
+    @Test
+    void dailyCountsFallOnWardRounds() {
+        assertEquals(List.of(at(0, 8, 0), at(0, 20, 0)), firstDay("Twice daily"));
+        assertEquals(List.of(at(0, 8, 0), at(0, 14, 0), at(0, 20, 0)), firstDay("tds"));
+        assertEquals(List.of(at(0, 8, 0), at(0, 12, 0), at(0, 16, 0), at(0, 20, 0)), firstDay("4 times a day"));
+        assertEquals(List.of(at(0, 22, 0)), firstDay("one tablet at night"));
+        assertEquals(List.of(at(0, 8, 0), at(0, 22, 0)), firstDay("in the morning and at night"));
+    }
+
+    @Test
+    void clockTimesWin() {
+        assertEquals(List.of(at(0, 7, 30), at(0, 19, 0)), firstDay("at 19:00 and 07.30"));
+    }
+
+    @Test
+    void hourIntervalThatDividesTheDayUsesFixedTimes() {
+        assertEquals(List.of(at(0, 0, 0), at(0, 8, 0), at(0, 16, 0)), firstDay("every 8 hours"));
+        assertEquals(List.of(at(0, 2, 0), at(0, 8, 0), at(0, 14, 0), at(0, 20, 0)), firstDay("q6h"));
+    }
+
+    @Test
+    void hourIntervalThatDoesNotDivideTheDayCountsFromTheStartTime() {
+        LocalDateTime start = at(0, 9, 15);
+        assertEquals(List.of(at(1, 0, 15), at(1, 5, 15), at(1, 10, 15)),
+                doses("every 5 hours", start, null, at(1, 0, 0), at(1, 12, 0)));
+    }
+
+    @Test
+    void everyNDaysCountsFromTheStartDate() {
+        List<LocalDateTime> doses = doses("once every 3 days", START, null, at(1, 0, 0), at(10, 0, 0));
+        assertEquals(List.of(at(3, 8, 0), at(6, 8, 0), at(9, 8, 0)), doses);
+        assertEquals(List.of(at(0, 8, 0), at(2, 8, 0), at(4, 8, 0)),
+                doses("every other day", START, null, START, at(5, 0, 0)));
+    }
+
+    @Test
+    void onceWeeklyRepeatsOnTheStartWeekday() {
+        assertEquals(List.of(at(0, 8, 0), at(7, 8, 0), at(14, 8, 0)),
+                doses("once weekly", START, null, START, at(20, 0, 0)));
+        assertEquals(List.of(at(0, 8, 0), at(7, 8, 0)),
+                doses("1 tablet weekly", START, null, START, at(8, 0, 0)));
+    }
+
+    @Test
+    void severalDosesAWeekAreNotGuessed() {
+        assertNull(DoseRule.parse("twice weekly"));
+        assertNull(DoseRule.parse("2 times a week"));
+        assertNull(DoseRule.parse("three times per week"));
+        assertNull(DoseRule.parse("2x weekly"));
+    }
+
+    @Test
+    void unknownAndAsNeededFrequencies() {
+        assertNull(DoseRule.parse(null));
+        assertNull(DoseRule.parse("  "));
+        assertNull(DoseRule.parse("see chart"));
+        assertNull(DoseRule.parse("seven times a day"));
+        DoseRule prn = DoseRule.parse("PRN for pain");
+        assertTrue(prn.isAsNeeded());
+        assertTrue(prn.dosesBetween(START, null, START, START.plusDays(3)).isEmpty());
+    }
+
+    @Test
+    void endDateWithoutTimeIncludesTheWholeDay() {
+        assertEquals(List.of(at(0, 8, 0), at(0, 20, 0), at(1, 8, 0), at(1, 20, 0)),
+                doses("bd", START, DAY.plusDays(1).atStartOfDay(), START, at(5, 0, 0)));
+    }
+
+    @Test
+    void endDateWithTimeStopsAtThatTime() {
+        assertEquals(List.of(at(0, 8, 0), at(0, 20, 0), at(1, 8, 0)),
+                doses("bd", START, at(1, 12, 0), START, at(5, 0, 0)));
+        assertEquals(List.of(at(0, 8, 0)), doses("bd", START, at(0, 20, 0), START, at(5, 0, 0)));
+    }
+
+    @Test
+    void windowIsHalfOpen() {
+        assertEquals(List.of(at(0, 8, 0)), doses("bd", START, null, at(0, 8, 0), at(0, 20, 0)));
+        assertEquals(List.of(at(0, 20, 0)), doses("bd", START, null, at(0, 8, 1), at(0, 20, 1)));
+        assertTrue(doses("bd", START, null, at(0, 9, 0), at(0, 9, 0)).isEmpty());
+    }
+
+    @Test
+    void nothingBeforeTheStartOrAfterTheEnd() {
+        LocalDateTime start = at(2, 10, 0);
+        assertEquals(List.of(at(2, 20, 0), at(3, 8, 0)), doses("bd", start, null, START, at(3, 12, 0)));
+        assertTrue(doses("bd", START, at(1, 0, 0).minusDays(1), at(2, 0, 0), at(3, 0, 0)).isEmpty());
+        assertTrue(DoseRule.parse("bd").dosesBetween(null, null, START, at(1, 0, 0)).isEmpty());
+    }
+
+    @Test
+    void windowAcrossMidnightKeepsOrder() {
+        assertEquals(List.of(LocalDateTime.of(DAY, LocalTime.of(22, 0)), at(1, 22, 0)),
+                doses("nocte", START, null, at(0, 21, 0), at(1, 23, 0)));
+    }
+}
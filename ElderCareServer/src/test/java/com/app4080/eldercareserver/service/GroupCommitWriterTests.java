@@ -0,0 +1,169 @@
+package com.app4080.eldercareserver.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The writer against a transaction manager with no database behind it: a unit's effect is
+// "applied" only when its transaction commits, so a rolled-back attempt leaves nothing behind
+class GroupCommitWriterTests {
+
+    private final FakeTransactionManager transactions = new FakeTransactionManager();
+    private final Queue<String> applied = new ConcurrentLinkedQueue<>();
+    private GroupCommitWriter writer;
+
+    @AfterEach
+    void stopWriter() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    // A unit that records its name once its transaction commits
+    private Supplier<String> unit(String name) {
+        return () -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applied.add(name);
+                }
+            });
+            return name;
+        };
+    }
+
+    private CompletableFuture<String> submitAsync(Supplier<String> unit) {
+        return CompletableFuture.supplyAsync(() -> writer.submit(unit));
+    }
+
+    @Test
+    void failingUnitIsDroppedAndTheRestOfTheBatchCommits() {
+        // A long window and a batch of three, so the three writes always share one batch
+        writer = new GroupCommitWriter(transactions, true, 1000, 3, 5000);
+        Supplier<String> bad = () -> {
+            unit("bad").get();
+            throw new IllegalArgumentException("bad row");
+        };
+
+        CompletableFuture<String> first = submitAsync(unit("first"));
+        CompletableFuture<String> failing = submitAsync(bad);
+        CompletableFuture<String> last = submitAsync(unit("last"));
+
+        assertEquals("first", first.join());
+        assertEquals("last", last.join());
+        Throwable failure = assertThrows(Exception.class, failing::join).getCause();
+        assertTrue(failure instanceof IllegalArgumentException, "the failing caller gets its own exception");
+
+        assertEquals(List.of("first", "last"), applied.stream().sorted().toList());
+        assertEquals(1, transactions.rollbacks.get(), "the batch with the bad unit is rolled back once");
+        assertEquals(1, transactions.commits.get(), "the survivors are retried together");
+    }
+
+    @Test
+    void failedCommitFallsBackToOneTransactionPerWrite() {
+        writer = new GroupCommitWriter(transactions, true, 1000, 3, 5000);
+        transactions.failCommits.set(1);
+
+        CompletableFuture<String> a = submitAsync(unit("a"));
+        CompletableFuture<String> b = submitAsync(unit("b"));
+        CompletableFuture<String> c = submitAsync(unit("c"));
+
+        assertEquals("a", a.join());
+        assertEquals("b", b.join());
+        assertEquals("c", c.join());
+        assertEquals(List.of("a", "b", "c"), applied.stream().sorted().toList());
+        assertEquals(4, transactions.commits.get(), "one failed group commit, then one commit per write");
+    }
+
+    @Test
+    void errorDuringCommitDoesNotStopTheCommitter() {
+        writer = new GroupCommitWriter(transactions, true, 1, 1, 5000);
+        transactions.failCommitsWithError.set(1);
+
+        assertThrows(IllegalStateException.class, () -> writer.submit(unit("lost")));
+
+        assertEquals("next", writer.submit(unit("next")));
+        assertEquals(List.of("next"), List.copyOf(applied));
+    }
+
+    @Test
+    void writeNotPickedUpInTimeRunsInItsOwnTransaction() throws Exception {
+        writer = new GroupCommitWriter(transactions, true, 1, 1, 100);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> stuck = submitAsync(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return unit("stuck").get();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        AtomicInteger runs = new AtomicInteger();
+        String result = writer.submit(() -> {
+            runs.incrementAndGet();
+            return unit("waiting").get();
+        });
+        assertEquals("waiting", result);
+        assertEquals(List.of("waiting"), List.copyOf(applied), "ran while the committer was still busy");
+
+        release.countDown();
+        assertEquals("stuck", stuck.join());
+        // The committer works in order, so by the time this commits it has skipped the withdrawn write
+        assertEquals("after", writer.submit(unit("after")));
+        assertEquals(1, runs.get(), "a withdrawn write is not run again by the committer");
+    }
+
+    private static final class FakeTransactionManager extends AbstractPlatformTransactionManager {
+        private final AtomicInteger commits = new AtomicInteger();
+        private final AtomicInteger rollbacks = new AtomicInteger();
+        private final AtomicInteger failCommits = new AtomicInteger();
+        private final AtomicInteger failCommitsWithError = new AtomicInteger();
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits.incrementAndGet();
+            if (failCommits.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new TransactionSystemException("commit failed");
+            }
+            if (failCommitsWithError.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new Error("commit failed hard");
+            }
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.TestFixtures;
+import com.app4080.eldercareserver.dto.medicalrecord.MedicalRecordResponse;
+import com.app4080.eldercareserver.dto.medicalrecord.MedicalRecordSearchCriteria;
+import com.app4080.eldercareserver.dto.page.ResultPage;
+import com.app4080.eldercareserver.entity.MedicalRecord;
+import com.app4080.eldercareserver.entity.Patient;
+import com.app4080.eldercareserver.entity.User;
+import com.app4080.eldercareserver.repository.MedicalRecordRepository;
+import com.app4080.eldercareserver.repository.PatientRepository;
+import com.app4080.eldercareserver.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Full-text search combined with the other filters, over more matches than a single page or
+// the old pre-filter cap of eldercare.search.max-results
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MedicalRecordSearchTests {
+
+    private static final String TERM = "zygomycosis";
+    private static final int COMMON_MATCHES = 250;
+    private static final LocalDateTime VISIT = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @Autowired
+    private MedicalRecordService medicalRecordService;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private Long rarePatientId;
+    private Long diagnosisMatchId;
+    private Long notesMatchId;
+
+    @BeforeAll
+    void seed() {
+        User doctor = TestFixtures.user(userRepository, "search-doctor", "doctor", "editor");
+        Patient common = TestFixtures.patient(patientRepository, "Search", "Common");
+        Patient rare = TestFixtures.patient(patientRepository, "Search", "Rare");
+        rarePatientId = rare.getId();
+
+        List<MedicalRecord> records = new ArrayList<>();
+        for (int i = 0; i < COMMON_MATCHES; i++) {
+            records.add(record(common, doctor, VISIT.plusDays(i), TERM + " of the sinus", null));
+        }
+        medicalRecordRepository.saveAll(records);
+
+        // Saved last, so they have the highest ids and would rank behind the common ones on ties
+        notesMatchId = medicalRecordRepository.save(
+                record(rare, doctor, VISIT, "Routine check", "History of " + TERM)).getId();
+        diagnosisMatchId = medicalRecordRepository.save(
+                record(rare, doctor, VISIT.plusDays(1), TERM, null)).getId();
+    }
+
+    @Test
+    void filtersApplyToEveryMatchNotJustTheTopRanked() {
+        MedicalRecordSearchCriteria criteria = criteria();
+        criteria.setPatientId(rarePatientId);
+
+        ResultPage<MedicalRecordResponse> result = medicalRecordService.searchMedicalRecords(criteria);
+        assertEquals(2, result.getTotalItems());
+        assertEquals(List.of(diagnosisMatchId, notesMatchId), ids(result));
+    }
+
+    @Test
+    void rankedSearchAppliesDateAndLocationFilters() {
+        MedicalRecordSearchCriteria criteria = criteria();
+        criteria.setPatientId(rarePatientId);
+        criteria.setStartDate(VISIT.plusHours(1));
+        criteria.setLocation(TestFixtures.LOCATION);
+        assertEquals(List.of(diagnosisMatchId), ids(medicalRecordService.searchMedicalRecords(criteria)));
+
+        criteria.setLocation("Elsewhere");
+        assertEquals(0, medicalRecordService.searchMedicalRecords(criteria).getTotalItems());
+    }
+
+    @Test
+    void totalCountsEveryMatch() {
+        ResultPage<MedicalRecordResponse> result = medicalRecordService.searchMedicalRecords(criteria());
+        assertEquals(COMMON_MATCHES + 2, result.getTotalItems());
+    }
+
+    @Test
+    void lastPageOfALargeMatchSetIsReachable() {
+        MedicalRecordSearchCriteria criteria = criteria();
+        criteria.setSize(100);
+        criteria.setPage(2);
+        assertEquals(COMMON_MATCHES + 2 - 200, medicalRecordService.searchMedicalRecords(criteria).getItems().size());
+    }
+
+    @Test
+    void textMatchCanBeSortedByAColumn() {
+        MedicalRecordSearchCriteria criteria = criteria();
+        criteria.setPatientId(rarePatientId);
+        criteria.setSortBy("dateOfVisit");
+        criteria.setDirection("asc");
+        assertEquals(List.of(notesMatchId, diagnosisMatchId), ids(medicalRecordService.searchMedicalRecords(criteria)));
+    }
+
+    @Test
+    void termWithoutSearchableWordsMatchesNothing() {
+        MedicalRecordSearchCriteria criteria = new MedicalRecordSearchCriteria();
+        criteria.setDiagnosisOrTreatment("***");
+        assertEquals(0, medicalRecordService.searchMedicalRecords(criteria).getTotalItems());
+    }
+
+    private static MedicalRecordSearchCriteria criteria() {
+        MedicalRecordSearchCriteria criteria = new MedicalRecordSearchCriteria();
+        criteria.setDiagnosisOrTreatment(TERM);
+        return criteria;
+    }
+
+    private static List<Long> ids(ResultPage<MedicalRecordResponse> page) {
+        return page.getItems().stream().map(MedicalRecordResponse::getId).toList();
+    }
+
+    private static MedicalRecord record(Patient patient, User doctor, LocalDateTime visit, String diagnosis, String notes) {
+        MedicalRecord record = new MedicalRecord();
+        record.setPatient(patient);
+        record.setDoctor(doctor);
+        record.setDateOfVisit(visit);
+        record.setLocation(TestFixtures.LOCATION);
+        record.setDiagnosis(diagnosis);
+        record.setNotes(notes);
+        record.setCreatedAt(LocalDateTime.now());
+        return record;
+    }
+}
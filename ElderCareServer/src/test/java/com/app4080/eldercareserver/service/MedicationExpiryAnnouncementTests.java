@@ -0,0 +1,48 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.repository.MedicationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Which range of medication end times each expiry check asks for
+class MedicationExpiryAnnouncementTests {
+
+    private final List<LocalDateTime[]> queried = new ArrayList<>();
+
+    // Only the expiry query is expected; it answers nothing and records its range
+    private final MedicationRepository medications = (MedicationRepository) Proxy.newProxyInstance(
+            MedicationRepository.class.getClassLoader(), new Class<?>[]{MedicationRepository.class},
+            (proxy, method, args) -> {
+                if (!method.getName().equals("findExpiryNoticesBetween")) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                queried.add(new LocalDateTime[]{(LocalDateTime) args[0], (LocalDateTime) args[1]});
+                return List.of();
+            });
+
+    @Test
+    void firstCheckCoversTheWholeWindowFromStartup() {
+        LocalDateTime before = LocalDateTime.now();
+        NotificationService service = new NotificationService(medications, new ObjectMapper(), 1000, 16, 48);
+        LocalDateTime started = LocalDateTime.now();
+
+        service.announceExpiringMedications();
+        service.shutdown();
+
+        assertEquals(1, queried.size());
+        LocalDateTime[] first = queried.get(0);
+        assertFalse(first[0].isBefore(before), "starts at startup");
+        assertFalse(first[0].isAfter(started), "medications ending soon after startup are included");
+        assertTrue(Duration.between(first[0], first[1]).compareTo(Duration.ofHours(48)) >= 0);
+    }
+}
@@ -0,0 +1,50 @@
+package com.app4080.eldercareserver.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrincipalCacheTests {
+
+    private static ResolvedPrincipal principal(int n) {
+        return new ResolvedPrincipal((long) n, "user-" + n, "nurse", "editor");
+    }
+
+    @Test
+    void fullCacheEvictsABatchAtOnce() {
+        PrincipalCache cache = new PrincipalCache(300, 100);
+        for (int n = 0; n < 100; n++) {
+            cache.put(principal(n), 0);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+
+        cache.put(principal(100), 0);
+        assertEquals(91, cache.size(), "a tenth of the cache is freed, then the new entry added");
+        assertEquals(10, cache.getEvictionCount());
+
+        // The freed room absorbs the next misses without evicting again
+        for (int n = 101; n < 110; n++) {
+            cache.put(principal(n), 0);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(10, cache.getEvictionCount());
+        assertTrue(cache.get("user-109").isPresent());
+    }
+
+    @Test
+    void loadStartedBeforeAnInvalidationIsNotCached() {
+        PrincipalCache cache = new PrincipalCache(300, 100);
+        long before = cache.generation("user-1");
+
+        // The row was read, then the update committed and invalidated, then the stale put arrives
+        cache.invalidate("user-1");
+        cache.put(principal(1), before);
+        assertFalse(cache.get("user-1").isPresent());
+
+        cache.put(principal(1), cache.generation("user-1"));
+        assertTrue(cache.get("user-1").isPresent());
+    }
+}
@@ -0,0 +1,73 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.TestFixtures;
+import com.app4080.eldercareserver.dto.user.LoginRequest;
+import com.app4080.eldercareserver.dto.user.UserUpdateRequest;
+import com.app4080.eldercareserver.entity.User;
+import com.app4080.eldercareserver.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.file.AccessDeniedException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// A bearer token names the caller; what the caller may do always comes from the user row
+@SpringBootTest
+@ActiveProfiles("test")
+class PrincipalResolutionTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void demotionAppliesToTokensIssuedBeforeIt() throws Exception {
+        User user = TestFixtures.user(userRepository, "token-demoted", "doctor", "overseer");
+        String token = tokenService.generateToken(user);
+
+        withBearer(token);
+        userService.validatePrivileges("token-demoted", "admin");
+
+        userService.updateUser(user.getId(), new UserUpdateRequest(
+                user.getEmail(), user.getPrimaryLocation(), null, null, "caregiver", "viewer"));
+
+        withBearer(token);
+        assertEquals("caregiver", userService.resolvePrincipal(null).getRole());
+        assertThrows(AccessDeniedException.class, () -> userService.validatePrivileges("token-demoted", "editor"));
+    }
+
+    @Test
+    void deletedUserTokenIsRefused() throws Exception {
+        User user = TestFixtures.user(userRepository, "token-deleted", "nurse", "editor");
+        String token = tokenService.generateToken(user);
+
+        userService.deleteUser(new LoginRequest("token-deleted", TestFixtures.PASSWORD));
+
+        withBearer(token);
+        assertThrows(AccessDeniedException.class, () -> userService.resolvePrincipal(null));
+    }
+
+    private void withBearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(ResolvedPrincipal.BEARER_ATTRIBUTE, tokenService.verify(token));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,39 @@
+package com.app4080.eldercareserver.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecurrenceFrequencyTests {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2030, 1, 31, 10, 0);
+
+    @Test
+    void firstOccurrenceIsTheAnchor() {
+        for (RecurrenceFrequency frequency : RecurrenceFrequency.values()) {
+            assertEquals(FIRST, frequency.occurrence(FIRST, 3, 0));
+        }
+    }
+
+    @Test
+    void intervalScalesTheUnit() {
+        assertEquals(FIRST.plusDays(6), RecurrenceFrequency.DAILY.occurrence(FIRST, 2, 3));
+        assertEquals(FIRST.plusWeeks(4), RecurrenceFrequency.WEEKLY.occurrence(FIRST, 2, 2));
+    }
+
+    @Test
+    void monthsAreCountedFromTheAnchor() {
+        assertEquals(LocalDateTime.of(2030, 2, 28, 10, 0), RecurrenceFrequency.MONTHLY.occurrence(FIRST, 1, 1));
+        assertEquals(LocalDateTime.of(2030, 3, 31, 10, 0), RecurrenceFrequency.MONTHLY.occurrence(FIRST, 1, 2));
+    }
+
+    @Test
+    void parsesCaseInsensitively() {
+        assertEquals(RecurrenceFrequency.WEEKLY, RecurrenceFrequency.fromParameter(" weekly "));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceFrequency.fromParameter("yearly"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceFrequency.fromParameter(""));
+    }
+}
@@ -0,0 +1,153 @@
+package com.app4080.eldercareserver.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A deliberately tiny wheel driven by a synthetic clock: 1 ms ticks, 4 buckets per level and
+// 3 levels, so levels wrap every 4 and 16 ticks and the whole wheel reaches only 64 ticks ahead
+class TimingWheelTests {
+
+    private static final int BUCKETS = 4;
+    private static final int LEVELS = 3;
+    private static final long REACH = 64;
+
+    private static TimingWheel<Long> wheel(long start) {
+        return new TimingWheel<>(1, BUCKETS, LEVELS, start);
+    }
+
+    // Advance one tick at a time up to end, recording the tick each payload fired on
+    private static Map<Long, Long> run(TimingWheel<Long> wheel, long from, long end) {
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = from + 1; now <= end; now++) {
+            for (Long payload : wheel.advance(now)) {
+                firedAt.put(payload, now);
+            }
+        }
+        return firedAt;
+    }
+
+    @Test
+    void everyTimerFiresOnItsDeadlineTick() {
+        for (long start : new long[]{0, 3, 15, 63, 1000}) {
+            TimingWheel<Long> wheel = wheel(start);
+            for (long deadline = start + 1; deadline <= start + 5 * REACH; deadline++) {
+                wheel.schedule(deadline, deadline);
+            }
+            Map<Long, Long> firedAt = run(wheel, start, start + 5 * REACH);
+            for (long deadline = start + 1; deadline <= start + 5 * REACH; deadline++) {
+                assertEquals(deadline, firedAt.get(deadline), "start " + start + ", deadline " + deadline);
+            }
+            assertEquals(0, wheel.size());
+        }
+    }
+
+    @Test
+    void timersLandingOnLevelBoundariesFireWhenTheLevelWraps() {
+        TimingWheel<Long> wheel = wheel(0);
+        List<Long> boundaries = List.of(4L, 8L, 16L, 32L, 48L, 64L, 128L);
+        for (Long deadline : boundaries) {
+            wheel.schedule(deadline, deadline);
+        }
+        Map<Long, Long> firedAt = run(wheel, 0, 130);
+        for (Long deadline : boundaries) {
+            assertEquals(deadline, firedAt.get(deadline));
+        }
+    }
+
+    @Test
+    void timerDueOnTheCascadingTickFiresThatTick() {
+        // Deadline 16 sits in level 2 at tick 0; at tick 16 both upper levels wrap, the
+        // cascade finds delta == 0 and must hand it straight to the level 0 bucket being fired
+        TimingWheel<Long> wheel = wheel(0);
+        wheel.schedule(16, 16L);
+        assertTrue(wheel.advance(15).isEmpty());
+        assertEquals(List.of(16L), wheel.advance(16));
+    }
+
+    @Test
+    void overflowIsParkedInTheTopLevelUntilItFits() {
+        TimingWheel<Long> wheel = wheel(0);
+        long deadline = 10 * REACH + 7;
+        wheel.schedule(deadline, deadline);
+
+        assertTrue(wheel.advance(deadline - 1).isEmpty());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(deadline), wheel.advance(deadline));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void overflowSurvivesLargeJumps() {
+        TimingWheel<Long> wheel = wheel(5);
+        wheel.schedule(1000, 1000L);
+        wheel.schedule(300, 300L);
+        assertEquals(List.of(300L), wheel.advance(999));
+        assertEquals(List.of(1000L), wheel.advance(5000));
+    }
+
+    @Test
+    void cancelAfterACascade() {
+        TimingWheel<Long> wheel = wheel(0);
+        TimingWheel.Timer<Long> timer = wheel.schedule(10, 10L);
+        TimingWheel.Timer<Long> neighbour = wheel.schedule(11, 11L);
+
+        // Tick 8 cascades level 1 bucket 2 (ticks 8-11) down into level 0
+        assertTrue(wheel.advance(8).isEmpty());
+        assertTrue(wheel.isPending(timer));
+        assertTrue(wheel.cancel(timer));
+        assertFalse(wheel.isPending(timer));
+        assertFalse(wheel.cancel(timer));
+
+        assertEquals(List.of(11L), wheel.advance(20));
+        assertFalse(wheel.cancel(neighbour));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelParkedOverflow() {
+        TimingWheel<Long> wheel = wheel(0);
+        TimingWheel.Timer<Long> timer = wheel.schedule(500, 500L);
+        wheel.advance(200);
+        assertTrue(wheel.cancel(timer));
+        assertTrue(wheel.advance(600).isEmpty());
+    }
+
+    @Test
+    void pastDeadlineFiresOnTheNextTick() {
+        TimingWheel<Long> wheel = wheel(100);
+        wheel.schedule(40, 40L);
+        wheel.schedule(100, 100L);
+        assertEquals(List.of(40L, 100L), wheel.advance(101));
+    }
+
+    @Test
+    void advanceReturnsEarliestFirst() {
+        TimingWheel<Long> wheel = wheel(0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long deadline = 1 + random.nextInt((int) (3 * REACH));
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+        deadlines.sort(null);
+        assertEquals(deadlines, wheel.advance(3 * REACH));
+    }
+
+    @Test
+    void tickLongerThanAMillisecondRoundsDeadlinesDown() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, BUCKETS, LEVELS, 0);
+        wheel.schedule(2_500, 2_500L);
+        assertTrue(wheel.advance(1_999).isEmpty());
+        assertEquals(List.of(2_500L), wheel.advance(2_000));
+    }
+}
@@ -0,0 +1,60 @@
+package com.app4080.eldercareserver.service;
+
+import com.app4080.eldercareserver.entity.User;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenServiceTests {
+
+    private static String key(int bytes) {
+        return Base64.getEncoder().encodeToString(new byte[bytes]);
+    }
+
+    @Test
+    void missingSecretFailsStartup() {
+        assertThrows(IllegalStateException.class, () -> new TokenService("", 12));
+        assertThrows(IllegalStateException.class, () -> new TokenService(null, 12));
+    }
+
+    @Test
+    void secretShorterThan256BitsFailsStartup() {
+        assertThrows(IllegalStateException.class, () -> new TokenService(key(31), 12));
+    }
+
+    @Test
+    void secretThatIsNotBase64FailsStartup() {
+        assertThrows(IllegalStateException.class, () -> new TokenService("not*base64*at*all", 12));
+    }
+
+    @Test
+    void tokenRoundTrips() {
+        TokenService tokens = new TokenService(key(32), 12);
+        User user = new User();
+        user.setId(5L);
+        user.setUsername("round-trip");
+        user.setRole("nurse");
+        user.setPrivileges("editor");
+
+        ResolvedPrincipal principal = tokens.verify(tokens.generateToken(user));
+        assertEquals(5L, principal.getId());
+        assertEquals("round-trip", principal.getUsername());
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        User user = new User();
+        user.setId(5L);
+        user.setUsername("other-key");
+        byte[] otherKey = new byte[32];
+        Arrays.fill(otherKey, (byte) 7);
+        String token = new TokenService(Base64.getEncoder().encodeToString(otherKey), 12).generateToken(user);
+
+        assertThrows(JwtException.class, () -> new TokenService(key(32), 12).verify(token));
+    }
+}